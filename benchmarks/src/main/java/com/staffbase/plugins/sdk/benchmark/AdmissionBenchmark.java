@@ -0,0 +1,100 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOAdmissionLimiter;
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * Sixteen clients verifying uncached tokens at once, more than there are
+ * processors, without limiter, with a limiter shedding attempts right away,
+ * and with one queueing them for up to 10 ms. A shed client retries after
+ * 1 ms, as after a 503. The verified and shed counters tell how the attempts
+ * ended; shed attempts cost next to nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class AdmissionBenchmark {
+
+  @Param({"none", "shed", "queue"})
+  public String limiter;
+
+  private SSOFacade facade;
+  private String raw;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.facade = SSOFacade.create(key.getRsaPublicKey());
+    this.raw = Tokens.sign(Tokens.fullClaims(), key);
+
+    final int processors = Runtime.getRuntime().availableProcessors();
+    switch (this.limiter) {
+      case "shed":
+        this.facade.withAdmissionLimiter(SSOAdmissionLimiter.create(2 * processors));
+        break;
+      case "queue":
+        this.facade.withAdmissionLimiter(SSOAdmissionLimiter.create(2 * processors)
+            .withQueue(16, Duration.ofMillis(10)));
+        break;
+      default:
+    }
+  }
+
+  @Benchmark
+  public SSOData verify(final Outcomes outcomes) throws InterruptedException {
+
+    try {
+      final SSOData data = this.facade.verify(this.raw);
+      outcomes.verified++;
+      return data;
+    } catch (final SSOException ssoException) {
+      outcomes.shed++;
+      Thread.sleep(1);
+      return null;
+    }
+  }
+
+  /**
+   * Counts how the attempts of a thread ended.
+   */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Outcomes {
+
+    public long verified;
+    public long shed;
+  }
+}
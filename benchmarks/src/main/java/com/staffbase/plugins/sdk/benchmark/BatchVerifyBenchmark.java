@@ -0,0 +1,111 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwt.JwtClaims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+import com.staffbase.plugins.sdk.sso.SSOResult;
+
+/**
+ * Throughput of {@link SSOFacade#verifyAll} against a sequential loop over
+ * {@link SSOFacade#verify(String)}, per verified token. Compare the results for
+ * increasing parallelism to see how the batch scales with cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(BatchVerifyBenchmark.BATCH_SIZE)
+public class BatchVerifyBenchmark {
+
+  static final int BATCH_SIZE = 256;
+
+  private SSOFacade facade;
+  private List<String> tokens;
+
+  /**
+   * The pool for the batch, only the batch benchmark runs for each parallelism.
+   */
+  @State(Scope.Benchmark)
+  public static class Pool {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+      this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+      this.pool.shutdown();
+    }
+  }
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.facade = SSOFacade.create(key.getRsaPublicKey());
+
+    // distinct tokens, as archived launches are
+    this.tokens = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      final JwtClaims claims = Tokens.fullClaims();
+      claims.setGeneratedJwtId();
+      this.tokens.add(Tokens.sign(claims, key));
+    }
+  }
+
+  @Benchmark
+  public int sequential() {
+
+    int verified = 0;
+    for (final String token : this.tokens) {
+      try {
+        this.facade.verify(token);
+        verified++;
+      } catch (final SSOException ssoException) {
+        // counted as not verified
+      }
+    }
+    return verified;
+  }
+
+  @Benchmark
+  public List<SSOResult> verifyAll(final Pool pool) {
+    return this.facade.verifyAll(this.tokens, pool.pool);
+  }
+}
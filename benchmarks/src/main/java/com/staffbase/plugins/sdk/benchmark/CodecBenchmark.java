@@ -0,0 +1,127 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSODataCodec;
+
+/**
+ * Cost of storing {@link SSOData} with {@link SSODataCodec}, next to mapping
+ * it to and from JSON claims. The encoded sizes are printed on setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+  private static final String[] KEYS = {
+      SSOData.KEY_INSTANCE_ID, SSOData.KEY_BRANCH_ID, SSOData.KEY_BRANCH_SLUG, SSOData.KEY_SESSION_ID,
+      SSOData.KEY_TOKEN_ID, SSOData.KEY_USER_ID, SSOData.KEY_USER_EXTERNAL_ID, SSOData.KEY_USER_USERNAME,
+      SSOData.KEY_USER_PRIMARY_EMAIL_ADDRESS, SSOData.KEY_USER_FIRST_NAME, SSOData.KEY_USER_LAST_NAME,
+      SSOData.KEY_USER_FULL_NAME, SSOData.KEY_USER_ROLE, SSOData.KEY_USER_LOCALE, SSOData.KEY_ISSUER,
+      SSOData.KEY_AUDIENCE, SSOData.KEY_INSTANCE_NAME, SSOData.KEY_ENTITY_TYPE, SSOData.KEY_THEME_TEXT_COLOR,
+      SSOData.KEY_THEME_BACKGROUND_COLOR,
+  };
+
+  private SSODataCodec codec;
+  private SSOData data;
+  private byte[] binary;
+  private String json;
+
+  @Setup
+  public void setUp() throws InvalidJwtException, MalformedClaimException {
+
+    final JwtClaims claims = Tokens.fullClaims();
+    this.codec = SSODataCodec.create(Tokens.INSTANCE_ID, "en_US", "api.staffbase.com");
+    this.data = new SSOData(JwtClaims.parse(claims.toJson()));
+    this.binary = this.codec.encode(this.data);
+    this.json = this.encodeJson();
+
+    System.out.println("Encoded sizes: binary=" + this.binary.length
+        + " bytes, json=" + this.json.getBytes(StandardCharsets.UTF_8).length + " bytes");
+  }
+
+  @Benchmark
+  public byte[] encodeBinary() {
+    return this.codec.encode(this.data);
+  }
+
+  @Benchmark
+  public String encodeJson() {
+
+    final JwtClaims claims = new JwtClaims();
+    for (final String key : KEYS) {
+      claims.setClaim(key, stringOf(this.data, key));
+    }
+    claims.setClaim(SSOData.KEY_TAGS, this.data.getTagsOrNull());
+    claims.setClaim("exp", this.data.getExpirationTimeOrNull());
+    return claims.toJson();
+  }
+
+  @Benchmark
+  public void decodeBinary(final Blackhole blackhole) {
+    final SSOData decoded = this.codec.decode(ByteBuffer.wrap(this.binary));
+    blackhole.consume(decoded.getInstanceID());
+    blackhole.consume(decoded.getUserIDOrNull());
+  }
+
+  @Benchmark
+  public void decodeJson(final Blackhole blackhole) throws InvalidJwtException, MalformedClaimException {
+    final SSOData decoded = new SSOData(JwtClaims.parse(this.json));
+    blackhole.consume(decoded.getInstanceID());
+    blackhole.consume(decoded.getUserIDOrNull());
+  }
+
+  private static String stringOf(final SSOData data, final String key) {
+    switch (key) {
+      case SSOData.KEY_INSTANCE_ID: return data.getInstanceID();
+      case SSOData.KEY_BRANCH_ID: return data.getBranchID();
+      case SSOData.KEY_BRANCH_SLUG: return data.getBranchSlug();
+      case SSOData.KEY_SESSION_ID: return data.getSessionIdOrNull();
+      case SSOData.KEY_TOKEN_ID: return data.getTokenIdOrNull();
+      case SSOData.KEY_USER_ID: return data.getUserIDOrNull();
+      case SSOData.KEY_USER_EXTERNAL_ID: return data.getUserExternalIDOrNull();
+      case SSOData.KEY_USER_USERNAME: return data.getUserUsernameOrNull();
+      case SSOData.KEY_USER_PRIMARY_EMAIL_ADDRESS: return data.getUserPrimaryEmailAddressOrNull();
+      case SSOData.KEY_USER_FIRST_NAME: return data.getUserFirstNameOrNull();
+      case SSOData.KEY_USER_LAST_NAME: return data.getUserLastNameOrNull();
+      case SSOData.KEY_USER_FULL_NAME: return data.getUserFullNameOrNull();
+      case SSOData.KEY_USER_ROLE: return data.getUserRoleOrNull();
+      case SSOData.KEY_USER_LOCALE: return data.getUserLocaleAsStringOrNull();
+      case SSOData.KEY_ISSUER: return data.getIssuerOrNull();
+      case SSOData.KEY_AUDIENCE: return data.getAudienceOrNull();
+      case SSOData.KEY_INSTANCE_NAME: return data.getInstanceNameOrNull();
+      case SSOData.KEY_ENTITY_TYPE: return data.getEntityTypeOrNull();
+      case SSOData.KEY_THEME_TEXT_COLOR: return data.getThemeTextColorOrNull();
+      default: return data.getThemeBackgroundColorOrNull();
+    }
+  }
+}
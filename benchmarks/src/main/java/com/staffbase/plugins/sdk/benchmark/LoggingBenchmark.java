@@ -0,0 +1,96 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * Cost of the logging on the verification path, with the SDK logging at
+ * debug level into an appender discarding the lines versus logging off.
+ * Valid tokens are answered from the cache, so the logging is not hidden
+ * behind the RSA verification; expired tokens are rejected by the pre-check.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+  private static final String SDK_LOGGER = "com.staffbase.plugins.sdk.sso";
+
+  @Param({"off", "debug"})
+  public String level;
+
+  @Param({"valid", "expired"})
+  public String token;
+
+  private SSOFacade facade;
+  private String raw;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    this.configureLogging(Level.valueOf(this.level));
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.facade = SSOFacade.create(key.getRsaPublicKey())
+        .withCache(16);
+    this.raw = Tokens.sign("valid".equals(this.token) ? Tokens.fullClaims() : Tokens.expiredClaims(), key);
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.configureLogging(Level.OFF);
+  }
+
+  @Benchmark
+  public Object verify() {
+    try {
+      return this.facade.verify(this.raw);
+    } catch (final SSOException ssoException) {
+      return ssoException;
+    }
+  }
+
+  private void configureLogging(final Level level) {
+
+    final LoggerContext context = (LoggerContext) LogManager.getContext(false);
+    final Configuration configuration = context.getConfiguration();
+
+    configuration.removeLogger(SDK_LOGGER);
+    final LoggerConfig loggerConfig = new LoggerConfig(SDK_LOGGER, level, false);
+    loggerConfig.addAppender(configuration.getAppender("Null"), null, null);
+    configuration.addLogger(SDK_LOGGER, loggerConfig);
+    context.updateLoggers();
+  }
+}
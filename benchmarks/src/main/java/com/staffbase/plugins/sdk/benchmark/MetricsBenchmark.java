@@ -0,0 +1,68 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+import com.staffbase.plugins.sdk.sso.SSOStatistics;
+
+/**
+ * Overhead of recording metrics on the success path. Verifications are
+ * answered from the cache, so the cheapest path is measured and the overhead
+ * is not hidden behind the RSA verification.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+  @Param({"none", "statistics"})
+  public String metrics;
+
+  private SSOFacade facade;
+  private String raw;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.facade = SSOFacade.create(key.getRsaPublicKey())
+        .withCache(16);
+    if ("statistics".equals(this.metrics)) {
+      this.facade.withMetrics(new SSOStatistics());
+    }
+
+    this.raw = Tokens.sign(Tokens.fullClaims(), key);
+    this.facade.verify(this.raw);
+  }
+
+  @Benchmark
+  public SSOData verifyCached() throws SSOException {
+    return this.facade.verify(this.raw);
+  }
+}
@@ -0,0 +1,155 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.netty.SSOHttpHandler;
+import com.staffbase.plugins.sdk.netty.SSOWorkerGroup;
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+
+/**
+ * Load test of the {@link SSOHttpHandler} in an embedded Netty server with a
+ * single event loop, requested by four clients over keep-alive connections.
+ * The throughput without handler is the baseline, the difference to it the
+ * per-request overhead of the handler: verifying each request on a
+ * {@link SSOWorkerGroup}, or answering it from the cache of the facade.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class NettyHandlerBenchmark {
+
+  @Param({"none", "verify", "cached"})
+  public String handler;
+
+  private EventLoopGroup eventLoop;
+  private SSOWorkerGroup workers;
+  private URL url;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.workers = SSOWorkerGroup.create(512);
+    final SSOFacade facade = SSOFacade.create(key.getRsaPublicKey()).withExecutor(this.workers);
+    if ("cached".equals(this.handler)) {
+      facade.withCache(1024);
+    }
+
+    this.eventLoop = new NioEventLoopGroup(1);
+    final Channel server = new ServerBootstrap()
+        .group(this.eventLoop)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(final SocketChannel channel) {
+            channel.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(65536));
+            if (!"none".equals(NettyHandlerBenchmark.this.handler)) {
+              channel.pipeline().addLast(new SSOHttpHandler(facade));
+            }
+            channel.pipeline().addLast(new InstanceHandler());
+          }
+        })
+        .bind(0).sync().channel();
+
+    final int port = ((InetSocketAddress) server.localAddress()).getPort();
+    this.url = new URL("http://localhost:" + port + "/plugin?jwt=" + Tokens.sign(Tokens.fullClaims(), key));
+    if (this.request() != HttpResponseStatus.OK.code() + Tokens.INSTANCE_ID.length()) {
+      throw new IllegalStateException("The plugin did not answer the request.");
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    this.eventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    this.workers.close();
+  }
+
+  @Benchmark
+  public int request() throws IOException {
+
+    final HttpURLConnection connection = (HttpURLConnection) this.url.openConnection();
+    final int status = connection.getResponseCode();
+
+    // read the body to the end, so the connection is kept alive
+    final byte[] buffer = new byte[256];
+    int length = 0;
+    try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+      for (int read; in != null && (read = in.read(buffer)) >= 0; ) {
+        length += read;
+      }
+    }
+
+    return status + length;
+  }
+
+  /**
+   * Writes the instance id of the verified data, if any.
+   */
+  private static final class InstanceHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+    @Override
+    protected void channelRead0(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+
+      final String body = SSOHttpHandler.getData(request).map(SSOData::getInstanceID).orElse(Tokens.INSTANCE_ID);
+
+      final FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+          Unpooled.copiedBuffer(body, StandardCharsets.US_ASCII));
+      HttpUtil.setContentLength(response, response.content().readableBytes());
+      HttpUtil.setKeepAlive(response, HttpUtil.isKeepAlive(request));
+      ctx.writeAndFlush(response);
+    }
+  }
+}
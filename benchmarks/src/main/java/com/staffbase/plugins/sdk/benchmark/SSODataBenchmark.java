@@ -0,0 +1,82 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+
+/**
+ * Cost of building {@link SSOData} from already parsed claims, and of reading
+ * the values most handlers need from it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SSODataBenchmark {
+
+  @Param({"minimal", "full"})
+  public String claimSet;
+
+  private JwtClaims claims;
+
+  @Setup
+  public void setUp() throws InvalidJwtException {
+
+    final JwtClaims source = "minimal".equals(this.claimSet)
+        ? Tokens.minimalClaims()
+        : Tokens.fullClaims();
+
+    // parse from JSON so the claim values have the types seen in verification
+    this.claims = JwtClaims.parse(source.toJson());
+  }
+
+  @Benchmark
+  public SSOData construct() throws MalformedClaimException {
+    return new SSOData(this.claims);
+  }
+
+  @Benchmark
+  public SSOData constructLazy() throws MalformedClaimException {
+    return SSOData.createLazy(this.claims);
+  }
+
+  @Benchmark
+  public void readIds(final Blackhole blackhole) throws MalformedClaimException {
+    final SSOData data = new SSOData(this.claims);
+    blackhole.consume(data.getInstanceID());
+    blackhole.consume(data.getUserID());
+  }
+
+  @Benchmark
+  public void readIdsLazy(final Blackhole blackhole) throws MalformedClaimException {
+    final SSOData data = SSOData.createLazy(this.claims);
+    blackhole.consume(data.getInstanceID());
+    blackhole.consume(data.getUserIDOrNull());
+  }
+}
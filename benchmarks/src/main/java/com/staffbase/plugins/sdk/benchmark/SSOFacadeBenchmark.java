@@ -0,0 +1,85 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * Throughput of {@link SSOFacade#verify(String)} for accepted and rejected
+ * tokens, with full and with stackless exceptions for the rejections.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SSOFacadeBenchmark {
+
+  @Param({"valid", "expired", "badSignature", "missingInstanceId"})
+  public String token;
+
+  @Param({"full", "stackless"})
+  public String failures;
+
+  private SSOFacade facade;
+  private String raw;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.facade = SSOFacade.create(key.getRsaPublicKey());
+    if ("stackless".equals(this.failures)) {
+      this.facade.withStacklessFailures(false);
+    }
+
+    switch (this.token) {
+      case "valid":
+        this.raw = Tokens.sign(Tokens.fullClaims(), key);
+        break;
+      case "expired":
+        this.raw = Tokens.sign(Tokens.expiredClaims(), key);
+        break;
+      case "badSignature":
+        this.raw = Tokens.sign(Tokens.fullClaims(), Tokens.generateKey());
+        break;
+      case "missingInstanceId":
+        this.raw = Tokens.sign(Tokens.claimsWithoutInstanceId(), key);
+        break;
+      default:
+        throw new IllegalArgumentException(this.token);
+    }
+  }
+
+  @Benchmark
+  public Object verify() {
+    try {
+      return this.facade.verify(this.raw);
+    } catch (final SSOException ssoException) {
+      return ssoException;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.servlet.SSOFilter;
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * Load test of the {@link SSOFilter} in an embedded Jetty, requesting a
+ * servlet over a keep-alive connection. The throughput without filter is the
+ * baseline, the difference to it the per-request overhead of the filter:
+ * verifying each request, with the cache of the facade, or verifying on the
+ * executor of the facade.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServletFilterBenchmark {
+
+  @Param({"none", "verify", "cached", "async"})
+  public String filter;
+
+  private Server server;
+  private URL url;
+  private final byte[] buffer = new byte[256];
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    final SSOFacade facade = SSOFacade.create(key.getRsaPublicKey());
+
+    final ServletContextHandler context = new ServletContextHandler();
+    final ServletHolder servlet = new ServletHolder(new InstanceServlet());
+    servlet.setAsyncSupported(true);
+    context.addServlet(servlet, "/plugin");
+
+    final SSOFilter ssoFilter;
+    switch (this.filter) {
+      case "verify":
+        ssoFilter = new SSOFilter(facade);
+        break;
+      case "cached":
+        ssoFilter = new SSOFilter(facade.withCache(1024));
+        break;
+      case "async":
+        ssoFilter = new SSOFilter(facade).withAsyncVerification();
+        break;
+      default:
+        ssoFilter = null;
+    }
+    if (ssoFilter != null) {
+      final FilterHolder holder = new FilterHolder(ssoFilter);
+      holder.setAsyncSupported(true);
+      context.addFilter(holder, "/*", EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC));
+    }
+
+    this.server = new Server();
+    final ServerConnector connector = new ServerConnector(this.server);
+    connector.setPort(0);
+    this.server.addConnector(connector);
+    this.server.setHandler(context);
+    this.server.start();
+
+    this.url = new URL("http://localhost:" + connector.getLocalPort() + "/plugin?jwt="
+        + Tokens.sign(Tokens.fullClaims(), key));
+    if (this.request() != HttpServletResponse.SC_OK + Tokens.INSTANCE_ID.length()) {
+      throw new IllegalStateException("The plugin did not answer the request.");
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    this.server.stop();
+  }
+
+  @Benchmark
+  public int request() throws IOException {
+
+    final HttpURLConnection connection = (HttpURLConnection) this.url.openConnection();
+    final int status = connection.getResponseCode();
+
+    // read the body to the end, so the connection is kept alive
+    int length = 0;
+    try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+      for (int read; in != null && (read = in.read(this.buffer)) >= 0; ) {
+        length += read;
+      }
+    }
+
+    return status + length;
+  }
+
+  /**
+   * Writes the instance id of the verified data, if any.
+   */
+  private static final class InstanceServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+      response.getWriter().write(SSOFilter.getData(request).map(SSOData::getInstanceID).orElse(Tokens.INSTANCE_ID));
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+import com.staffbase.plugins.sdk.sso.SSOSessionKeyRing;
+import com.staffbase.plugins.sdk.sso.SSOSessions;
+
+/**
+ * Cost of verifying a session token with {@link SSOSessions#verify(String)},
+ * next to verifying the single-sign-on attempt it was minted from with
+ * {@link SSOFacade#verify(String)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionBenchmark {
+
+  private SSOFacade facade;
+  private SSOSessions sessions;
+  private SSOData data;
+  private String raw;
+  private String session;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    final byte[] secret = new byte[SSOSessionKeyRing.MINIMUM_SECRET_LENGTH];
+    new SecureRandom().nextBytes(secret);
+
+    this.facade = SSOFacade.create(key.getRsaPublicKey());
+    this.sessions = SSOSessions.create(SSOSessionKeyRing.create(1, secret),
+        SSOData.KEY_USER_ID, SSOData.KEY_USER_ROLE, SSOData.KEY_USER_LOCALE);
+    this.raw = Tokens.sign(Tokens.fullClaims(), key);
+    this.data = this.facade.verify(this.raw);
+    this.session = this.sessions.mint(this.data);
+  }
+
+  @Benchmark
+  public SSOData verifyAttempt() throws SSOException {
+    return this.facade.verify(this.raw);
+  }
+
+  @Benchmark
+  public String mint() {
+    return this.sessions.mint(this.data);
+  }
+
+  @Benchmark
+  public SSOData verifySession() throws SSOException {
+    return this.sessions.verify(this.session);
+  }
+}
@@ -0,0 +1,119 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * Cost of the first verifications in a fresh JVM, once the facade reports
+ * ready, with and without {@link SSOFacade#warmUp()} before: the time to the
+ * first verification, and the time for the first 500, which compared with
+ * 500 times the steady cost of {@link SSOFacadeBenchmark} tells how long it
+ * takes to reach the steady state. Each fork is a new JVM.
+ *
+ * The tokens are signed with the JDK in the fork, without jose4j, so only
+ * the RSA provider is loaded before the facade is created.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+  private static final int TOKENS = 500;
+
+  @Param({"cold", "warm"})
+  public String start;
+
+  private SSOFacade facade;
+  private String[] raws;
+  private int next;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    final KeyPair key = generator.generateKeyPair();
+
+    this.raws = new String[TOKENS];
+    for (int i = 0; i < this.raws.length; i++) {
+      this.raws[i] = sign(i, key);
+    }
+
+    this.facade = SSOFacade.create((RSAPublicKey) key.getPublic());
+    if ("warm".equals(this.start)) {
+      this.facade.warmUp();
+    }
+  }
+
+  @Benchmark
+  @Measurement(iterations = 1, batchSize = 1)
+  public SSOData firstVerify() throws SSOException {
+    return this.facade.verify(this.raws[0]);
+  }
+
+  @Benchmark
+  @Measurement(iterations = 1, batchSize = TOKENS)
+  public SSOData first500Verifies() throws SSOException {
+    return this.facade.verify(this.raws[this.next++]);
+  }
+
+  /**
+   * Sign a token holding the claims of {@link Tokens#fullClaims()} with the
+   * JDK alone.
+   */
+  private static String sign(final int id, final KeyPair key) throws Exception {
+
+    final long now = System.currentTimeMillis() / 1000;
+    final String header = "{\"alg\":\"RS256\"}";
+    final String payload = "{\"exp\":" + (now + 24 * 3600) + ",\"iat\":" + now + ",\"nbf\":" + (now - 120)
+        + ",\"instance_id\":\"" + Tokens.INSTANCE_ID + "\",\"iss\":\"api.staffbase.com\",\"aud\":\"map\""
+        + ",\"jti\":\"startup-" + id + "\",\"sub\":\"541954c3e4b08bbdce1a340a\""
+        + ",\"sid\":\"vQt7mw67qgJZHddZ5FuUY/YPo\",\"branch_id\":\"56a6306f0cf23b042e0ae307\""
+        + ",\"branch_slug\":\"staffbasetest\",\"external_id\":\"jdoe\",\"username\":\"john.doe\""
+        + ",\"primary_email_address\":\"jdoe@email.com\",\"given_name\":\"John\",\"family_name\":\"Doe\""
+        + ",\"name\":\"John Doe\",\"role\":\"editor\",\"locale\":\"en_US\",\"instance_name\":\"Our locations\""
+        + ",\"type\":\"user\",\"theming_text\":\"#000000\",\"theming_bg\":\"#FFFFFF\""
+        + ",\"tags\":[\"profile:tag1\",\"profile:tag2\"]}";
+
+    final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    final String signingInput = encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+        + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+
+    final Signature signature = Signature.getInstance("SHA256withRSA");
+    signature.initSign(key.getPrivate());
+    signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+
+    return signingInput + "." + encoder.encodeToString(signature.sign());
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOTagSet;
+
+/**
+ * Cost of the tag checks an authorization filter runs per request: scanning
+ * the tag list, next to the checks of {@link SSOTagSet}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TagBenchmark {
+
+  private static final String[] REQUIRED = {"group:admins", "group:hr", "group:it"};
+
+  @Param({"5", "50"})
+  public int tagCount;
+
+  private SSOData data;
+  private SSOTagSet required;
+
+  @Setup
+  public void setUp() throws InvalidJwtException, MalformedClaimException {
+
+    final List<String> tags = new ArrayList<>();
+    for (int i = 0; i < this.tagCount; i++) {
+      tags.add("profile:tag" + i);
+    }
+    tags.add("group:it");
+
+    final JwtClaims claims = Tokens.fullClaims();
+    claims.setStringListClaim(SSOData.KEY_TAGS, tags);
+    this.data = new SSOData(JwtClaims.parse(claims.toJson()));
+    this.required = SSOTagSet.of(REQUIRED);
+    this.data.getTagSet();
+  }
+
+  @Benchmark
+  public boolean scanList() {
+    final List<String> tags = this.data.getTagsOrNull();
+    for (final String tag : REQUIRED) {
+      if (tags.contains(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Benchmark
+  public boolean tagSet() {
+    return this.data.getTagSet().hasAnyTag(REQUIRED);
+  }
+
+  @Benchmark
+  public boolean prebuiltTagSet() {
+    return this.data.getTagSet().hasAnyTag(this.required);
+  }
+
+  @Benchmark
+  public boolean isEditor() {
+    return this.data.isEditor();
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.Arrays;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.lang.JoseException;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+
+/**
+ * Fixtures for minting tokens the way the Staffbase app does.
+ */
+public final class Tokens {
+
+  public static final String INSTANCE_ID = "55c79b6ee4b06c6fb19bd1e2";
+
+  private Tokens() {
+  }
+
+  /**
+   * Generate a 2048 bits JSON web key, the size used by staffbase.
+   *
+   * @return JSON web key
+   * @throws JoseException
+   */
+  public static RsaJsonWebKey generateKey() throws JoseException {
+    return RsaJwkGenerator.generateJwk(2048);
+  }
+
+  /**
+   * Create claims holding only what the verification requires.
+   *
+   * @return the claims, valid for a day
+   */
+  public static JwtClaims minimalClaims() {
+
+    final JwtClaims claims = new JwtClaims();
+
+    claims.setExpirationTimeMinutesInTheFuture(24 * 60);
+    claims.setIssuedAtToNow();
+    claims.setNotBeforeMinutesInThePast(2);
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, INSTANCE_ID);
+
+    return claims;
+  }
+
+  /**
+   * Create claims holding everything the Staffbase app may send.
+   *
+   * @return the claims, valid for a day
+   */
+  public static JwtClaims fullClaims() {
+
+    final JwtClaims claims = minimalClaims();
+
+    claims.setIssuer("api.staffbase.com");
+    claims.setAudience("map");
+    claims.setGeneratedJwtId();
+    claims.setSubject("541954c3e4b08bbdce1a340a");
+    claims.setClaim(SSOData.KEY_SESSION_ID, "vQt7mw67qgJZHddZ5FuUY/YPo");
+    claims.setClaim(SSOData.KEY_BRANCH_ID, "56a6306f0cf23b042e0ae307");
+    claims.setClaim(SSOData.KEY_BRANCH_SLUG, "staffbasetest");
+    claims.setClaim(SSOData.KEY_USER_EXTERNAL_ID, "jdoe");
+    claims.setClaim(SSOData.KEY_USER_USERNAME, "john.doe");
+    claims.setClaim(SSOData.KEY_USER_PRIMARY_EMAIL_ADDRESS, "jdoe@email.com");
+    claims.setClaim(SSOData.KEY_USER_FIRST_NAME, "John");
+    claims.setClaim(SSOData.KEY_USER_LAST_NAME, "Doe");
+    claims.setClaim(SSOData.KEY_USER_FULL_NAME, "John Doe");
+    claims.setClaim(SSOData.KEY_USER_ROLE, SSOData.ROLE_EDITOR);
+    claims.setClaim(SSOData.KEY_USER_LOCALE, "en_US");
+    claims.setClaim(SSOData.KEY_INSTANCE_NAME, "Our locations");
+    claims.setClaim(SSOData.KEY_ENTITY_TYPE, "user");
+    claims.setClaim(SSOData.KEY_THEME_TEXT_COLOR, "#000000");
+    claims.setClaim(SSOData.KEY_THEME_BACKGROUND_COLOR, "#FFFFFF");
+    claims.setStringListClaim(SSOData.KEY_TAGS, Arrays.asList("profile:tag1", "profile:tag2"));
+
+    return claims;
+  }
+
+  /**
+   * Create claims of a token which expired an hour ago.
+   *
+   * @return the claims
+   */
+  public static JwtClaims expiredClaims() {
+
+    final JwtClaims claims = fullClaims();
+
+    final NumericDate exp = NumericDate.now();
+    exp.addSeconds(-3600);
+    claims.setExpirationTime(exp);
+
+    return claims;
+  }
+
+  /**
+   * Create claims lacking the mandatory instance id.
+   *
+   * @return the claims
+   */
+  public static JwtClaims claimsWithoutInstanceId() {
+
+    final JwtClaims claims = fullClaims();
+    claims.unsetClaim(SSOData.KEY_INSTANCE_ID);
+
+    return claims;
+  }
+
+  /**
+   * Create a RS256 signed token.
+   *
+   * @param claims the claims
+   * @param key the key to sign with
+   * @return the compact serialization
+   * @throws JoseException
+   */
+  public static String sign(final JwtClaims claims, final RsaJsonWebKey key) throws JoseException {
+
+    final JsonWebSignature jws = new JsonWebSignature();
+
+    jws.setPayload(claims.toJson());
+    jws.setKey(key.getPrivateKey());
+    jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.RSA_USING_SHA256);
+
+    return jws.getCompactSerialization();
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+import com.staffbase.plugins.sdk.sso.SSOTrustedDecoder;
+
+/**
+ * Cost of decoding a token verified upstream with
+ * {@link SSOTrustedDecoder#decodeTrusted(String)}, next to verifying it with
+ * {@link SSOFacade#verify(String)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrustedDecodeBenchmark {
+
+  private SSOFacade facade;
+  private SSOTrustedDecoder decoder;
+  private SSOTrustedDecoder fullDecoder;
+  private String raw;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.facade = SSOFacade.create(key.getRsaPublicKey());
+    this.decoder = SSOTrustedDecoder.create(SSOData.KEY_USER_ID);
+    this.fullDecoder = SSOTrustedDecoder.create(
+        SSOData.KEY_USER_ID, SSOData.KEY_USER_EXTERNAL_ID, SSOData.KEY_USER_USERNAME,
+        SSOData.KEY_USER_PRIMARY_EMAIL_ADDRESS, SSOData.KEY_USER_FIRST_NAME, SSOData.KEY_USER_LAST_NAME,
+        SSOData.KEY_USER_FULL_NAME, SSOData.KEY_USER_ROLE, SSOData.KEY_USER_LOCALE, SSOData.KEY_TAGS,
+        SSOData.KEY_BRANCH_ID, SSOData.KEY_BRANCH_SLUG, SSOData.KEY_SESSION_ID, SSOData.KEY_TOKEN_ID,
+        SSOData.KEY_ISSUER, SSOData.KEY_AUDIENCE, SSOData.KEY_INSTANCE_NAME, SSOData.KEY_ENTITY_TYPE,
+        SSOData.KEY_THEME_TEXT_COLOR, SSOData.KEY_THEME_BACKGROUND_COLOR);
+    this.raw = Tokens.sign(Tokens.fullClaims(), key);
+  }
+
+  @Benchmark
+  public SSOData verify() throws SSOException {
+    return this.facade.verify(this.raw);
+  }
+
+  @Benchmark
+  public SSOData decodeProjected() throws SSOException {
+    return this.decoder.decodeTrusted(this.raw);
+  }
+
+  @Benchmark
+  public SSOData decodeAllClaims() throws SSOException {
+    return this.fullDecoder.decodeTrusted(this.raw);
+  }
+}
@@ -0,0 +1,98 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * Cost of {@link SSOFacade#verify(String)} next to the overloads taking the
+ * token as characters or bytes, as handed over by servlet containers and
+ * network frameworks. Run with <code>-prof gc</code> to compare the bytes
+ * allocated per verification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VerifyInputBenchmark {
+
+  /**
+   * How the token is given.
+   */
+  @Param({"string", "chars", "bytes", "directBuffer"})
+  public String input;
+
+  private SSOFacade cachedFacade;
+  private SSOFacade uncachedFacade;
+  private String raw;
+  private CharSequence chars;
+  private byte[] bytes;
+  private ByteBuffer directBuffer;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.cachedFacade = SSOFacade.create(key.getRsaPublicKey()).withCache(16);
+    this.uncachedFacade = SSOFacade.create(key.getRsaPublicKey());
+
+    this.raw = Tokens.sign(Tokens.fullClaims(), key);
+    this.chars = CharBuffer.wrap(this.raw);
+    this.bytes = this.raw.getBytes(StandardCharsets.US_ASCII);
+    this.directBuffer = ByteBuffer.allocateDirect(this.bytes.length);
+    this.directBuffer.put(this.bytes);
+    this.directBuffer.flip();
+  }
+
+  @Benchmark
+  public SSOData cached() throws SSOException {
+    return this.verify(this.cachedFacade);
+  }
+
+  @Benchmark
+  public SSOData uncached() throws SSOException {
+    return this.verify(this.uncachedFacade);
+  }
+
+  private SSOData verify(final SSOFacade facade) throws SSOException {
+
+    switch (this.input) {
+      case "chars":
+        return facade.verify(this.chars);
+      case "bytes":
+        return facade.verify(this.bytes, 0, this.bytes.length);
+      case "directBuffer":
+        return facade.verify(this.directBuffer);
+      default:
+        return facade.verify(this.raw);
+    }
+  }
+}
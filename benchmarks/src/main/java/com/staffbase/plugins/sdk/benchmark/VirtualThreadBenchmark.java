@@ -0,0 +1,97 @@
+/**
+ * Benchmarks for the Plugin SDK.
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * Time to verify 10,000 distinct tokens handed to
+ * {@link SSOFacade#verifyAsync(String)} at once, on a fixed pool with one
+ * platform thread per processor, on a platform thread per verification, and
+ * on a virtual thread per verification. The latter requires Java 21.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+  private static final int CONCURRENT_VERIFIES = 10_000;
+
+  @Param({"pool", "platform", "virtual"})
+  public String threads;
+
+  private SSOFacade facade;
+  private ExecutorService pool;
+  private String[] raws;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    final RsaJsonWebKey key = Tokens.generateKey();
+    this.facade = SSOFacade.create(key.getRsaPublicKey());
+
+    switch (this.threads) {
+      case "pool":
+        this.pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.facade.withExecutor(this.pool);
+        break;
+      case "platform":
+        this.facade.withExecutor(task -> new Thread(task).start());
+        break;
+      default:
+        this.facade.withVirtualThreads();
+    }
+
+    // distinct tokens, so concurrent verifications are not coalesced
+    this.raws = new String[CONCURRENT_VERIFIES];
+    for (int i = 0; i < this.raws.length; i++) {
+      this.raws[i] = Tokens.sign(Tokens.fullClaims(), key);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (this.pool != null) {
+      this.pool.shutdown();
+    }
+  }
+
+  @Benchmark
+  public Object verifyConcurrently() {
+
+    final CompletableFuture<?>[] futures = new CompletableFuture<?>[this.raws.length];
+    for (int i = 0; i < this.raws.length; i++) {
+      futures[i] = this.facade.verifyAsync(this.raws[i]).toCompletableFuture();
+    }
+
+    return CompletableFuture.allOf(futures).join();
+  }
+}
@@ -0,0 +1,135 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.micrometer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * {@link SSOMetrics} recording into Micrometer, as the timer
+ * {@value #METER_NAME} tagged with the outcome, i.e. <code>verified</code> or
+ * the lower-cased {@link SSOException.Reason}. Rejections answered from the
+ * rejection cache are counted by {@value #CACHED_REJECTIONS_METER_NAME} as
+ * well, tagged with the reason.
+ *
+ * <pre>
+ * final MicrometerSSOMetrics metrics = new MicrometerSSOMetrics();
+ * metrics.bindTo(meterRegistry);
+ * final SSOFacade ssoFac = SSOFacade.create(publicKey).withMetrics(metrics);
+ * </pre>
+ *
+ * The timers are created up front, so recording does not look up meters.
+ * Percentiles and histograms are configured on the registry, e.g. using a
+ * {@link io.micrometer.core.instrument.config.MeterFilter}.
+ */
+public class MicrometerSSOMetrics implements SSOMetrics, MeterBinder {
+
+  /**
+   * The name of the timer.
+   */
+  public static final String METER_NAME = "staffbase.sso.verify";
+
+  /**
+   * The name of the counter of rejections answered from the rejection cache.
+   */
+  public static final String CACHED_REJECTIONS_METER_NAME = "staffbase.sso.rejection.cache.hits";
+
+  /**
+   * The name of the tag holding the outcome.
+   */
+  public static final String TAG_OUTCOME = "outcome";
+
+  /**
+   * The outcome of verified attempts.
+   */
+  public static final String OUTCOME_VERIFIED = "verified";
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The registries bound to, the timers record into all of them.
+   */
+  private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+
+  private final Timer verified;
+
+  /**
+   * The timers of rejected attempts, indexed by {@link SSOException.Reason#ordinal()}.
+   */
+  private final Timer[] rejected;
+
+  /**
+   * The counters of cached rejections, indexed by {@link SSOException.Reason#ordinal()}.
+   */
+  private final Counter[] cachedRejections;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  public MicrometerSSOMetrics() {
+
+    this.verified = this.timer(OUTCOME_VERIFIED);
+
+    final SSOException.Reason[] reasons = SSOException.Reason.values();
+    this.rejected = new Timer[reasons.length];
+    this.cachedRejections = new Counter[reasons.length];
+    for (final SSOException.Reason reason : reasons) {
+      final String outcome = reason.name().toLowerCase(Locale.ROOT);
+      this.rejected[reason.ordinal()] = this.timer(outcome);
+      this.cachedRejections[reason.ordinal()] = Counter.builder(CACHED_REJECTIONS_METER_NAME)
+          .description("Rejections of single-sign-on attempts answered from the rejection cache")
+          .tag(TAG_OUTCOME, outcome)
+          .register(this.registry);
+    }
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  @Override
+  public void bindTo(final MeterRegistry meterRegistry) {
+    this.registry.add(meterRegistry);
+  }
+
+  @Override
+  public void recordVerified(final long durationNanos) {
+    this.verified.record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordRejected(final SSOException.Reason reason, final long durationNanos) {
+    this.rejected[reason.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordCachedRejection(final SSOException.Reason reason) {
+    this.cachedRejections[reason.ordinal()].increment();
+  }
+
+  private Timer timer(final String outcome) {
+    return Timer.builder(METER_NAME)
+        .description("Verification of single-sign-on attempts")
+        .tag(TAG_OUTCOME, outcome)
+        .register(this.registry);
+  }
+}
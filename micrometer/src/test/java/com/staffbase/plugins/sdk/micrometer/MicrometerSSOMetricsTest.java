@@ -0,0 +1,65 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.micrometer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.staffbase.plugins.sdk.sso.SSOException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+public class MicrometerSSOMetricsTest {
+
+  /**
+   * Test outcomes are recorded as timers tagged with the outcome.
+   */
+  @Test
+  public void testTimers() {
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final MicrometerSSOMetrics metrics = new MicrometerSSOMetrics();
+    metrics.bindTo(registry);
+
+    metrics.recordVerified(2_000_000);
+    metrics.recordRejected(SSOException.Reason.EXPIRED, 1000);
+    metrics.recordRejected(SSOException.Reason.EXPIRED, 1000);
+
+    assertEquals(1, registry.get(MicrometerSSOMetrics.METER_NAME)
+        .tag(MicrometerSSOMetrics.TAG_OUTCOME, MicrometerSSOMetrics.OUTCOME_VERIFIED).timer().count());
+    assertEquals(2.0, registry.get(MicrometerSSOMetrics.METER_NAME)
+        .tag(MicrometerSSOMetrics.TAG_OUTCOME, "verified").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+    assertEquals(2, registry.get(MicrometerSSOMetrics.METER_NAME)
+        .tag(MicrometerSSOMetrics.TAG_OUTCOME, "expired").timer().count());
+  }
+
+  /**
+   * Test rejections answered from the rejection cache are counted by reason.
+   */
+  @Test
+  public void testCachedRejections() {
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final MicrometerSSOMetrics metrics = new MicrometerSSOMetrics();
+    metrics.bindTo(registry);
+
+    metrics.recordCachedRejection(SSOException.Reason.SIGNATURE);
+    metrics.recordCachedRejection(SSOException.Reason.SIGNATURE);
+
+    assertEquals(2.0, registry.get(MicrometerSSOMetrics.CACHED_REJECTIONS_METER_NAME)
+        .tag(MicrometerSSOMetrics.TAG_OUTCOME, "signature").counter().count(), 0.001);
+    assertEquals(0.0, registry.get(MicrometerSSOMetrics.CACHED_REJECTIONS_METER_NAME)
+        .tag(MicrometerSSOMetrics.TAG_OUTCOME, "malformed").counter().count(), 0.001);
+  }
+}
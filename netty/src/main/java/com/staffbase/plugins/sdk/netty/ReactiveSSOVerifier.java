@@ -0,0 +1,103 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.netty;
+
+import java.util.Objects;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Mono;
+
+/**
+ * Exposes the verification of a {@link SSOFacade} as {@link Mono}s, for
+ * handlers built on Reactor. The RSA verification runs on the executor of
+ * the facade, e.g. a {@link SSOWorkerGroup}; attempts answered from the
+ * cache of the facade complete on the subscribing thread.
+ *
+ * <pre>
+ * final ReactiveSSOVerifier verifier = new ReactiveSSOVerifier(ssoFac);
+ *
+ * return verifier.verify(token)
+ *     .map(ssoData -&gt; render(ssoData))
+ *     .onErrorResume(SSOException.class, failure -&gt; unauthorized());
+ * </pre>
+ *
+ * The returned monos are cold: nothing is verified until they are
+ * subscribed to. They fail with a {@link SSOException} if the attempt is
+ * rejected, or with a {@link java.util.concurrent.RejectedExecutionException}
+ * if the executor is saturated.
+ */
+public class ReactiveSSOVerifier {
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final SSOFacade facade;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  /**
+   * Constructor.
+   *
+   * @param facade the facade to verify the attempts with
+   */
+  public ReactiveSSOVerifier(final SSOFacade facade) {
+    this.facade = Objects.requireNonNull(facade);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Verify and parse a single-sign-on attempt.
+   *
+   * @param raw the raw JWT characters
+   * @return the mono emitting the parsed data from the sign-on attempt
+   */
+  public Mono<SSOData> verify(final CharSequence raw) {
+
+    Objects.requireNonNull(raw);
+
+    return Mono.defer(() -> Mono.fromCompletionStage(this.facade.verifyAsync(raw)));
+  }
+
+  /**
+   * Verify and parse a single-sign-on attempt given as the readable ASCII
+   * bytes of a buffer, without copying them into a string if the attempt is
+   * answered from the cache. The bytes are read on subscription; the buffer
+   * is neither released nor are its indexes changed, so keep it until the
+   * mono is subscribed to.
+   *
+   * @param raw the buffer holding the raw JWT bytes
+   * @return the mono emitting the parsed data from the sign-on attempt
+   */
+  public Mono<SSOData> verify(final ByteBuf raw) {
+
+    Objects.requireNonNull(raw);
+
+    return Mono.defer(() -> Mono.fromCompletionStage(this.facade.verifyAsync(raw.nioBuffer())));
+  }
+
+  /**
+   * Get the facade verifying the attempts.
+   *
+   * @return the facade
+   */
+  public SSOFacade getFacade() {
+    return this.facade;
+  }
+}
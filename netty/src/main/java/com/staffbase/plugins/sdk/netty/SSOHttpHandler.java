@@ -0,0 +1,461 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.netty;
+
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.AsciiString;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * A Netty handler verifying the single-sign-on attempt of each HTTP request
+ * with a {@link SSOFacade}, without blocking the event loop. Verified
+ * requests are passed on carrying their {@link SSOData}, read by
+ * {@link #getData(HttpRequest)}; requests without a token or with a rejected
+ * token are answered with <code>401 Unauthorized</code>, and with
+ * <code>503 Service Unavailable</code> if the executor of the facade is
+ * saturated or its admission limiter sheds the attempt.
+ *
+ * <pre>
+ * final SSOFacade ssoFac = SSOFacade.create(publicKey)
+ *     .withCache(10_000)
+ *     .withExecutor(SSOWorkerGroup.create(512));
+ *
+ * pipeline.addLast(new HttpServerCodec(), new HttpObjectAggregator(65536),
+ *     new SSOHttpHandler(ssoFac), new PluginHandler());
+ * </pre>
+ *
+ * The token is taken from a header if configured, else from the request
+ * parameter {@value #DEFAULT_PARAMETER} of the query or of a form body, or
+ * from a body of type <code>application/jwt</code>. Tokens in the body are
+ * read straight from its buffer, so attempts answered from the cache of the
+ * facade are never copied into a string.
+ *
+ * Attempts not answered from the cache are verified on the executor of the
+ * facade, e.g. a {@link SSOWorkerGroup}. Meanwhile, the handler stops
+ * reading from the channel and holds back later messages, so requests are
+ * passed on in order and a client cannot queue up verifications. Handlers
+ * are not sharable: add a new one for each channel.
+ *
+ * The data travels with the request rather than the channel, so handlers
+ * further down may process several requests of a connection at once, e.g.
+ * asynchronously. A verified request is passed on as a copy of the request
+ * sharing its headers and content; decoders aggregating the request after
+ * this handler drop the data, so add them before it.
+ */
+public class SSOHttpHandler extends ChannelInboundHandlerAdapter {
+
+  /**
+   * The request parameter holding the token by default.
+   */
+  public static final String DEFAULT_PARAMETER = "jwt";
+
+  private static final AsciiString APPLICATION_JWT = AsciiString.cached("application/jwt");
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private static final Logger logger = LogManager.getLogger(SSOHttpHandler.class);
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final SSOFacade facade;
+
+  private String parameter = DEFAULT_PARAMETER;
+
+  private CharSequence header;
+
+  /**
+   * The messages read while a verification was running, in order.
+   */
+  private final ArrayDeque<Object> pending = new ArrayDeque<>();
+
+  /**
+   * Whether a verification is running.
+   */
+  private boolean verifying;
+
+  /**
+   * Whether the content of a rejected request is dropped.
+   */
+  private boolean discarding;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  /**
+   * Constructor.
+   *
+   * @param facade the facade to verify the attempts with
+   */
+  public SSOHttpHandler(final SSOFacade facade) {
+    this.facade = Objects.requireNonNull(facade);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Take the token from a request parameter.
+   *
+   * @param parameter the name of the parameter, <code>null</code> to not read
+   *        the token from a parameter
+   * @return Fluent interface.
+   */
+  public SSOHttpHandler withParameter(final String parameter) {
+    this.parameter = parameter;
+    return this;
+  }
+
+  /**
+   * Take the token from a header, e.g. <code>Authorization</code>. If the
+   * header is absent, the parameter is read, if any.
+   *
+   * @param header the name of the header, <code>null</code> to not read the
+   *        token from a header
+   * @return Fluent interface.
+   */
+  public SSOHttpHandler withHeader(final CharSequence header) {
+    this.header = header;
+    return this;
+  }
+
+  /**
+   * Get the data of a request passed on by the handler.
+   *
+   * @param request the request
+   * @return the verified data, empty if the request was not passed on by
+   *         the handler
+   */
+  public static Optional<SSOData> getData(final HttpRequest request) {
+    return request instanceof Verified ? Optional.of(((Verified) request).getData()) : Optional.empty();
+  }
+
+  @Override
+  public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+
+    if (this.verifying) {
+      this.pending.add(msg);
+      return;
+    }
+
+    this.handle(ctx, msg);
+  }
+
+  @Override
+  public void handlerRemoved(final ChannelHandlerContext ctx) {
+
+    for (Object msg; (msg = this.pending.poll()) != null; ) {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  private void handle(final ChannelHandlerContext ctx, final Object msg) {
+
+    if (!(msg instanceof HttpRequest)) {
+      if (this.discarding) {
+        this.discarding = !(msg instanceof LastHttpContent);
+        ReferenceCountUtil.release(msg);
+      } else {
+        ctx.fireChannelRead(msg);
+      }
+      return;
+    }
+
+    final HttpRequest request = (HttpRequest) msg;
+    this.discarding = false;
+
+    final CompletionStage<SSOData> stage = this.verify(request);
+    if (stage == null) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Request without single-sign-on token. [uri={}]", request.uri());
+      }
+      this.reject(ctx, request, HttpResponseStatus.UNAUTHORIZED);
+      return;
+    }
+
+    final CompletableFuture<SSOData> future = stage.toCompletableFuture();
+    if (future.isDone()) {
+      this.complete(ctx, request, future);
+      return;
+    }
+
+    // hold back the channel until verified, so requests are passed on in order
+    this.verifying = true;
+    ctx.channel().config().setAutoRead(false);
+    future.whenComplete((data, failure) -> ctx.executor().execute(() -> {
+      this.verifying = false;
+      ctx.channel().config().setAutoRead(true);
+      this.complete(ctx, request, future);
+
+      for (Object next; !this.verifying && (next = this.pending.poll()) != null; ) {
+        this.handle(ctx, next);
+      }
+    }));
+  }
+
+  /**
+   * Start verifying the token of a request.
+   *
+   * @return the verification, <code>null</code> if the request has no token
+   */
+  private CompletionStage<SSOData> verify(final HttpRequest request) {
+
+    if (this.header != null) {
+      final String value = request.headers().get(this.header);
+      if (value != null && !value.isEmpty()) {
+        if (!value.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+          return this.facade.verifyAsync(value);
+        }
+
+        // trimmed like String.trim(), without copying
+        int start = BEARER_PREFIX.length();
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+          start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+          end--;
+        }
+        return this.facade.verifyAsync(CharBuffer.wrap(value, start, end));
+      }
+    }
+
+    if (this.parameter != null) {
+      final String uri = request.uri();
+      final int query = uri.indexOf('?');
+      if (query >= 0) {
+        final CharSequence value = findParameter(uri, query + 1, this.parameter);
+        if (value != null) {
+          return this.facade.verifyAsync(value);
+        }
+      }
+    }
+
+    if (request instanceof FullHttpRequest && ((FullHttpRequest) request).content().isReadable()) {
+      final ByteBuf content = ((FullHttpRequest) request).content();
+      final String contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
+      if (contentType == null) {
+        return null;
+      }
+      if (APPLICATION_JWT.contentEqualsIgnoreCase(HttpUtil.getMimeType(contentType))) {
+        return this.facade.verifyAsync(content.nioBuffer());
+      }
+      if (this.parameter != null && HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED
+          .contentEqualsIgnoreCase(HttpUtil.getMimeType(contentType))) {
+        final ByteBuf value = findParameter(content, this.parameter);
+        if (value != null) {
+          return this.facade.verifyAsync(value.nioBuffer());
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Pass on a verified request, or reject it.
+   */
+  private void complete(final ChannelHandlerContext ctx, final HttpRequest request,
+      final CompletableFuture<SSOData> future) {
+
+    final SSOData data;
+    try {
+      data = future.join();
+    } catch (final CompletionException completionException) {
+      final Throwable cause = completionException.getCause();
+      if (cause instanceof SSOException) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Rejected single-sign-on attempt. [reason={}]", ((SSOException) cause).getReason());
+        }
+        // shed attempts are valid as far as known, the client should retry
+        this.reject(ctx, request, ((SSOException) cause).getReason() == SSOException.Reason.OVERLOADED
+            ? HttpResponseStatus.SERVICE_UNAVAILABLE
+            : HttpResponseStatus.UNAUTHORIZED);
+      } else if (cause instanceof RejectedExecutionException) {
+        this.reject(ctx, request, HttpResponseStatus.SERVICE_UNAVAILABLE);
+      } else {
+        if (logger.isErrorEnabled()) {
+          logger.error("Verification of single-sign-on attempt failed.", cause);
+        }
+        this.reject(ctx, request, HttpResponseStatus.INTERNAL_SERVER_ERROR);
+      }
+      return;
+    }
+
+    ctx.fireChannelRead(request instanceof FullHttpRequest
+        ? new VerifiedFullHttpRequest((FullHttpRequest) request, data)
+        : new VerifiedHttpRequest(request, data));
+  }
+
+  /**
+   * Answer a request with an empty response, dropping its content.
+   */
+  private void reject(final ChannelHandlerContext ctx, final HttpRequest request, final HttpResponseStatus status) {
+
+    final boolean keepAlive = HttpUtil.isKeepAlive(request);
+    this.discarding = !(request instanceof LastHttpContent);
+    ReferenceCountUtil.release(request);
+
+    final FullHttpResponse response = new DefaultFullHttpResponse(request.protocolVersion(), status);
+    HttpUtil.setContentLength(response, 0);
+    HttpUtil.setKeepAlive(response, keepAlive);
+
+    if (keepAlive) {
+      ctx.writeAndFlush(response);
+    } else {
+      ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+
+  /**
+   * Find the value of a parameter in a query string, without decoding it;
+   * tokens consist of characters which are never encoded.
+   *
+   * @return the value as a view of the query, <code>null</code> if absent or empty
+   */
+  static CharSequence findParameter(final String query, final int from, final String name) {
+
+    int start = from;
+    while (start < query.length()) {
+      int end = query.indexOf('&', start);
+      if (end < 0) {
+        end = query.length();
+      }
+      final int valueStart = start + name.length() + 1;
+      if (valueStart < end && query.charAt(valueStart - 1) == '=' && query.startsWith(name, start)) {
+        return CharBuffer.wrap(query, valueStart, end);
+      }
+      start = end + 1;
+    }
+
+    return null;
+  }
+
+  /**
+   * Find the value of a parameter in a form body, without decoding it.
+   *
+   * @return the value as a slice of the body, <code>null</code> if absent or empty
+   */
+  static ByteBuf findParameter(final ByteBuf form, final String name) {
+
+    final int limit = form.writerIndex();
+    int start = form.readerIndex();
+    while (start < limit) {
+      int end = form.indexOf(start, limit, (byte) '&');
+      if (end < 0) {
+        end = limit;
+      }
+      final int valueStart = start + name.length() + 1;
+      if (valueStart < end && form.getByte(valueStart - 1) == '=' && startsWith(form, start, name)) {
+        return form.slice(valueStart, end - valueStart);
+      }
+      start = end + 1;
+    }
+
+    return null;
+  }
+
+  private static boolean startsWith(final ByteBuf buffer, final int index, final String prefix) {
+
+    for (int i = 0; i < prefix.length(); i++) {
+      if (buffer.getByte(index + i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * A request passed on along with its data.
+   */
+  private interface Verified {
+
+    SSOData getData();
+  }
+
+  /**
+   * A full request passed on along with its data, taking over the content
+   * of the original request.
+   */
+  private static final class VerifiedFullHttpRequest extends DefaultFullHttpRequest implements Verified {
+
+    private final SSOData data;
+
+    private VerifiedFullHttpRequest(final FullHttpRequest request, final SSOData data) {
+      super(request.protocolVersion(), request.method(), request.uri(), request.content(),
+          request.headers(), request.trailingHeaders());
+      this.setDecoderResult(request.decoderResult());
+      this.data = data;
+    }
+
+    @Override
+    public SSOData getData() {
+      return this.data;
+    }
+  }
+
+  /**
+   * The head of a request passed on along with its data, followed by its
+   * content as read.
+   */
+  private static final class VerifiedHttpRequest extends DefaultHttpRequest implements Verified {
+
+    private final SSOData data;
+
+    private VerifiedHttpRequest(final HttpRequest request, final SSOData data) {
+      super(request.protocolVersion(), request.method(), request.uri(), request.headers());
+      this.setDecoderResult(request.decoderResult());
+      this.data = data;
+    }
+
+    @Override
+    public SSOData getData() {
+      return this.data;
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.netty;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * A bounded group of worker threads running the RSA verifications of a
+ * {@link SSOFacade}, so they never block an event loop.
+ *
+ * <pre>
+ * final SSOWorkerGroup workers = SSOWorkerGroup.create(4, 512);
+ * final SSOFacade ssoFac = SSOFacade.create(publicKey).withExecutor(workers);
+ * </pre>
+ *
+ * Verifications wait in a queue of fixed capacity. When it is full, further
+ * verifications are rejected with a {@link RejectedExecutionException} right
+ * away instead of piling up, which {@link SSOHttpHandler} answers with
+ * <code>503 Service Unavailable</code>. The queue depth tells how close the
+ * group is to that point.
+ */
+public class SSOWorkerGroup implements Executor, AutoCloseable {
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final ThreadPoolExecutor executor;
+
+  private final int queueCapacity;
+
+  private final LongAdder rejected = new LongAdder();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private SSOWorkerGroup(final int threads, final int queueCapacity) {
+
+    final AtomicInteger counter = new AtomicInteger();
+
+    this.queueCapacity = queueCapacity;
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          final Thread thread = new Thread(runnable, "sso-worker-" + counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        (runnable, pool) -> {
+          if (pool.isShutdown()) {
+            throw new RejectedExecutionException("The worker group is closed.");
+          }
+          this.rejected.increment();
+          throw new RejectedExecutionException("The verification queue is full. [capacity=" + queueCapacity + "]");
+        });
+  }
+
+  /**
+   * Create a worker group with one thread per processor, as verification is
+   * CPU bound.
+   *
+   * @param queueCapacity the maximum number of verifications waiting for a thread
+   * @return the worker group
+   */
+  public static SSOWorkerGroup create(final int queueCapacity) {
+    return create(Runtime.getRuntime().availableProcessors(), queueCapacity);
+  }
+
+  /**
+   * Create a worker group.
+   *
+   * @param threads the number of threads
+   * @param queueCapacity the maximum number of verifications waiting for a thread
+   * @return the worker group
+   */
+  public static SSOWorkerGroup create(final int threads, final int queueCapacity) {
+
+    if (threads <= 0) {
+      throw new IllegalArgumentException("The number of threads must be positive. [threads=" + threads + "]");
+    }
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("The queue capacity must be positive. [queueCapacity=" + queueCapacity + "]");
+    }
+
+    return new SSOWorkerGroup(threads, queueCapacity);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Run a verification on a worker thread.
+   *
+   * @param command the verification
+   * @throws RejectedExecutionException if the queue is full or the group is closed
+   */
+  @Override
+  public void execute(final Runnable command) {
+    this.executor.execute(command);
+  }
+
+  /**
+   * Stop the threads once the queued verifications ran. Verifications handed
+   * to the group afterwards are rejected.
+   */
+  @Override
+  public void close() {
+    this.executor.shutdown();
+  }
+
+  /**********************************************
+   * Getters
+   **********************************************/
+
+  /**
+   * Get the number of verifications waiting for a thread.
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    return this.executor.getQueue().size();
+  }
+
+  /**
+   * Get the maximum number of verifications waiting for a thread.
+   *
+   * @return the queue capacity
+   */
+  public int getQueueCapacity() {
+    return this.queueCapacity;
+  }
+
+  /**
+   * Get the approximate number of verifications running.
+   *
+   * @return the number of busy threads
+   */
+  public int getActiveCount() {
+    return this.executor.getActiveCount();
+  }
+
+  /**
+   * Get the number of verifications rejected as the queue was full.
+   *
+   * @return the number of rejections
+   */
+  public long getRejectedCount() {
+    return this.rejected.sum();
+  }
+}
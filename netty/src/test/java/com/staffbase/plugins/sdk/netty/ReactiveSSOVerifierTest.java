@@ -0,0 +1,104 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Mono;
+
+
+public class ReactiveSSOVerifierTest {
+
+  /**
+   * Test monos emit the data and are cold.
+   */
+  @Test
+  public void testVerify() throws Exception {
+
+    final SSOFacade facade = SSOFacade.create(TestTokens.key().getRsaPublicKey()).withCache(16);
+    final ReactiveSSOVerifier verifier = new ReactiveSSOVerifier(facade);
+    final String token = TestTokens.token();
+
+    final Mono<SSOData> mono = verifier.verify(token);
+    assertEquals(0, facade.getCache().get().getMissCount());
+
+    assertEquals(TestTokens.INSTANCE_ID, mono.block().getInstanceID());
+
+    final ByteBuf buffer = Unpooled.copiedBuffer("x" + token, StandardCharsets.US_ASCII);
+    buffer.skipBytes(1);
+    assertEquals(TestTokens.INSTANCE_ID, verifier.verify(buffer).block().getInstanceID());
+    assertEquals(1, buffer.readerIndex());
+    assertEquals(1, facade.getCache().get().getHitCount());
+    buffer.release();
+  }
+
+  /**
+   * Test rejected attempts fail the mono.
+   */
+  @Test
+  public void testRejected() throws Exception {
+
+    final ReactiveSSOVerifier verifier = new ReactiveSSOVerifier(TestTokens.facade());
+
+    try {
+      verifier.verify(TestTokens.forgedToken()).block();
+      fail("Expected Exception not thrown.");
+    } catch (final RuntimeException exception) {
+      assertTrue(exception.getCause() instanceof SSOException);
+    }
+  }
+
+  /**
+   * Test the worker group rejects verifications once its queue is full.
+   */
+  @Test
+  public void testWorkerGroupSaturated() throws Exception {
+
+    final CountDownLatch blocked = new CountDownLatch(1);
+    try (SSOWorkerGroup workers = SSOWorkerGroup.create(1, 1)) {
+      workers.execute(() -> {
+        try {
+          blocked.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException interruptedException) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      workers.execute(() -> { });
+
+      final ReactiveSSOVerifier verifier = new ReactiveSSOVerifier(
+          SSOFacade.create(TestTokens.key().getRsaPublicKey()).withExecutor(workers));
+      try {
+        verifier.verify(TestTokens.token()).block();
+        fail("Expected Exception not thrown.");
+      } catch (final RejectedExecutionException rejectedException) {
+        // expected
+      }
+
+      assertEquals(1, workers.getQueueDepth());
+      assertEquals(1, workers.getRejectedCount());
+      blocked.countDown();
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+
+public class SSOHttpHandlerTest {
+
+  private static String token;
+  private static String forgedToken;
+  private static SSOFacade facade;
+
+  @BeforeClass
+  public static void setUpTokens() throws Exception {
+    facade = TestTokens.facade();
+    token = TestTokens.token();
+    forgedToken = TestTokens.forgedToken();
+  }
+
+  /**
+   * Test tokens are taken from the query, a header, or the body.
+   */
+  @Test
+  public void testTokenSources() {
+
+    final EmbeddedChannel channel = new EmbeddedChannel(new SSOHttpHandler(facade).withHeader("Authorization"));
+
+    this.assertVerified(channel, request("/plugin?a=b&jwt=" + token + "&c=d"));
+
+    final FullHttpRequest header = request("/plugin");
+    header.headers().set(HttpHeaderNames.AUTHORIZATION, "Bearer " + token);
+    this.assertVerified(channel, header);
+
+    final FullHttpRequest jwt = request(HttpMethod.POST, "/plugin", token);
+    jwt.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/jwt");
+    this.assertVerified(channel, jwt);
+
+    final FullHttpRequest form = request(HttpMethod.POST, "/plugin", "jwtx=1&jwt=" + token);
+    form.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/x-www-form-urlencoded; charset=UTF-8");
+    this.assertVerified(channel, form);
+  }
+
+  /**
+   * Test requests without a valid token are answered with 401.
+   */
+  @Test
+  public void testRejected() {
+
+    final EmbeddedChannel channel = new EmbeddedChannel(new SSOHttpHandler(facade));
+
+    for (final String uri : new String[] {"/plugin", "/plugin?jwt=", "/plugin?jwt=" + forgedToken}) {
+      final FullHttpRequest request = request(uri);
+      channel.writeInbound(request);
+      channel.runPendingTasks();
+
+      assertNull(channel.readInbound());
+      assertEquals(0, request.refCnt());
+      final FullHttpResponse response = channel.readOutbound();
+      assertEquals(HttpResponseStatus.UNAUTHORIZED, response.status());
+      response.release();
+    }
+    assertTrue(channel.isOpen());
+  }
+
+  /**
+   * Test requests are held back in order while verifying on the executor.
+   */
+  @Test
+  public void testHoldsBackWhileVerifying() {
+
+    final List<Runnable> tasks = new ArrayList<>();
+    final SSOFacade asyncFacade = SSOFacade.create(TestTokens.key().getRsaPublicKey()).withExecutor(tasks::add);
+    final EmbeddedChannel channel = new EmbeddedChannel(new SSOHttpHandler(asyncFacade));
+
+    final FullHttpRequest first = request("/first?jwt=" + token);
+    final FullHttpRequest second = request("/second?jwt=" + forgedToken);
+    channel.writeInbound(first, second);
+
+    assertEquals(1, tasks.size());
+    assertFalse(channel.config().isAutoRead());
+    assertNull(channel.readInbound());
+
+    tasks.get(0).run();
+    channel.runPendingTasks();
+    final FullHttpRequest passed = channel.readInbound();
+    assertEquals(first.uri(), passed.uri());
+    passed.release();
+
+    assertEquals(2, tasks.size());
+    tasks.get(1).run();
+    channel.runPendingTasks();
+    assertNull(channel.readInbound());
+    final FullHttpResponse response = channel.readOutbound();
+    assertEquals(HttpResponseStatus.UNAUTHORIZED, response.status());
+    response.release();
+    assertTrue(channel.config().isAutoRead());
+  }
+
+  /**
+   * Test each request of a connection carries its own data, also when read
+   * after later requests were verified.
+   */
+  @Test
+  public void testDataPerRequest() throws Exception {
+
+    final List<Runnable> tasks = new ArrayList<>();
+    final SSOFacade asyncFacade = SSOFacade.create(TestTokens.key().getRsaPublicKey()).withExecutor(tasks::add);
+    final EmbeddedChannel channel = new EmbeddedChannel(new SSOHttpHandler(asyncFacade));
+
+    channel.writeInbound(request("/first?jwt=" + TestTokens.token("first")),
+        request("/second?jwt=" + TestTokens.token("second")));
+    tasks.get(0).run();
+    channel.runPendingTasks();
+    tasks.get(1).run();
+    channel.runPendingTasks();
+
+    final FullHttpRequest first = channel.readInbound();
+    final FullHttpRequest second = channel.readInbound();
+    assertEquals("first", SSOHttpHandler.getData(first).get().getInstanceID());
+    assertEquals("second", SSOHttpHandler.getData(second).get().getInstanceID());
+    assertFalse(SSOHttpHandler.getData(request("/plugin")).isPresent());
+    first.release();
+    second.release();
+  }
+
+  /**
+   * Test the head of a request not aggregated is passed on with its data,
+   * followed by its content.
+   */
+  @Test
+  public void testStreamedRequest() {
+
+    final EmbeddedChannel channel = new EmbeddedChannel(new SSOHttpHandler(facade));
+    final HttpContent content = new DefaultLastHttpContent(Unpooled.copiedBuffer("body", StandardCharsets.US_ASCII));
+
+    channel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/plugin?jwt=" + token),
+        content);
+
+    final HttpRequest head = channel.readInbound();
+    assertEquals(TestTokens.INSTANCE_ID, SSOHttpHandler.getData(head).get().getInstanceID());
+    assertSame(content, channel.readInbound());
+    content.release();
+  }
+
+  /**
+   * Test whitespace around a bearer token is skipped.
+   */
+  @Test
+  public void testBearerTrimmed() {
+
+    final EmbeddedChannel channel = new EmbeddedChannel(new SSOHttpHandler(facade).withHeader("Authorization"));
+
+    final FullHttpRequest header = request("/plugin");
+    header.headers().set(HttpHeaderNames.AUTHORIZATION, "bearer   " + token + " \t");
+    this.assertVerified(channel, header);
+  }
+
+  /**
+   * Test requests are answered with 503 if the executor is saturated.
+   */
+  @Test
+  public void testSaturated() {
+
+    final SSOFacade saturated = SSOFacade.create(TestTokens.key().getRsaPublicKey()).withExecutor(task -> {
+      throw new RejectedExecutionException();
+    });
+    final EmbeddedChannel channel = new EmbeddedChannel(new SSOHttpHandler(saturated));
+
+    channel.writeInbound(request("/plugin?jwt=" + token));
+
+    final FullHttpResponse response = channel.readOutbound();
+    assertEquals(HttpResponseStatus.SERVICE_UNAVAILABLE, response.status());
+    response.release();
+  }
+
+  /**
+   * Test parameters are found by their exact name.
+   */
+  @Test
+  public void testFindParameter() {
+
+    assertEquals("1", SSOHttpHandler.findParameter("jwtx=0&jwt=1", 0, "jwt").toString());
+    assertEquals("2", SSOHttpHandler.findParameter("/p?jwt=2&x=3", 3, "jwt").toString());
+    assertNull(SSOHttpHandler.findParameter("jwt&xjwt=1", 0, "jwt"));
+
+    final ByteBuf form = Unpooled.copiedBuffer("ajwt=0&jwt=1", StandardCharsets.US_ASCII);
+    assertEquals("1", SSOHttpHandler.findParameter(form, "jwt").toString(StandardCharsets.US_ASCII));
+    form.release();
+  }
+
+  private void assertVerified(final EmbeddedChannel channel, final FullHttpRequest request) {
+
+    channel.writeInbound(request);
+    channel.runPendingTasks();
+
+    final FullHttpRequest passed = channel.readInbound();
+    assertEquals(request.uri(), passed.uri());
+    assertSame(request.content(), passed.content());
+    assertEquals(TestTokens.INSTANCE_ID, SSOHttpHandler.getData(passed).get().getInstanceID());
+    passed.release();
+    assertEquals(0, request.refCnt());
+  }
+
+  private static FullHttpRequest request(final String uri) {
+    return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+  }
+
+  private static FullHttpRequest request(final HttpMethod method, final String uri, final String body) {
+    return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, uri,
+        Unpooled.copiedBuffer(body, StandardCharsets.US_ASCII));
+  }
+}
@@ -0,0 +1,99 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.netty;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.lang.JoseException;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * Helpers for minting tokens in tests.
+ */
+final class TestTokens {
+
+  static final String INSTANCE_ID = "55c79b6ee4b06c6fb19bd1e2";
+
+  private static RsaJsonWebKey key;
+
+  private TestTokens() {
+  }
+
+  /**
+   * Get the key the tokens are signed with, generated once.
+   * @return JSON web key
+   */
+  static synchronized RsaJsonWebKey key() {
+    if (key == null) {
+      try {
+        key = RsaJwkGenerator.generateJwk(2048);
+      } catch (final JoseException joseException) {
+        throw new IllegalStateException(joseException);
+      }
+    }
+    return key;
+  }
+
+  /**
+   * Create a facade for the key verifying on the calling thread.
+   * @return the facade
+   */
+  static SSOFacade facade() {
+    return SSOFacade.create(key().getRsaPublicKey()).withExecutor(Runnable::run);
+  }
+
+  /**
+   * Create a token signed with the key.
+   * @return String
+   * @throws JoseException
+   */
+  static String token() throws JoseException {
+    return token(INSTANCE_ID);
+  }
+
+  /**
+   * Create a token of the given instance signed with the key.
+   * @return String
+   * @throws JoseException
+   */
+  static String token(final String instanceId) throws JoseException {
+    return sign(key(), instanceId);
+  }
+
+  /**
+   * Create a token signed with another key.
+   * @return String
+   * @throws JoseException
+   */
+  static String forgedToken() throws JoseException {
+    return sign(RsaJwkGenerator.generateJwk(2048), INSTANCE_ID);
+  }
+
+  private static String sign(final RsaJsonWebKey signingKey, final String instanceId) throws JoseException {
+
+    final JwtClaims claims = new JwtClaims();
+    claims.setExpirationTimeMinutesInTheFuture(10);
+    claims.setIssuedAtToNow();
+    claims.setNotBeforeMinutesInThePast(2);
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, instanceId);
+
+    final JsonWebSignature jws = new JsonWebSignature();
+    jws.setPayload(claims.toJson());
+    jws.setKey(signingKey.getPrivateKey());
+    jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.RSA_USING_SHA256);
+
+    return jws.getCompactSerialization();
+  }
+}
@@ -0,0 +1,337 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.servlet;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOException;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+
+/**
+ * A servlet filter verifying the single-sign-on attempt of each request with
+ * a {@link SSOFacade}, and storing the resulting {@link SSOData} as the
+ * request attribute {@link #DATA_ATTRIBUTE}, read by {@link #getData(ServletRequest)}.
+ *
+ * The token is taken from the request parameter {@value #DEFAULT_PARAMETER}
+ * by default, or from a header, where a <code>Bearer</code> prefix is
+ * skipped. Requests without a token or with a rejected token are answered
+ * with <code>401 Unauthorized</code>, those shed by the admission limiter of
+ * the facade with <code>503 Service Unavailable</code>.
+ *
+ * Each request is verified once: when it passes the filter again, i.e. on a
+ * forward, an include or an async dispatch the filter is mapped for, the
+ * stored data is used. Tokens presented on several requests are verified
+ * once if the facade has a cache, see {@link SSOFacade#withCache(int)}.
+ *
+ * <pre>
+ * final SSOFilter filter = new SSOFilter(SSOFacade.create(publicKey).withCache(10_000))
+ *     .withHeader("Authorization");
+ * context.addFilter("sso", filter)
+ *     .addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC), false, "/*");
+ * </pre>
+ *
+ * Filters declared in a <code>web.xml</code> are created by the container;
+ * they take the facade from the servlet context attribute
+ * {@link #FACADE_ATTRIBUTE} and the token source from the init parameters
+ * {@value #PARAMETER_INIT_PARAMETER} and {@value #HEADER_INIT_PARAMETER}.
+ */
+public class SSOFilter implements Filter {
+
+  /**
+   * The name of the request attribute holding the verified data.
+   */
+  public static final String DATA_ATTRIBUTE = SSOData.class.getName();
+
+  /**
+   * The name of the servlet context attribute holding the facade for
+   * filters created by the container.
+   */
+  public static final String FACADE_ATTRIBUTE = SSOFacade.class.getName();
+
+  /**
+   * The request parameter holding the token by default.
+   */
+  public static final String DEFAULT_PARAMETER = "jwt";
+
+  /**
+   * The init parameter naming the request parameter holding the token.
+   */
+  public static final String PARAMETER_INIT_PARAMETER = "parameter";
+
+  /**
+   * The init parameter naming the header holding the token.
+   */
+  public static final String HEADER_INIT_PARAMETER = "header";
+
+  /**
+   * The init parameter enabling the verification on the executor of the
+   * facade, if set to <code>true</code>.
+   */
+  public static final String ASYNC_INIT_PARAMETER = "async";
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private static final Logger logger = LogManager.getLogger(SSOFilter.class);
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private SSOFacade facade;
+
+  private String parameter = DEFAULT_PARAMETER;
+
+  private String header;
+
+  /**
+   * Whether to verify on the executor of the facade, releasing the container
+   * thread meanwhile.
+   */
+  private boolean async;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  /**
+   * Constructor for filters created by the container, taking the facade from
+   * the servlet context attribute {@link #FACADE_ATTRIBUTE}.
+   */
+  public SSOFilter() {
+  }
+
+  /**
+   * Constructor for filters registered programmatically.
+   *
+   * @param facade the facade to verify the attempts with
+   */
+  public SSOFilter(final SSOFacade facade) {
+    this.facade = Objects.requireNonNull(facade);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Take the token from a request parameter.
+   *
+   * @param parameter the name of the parameter, <code>null</code> to not read
+   *        the token from a parameter
+   * @return Fluent interface.
+   */
+  public SSOFilter withParameter(final String parameter) {
+    this.parameter = parameter;
+    return this;
+  }
+
+  /**
+   * Take the token from a header, e.g. <code>Authorization</code>. If the
+   * header is absent, the parameter is read, if any.
+   *
+   * @param header the name of the header, <code>null</code> to not read the
+   *        token from a header
+   * @return Fluent interface.
+   */
+  public SSOFilter withHeader(final String header) {
+    this.header = header;
+    return this;
+  }
+
+  /**
+   * Verify the attempts using {@link SSOFacade#verifyAsync(String)}, so the
+   * container thread is released while the signature is checked. Once
+   * verified, the request is dispatched again, which requires the filter to
+   * be mapped for {@link DispatcherType#ASYNC} and the filter and the
+   * servlets behind it to support async processing. Cached attempts are
+   * passed on right away.
+   *
+   * @return Fluent interface.
+   */
+  public SSOFilter withAsyncVerification() {
+    this.async = true;
+    return this;
+  }
+
+  @Override
+  public void init(final FilterConfig filterConfig) throws ServletException {
+
+    if (this.facade == null) {
+      final Object facade = filterConfig.getServletContext().getAttribute(FACADE_ATTRIBUTE);
+      if (!(facade instanceof SSOFacade)) {
+        throw new ServletException("No SSOFacade found in the servlet context. [attribute=" + FACADE_ATTRIBUTE + "]");
+      }
+      this.facade = (SSOFacade) facade;
+    }
+
+    final String parameter = filterConfig.getInitParameter(PARAMETER_INIT_PARAMETER);
+    if (parameter != null) {
+      this.parameter = parameter;
+    }
+    final String header = filterConfig.getInitParameter(HEADER_INIT_PARAMETER);
+    if (header != null) {
+      this.header = header;
+    }
+    if (Boolean.parseBoolean(filterConfig.getInitParameter(ASYNC_INIT_PARAMETER))) {
+      this.async = true;
+    }
+  }
+
+  @Override
+  public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+      throws IOException, ServletException {
+
+    if (!(request instanceof HttpServletRequest) || request.getAttribute(DATA_ATTRIBUTE) != null) {
+      // not ours, or verified on a previous pass
+      chain.doFilter(request, response);
+      return;
+    }
+
+    final HttpServletResponse httpResponse = (HttpServletResponse) response;
+    final String raw = this.extractToken((HttpServletRequest) request);
+    if (raw == null) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Request without single-sign-on token. [uri={}]", ((HttpServletRequest) request).getRequestURI());
+      }
+      httpResponse.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+      return;
+    }
+
+    final SSOData data;
+    if (this.async && request.isAsyncSupported() && request.getDispatcherType() == DispatcherType.REQUEST) {
+      final CompletableFuture<SSOData> future = this.facade.verifyAsync(raw).toCompletableFuture();
+      if (!future.isDone()) {
+        this.dispatchWhenVerified(request.startAsync(), future);
+        return;
+      }
+      try {
+        data = future.join();
+      } catch (final CompletionException completionException) {
+        if (completionException.getCause() instanceof SSOException) {
+          this.reject(httpResponse, (SSOException) completionException.getCause());
+          return;
+        }
+        throw new ServletException("Verification of single-sign-on attempt failed.", completionException.getCause());
+      }
+    } else {
+      try {
+        data = this.facade.verify(raw);
+      } catch (final SSOException ssoException) {
+        this.reject(httpResponse, ssoException);
+        return;
+      }
+    }
+
+    request.setAttribute(DATA_ATTRIBUTE, data);
+    chain.doFilter(request, response);
+  }
+
+  @Override
+  public void destroy() {
+  }
+
+  /**
+   * Get the data verified by the filter for a request.
+   *
+   * @param request the request
+   * @return the verified data, empty if the request did not pass the filter
+   */
+  public static Optional<SSOData> getData(final ServletRequest request) {
+
+    final Object data = request.getAttribute(DATA_ATTRIBUTE);
+
+    return data instanceof SSOData ? Optional.of((SSOData) data) : Optional.empty();
+  }
+
+  private String extractToken(final HttpServletRequest request) {
+
+    if (this.header != null) {
+      final String value = request.getHeader(this.header);
+      if (value != null && !value.isEmpty()) {
+        return value.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+            ? value.substring(BEARER_PREFIX.length()).trim()
+            : value;
+      }
+    }
+    if (this.parameter != null) {
+      final String value = request.getParameter(this.parameter);
+      if (value != null && !value.isEmpty()) {
+        return value;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Store the data once verified and dispatch the request again, which then
+   * passes the filter. Rejected attempts complete the request.
+   */
+  private void dispatchWhenVerified(final AsyncContext asyncContext, final CompletableFuture<SSOData> future) {
+
+    future.whenComplete((data, failure) -> {
+      if (data != null) {
+        asyncContext.getRequest().setAttribute(DATA_ATTRIBUTE, data);
+        asyncContext.dispatch();
+        return;
+      }
+
+      final Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+      final HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+      try {
+        if (cause instanceof SSOException) {
+          this.reject(response, (SSOException) cause);
+        } else {
+          if (logger.isErrorEnabled()) {
+            logger.error("Verification of single-sign-on attempt failed.", cause);
+          }
+          response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+      } catch (final IOException ioException) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Failed to send the rejection.", ioException);
+        }
+      } finally {
+        asyncContext.complete();
+      }
+    });
+  }
+
+  private void reject(final HttpServletResponse response, final SSOException ssoException) throws IOException {
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Rejected single-sign-on attempt. [reason={}]", ssoException.getReason());
+    }
+
+    // shed attempts are valid as far as known, the client should retry
+    response.sendError(ssoException.getReason() == SSOException.Reason.OVERLOADED
+        ? HttpServletResponse.SC_SERVICE_UNAVAILABLE
+        : HttpServletResponse.SC_UNAUTHORIZED);
+  }
+}
@@ -0,0 +1,258 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.servlet;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.staffbase.plugins.sdk.sso.SSOData;
+import com.staffbase.plugins.sdk.sso.SSOFacade;
+import com.staffbase.plugins.sdk.sso.SSOStatistics;
+
+
+public class SSOFilterTest {
+
+  private static final String INSTANCE_ID = "55c79b6ee4b06c6fb19bd1e2";
+
+  private static RsaJsonWebKey key;
+  private static String token;
+  private static String forgedToken;
+
+  private Server server;
+  private SSOStatistics statistics;
+
+  @BeforeClass
+  public static void setUpTokens() throws Exception {
+    key = RsaJwkGenerator.generateJwk(2048);
+    token = sign(key);
+    forgedToken = sign(RsaJwkGenerator.generateJwk(2048));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (this.server != null) {
+      this.server.stop();
+    }
+  }
+
+  /**
+   * Test the data is stored for tokens passed as parameter.
+   */
+  @Test
+  public void testParameter() throws Exception {
+
+    this.start(new SSOFilter(this.facade()), EnumSet.of(DispatcherType.REQUEST));
+
+    assertEquals("200 " + INSTANCE_ID, this.get("/echo?jwt=" + token, null));
+  }
+
+  /**
+   * Test the data is stored for tokens passed as bearer token.
+   */
+  @Test
+  public void testHeader() throws Exception {
+
+    this.start(new SSOFilter(this.facade()).withHeader("Authorization"), EnumSet.of(DispatcherType.REQUEST));
+
+    assertEquals("200 " + INSTANCE_ID, this.get("/echo", "Bearer " + token));
+    assertEquals("200 " + INSTANCE_ID, this.get("/echo?jwt=" + token, null));
+  }
+
+  /**
+   * Test requests without a valid token are rejected.
+   */
+  @Test
+  public void testRejected() throws Exception {
+
+    this.start(new SSOFilter(this.facade()), EnumSet.of(DispatcherType.REQUEST));
+
+    assertEquals("401", this.get("/echo", null));
+    assertEquals("401", this.get("/echo?jwt=" + forgedToken, null));
+    assertEquals("401", this.get("/echo?jwt=garbage", null));
+  }
+
+  /**
+   * Test forwarded requests are verified once.
+   */
+  @Test
+  public void testForward() throws Exception {
+
+    this.start(new SSOFilter(this.facade()), EnumSet.of(DispatcherType.REQUEST, DispatcherType.FORWARD));
+
+    assertEquals("200 " + INSTANCE_ID, this.get("/forward?jwt=" + token, null));
+    assertEquals(1, this.statistics.getVerifiedCount());
+  }
+
+  /**
+   * Test the filter takes the facade from the servlet context.
+   */
+  @Test
+  public void testFacadeAttribute() throws Exception {
+
+    this.start(new SSOFilter(), EnumSet.of(DispatcherType.REQUEST), this.facade());
+
+    assertEquals("200 " + INSTANCE_ID, this.get("/echo?jwt=" + token, null));
+  }
+
+  /**
+   * Test async verification dispatches verified requests again.
+   */
+  @Test
+  public void testAsyncVerification() throws Exception {
+
+    this.start(new SSOFilter(this.facade()).withAsyncVerification(),
+        EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC));
+
+    assertEquals("200 " + INSTANCE_ID, this.get("/echo?jwt=" + token, null));
+    assertEquals("401", this.get("/echo?jwt=" + forgedToken, null));
+    assertEquals(1, this.statistics.getVerifiedCount());
+    assertEquals(1, this.statistics.getRejectedCount());
+  }
+
+  /**
+   * Test async verification answers cached attempts without dispatching.
+   */
+  @Test
+  public void testAsyncVerificationCached() throws Exception {
+
+    this.start(new SSOFilter(this.facade().withCache(16)).withAsyncVerification(),
+        EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC));
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals("200 " + INSTANCE_ID, this.get("/echo?jwt=" + token, null));
+    }
+    assertEquals(3, this.statistics.getVerifiedCount());
+  }
+
+  private SSOFacade facade() {
+    this.statistics = new SSOStatistics();
+    return SSOFacade.create(key.getRsaPublicKey()).withMetrics(this.statistics);
+  }
+
+  private void start(final SSOFilter filter, final EnumSet<DispatcherType> dispatches) throws Exception {
+    this.start(filter, dispatches, null);
+  }
+
+  private void start(final SSOFilter filter, final EnumSet<DispatcherType> dispatches, final SSOFacade facadeAttribute)
+      throws Exception {
+
+    this.server = new Server();
+    final ServerConnector connector = new ServerConnector(this.server);
+    connector.setPort(0);
+    this.server.addConnector(connector);
+
+    final ServletContextHandler context = new ServletContextHandler();
+    if (facadeAttribute != null) {
+      context.setAttribute(SSOFilter.FACADE_ATTRIBUTE, facadeAttribute);
+    }
+    final FilterHolder filterHolder = new FilterHolder(filter);
+    filterHolder.setAsyncSupported(true);
+    context.addFilter(filterHolder, "/*", dispatches);
+    final ServletHolder echoHolder = new ServletHolder(new EchoServlet());
+    echoHolder.setAsyncSupported(true);
+    context.addServlet(echoHolder, "/echo");
+    context.addServlet(new ServletHolder(new ForwardServlet()), "/forward");
+    this.server.setHandler(context);
+    this.server.start();
+  }
+
+  private String get(final String path, final String authorization) throws IOException {
+
+    final int port = ((ServerConnector) this.server.getConnectors()[0]).getLocalPort();
+    final HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+    if (authorization != null) {
+      connection.setRequestProperty("Authorization", authorization);
+    }
+
+    final int status = connection.getResponseCode();
+    if (status != HttpServletResponse.SC_OK) {
+      return String.valueOf(status);
+    }
+
+    try (InputStream in = connection.getInputStream()) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[256];
+      for (int read; (read = in.read(buffer)) >= 0; ) {
+        out.write(buffer, 0, read);
+      }
+      return status + " " + new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static String sign(final RsaJsonWebKey signingKey) throws Exception {
+
+    final JwtClaims claims = new JwtClaims();
+    claims.setExpirationTimeMinutesInTheFuture(10);
+    claims.setIssuedAtToNow();
+    claims.setNotBeforeMinutesInThePast(2);
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, INSTANCE_ID);
+
+    final JsonWebSignature jws = new JsonWebSignature();
+    jws.setPayload(claims.toJson());
+    jws.setKey(signingKey.getPrivateKey());
+    jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.RSA_USING_SHA256);
+
+    return jws.getCompactSerialization();
+  }
+
+  /**
+   * Writes the instance id of the verified data.
+   */
+  private static final class EchoServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+      response.getWriter().write(SSOFilter.getData(request).map(SSOData::getInstanceID).orElse("none"));
+    }
+  }
+
+  /**
+   * Forwards to the echo servlet.
+   */
+  private static final class ForwardServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response)
+        throws IOException, ServletException {
+      request.getRequestDispatcher("/echo").forward(request, response);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Decodes the base64url parts of a token straight from the characters into a
+ * reused buffer, instead of copying the part into a
+ * string, decoding it into a fresh array and only then into the string
+ * needed.
+ *
+ * Like the decoder of jose4j, it accepts both the URL safe and the standard
+ * alphabet, skips characters of neither and stops at padding, so a part it
+ * decodes reads the same as in the full verification.
+ */
+final class Base64UrlDecoder {
+
+  /**
+   * The value of each ASCII character, -1 if not in an alphabet.
+   */
+  private static final byte[] VALUES = new byte[128];
+
+  static {
+    Arrays.fill(VALUES, (byte) -1);
+    final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    for (int i = 0; i < alphabet.length(); i++) {
+      VALUES[alphabet.charAt(i)] = (byte) i;
+    }
+    VALUES['-'] = 62;
+    VALUES['+'] = 62;
+    VALUES['_'] = 63;
+    VALUES['/'] = 63;
+  }
+
+  /**
+   * Reused buffers, grown to the largest part decoded so far up to
+   * {@link RsaVerificationEngine#MAXIMUM_SCRATCH_LENGTH}.
+   */
+  private static final ScratchPool<byte[]> BUFFER = new ScratchPool<>(() -> new byte[1024]);
+
+  private Base64UrlDecoder() {
+  }
+
+  /**
+   * Decode a part of a token into a UTF-8 string.
+   *
+   * @param raw the token
+   * @param from the index of the first character of the part
+   * @param to the index after the last character of the part
+   * @return the decoded string
+   */
+  static String decodeToUtf8String(final CharSequence raw, final int from, final int to) {
+
+    final int maximumLength = maximumLength(from, to);
+    if (maximumLength > RsaVerificationEngine.MAXIMUM_SCRATCH_LENGTH) {
+      // too large to be kept around
+      final byte[] buffer = new byte[maximumLength];
+      return new String(buffer, 0, decode(raw, from, to, buffer), StandardCharsets.UTF_8);
+    }
+
+    byte[] buffer = BUFFER.acquire();
+    if (buffer.length < maximumLength) {
+      buffer = new byte[Math.min(Math.max(maximumLength, buffer.length * 2), RsaVerificationEngine.MAXIMUM_SCRATCH_LENGTH)];
+    }
+
+    try {
+      return new String(buffer, 0, decode(raw, from, to, buffer), StandardCharsets.UTF_8);
+    } finally {
+      BUFFER.release(buffer);
+    }
+  }
+
+  /**
+   * Decode a part of a token into the given buffer.
+   *
+   * @param raw the token
+   * @param from the index of the first character of the part
+   * @param to the index after the last character of the part
+   * @param target the buffer, holding at least {@link #maximumLength(int, int)} bytes
+   * @return the number of decoded bytes
+   */
+  static int decode(final CharSequence raw, final int from, final int to, final byte[] target) {
+
+    int length = 0;
+    int bits = 0;
+    int bitCount = 0;
+    for (int i = from; i < to; i++) {
+      final char c = raw.charAt(i);
+      if (c == '=') {
+        break;
+      }
+
+      final int value = c < VALUES.length ? VALUES[c] : -1;
+      if (value < 0) {
+        continue;
+      }
+
+      bits = bits << 6 | value;
+      bitCount += 6;
+      if (bitCount >= 8) {
+        bitCount -= 8;
+        target[length++] = (byte) (bits >>> bitCount);
+      }
+    }
+
+    return length;
+  }
+
+  /**
+   * Get the number of bytes a part of a token decodes to at most.
+   *
+   * @param from the index of the first character of the part
+   * @param to the index after the last character of the part
+   * @return the maximum number of decoded bytes
+   */
+  static int maximumLength(final int from, final int to) {
+    return (to - from) * 3 / 4 + 1;
+  }
+}
@@ -0,0 +1,445 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.lang.JoseException;
+
+/**
+ * Reads selected top-level members of a JSON object without building a map of
+ * all of them. The values of other members are skipped over, still checking
+ * their syntax, so that JSON jose4j would reject is rejected here as well.
+ * Like jose4j, a selected member may only appear once.
+ *
+ * Strings, numbers, booleans and null are decoded in place; nested arrays and
+ * objects of selected members are rare and handed to jose4j.
+ */
+final class ClaimScanner {
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final String json;
+  private final String[] keys;
+  private int position;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private ClaimScanner(final String json, final String[] keys) {
+    this.json = json;
+    this.keys = keys;
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Read the selected members of a JSON object.
+   *
+   * @param json the JSON object
+   * @param keys the names of the members to read
+   * @return the claims holding the selected members present in the object
+   * @throws IllegalArgumentException if the JSON is malformed
+   */
+  static JwtClaims scan(final String json, final String[] keys) {
+    return new ClaimScanner(json, keys).scanObject();
+  }
+
+  private JwtClaims scanObject() {
+
+    final JwtClaims claims = new JwtClaims();
+    final boolean[] read = new boolean[this.keys.length];
+
+    this.skipWhitespace();
+    this.expect('{');
+    this.skipWhitespace();
+    if (this.peek() == '}') {
+      this.position++;
+    } else {
+      char separator;
+      do {
+        this.skipWhitespace();
+        final int key = this.readKey();
+        this.skipWhitespace();
+        this.expect(':');
+        this.skipWhitespace();
+        if (key >= 0) {
+          if (read[key]) {
+            // a later duplicate must not override the checked value
+            throw this.malformed();
+          }
+          read[key] = true;
+          claims.setClaim(this.keys[key], this.readValue());
+        } else {
+          this.skipValue();
+        }
+        this.skipWhitespace();
+        separator = this.next();
+      } while (separator == ',');
+
+      if (separator != '}') {
+        throw this.malformed();
+      }
+    }
+
+    this.skipWhitespace();
+    if (this.position != this.json.length()) {
+      throw this.malformed();
+    }
+
+    return claims;
+  }
+
+  /**
+   * Read the name of a member.
+   *
+   * @return the index of the selected key matching the name, -1 if the member
+   *         is not selected
+   */
+  private int readKey() {
+
+    final int start = this.position + 1;
+    if (this.peek() != '"') {
+      throw this.malformed();
+    }
+    this.skipString();
+    final int end = this.position - 1;
+
+    if (this.json.lastIndexOf('\\', end) >= start) {
+      // escaped names are rare, compare them decoded
+      this.position = start - 1;
+      return this.select(this.readString());
+    }
+
+    final int length = end - start;
+    for (int i = 0; i < this.keys.length; i++) {
+      final String key = this.keys[i];
+      if (key.length() == length && this.json.regionMatches(start, key, 0, length)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  private int select(final String name) {
+
+    for (int i = 0; i < this.keys.length; i++) {
+      if (this.keys[i].equals(name)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  private Object readValue() {
+
+    final char c = this.peek();
+    switch (c) {
+      case '"':
+        return this.readString();
+      case 't':
+        this.expectLiteral("true");
+        return Boolean.TRUE;
+      case 'f':
+        this.expectLiteral("false");
+        return Boolean.FALSE;
+      case 'n':
+        this.expectLiteral("null");
+        return null;
+      case '{':
+      case '[':
+        return this.readNested();
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          return this.readNumber();
+        }
+        throw this.malformed();
+    }
+  }
+
+  private String readString() {
+
+    this.expect('"');
+    final int start = this.position;
+
+    // fast path for strings without escapes
+    while (this.position < this.json.length()) {
+      final char c = this.json.charAt(this.position);
+      if (c == '"') {
+        return this.json.substring(start, this.position++);
+      }
+      if (c == '\\') {
+        break;
+      }
+      this.position++;
+    }
+
+    final StringBuilder builder = new StringBuilder(this.json.length() - start);
+    builder.append(this.json, start, this.position);
+    while (true) {
+      final char c = this.next();
+      if (c == '"') {
+        return builder.toString();
+      }
+      if (c != '\\') {
+        builder.append(c);
+        continue;
+      }
+
+      final char escaped = this.next();
+      switch (escaped) {
+        case '"':
+        case '\\':
+        case '/':
+          builder.append(escaped);
+          break;
+        case 'b':
+          builder.append('\b');
+          break;
+        case 'f':
+          builder.append('\f');
+          break;
+        case 'n':
+          builder.append('\n');
+          break;
+        case 'r':
+          builder.append('\r');
+          break;
+        case 't':
+          builder.append('\t');
+          break;
+        case 'u':
+          if (this.position + 4 > this.json.length()) {
+            throw this.malformed();
+          }
+          try {
+            builder.append((char) Integer.parseInt(this.json.substring(this.position, this.position + 4), 16));
+          } catch (final NumberFormatException numberFormatException) {
+            throw this.malformed();
+          }
+          this.position += 4;
+          break;
+        default:
+          throw this.malformed();
+      }
+    }
+  }
+
+  private Number readNumber() {
+
+    final int start = this.position;
+    final boolean integral = this.skipNumber();
+
+    final String number = this.json.substring(start, this.position);
+    if (integral) {
+      try {
+        return Long.valueOf(number);
+      } catch (final NumberFormatException overflowException) {
+        // too large for a long, like jose4j fall back to a double
+      }
+    }
+    return Double.valueOf(number);
+  }
+
+  private Object readNested() {
+
+    final int start = this.position;
+    this.skipValue();
+
+    try {
+      return JsonUtil.parseJson("{\"v\":" + this.json.substring(start, this.position) + "}").get("v");
+    } catch (final JoseException joseException) {
+      throw this.malformed();
+    }
+  }
+
+  /**
+   * Skip a value, checking its syntax. Nesting is tracked on a stack of
+   * closing brackets rather than by recursion, so deep nesting cannot
+   * overflow the call stack.
+   */
+  private void skipValue() {
+
+    // the brackets closing the open arrays and objects, innermost last
+    final StringBuilder closing = new StringBuilder();
+    while (true) {
+      this.skipWhitespace();
+      final char c = this.peek();
+      if (c == '{' || c == '[') {
+        this.position++;
+        this.skipWhitespace();
+        final char close = c == '{' ? '}' : ']';
+        if (this.peek() != close) {
+          closing.append(close);
+          if (c == '{') {
+            this.skipMemberName();
+          }
+          continue;
+        }
+        this.position++;
+      } else {
+        this.skipScalar();
+      }
+
+      // after a value, close the finished arrays and objects
+      while (true) {
+        if (closing.length() == 0) {
+          return;
+        }
+        this.skipWhitespace();
+        final char d = this.next();
+        final char close = closing.charAt(closing.length() - 1);
+        if (d == ',') {
+          if (close == '}') {
+            this.skipMemberName();
+          }
+          break;
+        }
+        if (d != close) {
+          throw this.malformed();
+        }
+        closing.setLength(closing.length() - 1);
+      }
+    }
+  }
+
+  private void skipMemberName() {
+
+    this.skipWhitespace();
+    if (this.peek() != '"') {
+      throw this.malformed();
+    }
+    this.skipString();
+    this.skipWhitespace();
+    this.expect(':');
+  }
+
+  private void skipScalar() {
+
+    final char c = this.peek();
+    switch (c) {
+      case '"':
+        this.skipString();
+        break;
+      case 't':
+        this.expectLiteral("true");
+        break;
+      case 'f':
+        this.expectLiteral("false");
+        break;
+      case 'n':
+        this.expectLiteral("null");
+        break;
+      default:
+        this.skipNumber();
+    }
+  }
+
+  /**
+   * Skip a number following the JSON grammar.
+   *
+   * @return whether the number has neither a fraction nor an exponent
+   */
+  private boolean skipNumber() {
+
+    boolean integral = true;
+    if (this.peek() == '-') {
+      this.position++;
+    }
+    if (this.peek() == '0') {
+      this.position++;
+    } else {
+      this.skipDigits();
+    }
+    if (this.position < this.json.length() && this.json.charAt(this.position) == '.') {
+      this.position++;
+      this.skipDigits();
+      integral = false;
+    }
+    if (this.position < this.json.length() && (this.json.charAt(this.position) == 'e' || this.json.charAt(this.position) == 'E')) {
+      this.position++;
+      if (this.position < this.json.length() && (this.json.charAt(this.position) == '+' || this.json.charAt(this.position) == '-')) {
+        this.position++;
+      }
+      this.skipDigits();
+      integral = false;
+    }
+
+    return integral;
+  }
+
+  private void skipDigits() {
+
+    final int start = this.position;
+    while (this.position < this.json.length() && this.json.charAt(this.position) >= '0' && this.json.charAt(this.position) <= '9') {
+      this.position++;
+    }
+    if (this.position == start) {
+      throw this.malformed();
+    }
+  }
+
+  private void skipString() {
+
+    this.expect('"');
+    while (true) {
+      final char c = this.next();
+      if (c == '"') {
+        return;
+      }
+      if (c == '\\') {
+        this.next();
+      }
+    }
+  }
+
+  private void skipWhitespace() {
+    while (this.position < this.json.length() && Character.isWhitespace(this.json.charAt(this.position))) {
+      this.position++;
+    }
+  }
+
+  private void expectLiteral(final String literal) {
+    if (!this.json.startsWith(literal, this.position)) {
+      throw this.malformed();
+    }
+    this.position += literal.length();
+  }
+
+  private void expect(final char expected) {
+    if (this.next() != expected) {
+      throw this.malformed();
+    }
+  }
+
+  private char peek() {
+    if (this.position >= this.json.length()) {
+      throw this.malformed();
+    }
+    return this.json.charAt(this.position);
+  }
+
+  private char next() {
+    final char c = this.peek();
+    this.position++;
+    return c;
+  }
+
+  private IllegalArgumentException malformed() {
+    return new IllegalArgumentException("Malformed JSON. [position=" + this.position + "]");
+  }
+}
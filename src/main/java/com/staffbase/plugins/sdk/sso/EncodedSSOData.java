@@ -0,0 +1,219 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link SSOData} reading its values from a buffer holding them as encoded
+ * by {@link SSODataCodec}. Each string is decoded when it is requested first.
+ *
+ * @see SSODataCodec#decode(ByteBuffer)
+ */
+final class EncodedSSOData extends SSOData {
+
+  /**
+   * The indexes of the values, in the order of {@link SSODataCodec#KEYS}.
+   */
+  private static final int INSTANCE_ID = 0;
+  private static final int BRANCH_ID = 1;
+  private static final int BRANCH_SLUG = 2;
+  private static final int SESSION_ID = 3;
+  private static final int TOKEN_ID = 4;
+  private static final int USER_ID = 5;
+  private static final int USER_EXTERNAL_ID = 6;
+  private static final int USER_USERNAME = 7;
+  private static final int USER_PRIMARY_EMAIL_ADDRESS = 8;
+  private static final int USER_FIRST_NAME = 9;
+  private static final int USER_LAST_NAME = 10;
+  private static final int USER_FULL_NAME = 11;
+  private static final int USER_ROLE = 12;
+  private static final int USER_LOCALE = 13;
+  private static final int ISSUER = 14;
+  private static final int AUDIENCE = 15;
+  private static final int INSTANCE_NAME = 16;
+  private static final int ENTITY_TYPE = 17;
+  private static final int THEME_TEXT_COLOR = 18;
+  private static final int THEME_BACKGROUND_COLOR = 19;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final SSODataCodec codec;
+  private final ByteBuffer buffer;
+
+  /**
+   * The positions of the values in the buffer, -1 if absent.
+   */
+  private final int[] offsets;
+  private final Long expirationTime;
+
+  /**
+   * The values decoded so far. Racing threads may decode a value twice,
+   * which is harmless.
+   */
+  private final String[] strings = new String[SSODataCodec.TAGS];
+  private List<String> tags;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  EncodedSSOData(final SSODataCodec codec, final ByteBuffer buffer, final int[] offsets, final Long expirationTime) {
+    this.codec = codec;
+    this.buffer = buffer;
+    this.offsets = offsets;
+    this.expirationTime = expirationTime;
+  }
+
+  /**********************************************
+   * Getters
+   **********************************************/
+
+  @Override
+  public String getInstanceID() {
+    return this.string(INSTANCE_ID);
+  }
+
+  @Override
+  public String getBranchID() {
+    return this.string(BRANCH_ID);
+  }
+
+  @Override
+  public String getBranchSlug() {
+    return this.string(BRANCH_SLUG);
+  }
+
+  @Override
+  public String getSessionIdOrNull() {
+    return this.string(SESSION_ID);
+  }
+
+  @Override
+  public String getTokenIdOrNull() {
+    return this.string(TOKEN_ID);
+  }
+
+  @Override
+  public String getUserIDOrNull() {
+    return this.string(USER_ID);
+  }
+
+  @Override
+  public String getUserExternalIDOrNull() {
+    return this.string(USER_EXTERNAL_ID);
+  }
+
+  @Override
+  public String getUserUsernameOrNull() {
+    return this.string(USER_USERNAME);
+  }
+
+  @Override
+  public String getUserPrimaryEmailAddressOrNull() {
+    return this.string(USER_PRIMARY_EMAIL_ADDRESS);
+  }
+
+  @Override
+  public String getUserFirstNameOrNull() {
+    return this.string(USER_FIRST_NAME);
+  }
+
+  @Override
+  public String getUserLastNameOrNull() {
+    return this.string(USER_LAST_NAME);
+  }
+
+  @Override
+  public String getUserFullNameOrNull() {
+    return this.string(USER_FULL_NAME);
+  }
+
+  @Override
+  public String getUserRoleOrNull() {
+    return this.string(USER_ROLE);
+  }
+
+  @Override
+  public String getUserLocaleAsStringOrNull() {
+    return this.string(USER_LOCALE);
+  }
+
+  @Override
+  public String getIssuerOrNull() {
+    return this.string(ISSUER);
+  }
+
+  @Override
+  public String getAudienceOrNull() {
+    return this.string(AUDIENCE);
+  }
+
+  @Override
+  public String getInstanceNameOrNull() {
+    return this.string(INSTANCE_NAME);
+  }
+
+  @Override
+  public String getEntityTypeOrNull() {
+    return this.string(ENTITY_TYPE);
+  }
+
+  @Override
+  public String getThemeTextColorOrNull() {
+    return this.string(THEME_TEXT_COLOR);
+  }
+
+  @Override
+  public String getThemeBackgroundColorOrNull() {
+    return this.string(THEME_BACKGROUND_COLOR);
+  }
+
+  @Override
+  public Long getExpirationTimeOrNull() {
+    return this.expirationTime;
+  }
+
+  @Override
+  public List<String> getTagsOrNull() {
+
+    final int offset = this.offsets[SSODataCodec.TAGS];
+    if (offset < 0) {
+      return null;
+    }
+
+    List<String> tags = this.tags;
+    if (tags == null) {
+      tags = Collections.unmodifiableList(Arrays.asList(this.codec.readTags(this.buffer, offset)));
+      this.tags = tags;
+    }
+    return tags;
+  }
+
+  private String string(final int index) {
+
+    final int offset = this.offsets[index];
+    if (offset < 0) {
+      return null;
+    }
+
+    String string = this.strings[index];
+    if (string == null) {
+      string = this.codec.readString(this.buffer, offset);
+      this.strings[index] = string;
+    }
+    return string;
+  }
+}
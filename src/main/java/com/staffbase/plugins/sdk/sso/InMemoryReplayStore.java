@@ -0,0 +1,218 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@link SSOReplayStore} keeping the used token ids in memory, for plugins
+ * running on a single node.
+ *
+ * The ids are spread over independently locked stripes, so concurrent
+ * verifications rarely wait for each other. Each stripe forgets its ids once
+ * their tokens expired, using a timing wheel, so the cost of expiry does not
+ * grow with the number of ids held.
+ *
+ * The store holds at most the given number of ids. When full, it rejects
+ * further attempts until ids expire rather than forgetting ids of valid
+ * tokens, which would allow to replay them.
+ */
+public class InMemoryReplayStore implements SSOReplayStore {
+
+  private static final Logger logger = LogManager.getLogger(InMemoryReplayStore.class);
+
+  /**
+   * The maximum number of stripes.
+   */
+  private static final int MAXIMUM_STRIPES = 64;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final Stripe[] stripes;
+  private final int mask;
+  private final LongSupplier clock;
+  private final int maximumSize;
+
+  private final LongAdder replayCount = new LongAdder();
+  private final LongAdder overflowCount = new LongAdder();
+
+  /**
+   * Limits the lines logged while the store is full.
+   */
+  private final LogRateLimiter overflowLog = new LogRateLimiter();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  /**
+   * Create a store.
+   *
+   * @param maximumSize the maximum number of token ids held
+   */
+  public InMemoryReplayStore(final int maximumSize) {
+    this(maximumSize, System::currentTimeMillis);
+  }
+
+  InMemoryReplayStore(final int maximumSize, final LongSupplier clock) {
+
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("The maximum size must be positive. [maximumSize=" + maximumSize + "]");
+    }
+    Objects.requireNonNull(clock);
+
+    int stripeCount = 1;
+    while (stripeCount < MAXIMUM_STRIPES && stripeCount * 2 <= maximumSize) {
+      stripeCount *= 2;
+    }
+
+    final long now = clock.getAsLong() / 1000;
+    final int stripeSize = (maximumSize + stripeCount - 1) / stripeCount;
+
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      this.stripes[i] = new Stripe(stripeSize, now);
+    }
+    this.mask = stripeCount - 1;
+    this.clock = clock;
+    this.maximumSize = maximumSize;
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  @Override
+  public boolean markUsed(final String tokenId, final long expirationTime) {
+
+    Objects.requireNonNull(tokenId);
+
+    final long now = this.clock.getAsLong() / 1000;
+    if (expirationTime <= now) {
+      // the token is rejected as expired anyway
+      return true;
+    }
+
+    final Stripe stripe = this.stripeFor(tokenId);
+
+    stripe.lock.lock();
+    try {
+      stripe.expire(now);
+
+      if (stripe.ids.containsKey(tokenId)) {
+        this.replayCount.increment();
+        return false;
+      }
+
+      if (stripe.ids.size() >= stripe.maximumSize) {
+        this.overflowCount.increment();
+        if (logger.isWarnEnabled()) {
+          final long suppressed = this.overflowLog.acquire();
+          if (suppressed != LogRateLimiter.SUPPRESS) {
+            logger.warn("Replay store is full, rejecting sso attempt. [maximumSize={}] [suppressed={}]",
+                this.maximumSize, suppressed);
+          }
+        }
+        return false;
+      }
+
+      stripe.ids.put(tokenId, expirationTime);
+      stripe.wheel.schedule(tokenId, expirationTime);
+      return true;
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  /**
+   * Get the number of token ids held.
+   *
+   * @return the number of ids, including ids expired since the last access to their stripe
+   */
+  public int size() {
+
+    int size = 0;
+    for (final Stripe stripe : this.stripes) {
+      stripe.lock.lock();
+      try {
+        size += stripe.ids.size();
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+
+    return size;
+  }
+
+  /**
+   * Get the number of attempts rejected as replayed.
+   *
+   * @return the number of replays
+   */
+  public long getReplayCount() {
+    return this.replayCount.sum();
+  }
+
+  /**
+   * Get the number of attempts rejected because the store was full.
+   *
+   * @return the number of attempts not recorded
+   */
+  public long getOverflowCount() {
+    return this.overflowCount.sum();
+  }
+
+  private Stripe stripeFor(final String tokenId) {
+
+    final int hash = tokenId.hashCode();
+    return this.stripes[(hash ^ (hash >>> 16)) & this.mask];
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * A share of the ids, guarded by its own lock.
+   */
+  private static final class Stripe {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maximumSize;
+
+    /**
+     * The ids held, along with the expiration time of their token.
+     */
+    private final Map<String, Long> ids = new HashMap<>();
+    private final TimingWheel<String> wheel;
+
+    private Stripe(final int maximumSize, final long now) {
+      this.maximumSize = maximumSize;
+      this.wheel = new TimingWheel<>(now);
+    }
+
+    /**
+     * Forget the ids whose tokens expired until now.
+     */
+    private void expire(final long now) {
+      this.wheel.advance(now, this.ids::remove);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtContext;
+
+/**
+ * Verifies the signature and the standard claims of a raw JWT, e.g. using a
+ * single key or a key set.
+ */
+@FunctionalInterface
+interface JwtProcessor {
+
+  /**
+   * Verify and parse a raw JWT.
+   *
+   * @param raw the raw JWT string
+   * @return the verified context
+   * @throws InvalidJwtException if the verification fails
+   */
+  JwtContext process(String raw) throws InvalidJwtException;
+}
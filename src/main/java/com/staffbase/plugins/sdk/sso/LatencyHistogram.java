@@ -0,0 +1,162 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of durations in nanoseconds with a relative error
+ * of at most 1/32, in the manner of HdrHistogram.
+ *
+ * Each power of two is split into 32 equally wide buckets, so recording is a
+ * few bit operations and one atomic increment, and the memory needed does not
+ * depend on the number or the range of recorded values.
+ */
+public final class LatencyHistogram {
+
+  /**
+   * The number of bits resolving the values within a power of two.
+   */
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * The number of buckets covering all non-negative long values.
+   */
+  private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Record a duration.
+   *
+   * @param nanos the duration in nanoseconds, negative values count as zero
+   */
+  public void record(final long nanos) {
+
+    final long value = Math.max(nanos, 0);
+
+    this.counts.incrementAndGet(indexOf(value));
+    this.count.increment();
+    this.sum.add(value);
+    this.max.accumulate(value);
+  }
+
+  /**
+   * Get the number of recorded durations.
+   *
+   * @return the number of durations
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  /**
+   * Get the largest recorded duration.
+   *
+   * @return the duration in nanoseconds, 0 if none was recorded
+   */
+  public long getMax() {
+    return this.max.get();
+  }
+
+  /**
+   * Get the mean of the recorded durations.
+   *
+   * @return the mean in nanoseconds, 0 if none was recorded
+   */
+  public double getMean() {
+    final long count = this.count.sum();
+    return count == 0 ? 0 : (double) this.sum.sum() / count;
+  }
+
+  /**
+   * Get the duration the given share of recorded durations do not exceed.
+   *
+   * @param percentile the percentile between 0 and 100
+   * @return the upper bound of the bucket holding the percentile in
+   *         nanoseconds, 0 if none was recorded
+   */
+  public long getValueAtPercentile(final double percentile) {
+
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("The percentile must be between 0 and 100. [percentile=" + percentile + "]");
+    }
+
+    long total = 0;
+    final long[] snapshot = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = this.counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestValueOf(i), this.getMax());
+      }
+    }
+
+    return this.getMax();
+  }
+
+  /**
+   * Forget all recorded durations.
+   *
+   * Durations recorded concurrently may be partially forgotten.
+   */
+  public void reset() {
+
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      this.counts.set(i, 0);
+    }
+    this.count.reset();
+    this.sum.reset();
+    this.max.reset();
+  }
+
+  /**
+   * Get the bucket of a value. Values below 64 get a bucket each, above the
+   * buckets double in width with every power of two.
+   */
+  static int indexOf(final long value) {
+
+    final int exponent = 63 - Long.numberOfLeadingZeros(value | SUB_BUCKET_COUNT) - SUB_BUCKET_BITS;
+    return (exponent << SUB_BUCKET_BITS) + (int) (value >>> exponent);
+  }
+
+  /**
+   * Get the largest value falling into a bucket.
+   */
+  static long highestValueOf(final int index) {
+
+    final int exponent = Math.max((index >>> SUB_BUCKET_BITS) - 1, 0);
+    final long lowest = (long) (index - (exponent << SUB_BUCKET_BITS)) << exponent;
+    return lowest + (1L << exponent) - 1;
+  }
+}
@@ -0,0 +1,201 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
+
+/**
+ * A {@link SSOData} reading each value from the verified claims when it is
+ * requested, instead of copying all of them up front.
+ *
+ * Unlike the eager variant, a claim of an unexpected type is treated as
+ * absent rather than failing the verification.
+ *
+ * @see SSOData#createLazy(JwtClaims)
+ * @see SSOFacade#withLazyData()
+ */
+final class LazySSOData extends SSOData {
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The verified claims, never modified after verification.
+   */
+  private final JwtClaims jwtClaims;
+
+  /**
+   * The expiration time, read right away since verification needs it anyway.
+   */
+  private final Long expirationTime;
+
+  /**
+   * The unmodifiable view of the tags, built when requested first. Racing
+   * threads may build it twice, which is harmless.
+   */
+  private List<String> tags;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  /**
+   * Constructor of the LazySSOData class
+   *
+   * @param jwtClaims The claims of a verified JWT token
+   * @throws MalformedClaimException The expiration time is invalid
+   */
+  LazySSOData(final JwtClaims jwtClaims) throws MalformedClaimException {
+
+    this.jwtClaims = Objects.requireNonNull(jwtClaims);
+
+    final NumericDate expiration = jwtClaims.getExpirationTime();
+    this.expirationTime = expiration == null ? null : expiration.getValue();
+  }
+
+  /**********************************************
+   * Getters
+   **********************************************/
+
+  @Override
+  public String getBranchID() {
+    return this.stringClaim(KEY_BRANCH_ID);
+  }
+
+  @Override
+  public String getBranchSlug() {
+    return this.stringClaim(KEY_BRANCH_SLUG);
+  }
+
+  @Override
+  public String getIssuerOrNull() {
+    return this.stringClaim(KEY_ISSUER);
+  }
+
+  @Override
+  public String getAudienceOrNull() {
+    return this.stringClaim(KEY_AUDIENCE);
+  }
+
+  @Override
+  public String getInstanceNameOrNull() {
+    return this.stringClaim(KEY_INSTANCE_NAME);
+  }
+
+  @Override
+  public String getSessionIdOrNull() {
+    return this.stringClaim(KEY_SESSION_ID);
+  }
+
+  @Override
+  public String getTokenIdOrNull() {
+    return this.stringClaim(KEY_TOKEN_ID);
+  }
+
+  @Override
+  public Long getExpirationTimeOrNull() {
+    return this.expirationTime;
+  }
+
+  @Override
+  public String getUserFullNameOrNull() {
+    return this.stringClaim(KEY_USER_FULL_NAME);
+  }
+
+  @Override
+  public String getEntityTypeOrNull() {
+    return this.stringClaim(KEY_ENTITY_TYPE);
+  }
+
+  @Override
+  public String getThemeTextColorOrNull() {
+    return this.stringClaim(KEY_THEME_TEXT_COLOR);
+  }
+
+  @Override
+  public String getThemeBackgroundColorOrNull() {
+    return this.stringClaim(KEY_THEME_BACKGROUND_COLOR);
+  }
+
+  @Override
+  public String getInstanceID() {
+    return this.stringClaim(KEY_INSTANCE_ID);
+  }
+
+  @Override
+  public String getUserIDOrNull() {
+    return this.stringClaim(KEY_USER_ID);
+  }
+
+  @Override
+  public String getUserExternalIDOrNull() {
+    return this.stringClaim(KEY_USER_EXTERNAL_ID);
+  }
+
+  @Override
+  public String getUserUsernameOrNull() {
+    return this.stringClaim(KEY_USER_USERNAME);
+  }
+
+  @Override
+  public String getUserPrimaryEmailAddressOrNull() {
+    return this.stringClaim(KEY_USER_PRIMARY_EMAIL_ADDRESS);
+  }
+
+  @Override
+  public String getUserFirstNameOrNull() {
+    return this.stringClaim(KEY_USER_FIRST_NAME);
+  }
+
+  @Override
+  public String getUserLastNameOrNull() {
+    return this.stringClaim(KEY_USER_LAST_NAME);
+  }
+
+  @Override
+  public String getUserLocaleAsStringOrNull() {
+    return this.stringClaim(KEY_USER_LOCALE);
+  }
+
+  @Override
+  public String getUserRoleOrNull() {
+    return this.stringClaim(KEY_USER_ROLE);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> getTagsOrNull() {
+
+    List<String> tags = this.tags;
+    if (tags == null) {
+      final Object value = this.jwtClaims.getClaimValue(KEY_TAGS);
+      if (!(value instanceof List)) {
+        return null;
+      }
+
+      // the claims are shared by all callers if the data is cached
+      tags = Collections.unmodifiableList((List<String>) value);
+      this.tags = tags;
+    }
+    return tags;
+  }
+
+  private String stringClaim(final String key) {
+    final Object value = this.jwtClaims.getClaimValue(key);
+    return value instanceof String ? (String) value : null;
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how many lines a log statement writes per interval, so a flood of
+ * bad attempts does not flood the log as well. Lines over the limit are
+ * counted and the count is reported with the next line written.
+ */
+final class LogRateLimiter {
+
+  /**
+   * The default number of lines per second.
+   */
+  static final int DEFAULT_LINES_PER_SECOND = 10;
+
+  /**
+   * Returned by {@link #acquire()} if the line must be suppressed.
+   */
+  static final long SUPPRESS = -1;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final int linesPerInterval;
+  private final long intervalMillis;
+  private final LongSupplier clock;
+
+  private final AtomicLong windowStart = new AtomicLong();
+  private final AtomicInteger linesInWindow = new AtomicInteger();
+  private final AtomicLong suppressed = new AtomicLong();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  LogRateLimiter() {
+    this(DEFAULT_LINES_PER_SECOND, 1000, System::currentTimeMillis);
+  }
+
+  LogRateLimiter(final int linesPerInterval, final long intervalMillis, final LongSupplier clock) {
+    this.linesPerInterval = linesPerInterval;
+    this.intervalMillis = intervalMillis;
+    this.clock = clock;
+    this.windowStart.set(clock.getAsLong());
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Ask whether a line may be written.
+   *
+   * @return {@link #SUPPRESS} if the line must be suppressed, otherwise the
+   *         number of lines suppressed since the last line written
+   */
+  long acquire() {
+
+    final long now = this.clock.getAsLong();
+    final long start = this.windowStart.get();
+    if (now - start >= this.intervalMillis && this.windowStart.compareAndSet(start, now)) {
+      this.linesInWindow.set(0);
+    }
+
+    if (this.linesInWindow.incrementAndGet() > this.linesPerInterval) {
+      this.suppressed.incrementAndGet();
+      return SUPPRESS;
+    }
+
+    return this.suppressed.getAndSet(0);
+  }
+}
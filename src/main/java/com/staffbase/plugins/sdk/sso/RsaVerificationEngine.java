@@ -0,0 +1,343 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.consumer.ErrorCodeValidator;
+import org.jose4j.jwt.consumer.ErrorCodes;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.jose4j.jwt.consumer.JwtContext;
+import org.jose4j.jwx.HeaderParameterNames;
+import org.jose4j.jwx.KeyValidationSupport;
+import org.jose4j.lang.JoseException;
+
+/**
+ * Verifies tokens signed with a single RSA key, reusing the crypto state
+ * across verifications instead of looking up a {@link Signature} and setting
+ * it up for every token.
+ *
+ * Each verifier holds a {@link Signature} initialized with the key once, and
+ * a scratch buffer for the signing input, the signature and the decoded
+ * parts. A verifier is confined to one thread while in use and returned to a
+ * bounded pool afterwards, so the number of verifiers follows the number of
+ * concurrent verifications rather than the number of threads, which matters
+ * with many or virtual threads. A verifier failing with an exception is
+ * dropped instead of being reset, since its state is unknown.
+ *
+ * Only plain tokens are verified here: three parts of ASCII characters, with
+ * a header holding no parameters besides the algorithm, the type and the key
+ * id. Anything else is passed to jose4j, so no token is judged differently.
+ * The claims are validated by a jose4j consumer with the same validators as
+ * {@link SSOFacade#buildConsumer(org.jose4j.keys.resolvers.VerificationKeyResolver)}.
+ */
+final class RsaVerificationEngine implements JwtProcessor {
+
+  private static final Logger logger = LogManager.getLogger(RsaVerificationEngine.class);
+
+  /**
+   * The Java name of the only accepted signature algorithm.
+   */
+  private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+
+  /**
+   * The header parameters of plain tokens.
+   */
+  private static final Set<String> PLAIN_HEADER = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+      HeaderParameterNames.ALGORITHM, HeaderParameterNames.TYPE, HeaderParameterNames.KEY_ID)));
+
+  /**
+   * The number of verifiers kept for reuse.
+   */
+  static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+  /**
+   * The maximum length of the scratch buffer of a verifier, larger tokens
+   * use a temporary buffer.
+   */
+  static final int MAXIMUM_SCRATCH_LENGTH = 16 * 1024;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final RSAPublicKey key;
+
+  /**
+   * Verifies the tokens which are not plain.
+   */
+  private final JwtProcessor fallback;
+
+  /**
+   * Validates the claims of verified tokens.
+   */
+  private final JwtConsumer claimsConsumer;
+
+  /**
+   * The idle verifiers, <code>null</code> for empty slots.
+   */
+  private final AtomicReferenceArray<Verifier> idle = new AtomicReferenceArray<>(POOL_SIZE);
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private RsaVerificationEngine(final RSAPublicKey key, final JwtProcessor fallback, final Verifier first) {
+    this.key = key;
+    this.fallback = fallback;
+    this.claimsConsumer = buildClaimsConsumer();
+    this.idle.set(0, first);
+  }
+
+  /**
+   * Create an engine verifying with the given key, if the key can be used.
+   *
+   * @param key the RSA public key
+   * @param fallback the processor for tokens which are not plain, usually a
+   *                 jose4j consumer with the same key
+   * @return the engine, or the fallback if the key cannot be used, e.g.
+   *         because jose4j would reject it
+   */
+  static JwtProcessor create(final RSAPublicKey key, final JwtProcessor fallback) {
+
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(fallback);
+
+    if (key.getModulus().bitLength() < KeyValidationSupport.MIN_RSA_KEY_LENGTH) {
+      return fallback;
+    }
+
+    final Verifier first;
+    try {
+      first = new Verifier(key);
+    } catch (final GeneralSecurityException securityException) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Could not set up the verification of sso attempts, falling back to jose4j.",
+            securityException);
+      }
+
+      return fallback;
+    }
+
+    return new RsaVerificationEngine(key, fallback, first);
+  }
+
+  /**
+   * Build the consumer validating the claims, with the requirements of
+   * {@link SSOFacade#buildConsumer(org.jose4j.keys.resolvers.VerificationKeyResolver)}
+   * for already verified tokens.
+   */
+  private static JwtConsumer buildClaimsConsumer() {
+
+    return new JwtConsumerBuilder()
+      .setSkipSignatureVerification()
+      .setDisableRequireSignature()
+      .setSkipDefaultAudienceValidation()
+      .setRequireExpirationTime()
+      .setRequireNotBefore()
+      .setRequireIssuedAt()
+      .build();
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  @Override
+  public JwtContext process(final String raw) throws InvalidJwtException {
+
+    final int headerEnd = raw.indexOf('.');
+    final int payloadEnd = headerEnd < 0 ? -1 : raw.indexOf('.', headerEnd + 1);
+    if (payloadEnd < 0 || raw.indexOf('.', payloadEnd + 1) >= 0) {
+      return this.fallback.process(raw);
+    }
+
+    final Verifier verifier = this.acquire();
+    if (!verifier.isPlain(raw, headerEnd)) {
+      this.release(verifier);
+      return this.fallback.process(raw);
+    }
+
+    final String payload;
+    try {
+      payload = verifier.verify(raw, headerEnd, payloadEnd);
+    } catch (final SignatureException | RuntimeException exception) {
+      // the signature may be left half way, so the verifier is not reused
+      if (logger.isDebugEnabled()) {
+        logger.debug("Dropped verifier after failing to verify a signature.", exception);
+      }
+
+      final ErrorCodeValidator.Error error = exception instanceof SignatureException
+          ? new ErrorCodeValidator.Error(ErrorCodes.SIGNATURE_INVALID, "Invalid JWS Signature")
+          : new ErrorCodeValidator.Error(ErrorCodes.MISCELLANEOUS, "Unexpected exception encountered while processing");
+      throw new InvalidJwtException("JWT processing failed.", error, exception, this.context(raw, null));
+    }
+    this.release(verifier);
+
+    if (payload == null) {
+      throw new InvalidJwtException("JWS signature is invalid.", Collections.singletonList(
+          new ErrorCodeValidator.Error(ErrorCodes.SIGNATURE_INVALID, "Invalid JWS Signature")),
+          this.context(raw, null));
+    }
+
+    final JwtContext context = this.context(raw, JwtClaims.parse(payload, this.context(raw, null)));
+    this.claimsConsumer.processContext(context);
+
+    return context;
+  }
+
+  private JwtContext context(final String raw, final JwtClaims claims) {
+    return new JwtContext(raw, claims, Collections.emptyList());
+  }
+
+  /**
+   * Take an idle verifier, starting at a slot depending on the thread to
+   * spread concurrent callers, or create one if none is idle.
+   */
+  private Verifier acquire() {
+
+    final int start = this.startSlot();
+    for (int i = 0; i < POOL_SIZE; i++) {
+      final int slot = (start + i) % POOL_SIZE;
+      if (this.idle.get(slot) != null) {
+        final Verifier verifier = this.idle.getAndSet(slot, null);
+        if (verifier != null) {
+          return verifier;
+        }
+      }
+    }
+
+    try {
+      return new Verifier(this.key);
+    } catch (final GeneralSecurityException securityException) {
+      // the same key was accepted before
+      throw new IllegalStateException("Could not set up the verification of sso attempts.", securityException);
+    }
+  }
+
+  /**
+   * Return a verifier to the pool, dropping it if the pool is full.
+   */
+  private void release(final Verifier verifier) {
+
+    final int start = this.startSlot();
+    for (int i = 0; i < POOL_SIZE; i++) {
+      final int slot = (start + i) % POOL_SIZE;
+      if (this.idle.get(slot) == null && this.idle.compareAndSet(slot, null, verifier)) {
+        return;
+      }
+    }
+  }
+
+  private int startSlot() {
+    return (int) ((Thread.currentThread().getId() & Integer.MAX_VALUE) % POOL_SIZE);
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * A signature bound to the key and a scratch buffer, used by one thread at
+   * a time.
+   */
+  private static final class Verifier {
+
+    private final Signature signature;
+    private byte[] scratch = new byte[1024];
+
+    private Verifier(final RSAPublicKey key) throws GeneralSecurityException {
+      this.signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+      this.signature.initVerify(key);
+    }
+
+    /**
+     * Check whether a token is plain, without touching the signature.
+     */
+    private boolean isPlain(final String raw, final int headerEnd) {
+
+      for (int i = 0; i < raw.length(); i++) {
+        if (raw.charAt(i) >= 0x80) {
+          return false;
+        }
+      }
+
+      try {
+        final Map<String, Object> header = JsonUtil.parseJson(this.decodeToUtf8String(raw, 0, headerEnd));
+        return SSOPreCheck.EXPECTED_ALGORITHM.equals(header.get(HeaderParameterNames.ALGORITHM))
+            && PLAIN_HEADER.containsAll(header.keySet());
+      } catch (final JoseException | RuntimeException decodingException) {
+        return false;
+      }
+    }
+
+    /**
+     * Verify the signature of a plain token. The signature is reset by
+     * completing the verification, unless an exception is thrown.
+     *
+     * @return the decoded payload, <code>null</code> if the signature is invalid
+     */
+    private String verify(final String raw, final int headerEnd, final int payloadEnd) throws SignatureException {
+
+      final byte[] buffer = this.buffer(Math.max(payloadEnd, Base64UrlDecoder.maximumLength(payloadEnd + 1, raw.length())));
+      for (int i = 0; i < payloadEnd; i++) {
+        buffer[i] = (byte) raw.charAt(i);
+      }
+      this.signature.update(buffer, 0, payloadEnd);
+
+      final int signatureLength = Base64UrlDecoder.decode(raw, payloadEnd + 1, raw.length(), buffer);
+      if (!this.signature.verify(buffer, 0, signatureLength)) {
+        return null;
+      }
+
+      return this.decodeToUtf8String(raw, headerEnd + 1, payloadEnd);
+    }
+
+    private String decodeToUtf8String(final String raw, final int from, final int to) {
+      final byte[] buffer = this.buffer(Base64UrlDecoder.maximumLength(from, to));
+      return new String(buffer, 0, Base64UrlDecoder.decode(raw, from, to, buffer), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get a buffer of at least the given length: the scratch buffer, grown up
+     * to {@link #MAXIMUM_SCRATCH_LENGTH}, or a temporary one beyond.
+     */
+    private byte[] buffer(final int length) {
+
+      if (length <= this.scratch.length) {
+        return this.scratch;
+      }
+      if (length > MAXIMUM_SCRATCH_LENGTH) {
+        return new byte[length];
+      }
+
+      this.scratch = new byte[Math.min(Math.max(length, this.scratch.length * 2), MAXIMUM_SCRATCH_LENGTH)];
+      return this.scratch;
+    }
+  }
+}
@@ -0,0 +1,378 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of signature verifications running at once, so a flood
+ * of attempts, e.g. all clients relaunching after an incident, cannot starve
+ * the rest of the plugin of CPU. Attempts over the limit are shed with
+ * {@link SSOException.Reason#OVERLOADED}, right away or after waiting in a
+ * bounded queue.
+ *
+ * <pre>
+ * final SSOFacade ssoFac = SSOFacade.create(publicKey)
+ *     .withAdmissionLimiter(SSOAdmissionLimiter.create(64)
+ *         .withQueue(256, Duration.ofMillis(100)));
+ * </pre>
+ *
+ * The limit adapts to the observed latency of the verifications (AIMD): it
+ * grows by one for each verification as fast as the baseline, i.e. the
+ * fastest one recently seen, while the limit is in use, and shrinks by a
+ * tenth on a verification slower than the baseline times the tolerance. It
+ * shrinks at most once for the verifications running together, so a pause
+ * slowing all of them, e.g. for garbage collection, counts as one slow
+ * verification.
+ * As verification is CPU bound, it settles about where adding verifications
+ * only makes each of them slower. It never exceeds the given maximum nor
+ * drops below one.
+ *
+ * Only attempts needing a full verification pass the limiter, before their
+ * pre-check, so shedding an attempt costs next to nothing. Attempts answered
+ * from the cache or the rejection cache, and sessions verified by
+ * {@link SSOSessions} bypass it.
+ *
+ * @see SSOFacade#withAdmissionLimiter(SSOAdmissionLimiter)
+ */
+public class SSOAdmissionLimiter {
+
+  /**
+   * The factor by which a verification may be slower than the baseline
+   * without shrinking the limit, by default.
+   */
+  public static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
+  /**
+   * The factor the limit is multiplied with on a slow verification.
+   */
+  private static final double BACKOFF_RATIO = 0.9;
+
+  /**
+   * The number of verifications after which the baseline is taken from the
+   * fastest of them, so it follows lasting changes, e.g. of the key size.
+   */
+  private static final int BASELINE_WINDOW = 1000;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final int maximumLimit;
+
+  private int queueCapacity;
+
+  private long maximumWaitNanos;
+
+  private double latencyTolerance = DEFAULT_LATENCY_TOLERANCE;
+
+  /**
+   * Guards the state below; not the monitor, so virtual threads waiting for
+   * admission do not pin their carrier.
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition available = this.lock.newCondition();
+
+  private double limit;
+
+  private int inFlight;
+
+  private int waiting;
+
+  private long baselineNanos = Long.MAX_VALUE;
+
+  private long windowMinimumNanos = Long.MAX_VALUE;
+
+  private int windowSamples;
+
+  /**
+   * The number of verifications running when the limit last shrank which
+   * have not finished yet; the limit does not shrink again before.
+   */
+  private int backoffPending;
+
+  private final LongAdder shed = new LongAdder();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private SSOAdmissionLimiter(final int maximumLimit) {
+    this.maximumLimit = maximumLimit;
+    this.limit = Math.min(maximumLimit, 2 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a limiter shedding attempts over the limit right away.
+   *
+   * @param maximumLimit the maximum number of verifications running at once
+   * @return the limiter
+   */
+  public static SSOAdmissionLimiter create(final int maximumLimit) {
+
+    if (maximumLimit <= 0) {
+      throw new IllegalArgumentException("The maximum limit must be positive. [maximumLimit=" + maximumLimit + "]");
+    }
+
+    return new SSOAdmissionLimiter(maximumLimit);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Let attempts over the limit wait for a running verification to finish,
+   * instead of shedding them right away. Attempts are shed if the queue is
+   * full or the wait times out.
+   *
+   * Must be called before the limiter is shared between threads.
+   *
+   * @param capacity the maximum number of waiting attempts
+   * @param maximumWait the longest time an attempt waits
+   * @return Fluent interface.
+   */
+  public SSOAdmissionLimiter withQueue(final int capacity, final Duration maximumWait) {
+
+    if (capacity < 0) {
+      throw new IllegalArgumentException("The capacity must not be negative. [capacity=" + capacity + "]");
+    }
+    if (maximumWait.isNegative()) {
+      throw new IllegalArgumentException("The maximum wait must not be negative. [maximumWait=" + maximumWait + "]");
+    }
+
+    this.queueCapacity = capacity;
+    this.maximumWaitNanos = maximumWait.toNanos();
+    return this;
+  }
+
+  /**
+   * Set the factor by which a verification may be slower than the baseline
+   * without shrinking the limit.
+   *
+   * Must be called before the limiter is shared between threads.
+   *
+   * @param latencyTolerance the factor, greater than one
+   * @return Fluent interface.
+   */
+  public SSOAdmissionLimiter withLatencyTolerance(final double latencyTolerance) {
+
+    if (!(latencyTolerance > 1.0)) {
+      throw new IllegalArgumentException("The latency tolerance must be greater than one. [latencyTolerance="
+          + latencyTolerance + "]");
+    }
+
+    this.latencyTolerance = latencyTolerance;
+    return this;
+  }
+
+  /**
+   * Admit a verification, waiting in the queue if configured. An admitted
+   * verification must be {@link #release(long) released} once done.
+   *
+   * @return <code>true</code> if admitted, <code>false</code> if shed
+   */
+  boolean acquire() {
+
+    this.lock.lock();
+    try {
+      if (this.inFlight < (int) this.limit) {
+        this.inFlight++;
+        return true;
+      }
+      if (this.waiting >= this.queueCapacity) {
+        this.shed.increment();
+        return false;
+      }
+
+      this.waiting++;
+      try {
+        long remaining = this.maximumWaitNanos;
+        while (this.inFlight >= (int) this.limit) {
+          if (remaining <= 0) {
+            this.shed.increment();
+            return false;
+          }
+          remaining = this.available.awaitNanos(remaining);
+        }
+        this.inFlight++;
+        return true;
+      } catch (final InterruptedException interruptedException) {
+        Thread.currentThread().interrupt();
+        this.shed.increment();
+        return false;
+      } finally {
+        this.waiting--;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Finish an admitted verification, adapting the limit to its latency.
+   *
+   * @param latencyNanos the time the verification took, in nanoseconds
+   */
+  void release(final long latencyNanos) {
+
+    this.lock.lock();
+    try {
+      final int before = (int) this.limit;
+      this.adapt(latencyNanos);
+      this.inFlight--;
+
+      // one slot was freed, and more if the limit grew
+      for (int slots = 1 + Math.max(0, (int) this.limit - before); slots > 0 && this.waiting > 0; slots--) {
+        this.available.signal();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Finish an admitted attempt which was rejected before its verification
+   * started, leaving the limit as is.
+   */
+  void cancel() {
+
+    this.lock.lock();
+    try {
+      this.inFlight--;
+      if (this.backoffPending > 0) {
+        this.backoffPending--;
+      }
+      if (this.waiting > 0) {
+        this.available.signal();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Grow the limit additively on a fast verification while the limit is in
+   * use, shrink it multiplicatively on a slow one unless it already shrank
+   * for a verification running at the same time. Must be called while
+   * holding the lock.
+   */
+  private void adapt(final long latencyNanos) {
+
+    final boolean backedOff = this.backoffPending > 0;
+    if (backedOff) {
+      this.backoffPending--;
+    }
+
+    this.windowMinimumNanos = Math.min(this.windowMinimumNanos, latencyNanos);
+    if (++this.windowSamples >= BASELINE_WINDOW) {
+      this.baselineNanos = this.windowMinimumNanos;
+      this.windowMinimumNanos = Long.MAX_VALUE;
+      this.windowSamples = 0;
+    }
+    this.baselineNanos = Math.min(this.baselineNanos, latencyNanos);
+
+    if (latencyNanos > this.baselineNanos * this.latencyTolerance) {
+      if (!backedOff) {
+        this.limit = Math.max(1.0, this.limit * BACKOFF_RATIO);
+        // the others still running were likely slowed down the same way
+        this.backoffPending = this.inFlight - 1;
+      }
+    } else if (this.inFlight * 2 >= this.limit) {
+      this.limit = Math.min(this.maximumLimit, this.limit + 1.0);
+    }
+  }
+
+  /**********************************************
+   * Getters
+   **********************************************/
+
+  /**
+   * Get the current limit.
+   *
+   * @return the number of verifications admitted at once
+   */
+  public int getLimit() {
+    this.lock.lock();
+    try {
+      return (int) this.limit;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Get the number of verifications running.
+   *
+   * @return the number of admitted verifications not yet finished
+   */
+  public int getInFlight() {
+    this.lock.lock();
+    try {
+      return this.inFlight;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Get the number of attempts waiting in the queue.
+   *
+   * @return the queue depth
+   */
+  public int getWaiting() {
+    this.lock.lock();
+    try {
+      return this.waiting;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Get the number of attempts shed, right away or after waiting.
+   *
+   * @return the number of shed attempts
+   */
+  public long getShedCount() {
+    return this.shed.sum();
+  }
+
+  /**
+   * Get the longest time an attempt waits for admission.
+   *
+   * @return the maximum wait
+   */
+  public Duration getMaximumWait() {
+    return Duration.ofNanos(this.maximumWaitNanos);
+  }
+
+  /**
+   * Get the maximum number of attempts waiting for admission.
+   *
+   * @return the queue capacity, zero if attempts are shed right away
+   */
+  public int getQueueCapacity() {
+    return this.queueCapacity;
+  }
+
+  /**
+   * Get the number of verifications the limit never exceeds.
+   *
+   * @return the maximum limit
+   */
+  public int getMaximumLimit() {
+    return this.maximumLimit;
+  }
+}
@@ -0,0 +1,277 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A size-bounded cache of already verified single-sign-on attempts, keyed by
+ * the fingerprint of the raw token.
+ *
+ * The cache is split into segments, each one kept in least-recently-used order
+ * and guarded by its own lock, so concurrent lookups of different tokens rarely
+ * contend. Entries are dropped as soon as the expiration time of their token
+ * has passed.
+ *
+ * @see SSOFacade#withCache(int)
+ */
+public class SSOCache {
+
+  /**
+   * The maximum number of segments the cache is split into.
+   */
+  private static final int MAX_SEGMENTS = 16;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The segments holding the entries.
+   */
+  private final Segment[] segments;
+
+  /**
+   * The clock to check the expiration against, in milliseconds.
+   */
+  private final LongSupplier clock;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  /**
+   * Create a cache holding up to the given number of entries.
+   *
+   * @param maximumSize the maximum number of cached entries.
+   */
+  SSOCache(final int maximumSize) {
+    this(maximumSize, System::currentTimeMillis);
+  }
+
+  SSOCache(final int maximumSize, final LongSupplier clock) {
+
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("The maximum size must be positive. [maximumSize=" + maximumSize + "]");
+    }
+
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maximumSize) {
+      segmentCount *= 2;
+    }
+
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      // spread the remainder over the first segments, so the total matches exactly
+      final int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+      this.segments[i] = new Segment(capacity);
+    }
+    this.clock = clock;
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Look up a verified attempt, counting the hit or miss.
+   *
+   * @param fingerprint the fingerprint of the raw token
+   * @return the cached data or <code>null</code> if absent or expired
+   */
+  SSOData get(final TokenFingerprint fingerprint) {
+    return this.get(fingerprint, true);
+  }
+
+  /**
+   * Look up a verified attempt again, without counting it, e.g. after the
+   * first lookup of the attempt missed.
+   *
+   * @param fingerprint the fingerprint of the raw token
+   * @return the cached data or <code>null</code> if absent or expired
+   */
+  SSOData peek(final TokenFingerprint fingerprint) {
+    return this.get(fingerprint, false);
+  }
+
+  private SSOData get(final TokenFingerprint fingerprint, final boolean counted) {
+
+    final Segment segment = this.segmentFor(fingerprint);
+    final long now = this.clock.getAsLong();
+
+    final Entry entry;
+    segment.lock.lock();
+    try {
+      entry = segment.get(fingerprint);
+      if (entry != null && entry.expiresAt <= now) {
+        segment.remove(fingerprint);
+        if (counted) {
+          this.misses.increment();
+        }
+        return null;
+      }
+    } finally {
+      segment.lock.unlock();
+    }
+
+    if (entry == null) {
+      if (counted) {
+        this.misses.increment();
+      }
+      return null;
+    }
+
+    if (counted) {
+      this.hits.increment();
+    }
+    return entry.data;
+  }
+
+  /**
+   * Store a verified attempt until its token expires.
+   *
+   * @param fingerprint the fingerprint of the raw token
+   * @param data the verified data
+   * @param expiresAt the expiration time of the token in milliseconds since the epoch
+   */
+  void put(final TokenFingerprint fingerprint, final SSOData data, final long expiresAt) {
+
+    if (expiresAt <= this.clock.getAsLong()) {
+      return;
+    }
+
+    final Segment segment = this.segmentFor(fingerprint);
+    segment.lock.lock();
+    try {
+      segment.put(fingerprint, new Entry(data, expiresAt));
+    } finally {
+      segment.lock.unlock();
+    }
+  }
+
+  /**
+   * Remove all entries from the cache.
+   */
+  public void invalidateAll() {
+    for (final Segment segment : this.segments) {
+      segment.lock.lock();
+      try {
+        segment.clear();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Get the number of entries currently held, including expired ones which
+   * have not been looked up since.
+   *
+   * @return the number of entries
+   */
+  public long size() {
+    long size = 0;
+    for (final Segment segment : this.segments) {
+      segment.lock.lock();
+      try {
+        size += segment.size();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Get the number of lookups answered from the cache.
+   *
+   * @return the number of hits
+   */
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Get the number of lookups which required a full verification.
+   *
+   * @return the number of misses
+   */
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Get the number of entries dropped to keep the cache within its size bound.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictionCount() {
+    return this.evictions.sum();
+  }
+
+  private Segment segmentFor(final TokenFingerprint fingerprint) {
+    return this.segments[fingerprint.hashCode() & (this.segments.length - 1)];
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * A cached verification result.
+   */
+  private static final class Entry {
+
+    private final SSOData data;
+    private final long expiresAt;
+
+    private Entry(final SSOData data, final long expiresAt) {
+      this.data = data;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /**
+   * A part of the cache in least-recently-used order. Must only be accessed
+   * while holding its lock, a {@link ReentrantLock} rather than the monitor,
+   * so virtual threads waiting for it do not pin their carrier.
+   */
+  private final class Segment extends LinkedHashMap<TokenFingerprint, Entry> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int capacity;
+
+    private Segment(final int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<TokenFingerprint, SSOCache.Entry> eldest) {
+      if (this.size() <= this.capacity) {
+        return false;
+      }
+
+      SSOCache.this.evictions.increment();
+      return true;
+    }
+  }
+}
@@ -10,6 +10,8 @@
  */
 package com.staffbase.plugins.sdk.sso;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -17,6 +19,7 @@ import java.util.Optional;
 
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
 
 import com.staffbase.plugins.sdk.util.TextUtil;
 
@@ -63,6 +66,11 @@ public class SSOData {
    */
   public static final String KEY_SESSION_ID = "sid";
 
+  /**
+   * The key in the JWT claims for fetching the unique id of the token.
+   */
+  public static final String KEY_TOKEN_ID = "jti";
+
   /**
    * The key in the JWT claims for fetching the requesting user's unique id.
    */
@@ -199,6 +207,17 @@ public class SSOData {
    */
   private final String sessionID;
 
+  /**
+   * The unique id of the token the data was transmitted with.
+   */
+  private final String tokenId;
+
+  /**
+   * The expiration time of the token the data was transmitted with, in
+   * seconds since the epoch.
+   */
+  private final Long expirationTime;
+
   /**
    * The color of the text that is configured in the Staffbase app.
    */
@@ -214,6 +233,12 @@ public class SSOData {
    */
   private final List<String> tags;
 
+  /**
+   * The tags as a set, built when requested first. Racing threads may build
+   * it twice, which is harmless as the set is immutable.
+   */
+  private SSOTagSet tagSet;
+
   /**
    * The unique id of the staffbase user making the request to the plugin using staffbase's
    * SSO.
@@ -278,26 +303,100 @@ public class SSOData {
 
     Objects.requireNonNull(jwtClaims);
 
-    this.branchID = jwtClaims.getClaimValue(KEY_BRANCH_ID, String.class);
-    this.branchSlug = jwtClaims.getClaimValue(KEY_BRANCH_SLUG, String.class);
-    this.instanceID = jwtClaims.getClaimValue(KEY_INSTANCE_ID, String.class);
+    // values shared by many users are pooled, the others are unique anyway
+    final StringPool pool = StringPool.SHARED;
+
+    this.branchID = pool.intern(jwtClaims.getClaimValue(KEY_BRANCH_ID, String.class));
+    this.branchSlug = pool.intern(jwtClaims.getClaimValue(KEY_BRANCH_SLUG, String.class));
+    this.instanceID = pool.intern(jwtClaims.getClaimValue(KEY_INSTANCE_ID, String.class));
     this.sessionID = jwtClaims.getClaimValue(KEY_SESSION_ID, String.class);
+    this.tokenId = jwtClaims.getClaimValue(KEY_TOKEN_ID, String.class);
     this.userID = jwtClaims.getClaimValue(KEY_USER_ID, String.class);
     this.userExternalID = jwtClaims.getClaimValue(KEY_USER_EXTERNAL_ID, String.class);
     this.userUsername = jwtClaims.getClaimValue(KEY_USER_USERNAME, String.class);
     this.userPrimaryEmailAddress = jwtClaims.getClaimValue(KEY_USER_PRIMARY_EMAIL_ADDRESS, String.class);
     this.userFirstName = jwtClaims.getClaimValue(KEY_USER_FIRST_NAME, String.class);
     this.userLastName = jwtClaims.getClaimValue(KEY_USER_LAST_NAME, String.class);
-    this.userRole = jwtClaims.getClaimValue(KEY_USER_ROLE, String.class);
-    this.userLocale = jwtClaims.getClaimValue(KEY_USER_LOCALE, String.class);
-    this.issuer = jwtClaims.getClaimValue(KEY_ISSUER, String.class);
-    this.audience = jwtClaims.getClaimValue(KEY_AUDIENCE, String.class);
-    this.instanceName = jwtClaims.getClaimValue(KEY_INSTANCE_NAME, String.class);
+    this.userRole = pool.intern(jwtClaims.getClaimValue(KEY_USER_ROLE, String.class));
+    this.userLocale = pool.intern(jwtClaims.getClaimValue(KEY_USER_LOCALE, String.class));
+    this.issuer = pool.intern(jwtClaims.getClaimValue(KEY_ISSUER, String.class));
+    this.audience = pool.intern(jwtClaims.getClaimValue(KEY_AUDIENCE, String.class));
+    this.instanceName = pool.intern(jwtClaims.getClaimValue(KEY_INSTANCE_NAME, String.class));
     this.userFullName = jwtClaims.getClaimValue(KEY_USER_FULL_NAME, String.class);
-    this.entityType = jwtClaims.getClaimValue(KEY_ENTITY_TYPE, String.class);
-    this.themeTextColor = jwtClaims.getClaimValue(KEY_THEME_TEXT_COLOR, String.class);
-    this.themeBackgroundColor = jwtClaims.getClaimValue(KEY_THEME_BACKGROUND_COLOR, String.class);
-    this.tags = jwtClaims.getClaimValue(KEY_TAGS, List.class);
+    this.entityType = pool.intern(jwtClaims.getClaimValue(KEY_ENTITY_TYPE, String.class));
+    this.themeTextColor = pool.intern(jwtClaims.getClaimValue(KEY_THEME_TEXT_COLOR, String.class));
+    this.themeBackgroundColor = pool.intern(jwtClaims.getClaimValue(KEY_THEME_BACKGROUND_COLOR, String.class));
+    this.tags = internTags(pool, jwtClaims.getClaimValue(KEY_TAGS, List.class));
+
+    final NumericDate expiration = jwtClaims.getExpirationTime();
+    this.expirationTime = expiration == null ? null : expiration.getValue();
+  }
+
+  /**
+   * Copy tags, using the pooled instances of their strings. Lists holding
+   * anything but strings are kept as they are. The result is unmodifiable,
+   * as cached data is shared between callers.
+   */
+  @SuppressWarnings("unchecked")
+  private static List<String> internTags(final StringPool pool, final List<?> tags) {
+
+    if (tags == null) {
+      return null;
+    }
+
+    final List<String> interned = new ArrayList<>(tags.size());
+    for (final Object tag : tags) {
+      if (!(tag instanceof String)) {
+        return Collections.unmodifiableList((List<String>) tags);
+      }
+      interned.add(pool.intern((String) tag));
+    }
+    return Collections.unmodifiableList(interned);
+  }
+
+  /**
+   * Create a container reading each value from the given claims only when it
+   * is requested. The claims must not be modified afterwards.
+   *
+   * Unlike {@link #SSOData(JwtClaims)}, claims of an unexpected type read as
+   * absent instead of failing.
+   *
+   * @param jwtClaims The claims of an decoded JWT token
+   * @return the container
+   * @throws MalformedClaimException The expiration time is invalid
+   */
+  public static SSOData createLazy(final JwtClaims jwtClaims) throws MalformedClaimException {
+    return new LazySSOData(jwtClaims);
+  }
+
+  /**
+   * Constructor for subclasses providing the data by overriding the nullable
+   * getters.
+   */
+  SSOData() {
+
+    this.branchID = null;
+    this.branchSlug = null;
+    this.instanceID = null;
+    this.sessionID = null;
+    this.tokenId = null;
+    this.userID = null;
+    this.userExternalID = null;
+    this.userUsername = null;
+    this.userPrimaryEmailAddress = null;
+    this.userFirstName = null;
+    this.userLastName = null;
+    this.userRole = null;
+    this.userLocale = null;
+    this.issuer = null;
+    this.audience = null;
+    this.instanceName = null;
+    this.userFullName = null;
+    this.entityType = null;
+    this.themeTextColor = null;
+    this.themeBackgroundColor = null;
+    this.tags = null;
+    this.expirationTime = null;
   }
 
   /**********************************************
@@ -331,7 +430,18 @@ public class SSOData {
    * @return the name of the issuing authority
    */
   public Optional<String> getIssuer() {
-    return Optional.ofNullable(this.issuer);
+    return Optional.ofNullable(this.getIssuerOrNull());
+  }
+
+  /**
+   * Get the name of the issuing authority for Stabase's SSO .
+   * Does not allocate, unlike {@link #getIssuer()}.
+   *
+   * @see #issuer
+   * @return the name of the issuing authority, <code>null</code> if absent
+   */
+  public String getIssuerOrNull() {
+    return this.issuer;
   }
 
   /**
@@ -341,7 +451,18 @@ public class SSOData {
    * @return the name of the audience the data is dedicated to
    */
   public Optional<String> getAudience() {
-    return Optional.ofNullable(this.audience);
+    return Optional.ofNullable(this.getAudienceOrNull());
+  }
+
+  /**
+   * Get the name of the audience the staffbase's SSO data is dedicated.
+   * Does not allocate, unlike {@link #getAudience()}.
+   *
+   * @see #audience
+   * @return the name of the audience the data is dedicated to, <code>null</code> if absent
+   */
+  public String getAudienceOrNull() {
+    return this.audience;
   }
 
   /**
@@ -352,7 +473,19 @@ public class SSOData {
    * @return the Name of the specific plugin instance
    */
   public Optional<String> getInstanceName() {
-    return Optional.ofNullable(this.instanceName);
+    return Optional.ofNullable(this.getInstanceNameOrNull());
+  }
+
+  /**
+   * Get the Name of the specific plugin instance that was requested using
+   * staffbase's SSO.
+   * Does not allocate, unlike {@link #getInstanceName()}.
+   *
+   * @see #instanceName
+   * @return the Name of the specific plugin instance, <code>null</code> if absent
+   */
+  public String getInstanceNameOrNull() {
+    return this.instanceName;
   }
 
   /**
@@ -362,7 +495,60 @@ public class SSOData {
    * @return a cipher of the session id
    */
   public Optional<String> getSessionId() {
-    return Optional.ofNullable(this.sessionID);
+    return Optional.ofNullable(this.getSessionIdOrNull());
+  }
+
+  /**
+   * Get a cipher of the session id that was requested using staffbase's SSO.
+   * Does not allocate, unlike {@link #getSessionId()}.
+   *
+   * @see #sessionID
+   * @return a cipher of the session id, <code>null</code> if absent
+   */
+  public String getSessionIdOrNull() {
+    return this.sessionID;
+  }
+
+  /**
+   * Get the unique id of the token the data was transmitted with.
+   *
+   * @see #tokenId
+   * @return the unique id of the token
+   */
+  public Optional<String> getTokenId() {
+    return Optional.ofNullable(this.getTokenIdOrNull());
+  }
+
+  /**
+   * Get the unique id of the token the data was transmitted with.
+   * Does not allocate, unlike {@link #getTokenId()}.
+   *
+   * @see #tokenId
+   * @return the unique id of the token, <code>null</code> if absent
+   */
+  public String getTokenIdOrNull() {
+    return this.tokenId;
+  }
+
+  /**
+   * Get the expiration time of the token the data was transmitted with.
+   *
+   * @see #expirationTime
+   * @return the expiration time in seconds since the epoch
+   */
+  public Optional<Long> getExpirationTime() {
+    return Optional.ofNullable(this.getExpirationTimeOrNull());
+  }
+
+  /**
+   * Get the expiration time of the token the data was transmitted with.
+   * Does not allocate, unlike {@link #getExpirationTime()}.
+   *
+   * @see #expirationTime
+   * @return the expiration time in seconds since the epoch, <code>null</code> if absent
+   */
+  public Long getExpirationTimeOrNull() {
+    return this.expirationTime;
   }
 
   /**
@@ -372,7 +558,18 @@ public class SSOData {
    * @return the full name of the user
    */
   public Optional<String> getUserFullName() {
-    return Optional.ofNullable(this.userFullName);
+    return Optional.ofNullable(this.getUserFullNameOrNull());
+  }
+
+  /**
+   * Get the full name of the user making the request using staffbase's SSO.
+   * Does not allocate, unlike {@link #getUserFullName()}.
+   *
+   * @see #userFullName
+   * @return the full name of the user, <code>null</code> if absent
+   */
+  public String getUserFullNameOrNull() {
+    return this.userFullName;
   }
 
   /**
@@ -382,7 +579,18 @@ public class SSOData {
    * @return type of the accessing entity
    */
   public Optional<String> getEntityType() {
-    return Optional.ofNullable(this.entityType);
+    return Optional.ofNullable(this.getEntityTypeOrNull());
+  }
+
+  /**
+   * Get the type of the accessing entity making the request using staffbase's SSO.
+   * Does not allocate, unlike {@link #getEntityType()}.
+   *
+   * @see #entityType
+   * @return type of the accessing entity, <code>null</code> if absent
+   */
+  public String getEntityTypeOrNull() {
+    return this.entityType;
   }
 
   /**
@@ -392,7 +600,18 @@ public class SSOData {
    * @return the hex color of the text
    */
   public Optional<String> getThemeTextColor() {
-    return Optional.ofNullable(this.themeTextColor);
+    return Optional.ofNullable(this.getThemeTextColorOrNull());
+  }
+
+  /**
+   * Get the color of the text that is configured in the Staffbase app.
+   * Does not allocate, unlike {@link #getThemeTextColor()}.
+   *
+   * @see #themeTextColor
+   * @return the hex color of the text, <code>null</code> if absent
+   */
+  public String getThemeTextColorOrNull() {
+    return this.themeTextColor;
   }
 
   /**
@@ -402,7 +621,18 @@ public class SSOData {
    * @return the hex color of the background
    */
   public Optional<String> getThemeBackgroundColor() {
-    return Optional.ofNullable(this.themeBackgroundColor);
+    return Optional.ofNullable(this.getThemeBackgroundColorOrNull());
+  }
+
+  /**
+   * Get the color of the background that is configured in the Staffbase app.
+   * Does not allocate, unlike {@link #getThemeBackgroundColor()}.
+   *
+   * @see #themeBackgroundColor
+   * @return the hex color of the background, <code>null</code> if absent
+   */
+  public String getThemeBackgroundColorOrNull() {
+    return this.themeBackgroundColor;
   }
 
   /**
@@ -424,7 +654,19 @@ public class SSOData {
    * @return the unique id of the requesting user
    */
   public Optional<String> getUserID() {
-    return Optional.ofNullable(this.userID);
+    return Optional.ofNullable(this.getUserIDOrNull());
+  }
+
+  /**
+   * Get the unique id of the staffbase user making the request to the plugin using
+   * staffbase's SSO.
+   * Does not allocate, unlike {@link #getUserID()}.
+   *
+   * @see #userID
+   * @return the unique id of the requesting user, <code>null</code> if absent
+   */
+  public String getUserIDOrNull() {
+    return this.userID;
   }
 
   /**
@@ -434,7 +676,18 @@ public class SSOData {
    * @return the requesting user's id in an external system
    */
   public Optional<String> getUserExternalID() {
-    return Optional.ofNullable(this.userExternalID);
+    return Optional.ofNullable(this.getUserExternalIDOrNull());
+  }
+
+  /**
+   * Get the id of the requesting user in an external system, if given.
+   * Does not allocate, unlike {@link #getUserExternalID()}.
+   *
+   * @see #userExternalID
+   * @return the requesting user's id in an external system, <code>null</code> if absent
+   */
+  public String getUserExternalIDOrNull() {
+    return this.userExternalID;
   }
 
   /**
@@ -444,7 +697,18 @@ public class SSOData {
    * @return the requesting user's username
    */
   public Optional<String> getUserUsername() {
-    return Optional.ofNullable(this.userUsername);
+    return Optional.ofNullable(this.getUserUsernameOrNull());
+  }
+
+  /**
+   * Get the username of the requesting user, if given.
+   * Does not allocate, unlike {@link #getUserUsername()}.
+   *
+   * @see #userUsername
+   * @return the requesting user's username, <code>null</code> if absent
+   */
+  public String getUserUsernameOrNull() {
+    return this.userUsername;
   }
 
   /**
@@ -454,7 +718,18 @@ public class SSOData {
    * @return the requesting user's primary email address
    */
   public Optional<String> getUserPrimaryEmailAddress() {
-    return Optional.ofNullable(this.userPrimaryEmailAddress);
+    return Optional.ofNullable(this.getUserPrimaryEmailAddressOrNull());
+  }
+
+  /**
+   * Get the primary email address of the requesting user, if given.
+   * Does not allocate, unlike {@link #getUserPrimaryEmailAddress()}.
+   *
+   * @see #userPrimaryEmailAddress
+   * @return the requesting user's primary email address, <code>null</code> if absent
+   */
+  public String getUserPrimaryEmailAddressOrNull() {
+    return this.userPrimaryEmailAddress;
   }
 
   /**
@@ -465,7 +740,19 @@ public class SSOData {
    * @return the requesting user's first name
    */
   public Optional<String> getUserFirstName() {
-    return Optional.ofNullable(this.userFirstName);
+    return Optional.ofNullable(this.getUserFirstNameOrNull());
+  }
+
+  /**
+   * Get the first, i.e. given name of the user making the request using staffbase's
+   * SSO.
+   * Does not allocate, unlike {@link #getUserFirstName()}.
+   *
+   * @see #userFirstName
+   * @return the requesting user's first name, <code>null</code> if absent
+   */
+  public String getUserFirstNameOrNull() {
+    return this.userFirstName;
   }
 
   /**
@@ -476,7 +763,19 @@ public class SSOData {
    * @return the requesting user's last name
    */
   public Optional<String> getUserLastName() {
-    return Optional.ofNullable(this.userLastName);
+    return Optional.ofNullable(this.getUserLastNameOrNull());
+  }
+
+  /**
+   * Get the last, i.e. family name of the user making the request using staffbase's
+   * SSO.
+   * Does not allocate, unlike {@link #getUserLastName()}.
+   *
+   * @see #userLastName
+   * @return the requesting user's last name, <code>null</code> if absent
+   */
+  public String getUserLastNameOrNull() {
+    return this.userLastName;
   }
 
   /**
@@ -487,7 +786,19 @@ public class SSOData {
    * @return the locale of the requesting user
    */
   public Optional<String> getUserLocaleAsString() {
-    return Optional.ofNullable(this.userLocale);
+    return Optional.ofNullable(this.getUserLocaleAsStringOrNull());
+  }
+
+  /**
+   * Get the locale of the user requesting the plugin instance as the originally
+   * transmitted string.
+   * Does not allocate, unlike {@link #getUserLocaleAsString()}.
+   *
+   * @see #userLocale
+   * @return the locale of the requesting user, <code>null</code> if absent
+   */
+  public String getUserLocaleAsStringOrNull() {
+    return this.userLocale;
   }
 
   /**
@@ -497,7 +808,7 @@ public class SSOData {
    * @return the locale of the requesting user
    */
   public Optional<Locale> getUserLocale() {
-    return TextUtil.parseLocale(this.userLocale);
+    return TextUtil.parseLocale(this.getUserLocaleAsStringOrNull());
   }
 
   /**
@@ -509,7 +820,20 @@ public class SSOData {
    * @return the requesting user's access role
    */
   public Optional<String> getUserRole() {
-    return Optional.ofNullable(this.userRole);
+    return Optional.ofNullable(this.getUserRoleOrNull());
+  }
+
+  /**
+   * Get the role of the user in regards of the requested {@link #instanceID}.
+   * If the requesting user does have admin permissions, this value is set to
+   * {@value #ROLE_EDITOR}.
+   * Does not allocate, unlike {@link #getUserRole()}.
+   *
+   * @see #userRole
+   * @return the requesting user's access role, <code>null</code> if absent
+   */
+  public String getUserRoleOrNull() {
+    return this.userRole;
   }
 
   /**
@@ -520,7 +844,17 @@ public class SSOData {
    * @return <code>true</code> if the requesting user is an editor.
    */
   public boolean isEditor() {
-    return ROLE_EDITOR.equals(this.userRole);
+    return this.getRole() == Role.EDITOR;
+  }
+
+  /**
+   * Get the role of the user in regards of the requested {@link #instanceID}.
+   *
+   * @see #userRole
+   * @return the role, {@link Role#UNKNOWN} if absent or not known to the SDK
+   */
+  public Role getRole() {
+    return Role.of(this.getUserRoleOrNull());
   }
 
   /**
@@ -532,7 +866,7 @@ public class SSOData {
    * @return <code>true</code> if the SSO call is an instance deletion call
    */
   public boolean isDeleteInstanceCall() {
-    return REMOTE_CALL_DELETE.equals(this.userID);
+    return REMOTE_CALL_DELETE.equals(this.getUserIDOrNull());
   }
 
   /**
@@ -544,31 +878,218 @@ public class SSOData {
    * @return the requesting user's tags
    */
   public Optional<List<String>> getTags() {
-    return Optional.ofNullable(this.tags);
+    return Optional.ofNullable(this.getTagsOrNull());
+  }
+
+  /**
+   * Get the tags of the user in regards of the requested {@link #instanceID}.
+   * If the requesting user does have admin permissions, this value is set to
+   * {@value #ROLE_EDITOR}.
+   * Does not allocate, unlike {@link #getTags()}.
+   *
+   * @see #tags
+   * @return the requesting user's tags, <code>null</code> if absent
+   */
+  public List<String> getTagsOrNull() {
+    return this.tags;
+  }
+
+  /**
+   * Get the tags of the user as a set, to check for tags in constant time.
+   * The set is built on the first call.
+   *
+   * @see #tags
+   * @return the requesting user's tags, empty if absent
+   */
+  public SSOTagSet getTagSet() {
+
+    SSOTagSet tagSet = this.tagSet;
+    if (tagSet == null) {
+      tagSet = SSOTagSet.of(this.getTagsOrNull());
+      this.tagSet = tagSet;
+    }
+    return tagSet;
+  }
+
+  /**
+   * Get the value of a claim by its key, the same way the getters read it.
+   *
+   * @param key the key of the claim, e.g. {@link #KEY_USER_ID}
+   * @return the value, <code>null</code> if absent
+   * @throws IllegalArgumentException if the key is not one of the keys above
+   */
+  Object getValueOrNull(final String key) {
+
+    switch (key) {
+      case KEY_BRANCH_ID:
+        return this.getBranchID();
+      case KEY_BRANCH_SLUG:
+        return this.getBranchSlug();
+      case KEY_INSTANCE_ID:
+        return this.getInstanceID();
+      case KEY_SESSION_ID:
+        return this.getSessionIdOrNull();
+      case KEY_TOKEN_ID:
+        return this.getTokenIdOrNull();
+      case KEY_USER_ID:
+        return this.getUserIDOrNull();
+      case KEY_USER_EXTERNAL_ID:
+        return this.getUserExternalIDOrNull();
+      case KEY_USER_USERNAME:
+        return this.getUserUsernameOrNull();
+      case KEY_USER_PRIMARY_EMAIL_ADDRESS:
+        return this.getUserPrimaryEmailAddressOrNull();
+      case KEY_USER_FIRST_NAME:
+        return this.getUserFirstNameOrNull();
+      case KEY_USER_LAST_NAME:
+        return this.getUserLastNameOrNull();
+      case KEY_USER_ROLE:
+        return this.getUserRoleOrNull();
+      case KEY_USER_LOCALE:
+        return this.getUserLocaleAsStringOrNull();
+      case KEY_ISSUER:
+        return this.getIssuerOrNull();
+      case KEY_AUDIENCE:
+        return this.getAudienceOrNull();
+      case KEY_INSTANCE_NAME:
+        return this.getInstanceNameOrNull();
+      case KEY_USER_FULL_NAME:
+        return this.getUserFullNameOrNull();
+      case KEY_ENTITY_TYPE:
+        return this.getEntityTypeOrNull();
+      case KEY_THEME_TEXT_COLOR:
+        return this.getThemeTextColorOrNull();
+      case KEY_THEME_BACKGROUND_COLOR:
+        return this.getThemeBackgroundColorOrNull();
+      case KEY_TAGS:
+        return this.getTagsOrNull();
+      default:
+        throw new IllegalArgumentException("Unknown claim. [key=" + key + "]");
+    }
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof SSOData)) {
+      return false;
+    }
+
+    final SSOData data = (SSOData) other;
+    return Objects.equals(this.getExpirationTimeOrNull(), data.getExpirationTimeOrNull())
+        && Objects.equals(this.getInstanceID(), data.getInstanceID())
+        && Objects.equals(this.getSessionIdOrNull(), data.getSessionIdOrNull())
+        && Objects.equals(this.getTokenIdOrNull(), data.getTokenIdOrNull())
+        && Objects.equals(this.getBranchID(), data.getBranchID())
+        && Objects.equals(this.getBranchSlug(), data.getBranchSlug())
+        && Objects.equals(this.getUserIDOrNull(), data.getUserIDOrNull())
+        && Objects.equals(this.getUserExternalIDOrNull(), data.getUserExternalIDOrNull())
+        && Objects.equals(this.getUserUsernameOrNull(), data.getUserUsernameOrNull())
+        && Objects.equals(this.getUserPrimaryEmailAddressOrNull(), data.getUserPrimaryEmailAddressOrNull())
+        && Objects.equals(this.getUserFirstNameOrNull(), data.getUserFirstNameOrNull())
+        && Objects.equals(this.getUserLastNameOrNull(), data.getUserLastNameOrNull())
+        && Objects.equals(this.getUserRoleOrNull(), data.getUserRoleOrNull())
+        && Objects.equals(this.getUserLocaleAsStringOrNull(), data.getUserLocaleAsStringOrNull())
+        && Objects.equals(this.getIssuerOrNull(), data.getIssuerOrNull())
+        && Objects.equals(this.getAudienceOrNull(), data.getAudienceOrNull())
+        && Objects.equals(this.getInstanceNameOrNull(), data.getInstanceNameOrNull())
+        && Objects.equals(this.getUserFullNameOrNull(), data.getUserFullNameOrNull())
+        && Objects.equals(this.getEntityTypeOrNull(), data.getEntityTypeOrNull())
+        && Objects.equals(this.getThemeTextColorOrNull(), data.getThemeTextColorOrNull())
+        && Objects.equals(this.getThemeBackgroundColorOrNull(), data.getThemeBackgroundColorOrNull())
+        && Objects.equals(this.getTagsOrNull(), data.getTagsOrNull());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.getInstanceID(), this.getUserIDOrNull(), this.getTokenIdOrNull(),
+        this.getExpirationTimeOrNull());
   }
 
   @Override
   public String toString() {
     return "SSOData ["+
-  " instanceID="+ this.instanceID+
-  ", sid="+ this.sessionID+
-  ", branchID="+ this.branchID+
-  ", branchSlug="+ this.branchSlug+
-  ", userID="+ this.userID+
-  ", userExternalID="+ this.userExternalID+
-  ", userUsername="+ this.userUsername+
-  ", userPrimaryEmailAddress="+ this.userPrimaryEmailAddress+
-  ", userFirstName="+ this.userFirstName+
-  ", userLastName="+ this.userLastName+
-  ", userRole="+ this.userRole+
-  ", userLocale="+ this.userLocale+
-  ", issuer="+ this.issuer+
-  ", audience="+ this.audience+
-  ", instanceName="+ this.instanceName+
-  ", userFullName="+ this.userFullName+
-  ", entityType="+ this.entityType+
-  ", themeTextColor="+ this.themeTextColor+
-  ", themeBackgroundColor="+ this.themeBackgroundColor+
+  " instanceID="+ this.getInstanceID()+
+  ", sid="+ this.getSessionIdOrNull()+
+  ", tokenId="+ this.getTokenIdOrNull()+
+  ", expirationTime="+ this.getExpirationTimeOrNull()+
+  ", branchID="+ this.getBranchID()+
+  ", branchSlug="+ this.getBranchSlug()+
+  ", userID="+ this.getUserIDOrNull()+
+  ", userExternalID="+ this.getUserExternalIDOrNull()+
+  ", userUsername="+ this.getUserUsernameOrNull()+
+  ", userPrimaryEmailAddress="+ this.getUserPrimaryEmailAddressOrNull()+
+  ", userFirstName="+ this.getUserFirstNameOrNull()+
+  ", userLastName="+ this.getUserLastNameOrNull()+
+  ", userRole="+ this.getUserRoleOrNull()+
+  ", userLocale="+ this.getUserLocaleAsStringOrNull()+
+  ", issuer="+ this.getIssuerOrNull()+
+  ", audience="+ this.getAudienceOrNull()+
+  ", instanceName="+ this.getInstanceNameOrNull()+
+  ", userFullName="+ this.getUserFullNameOrNull()+
+  ", entityType="+ this.getEntityTypeOrNull()+
+  ", themeTextColor="+ this.getThemeTextColorOrNull()+
+  ", themeBackgroundColor="+ this.getThemeBackgroundColorOrNull()+
   " ]";
   }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * The role of a user in regards of a plugin instance.
+   */
+  public enum Role {
+
+    /**
+     * The user may edit the instance.
+     */
+    EDITOR(ROLE_EDITOR),
+
+    /**
+     * The user may view the instance.
+     */
+    USER("user"),
+
+    /**
+     * The role is absent or not known to the SDK.
+     */
+    UNKNOWN(null);
+
+    private final String value;
+
+    Role(final String value) {
+      this.value = value;
+    }
+
+    /**
+     * Get the value of the role claim.
+     *
+     * @return the value, <code>null</code> for {@link #UNKNOWN}
+     */
+    public String getValue() {
+      return this.value;
+    }
+
+    /**
+     * Get the role for a value of the role claim.
+     *
+     * @param value the value, may be <code>null</code>
+     * @return the role, {@link #UNKNOWN} if absent or not known
+     */
+    public static Role of(final String value) {
+
+      if (ROLE_EDITOR.equals(value)) {
+        return EDITOR;
+      }
+      if (USER.value.equals(value)) {
+        return USER;
+      }
+      return UNKNOWN;
+    }
+  }
 }
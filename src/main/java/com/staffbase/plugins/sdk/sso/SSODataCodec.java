@@ -0,0 +1,467 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A compact binary encoding of {@link SSOData}, e.g. to keep it in a session
+ * store shared between nodes.
+ *
+ * An encoded value starts with the format version, the number of dictionary
+ * entries it was encoded with and a hash of these entries, followed by a
+ * bitmask of the present values and the present values themselves; absent
+ * values take no space. Strings which occur in many values, like instance ids,
+ * roles or locales, can be put into the dictionary and are then written as a
+ * small index.
+ *
+ * A codec decodes values encoded with its own dictionary or with a shorter
+ * one its dictionary starts with, so strings may be appended to the
+ * dictionary without losing stored values. Values encoded with a longer or a
+ * different dictionary are rejected; the 32-bit hash tells dictionaries apart
+ * reliably, but not with certainty.
+ *
+ * Decoding from a {@link ByteBuffer} does not copy the value: the returned
+ * {@link SSOData} reads each string from the buffer when it is requested, so
+ * the buffer must not be modified while the data is in use.
+ */
+public class SSODataCodec {
+
+  /**
+   * The version of the format.
+   */
+  static final byte VERSION = 2;
+
+  /**
+   * The keys of the encoded values in the order of their bits, the
+   * expiration time follows them.
+   */
+  static final String[] KEYS = {
+      SSOData.KEY_INSTANCE_ID,
+      SSOData.KEY_BRANCH_ID,
+      SSOData.KEY_BRANCH_SLUG,
+      SSOData.KEY_SESSION_ID,
+      SSOData.KEY_TOKEN_ID,
+      SSOData.KEY_USER_ID,
+      SSOData.KEY_USER_EXTERNAL_ID,
+      SSOData.KEY_USER_USERNAME,
+      SSOData.KEY_USER_PRIMARY_EMAIL_ADDRESS,
+      SSOData.KEY_USER_FIRST_NAME,
+      SSOData.KEY_USER_LAST_NAME,
+      SSOData.KEY_USER_FULL_NAME,
+      SSOData.KEY_USER_ROLE,
+      SSOData.KEY_USER_LOCALE,
+      SSOData.KEY_ISSUER,
+      SSOData.KEY_AUDIENCE,
+      SSOData.KEY_INSTANCE_NAME,
+      SSOData.KEY_ENTITY_TYPE,
+      SSOData.KEY_THEME_TEXT_COLOR,
+      SSOData.KEY_THEME_BACKGROUND_COLOR,
+      SSOData.KEY_TAGS,
+  };
+
+  /**
+   * The index of the tags, the only list.
+   */
+  static final int TAGS = KEYS.length - 1;
+
+  /**
+   * The bit of the expiration time.
+   */
+  static final int EXPIRATION_TIME = KEYS.length;
+
+  /**
+   * Strings which are in every dictionary.
+   */
+  private static final String[] DEFAULT_DICTIONARY = {
+      SSOData.Role.EDITOR.getValue(),
+      SSOData.Role.USER.getValue(),
+  };
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final String[] dictionary;
+  private final Map<String, Integer> indexes = new HashMap<>();
+
+  /**
+   * The hashes of the first entries of the dictionary, indexed by their
+   * number, to tell values encoded with another dictionary apart.
+   */
+  private final int[] prefixHashes;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private SSODataCodec(final String[] dictionary) {
+
+    final Set<String> strings = new LinkedHashSet<>(Arrays.asList(DEFAULT_DICTIONARY));
+    for (final String string : dictionary) {
+      strings.add(Objects.requireNonNull(string));
+    }
+
+    this.dictionary = strings.toArray(new String[0]);
+    this.prefixHashes = new int[this.dictionary.length + 1];
+
+    // FNV-1a over the length-prefixed UTF-8 entries, so each prefix has its own hash
+    long hash = 0xcbf29ce484222325L;
+    this.prefixHashes[0] = (int) (hash ^ (hash >>> 32));
+    for (int i = 0; i < this.dictionary.length; i++) {
+      this.indexes.put(this.dictionary[i], i);
+
+      final byte[] bytes = this.dictionary[i].getBytes(StandardCharsets.UTF_8);
+      for (int j = 0; j < 4; j++) {
+        hash = (hash ^ (bytes.length >>> (8 * j) & 0xFF)) * 0x100000001b3L;
+      }
+      for (final byte b : bytes) {
+        hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+      }
+      this.prefixHashes[i + 1] = (int) (hash ^ (hash >>> 32));
+    }
+  }
+
+  /**
+   * Create a codec.
+   *
+   * @param dictionary strings expected in many values, e.g. the instance ids
+   *                   of the plugin or the locales in use; the order matters:
+   *                   a codec whose dictionary starts with the same strings
+   *                   in the same order reads the values, so append new
+   *                   strings only
+   * @return the codec
+   */
+  public static SSODataCodec create(final String... dictionary) {
+    return new SSODataCodec(dictionary);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Encode the data.
+   *
+   * @param data the data
+   * @return the encoded data
+   * @throws IllegalArgumentException if the tags hold other values than strings
+   */
+  public byte[] encode(final SSOData data) {
+
+    Objects.requireNonNull(data);
+
+    final Writer writer = new Writer();
+    writer.writeByte(VERSION);
+    writer.writeVarLong(this.dictionary.length);
+    writer.writeInt(this.prefixHashes[this.dictionary.length]);
+
+    final Object[] values = new Object[KEYS.length];
+    int mask = 0;
+    for (int i = 0; i < KEYS.length; i++) {
+      values[i] = data.getValueOrNull(KEYS[i]);
+      if (values[i] != null) {
+        mask |= 1 << i;
+      }
+    }
+    final Long expirationTime = data.getExpirationTimeOrNull();
+    if (expirationTime != null) {
+      mask |= 1 << EXPIRATION_TIME;
+    }
+    writer.writeVarLong(mask);
+
+    for (int i = 0; i < TAGS; i++) {
+      if (values[i] != null) {
+        this.writeString(writer, (String) values[i]);
+      }
+    }
+    if (values[TAGS] != null) {
+      final List<?> tags = (List<?>) values[TAGS];
+      writer.writeVarLong(tags.size());
+      for (final Object tag : tags) {
+        if (!(tag instanceof String)) {
+          throw new IllegalArgumentException("Only string tags can be encoded. [tag=" + tag + "]");
+        }
+        this.writeString(writer, (String) tag);
+      }
+    }
+    if (expirationTime != null) {
+      writer.writeVarLong(expirationTime);
+    }
+
+    return writer.toByteArray();
+  }
+
+  /**
+   * Encode the data into a buffer.
+   *
+   * @param data the data
+   * @param target the buffer, its position is moved past the encoded data
+   * @throws IllegalArgumentException if the tags hold other values than strings
+   * @throws java.nio.BufferOverflowException if the buffer is too small
+   */
+  public void encode(final SSOData data, final ByteBuffer target) {
+    target.put(this.encode(data));
+  }
+
+  /**
+   * Decode data.
+   *
+   * @param encoded the encoded data, not to be modified afterwards
+   * @return the data
+   * @throws IllegalArgumentException if the data is malformed or was encoded
+   *                                  with a dictionary this one does not
+   *                                  start with
+   */
+  public SSOData decode(final byte[] encoded) {
+    return this.decode(ByteBuffer.wrap(encoded));
+  }
+
+  /**
+   * Decode data without copying it.
+   *
+   * @param source the buffer, its position is moved past the encoded data;
+   *               its content must not be modified while the data is in use
+   * @return the data, reading from the buffer
+   * @throws IllegalArgumentException if the data is malformed or was encoded
+   *                                  with a dictionary this one does not
+   *                                  start with
+   */
+  public SSOData decode(final ByteBuffer source) {
+
+    final ByteBuffer buffer = source.duplicate();
+    final Reader reader = new Reader(buffer, source.position());
+
+    if (reader.readByte() != VERSION) {
+      throw new IllegalArgumentException("Unknown format version.");
+    }
+    final long dictionaryLength = reader.readVarLong();
+    if (dictionaryLength < 0 || dictionaryLength > this.dictionary.length) {
+      throw new IllegalArgumentException("Encoded with a longer dictionary.");
+    }
+    if (reader.readInt() != this.prefixHashes[(int) dictionaryLength]) {
+      throw new IllegalArgumentException("Encoded with another dictionary.");
+    }
+
+    final long mask = reader.readVarLong();
+    if (mask >>> (EXPIRATION_TIME + 1) != 0) {
+      throw new IllegalArgumentException("Unknown values.");
+    }
+
+    final int[] offsets = new int[KEYS.length];
+    for (int i = 0; i < KEYS.length; i++) {
+      if ((mask & 1L << i) == 0) {
+        offsets[i] = -1;
+        continue;
+      }
+
+      offsets[i] = reader.position;
+      final int count = i == TAGS ? reader.readLength() : 1;
+      for (int j = 0; j < count; j++) {
+        this.skipString(reader, (int) dictionaryLength);
+      }
+    }
+    final Long expirationTime = (mask & 1L << EXPIRATION_TIME) != 0 ? reader.readVarLong() : null;
+
+    source.position(reader.position);
+    return new EncodedSSOData(this, buffer, offsets, expirationTime);
+  }
+
+  /**
+   * Read a string written by {@link #writeString(Writer, String)}.
+   */
+  String readString(final ByteBuffer buffer, final int offset) {
+    return this.readString(new Reader(buffer, offset));
+  }
+
+  /**
+   * Read the tags written at the given offset.
+   */
+  String[] readTags(final ByteBuffer buffer, final int offset) {
+
+    final Reader reader = new Reader(buffer, offset);
+    final String[] tags = new String[reader.readLength()];
+    for (int i = 0; i < tags.length; i++) {
+      tags[i] = this.readString(reader);
+    }
+    return tags;
+  }
+
+  /**
+   * Write a string, as the index of a dictionary entry shifted left and
+   * marked by the lowest bit, or as its length shifted left and the UTF-8
+   * bytes.
+   */
+  private void writeString(final Writer writer, final String value) {
+
+    final Integer index = this.indexes.get(value);
+    if (index != null) {
+      writer.writeVarLong((long) index << 1 | 1);
+      return;
+    }
+
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writer.writeVarLong((long) bytes.length << 1);
+    writer.writeBytes(bytes);
+  }
+
+  private String readString(final Reader reader) {
+
+    final long header = reader.readVarLong();
+    if ((header & 1) != 0) {
+      return this.dictionary[(int) (header >>> 1)];
+    }
+
+    final int length = (int) (header >>> 1);
+    final int offset = reader.position;
+    reader.position += length;
+
+    final ByteBuffer buffer = reader.buffer;
+    if (buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+    }
+
+    final byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = buffer.get(offset + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Skip a string, checking it refers to one of the given number of
+   * dictionary entries or fits into the buffer.
+   */
+  private void skipString(final Reader reader, final int dictionaryLength) {
+
+    final long header = reader.readVarLong();
+    if ((header & 1) != 0) {
+      if (header >>> 1 >= dictionaryLength) {
+        throw new IllegalArgumentException("Unknown dictionary entry.");
+      }
+      return;
+    }
+
+    final long length = header >>> 1;
+    if (length > reader.buffer.limit() - reader.position) {
+      throw new IllegalArgumentException("Truncated data.");
+    }
+    reader.position += (int) length;
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * Reads from a buffer by absolute position, leaving the buffer untouched.
+   */
+  private static final class Reader {
+
+    private final ByteBuffer buffer;
+    private int position;
+
+    private Reader(final ByteBuffer buffer, final int position) {
+      this.buffer = buffer;
+      this.position = position;
+    }
+
+    private int readByte() {
+      if (this.position >= this.buffer.limit()) {
+        throw new IllegalArgumentException("Truncated data.");
+      }
+      return this.buffer.get(this.position++) & 0xFF;
+    }
+
+    private int readInt() {
+      return this.readByte() << 24 | this.readByte() << 16 | this.readByte() << 8 | this.readByte();
+    }
+
+    private long readVarLong() {
+
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        final int b = this.readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed number.");
+    }
+
+    private int readLength() {
+
+      final long length = this.readVarLong();
+      if (length < 0) {
+        throw new IllegalArgumentException("Malformed length.");
+      }
+      if (length > this.buffer.limit() - this.position) {
+        throw new IllegalArgumentException("Truncated data.");
+      }
+      return (int) length;
+    }
+  }
+
+  /**
+   * A growing byte array.
+   */
+  private static final class Writer {
+
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    private void writeByte(final int value) {
+      this.ensureCapacity(1);
+      this.bytes[this.length++] = (byte) value;
+    }
+
+    private void writeInt(final int value) {
+      this.writeByte(value >>> 24);
+      this.writeByte(value >>> 16);
+      this.writeByte(value >>> 8);
+      this.writeByte(value);
+    }
+
+    private void writeVarLong(final long value) {
+
+      long remaining = value;
+      while ((remaining & ~0x7FL) != 0) {
+        this.writeByte((int) (remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      this.writeByte((int) remaining);
+    }
+
+    private void writeBytes(final byte[] value) {
+      this.ensureCapacity(value.length);
+      System.arraycopy(value, 0, this.bytes, this.length, value.length);
+      this.length += value.length;
+    }
+
+    private void ensureCapacity(final int additional) {
+      if (this.length + additional > this.bytes.length) {
+        this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.length + additional));
+      }
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(this.bytes, this.length);
+    }
+  }
+}
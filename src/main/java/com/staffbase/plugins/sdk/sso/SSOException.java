@@ -22,16 +22,165 @@ public class SSOException extends Exception {
    */
   private static final long serialVersionUID = 6803609782363892321L;
 
+  /**
+   * The reasons for rejecting a single-sign-on attempt.
+   */
+  public enum Reason {
+
+    /**
+     * The token or one of its claims could not be decoded.
+     */
+    MALFORMED("Malformed token."),
+
+    /**
+     * The token is not signed using the expected algorithm.
+     */
+    ALGORITHM("Unexpected signature algorithm."),
+
+    /**
+     * The signature does not match any of the keys.
+     */
+    SIGNATURE("Invalid signature."),
+
+    /**
+     * One of the required claims exp, nbf or iat is missing.
+     */
+    MISSING_CLAIM("Missing exp, nbf or iat claim."),
+
+    /**
+     * The token has expired.
+     */
+    EXPIRED("The token has expired."),
+
+    /**
+     * The token is not yet valid.
+     */
+    NOT_YET_VALID("The token is not yet valid."),
+
+    /**
+     * The instance id is missing or empty.
+     */
+    INSTANCE_ID("Missing or malformed instance_id."),
+
+    /**
+     * The token id is missing although replay protection is enabled.
+     */
+    TOKEN_ID("Missing or malformed jti."),
+
+    /**
+     * The token was used already.
+     */
+    REPLAYED("Token was used already."),
+
+    /**
+     * Too many verifications are in progress, the attempt was shed.
+     */
+    OVERLOADED("Too many verifications in progress."),
+
+    /**
+     * Any other reason.
+     */
+    OTHER("Invalid token.");
+
+    private final String description;
+
+    Reason(final String description) {
+      this.description = description;
+    }
+
+    /**
+     * Get a short description of the reason, free of any data of the attempt.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+      return this.description;
+    }
+  }
+
+  /**
+   * The shared exceptions by {@link Reason#ordinal()}, see
+   * {@link #preallocated(Reason)}.
+   */
+  private static final SSOException[] PREALLOCATED = new SSOException[Reason.values().length];
+
+  static {
+    for (final Reason reason : Reason.values()) {
+      PREALLOCATED[reason.ordinal()] = new SSOException(reason, reason.getDescription(), null, false);
+    }
+  }
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final Reason reason;
 
   /**********************************************
    * Constructors
    **********************************************/
 
-  SSOException(final String message, final Throwable cause) {
+  SSOException(final Reason reason, final String message, final Throwable cause) {
     super(message, cause);
+    this.reason = reason;
   }
 
-  SSOException(final String message) {
+  /**
+   * Constructor of exceptions without stack trace and suppressed exceptions,
+   * which are cheap to create and can be shared if immutable otherwise.
+   */
+  private SSOException(final Reason reason, final String message, final Throwable cause,
+      final boolean writableStackTrace) {
+    super(message, cause, false, writableStackTrace);
+    this.reason = reason;
+  }
+
+  SSOException(final Reason reason, final String message) {
     super(message);
+    this.reason = reason;
+  }
+
+  SSOException(final String message, final Throwable cause) {
+    this(Reason.OTHER, message, cause);
+  }
+
+  SSOException(final String message) {
+    this(Reason.OTHER, message);
+  }
+
+  /**
+   * Create an exception without stack trace, keeping the cause.
+   *
+   * @param reason the reason for the rejection
+   * @param message the message
+   * @param cause the cause
+   * @return the exception
+   */
+  static SSOException stackless(final Reason reason, final String message, final Throwable cause) {
+    return new SSOException(reason, message, cause, false);
+  }
+
+  /**
+   * Get the shared exception for a reason. It has neither a stack trace nor a
+   * cause, and its message is the description of the reason.
+   *
+   * @param reason the reason for the rejection
+   * @return the exception
+   */
+  static SSOException preallocated(final Reason reason) {
+    return PREALLOCATED[reason.ordinal()];
+  }
+
+  /**********************************************
+   * Getters
+   **********************************************/
+
+  /**
+   * Get the reason the attempt was rejected for.
+   *
+   * @return the reason
+   */
+  public Reason getReason() {
+    return this.reason;
   }
 }
@@ -12,20 +12,42 @@
 package com.staffbase.plugins.sdk.sso;
 
 import java.security.interfaces.RSAPublicKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
-
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import org.jose4j.jwa.AlgorithmConstraints;
-import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.consumer.ErrorCodes;
 import org.jose4j.jwt.consumer.InvalidJwtException;
 import org.jose4j.jwt.consumer.JwtConsumer;
 import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.jose4j.keys.resolvers.VerificationKeyResolver;
+import org.jose4j.lang.IntegrityException;
+import org.jose4j.lang.InvalidAlgorithmException;
+import org.jose4j.lang.JoseException;
+import org.jose4j.lang.UnresolvableKeyException;
 
 
 
@@ -43,6 +65,28 @@ public class SSOFacade {
    */
   public static final String EXPECTED_CLAIM_INSTANCE_ID = SSOData.KEY_INSTANCE_ID;
 
+  /**
+   * The number of attempts a batch verification task handles without
+   * splitting further.
+   */
+  private static final int BATCH_THRESHOLD = 16;
+
+  /**
+   * The number of verifications {@link #warmUp()} runs by default.
+   */
+  public static final int DEFAULT_WARM_UP_ITERATIONS = 500;
+
+  /**
+   * The number of distinct tokens a warm-up verifies.
+   */
+  private static final int WARM_UP_TOKENS = 8;
+
+  /**
+   * The algorithm constraints by only accepting RSA_USING_SHA256.
+   */
+  private static final AlgorithmConstraints ALGORITHM_CONSTRAINTS = new AlgorithmConstraints(
+      AlgorithmConstraints.ConstraintType.WHITELIST, SSOPreCheck.EXPECTED_ALGORITHM);
+
   /**
    * Initialize the facade using the given RSA public key
    *
@@ -56,16 +100,94 @@ public class SSOFacade {
     .initialize(rsaPublicKey);
   }
 
+  /**
+   * Initialize the facade using the given key set, e.g. for rotating keys.
+   *
+   * @param keySet the RSA public keys to be used for verification.
+   *
+   * @return the facade.
+   */
+  public static SSOFacade createWithKeySet(final SSOKeySet keySet) {
+
+    return new SSOFacade()
+    .initialize(keySet);
+  }
+
 
   /**********************************************
    * Members
    **********************************************/
 
   /**
-   * The consumer instance to be used when validating single-sign-on attempt via
+   * The processor to be used when validating single-sign-on attempt via
    * JWT.
    */
-  private JwtConsumer jwtConsumer;
+  private JwtProcessor jwtProcessor;
+
+  /**
+   * The cache of already verified attempts, <code>null</code> if caching is
+   * disabled.
+   */
+  private SSOCache cache;
+
+  /**
+   * The cache of recently rejected attempts, <code>null</code> if disabled.
+   */
+  private SSORejectionCache rejectionCache;
+
+  /**
+   * The limiter of concurrent verifications, <code>null</code> if disabled.
+   */
+  private SSOAdmissionLimiter admissionLimiter;
+
+  /**
+   * The checks run before the signature of an attempt is verified.
+   */
+  private final SSOPreCheck preCheck = new SSOPreCheck();
+
+  /**
+   * The executor running asynchronous verifications, <code>null</code> for
+   * the shared default.
+   */
+  private Executor executor;
+
+  /**
+   * The asynchronous verifications currently running, by token.
+   */
+  private final ConcurrentHashMap<TokenFingerprint, CompletableFuture<SSOData>> inFlight =
+      new ConcurrentHashMap<>();
+
+  /**
+   * The store of already used token ids, <code>null</code> if replay
+   * protection is disabled.
+   */
+  private SSOReplayStore replayStore;
+
+  /**
+   * Whether the data is read from the claims on access rather than up front.
+   */
+  private boolean lazyData;
+
+  /**
+   * The receiver of the outcome and duration of each verification,
+   * <code>null</code> if disabled.
+   */
+  private SSOMetrics metrics;
+
+  /**
+   * Whether expected rejections throw exceptions without stack trace.
+   */
+  private boolean stacklessFailures;
+
+  /**
+   * Whether stackless exceptions keep the cause of the rejection.
+   */
+  private boolean keepFailureCauses;
+
+  /**
+   * Limits the lines logged for rejected attempts.
+   */
+  private LogRateLimiter rejectionLog = new LogRateLimiter();
 
   /**********************************************
    * Constructors
@@ -84,31 +206,262 @@ public class SSOFacade {
 
   /**
    * Initialize this component by building up the consumer for JWT using the
-   * pre-configured secret
+   * pre-configured secret. Plain tokens are verified by an engine reusing
+   * the crypto state bound to the key, the others by the consumer.
    *
    * @param rsaPublicKey the RSA public key to be used for verification.
    * @return Fluent interface.
    */
   SSOFacade initialize(final RSAPublicKey rsaPublicKey) {
 
+    Objects.requireNonNull(rsaPublicKey);
+
+    this.initialize((jws, nestingContext) -> rsaPublicKey);
+    this.jwtProcessor = RsaVerificationEngine.create(rsaPublicKey, this.jwtProcessor);
+    return this;
+  }
+
+  /**
+   * Initialize this component by building up the consumer for JWT using the
+   * given resolver for looking up the key of an attempt.
+   *
+   * @param keyResolver the resolver of the RSA public key to be used for verification.
+   * @return Fluent interface.
+   */
+  SSOFacade initialize(final VerificationKeyResolver keyResolver) {
+
     if (logger.isDebugEnabled()) {
       logger.debug("Initializing single-sign-on manager SSOFacade. ");
     }
 
-    Objects.requireNonNull(rsaPublicKey);
+    Objects.requireNonNull(keyResolver);
+
+    this.jwtProcessor = buildConsumer(keyResolver)::process;
+    return this;
+  }
+
+  /**
+   * Initialize this component by verifying attempts with the keys of the
+   * given key set.
+   *
+   * @param keySet the RSA public keys to be used for verification.
+   * @return Fluent interface.
+   */
+  SSOFacade initialize(final SSOKeySet keySet) {
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Initializing single-sign-on manager SSOFacade using a key set. ");
+    }
+
+    Objects.requireNonNull(keySet);
+
+    this.jwtProcessor = keySet::process;
+    keySet.onChange(this::invalidateCaches);
+    return this;
+  }
 
-    // Build up the algorithm constraints by only accepting RSA_USING_SHA256.
-    final AlgorithmConstraints algorithmConstraints = new AlgorithmConstraints(
-      AlgorithmConstraints.ConstraintType.WHITELIST, AlgorithmIdentifiers.RSA_USING_SHA256);
+  /**
+   * Build up the consumer for JWT, which accepts only tokens signed using
+   * RSA_USING_SHA256 and carrying an exp, nbf and iat claim.
+   *
+   * @param keyResolver the resolver of the RSA public key to be used for verification.
+   * @return the consumer.
+   */
+  static JwtConsumer buildConsumer(final VerificationKeyResolver keyResolver) {
 
-    this.jwtConsumer = new JwtConsumerBuilder()
-      .setJwsAlgorithmConstraints(algorithmConstraints)
+    return new JwtConsumerBuilder()
+      .setJwsAlgorithmConstraints(ALGORITHM_CONSTRAINTS)
       .setSkipDefaultAudienceValidation()
-      .setVerificationKey(rsaPublicKey)
+      .setVerificationKeyResolver(keyResolver)
       .setRequireExpirationTime()
       .setRequireNotBefore()
       .setRequireIssuedAt() 
       .build();
+  }
+
+  /**
+   * Enable caching of verified single-sign-on attempts. A token which is
+   * presented again before it expires is answered from the cache instead of
+   * being verified again.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @param maximumSize the maximum number of cached attempts.
+   * @return Fluent interface.
+   */
+  public SSOFacade withCache(final int maximumSize) {
+
+    this.cache = new SSOCache(maximumSize);
+    return this;
+  }
+
+  /**
+   * Enable caching of rejected single-sign-on attempts for
+   * {@link SSORejectionCache#DEFAULT_TIME_TO_LIVE}.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @see #withRejectionCache(int, Duration)
+   * @param maximumSize the maximum number of cached rejections.
+   * @return Fluent interface.
+   */
+  public SSOFacade withRejectionCache(final int maximumSize) {
+    return this.withRejectionCache(maximumSize, SSORejectionCache.DEFAULT_TIME_TO_LIVE);
+  }
+
+  /**
+   * Enable caching of rejected single-sign-on attempts. A token which failed
+   * the verification because of its signature or structure, e.g. a forged
+   * token retried in a loop, is rejected for the same reason when presented
+   * again within the given time, without verifying it again.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @param maximumSize the maximum number of cached rejections.
+   * @param timeToLive the time rejections are kept for, at most
+   *                   {@link SSORejectionCache#MAXIMUM_TIME_TO_LIVE}
+   * @return Fluent interface.
+   */
+  public SSOFacade withRejectionCache(final int maximumSize, final Duration timeToLive) {
+
+    Objects.requireNonNull(timeToLive);
+
+    this.rejectionCache = new SSORejectionCache(maximumSize, timeToLive);
+    return this;
+  }
+
+  /**
+   * Limit the number of verifications running at once. Attempts over the
+   * limit are shed with {@link SSOException.Reason#OVERLOADED}, so the caller
+   * can answer them with e.g. 503 and a retry hint instead of queueing CPU
+   * bound work it cannot finish in time. Attempts answered from the cache or
+   * the rejection cache bypass the limiter.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @param admissionLimiter the limiter
+   * @return Fluent interface.
+   */
+  public SSOFacade withAdmissionLimiter(final SSOAdmissionLimiter admissionLimiter) {
+
+    Objects.requireNonNull(admissionLimiter);
+
+    this.admissionLimiter = admissionLimiter;
+    return this;
+  }
+
+  /**
+   * Set the executor running asynchronous verifications. By default, a
+   * shared pool with one thread per processor and a bounded queue is used.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @see #verifyAsync(String)
+   * @param executor the executor
+   * @return Fluent interface.
+   */
+  public SSOFacade withExecutor(final Executor executor) {
+
+    Objects.requireNonNull(executor);
+
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * Run asynchronous verifications on virtual threads, one per verification,
+   * instead of the shared pool. Requires Java 21; the verification path of
+   * the multi-release jar then keeps its scratch state in bounded pools
+   * instead of one copy per virtual thread.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @see #verifyAsync(String)
+   * @return Fluent interface.
+   * @throws UnsupportedOperationException if running on Java 20 or earlier
+   */
+  public SSOFacade withVirtualThreads() {
+
+    this.executor = VirtualThreads.executor();
+    return this;
+  }
+
+  /**
+   * Enable replay protection. Each token is accepted only once: the token id
+   * (jti) of every verified attempt is recorded in the given store until the
+   * token expires, and attempts presenting a recorded id are rejected. Tokens
+   * without a jti are rejected as well.
+   *
+   * This applies to attempts answered from the cache too, so the cache no
+   * longer saves verifications of repeated tokens.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @param replayStore the store of used token ids, e.g. an
+   *                    {@link InMemoryReplayStore} or one shared between nodes
+   * @return Fluent interface.
+   */
+  public SSOFacade withReplayStore(final SSOReplayStore replayStore) {
+
+    Objects.requireNonNull(replayStore);
+
+    this.replayStore = replayStore;
+    return this;
+  }
+
+  /**
+   * Read the values of the returned {@link SSOData} from the verified claims
+   * only when they are requested, instead of copying all of them up front.
+   * This saves work and allocations for handlers reading few values, e.g.
+   * only the instance and user id. A claim of an unexpected type then reads
+   * as absent instead of failing the verification.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @return Fluent interface.
+   */
+  public SSOFacade withLazyData() {
+
+    this.lazyData = true;
+    return this;
+  }
+
+  /**
+   * Record the outcome and the duration of each verification, e.g. in a
+   * {@link SSOStatistics}. Asynchronous verifications are timed from the call
+   * until their completion.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @param metrics the receiver of the outcomes
+   * @return Fluent interface.
+   */
+  public SSOFacade withMetrics(final SSOMetrics metrics) {
+
+    Objects.requireNonNull(metrics);
+
+    this.metrics = metrics;
+    return this;
+  }
+
+  /**
+   * Reject attempts for any known {@link SSOException.Reason}, e.g. expired
+   * tokens or bad signatures, with exceptions which are cheap to create: they
+   * have no stack trace, and unless the causes are kept, a single shared
+   * instance per reason without cause is thrown, whose message is the
+   * description of the reason. Use this when floods of bad attempts are to be
+   * expected; keep the causes, or leave this off, while debugging.
+   *
+   * Must be called before the facade is shared between threads.
+   *
+   * @param keepCauses whether to keep the cause of the rejection, which comes
+   *                   with a stack trace of its own
+   * @return Fluent interface.
+   */
+  public SSOFacade withStacklessFailures(final boolean keepCauses) {
+
+    this.stacklessFailures = true;
+    this.keepFailureCauses = keepCauses;
     return this;
   }
 
@@ -117,60 +470,842 @@ public class SSOFacade {
    **********************************************/
 
   /**
-   * Verify and parse a single-sign-on attempt coming from the staffbase app.
+   * Get the cache of verified attempts, if enabled.
    *
-   * @param raw the raw JWT string
-   * @return the parsed data from the sign-on attempt
-   * @throws SSOException if the verification of the sign-on attempt fails
+   * @see #withCache(int)
+   * @return the cache
    */
-  public SSOData verify(final String raw) throws SSOException {
+  public Optional<SSOCache> getCache() {
+    return Optional.ofNullable(this.cache);
+  }
 
-    if (logger.isDebugEnabled()) {
-      logger.debug("Attempting to decrypt SSO JWT. "
-          + "[raw=" + raw + "]");
+  /**
+   * Get the cache of rejected attempts, if enabled.
+   *
+   * @see #withRejectionCache(int, Duration)
+   * @return the cache
+   */
+  public Optional<SSORejectionCache> getRejectionCache() {
+    return Optional.ofNullable(this.rejectionCache);
+  }
+
+  /**
+   * Drop the cached verified and rejected attempts, as they may no longer
+   * hold once the keys changed.
+   */
+  void invalidateCaches() {
+
+    final SSOCache cache = this.cache;
+    if (cache != null) {
+      cache.invalidateAll();
     }
 
-    Objects.requireNonNull(raw);
+    final SSORejectionCache rejectionCache = this.rejectionCache;
+    if (rejectionCache != null) {
+      rejectionCache.invalidateAll();
+    }
+  }
 
-    try {
+  /**
+   * Get the limiter of concurrent verifications, if enabled.
+   *
+   * @see #withAdmissionLimiter(SSOAdmissionLimiter)
+   * @return the limiter
+   */
+  public Optional<SSOAdmissionLimiter> getAdmissionLimiter() {
+    return Optional.ofNullable(this.admissionLimiter);
+  }
 
-      // Process and verify the request on the basis of jwt verification
-      final JwtClaims jwtClaims = this.jwtConsumer
-          .process(raw)
-          .getJwtClaims();
+  /**
+   * Get the checks run before signature verification, along with the number
+   * of attempts they rejected.
+   *
+   * @return the pre-check
+   */
+  public SSOPreCheck getPreCheck() {
+    return this.preCheck;
+  }
 
-      // Add the instance id verification step
-      final String instanceId = jwtClaims.getClaimValue(EXPECTED_CLAIM_INSTANCE_ID, String.class);
-      if (instanceId == null || instanceId.isEmpty()) {
-        if (logger.isFatalEnabled()) {
-          logger.fatal("Encountered illegal sso attempt. "
-              + "Bad instance_id. "
-              + "[instance_id=" + instanceId + "]");
-        }
+  /**
+   * Warm up the verification path with {@link #DEFAULT_WARM_UP_ITERATIONS}
+   * verifications.
+   *
+   * @see #warmUp(int)
+   * @return Fluent interface.
+   */
+  public SSOFacade warmUp() {
+    return this.warmUp(DEFAULT_WARM_UP_ITERATIONS);
+  }
 
-        throw new SSOException("Missing or malformed instance_id.");
-      }
+  /**
+   * Warm up the verification path, so the first attempts after startup are
+   * not slowed down by class loading, the lookup of the crypto provider and
+   * the JIT compiler. Call this before the service reports ready.
+   *
+   * Tokens signed with a throwaway key are verified by a separate facade
+   * configured like this one, so the caches, the replay store, the metrics
+   * and the admission limiter of this facade are left untouched. The
+   * separate facade verifies with the same kind of processor: the engine of
+   * facades created for a single key, the consumer of jose4j for key sets
+   * and resolvers. Some verifications run on the executor of this facade,
+   * and an expired token and a token with a damaged signature are rejected
+   * repeatedly to warm up the rejection paths, without logging the
+   * rejections. In a fresh JVM, generating the throwaway key alone may take
+   * a second.
+   *
+   * @param iterations the number of verifications to run
+   * @return Fluent interface.
+   */
+  public SSOFacade warmUp(final int iterations) {
 
-      if (logger.isDebugEnabled()) {
-        logger.debug("Verification of single-sign-on JWT succeeded. "
-            + "[raw=" + raw + "] "
-            + "[claims=" + jwtClaims + "]");
+    final long start = System.nanoTime();
+
+    final SSOWarmUp warmUp = SSOWarmUp.create();
+    final String[] tokens = warmUp.sign(WARM_UP_TOKENS);
+    final String expired = warmUp.signExpired();
+    final String tampered = warmUp.signTampered();
+    final RSAPublicKey publicKey = warmUp.getPublicKey();
+
+    final SSOFacade twin = this.jwtProcessor instanceof RsaVerificationEngine
+        ? new SSOFacade().initialize(publicKey)
+        : new SSOFacade().initialize((jws, nestingContext) -> publicKey);
+    twin.executor = this.executor;
+    twin.lazyData = this.lazyData;
+    twin.stacklessFailures = this.stacklessFailures;
+    twin.keepFailureCauses = this.keepFailureCauses;
+    // the tampered token must not show up as an illegal attempt
+    twin.rejectionLog = new LogRateLimiter(0, Long.MAX_VALUE, System::currentTimeMillis);
+
+    try {
+      for (int i = 0; i < iterations; i++) {
+        twin.verify(tokens[i % tokens.length]);
+
+        if (i % WARM_UP_TOKENS == 0) {
+          rejectQuietly(twin, expired);
+          rejectQuietly(twin, tampered);
+        }
       }
 
-      // Parse and return the container data.
-      return new SSOData(jwtClaims);
-    } catch (final MalformedClaimException malformationException) {
-      if (logger.isFatalEnabled()) {
-        logger.fatal("Encountered malformed sso attempt.", malformationException);
+      final CompletableFuture<?>[] futures = new CompletableFuture<?>[tokens.length];
+      for (int i = 0; i < tokens.length; i++) {
+        futures[i] = twin.verifyAsync(tokens[i]).toCompletableFuture();
       }
+      CompletableFuture.allOf(futures).join();
 
-      throw new SSOException(malformationException.getMessage(), malformationException);
-    } catch (final InvalidJwtException invalidJwtException) {
-      if (logger.isFatalEnabled()) {
-        logger.fatal("Encountered illegal sso attempt.", invalidJwtException);
+      // the cached paths, answering from the characters and the bytes
+      if (this.cache != null) {
+        twin.withCache(WARM_UP_TOKENS);
+        for (final String token : tokens) {
+          twin.verify(token);
+          twin.verify(new StringBuilder(token));
+          twin.verify(ByteBuffer.wrap(token.getBytes(StandardCharsets.US_ASCII)));
+        }
+      }
+      if (this.rejectionCache != null) {
+        twin.withRejectionCache(WARM_UP_TOKENS);
+        rejectQuietly(twin, tampered);
+        rejectQuietly(twin, tampered);
       }
+    } catch (final SSOException | CompletionException exception) {
+      throw new IllegalStateException("Could not verify the warm-up tokens.", exception);
+    }
+
+    if (logger.isInfoEnabled()) {
+      logger.info("Warmed up single-sign-on verification. [iterations={}] [duration={}ms]",
+          iterations, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    return this;
+  }
+
+  /**
+   * Verify a warm-up token expected to be rejected.
+   */
+  private static void rejectQuietly(final SSOFacade twin, final String raw) {
+
+    try {
+      twin.verify(raw);
+    } catch (final SSOException ssoException) {
+      // expected
+      return;
+    }
+    throw new IllegalStateException("A warm-up token to be rejected was verified.");
+  }
+
+  /**
+   * Verify and parse a single-sign-on attempt coming from the staffbase app.
+   *
+   * @param raw the raw JWT string
+   * @return the parsed data from the sign-on attempt
+   * @throws SSOException if the verification of the sign-on attempt fails
+   */
+  public SSOData verify(final String raw) throws SSOException {
+
+    Objects.requireNonNull(raw);
+
+    return this.verify(raw, raw, null);
+  }
+
+  /**
+   * Verify and parse a single-sign-on attempt given as characters, e.g. a
+   * header value held in a reused buffer. An attempt answered from the cache
+   * is never copied into a string.
+   *
+   * @param raw the raw JWT characters
+   * @return the parsed data from the sign-on attempt
+   * @throws SSOException if the verification of the sign-on attempt fails
+   */
+  public SSOData verify(final CharSequence raw) throws SSOException {
+
+    Objects.requireNonNull(raw);
+
+    return this.verify(raw instanceof String ? (String) raw : null, raw, null);
+  }
+
+  /**
+   * Verify and parse a single-sign-on attempt given as ASCII bytes, e.g. a
+   * header value as read from the connection. An attempt answered from the
+   * cache is never copied into a string.
+   *
+   * @param raw the array holding the raw JWT bytes
+   * @param offset the index of the first byte of the token
+   * @param length the number of bytes of the token
+   * @return the parsed data from the sign-on attempt
+   * @throws SSOException if the verification of the sign-on attempt fails
+   * @throws IndexOutOfBoundsException if the token is not within the array
+   */
+  public SSOData verify(final byte[] raw, final int offset, final int length) throws SSOException {
+
+    Objects.requireNonNull(raw);
+
+    return this.verify(null, null, ByteBuffer.wrap(raw, offset, length));
+  }
+
+  /**
+   * Verify and parse a single-sign-on attempt given as the remaining ASCII
+   * bytes of a buffer, e.g. the readable bytes of a network buffer. The
+   * position of the buffer is left untouched. An attempt answered from the
+   * cache is never copied into a string.
+   *
+   * @param raw the buffer holding the raw JWT bytes
+   * @return the parsed data from the sign-on attempt
+   * @throws SSOException if the verification of the sign-on attempt fails
+   */
+  public SSOData verify(final ByteBuffer raw) throws SSOException {
+
+    Objects.requireNonNull(raw);
+
+    return this.verify(null, null, raw.duplicate());
+  }
+
+  /**
+   * Verify an attempt given either as characters or as bytes.
+   *
+   * @param raw the raw JWT string, <code>null</code> if not at hand yet
+   * @param chars the raw JWT characters, <code>null</code> if given as bytes
+   * @param bytes the raw JWT bytes, <code>null</code> if given as characters
+   */
+  private SSOData verify(final String raw, final CharSequence chars, final ByteBuffer bytes) throws SSOException {
+
+    if (this.metrics == null) {
+      return this.verifyUntimed(raw, chars, bytes);
+    }
+
+    final long start = System.nanoTime();
+    try {
+      final SSOData data = this.verifyUntimed(raw, chars, bytes);
+      this.metrics.recordVerified(System.nanoTime() - start);
+      return data;
+    } catch (final SSOException ssoException) {
+      this.metrics.recordRejected(ssoException.getReason(), System.nanoTime() - start);
+      throw ssoException;
+    }
+  }
+
+  private SSOData verifyUntimed(final String raw, final CharSequence chars, final ByteBuffer bytes)
+      throws SSOException {
+
+    final TokenFingerprint fingerprint;
+    if (this.cache == null && this.rejectionCache == null && !logger.isDebugEnabled()) {
+      fingerprint = null;
+    } else {
+      fingerprint = bytes != null ? TokenFingerprint.of(bytes) : TokenFingerprint.of(chars);
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Attempting to verify sso attempt. [token={}]", fingerprint);
+    }
+
+    SSOData data = this.lookup(fingerprint);
+    if (data == null) {
+      this.checkRejectionCache(fingerprint);
+
+      // the verification itself needs a string, only build it on a miss
+      data = this.store(fingerprint, this.processAndRemember(raw != null ? raw : toString(chars, bytes), fingerprint));
+    }
+    this.checkReplay(data);
+
+    return data;
+  }
+
+  /**
+   * Verify and parse a single-sign-on attempt coming from the staffbase app
+   * without blocking the calling thread. The verification runs on the
+   * configured executor; concurrent calls for the same token share a single
+   * verification.
+   *
+   * The returned stage completes exceptionally with an {@link SSOException}
+   * if the verification fails, or with a
+   * {@link java.util.concurrent.RejectedExecutionException} if the executor
+   * is saturated.
+   *
+   * @see #withExecutor(Executor)
+   * @param raw the raw JWT string
+   * @return the stage completing with the parsed data from the sign-on attempt
+   */
+  public CompletionStage<SSOData> verifyAsync(final String raw) {
+
+    Objects.requireNonNull(raw);
+
+    return this.verifyAsync(raw, raw, null);
+  }
+
+  /**
+   * Verify and parse a single-sign-on attempt given as characters without
+   * blocking the calling thread, see {@link #verifyAsync(String)}. The
+   * characters are read before this method returns; an attempt answered from
+   * the cache is never copied into a string.
+   *
+   * @param raw the raw JWT characters
+   * @return the stage completing with the parsed data from the sign-on attempt
+   */
+  public CompletionStage<SSOData> verifyAsync(final CharSequence raw) {
+
+    Objects.requireNonNull(raw);
+
+    return this.verifyAsync(raw instanceof String ? (String) raw : null, raw, null);
+  }
+
+  /**
+   * Verify and parse a single-sign-on attempt given as the remaining ASCII
+   * bytes of a buffer without blocking the calling thread, see
+   * {@link #verifyAsync(String)}. The bytes are read before this method
+   * returns, so the buffer can be released or reused right away; its position
+   * is left untouched. An attempt answered from the cache is never copied
+   * into a string.
+   *
+   * @param raw the buffer holding the raw JWT bytes
+   * @return the stage completing with the parsed data from the sign-on attempt
+   */
+  public CompletionStage<SSOData> verifyAsync(final ByteBuffer raw) {
+
+    Objects.requireNonNull(raw);
+
+    return this.verifyAsync(null, null, raw.duplicate());
+  }
+
+  /**
+   * Verify an attempt given either as characters or as bytes asynchronously.
+   *
+   * @param raw the raw JWT string, <code>null</code> if not at hand yet
+   * @param chars the raw JWT characters, <code>null</code> if given as bytes
+   * @param bytes the raw JWT bytes, <code>null</code> if given as characters
+   */
+  private CompletionStage<SSOData> verifyAsync(final String raw, final CharSequence chars, final ByteBuffer bytes) {
+
+    if (this.metrics == null) {
+      return this.verifyAsyncUntimed(raw, chars, bytes);
+    }
+
+    final long start = System.nanoTime();
+    return this.verifyAsyncUntimed(raw, chars, bytes).whenComplete((data, failure) -> {
+      final long duration = System.nanoTime() - start;
+      final Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+      if (cause == null) {
+        this.metrics.recordVerified(duration);
+      } else if (cause instanceof SSOException) {
+        // failures to run the verification say nothing about the attempt
+        this.metrics.recordRejected(((SSOException) cause).getReason(), duration);
+      }
+    });
+  }
+
+  private CompletableFuture<SSOData> verifyAsyncUntimed(final String raw, final CharSequence chars,
+      final ByteBuffer bytes) {
+
+    final TokenFingerprint fingerprint = bytes != null ? TokenFingerprint.of(bytes) : TokenFingerprint.of(chars);
+
+    // answer cached attempts right away, without handing them to the executor
+    if (this.cache != null) {
+      final SSOData cached = this.cache.get(fingerprint);
+      if (cached != null) {
+        return CompletableFuture.completedFuture(cached).thenApply(this::checkReplayAsync);
+      }
+    }
+    try {
+      this.checkRejectionCache(fingerprint);
+    } catch (final SSOException ssoException) {
+      final CompletableFuture<SSOData> rejected = new CompletableFuture<>();
+      rejected.completeExceptionally(ssoException);
+      return rejected;
+    }
+
+    final CompletableFuture<SSOData> future = new CompletableFuture<>();
+    final CompletableFuture<SSOData> running = this.inFlight.putIfAbsent(fingerprint, future);
+    if (running != null) {
+      // hand out a dependent stage, so no caller can complete the shared one,
+      // and check each caller for replays on its own
+      return running.thenApply(this::checkReplayAsync);
+    }
+
+    // the verification itself needs a string, and the caller may reuse the bytes
+    final String token = raw != null ? raw : toString(chars, bytes);
+    try {
+      (this.executor != null ? this.executor : DefaultExecutor.INSTANCE).execute(() -> {
+        try {
+          final SSOData data = this.resolve(token, fingerprint);
+          this.inFlight.remove(fingerprint, future);
+          future.complete(data);
+        } catch (final SSOException | RuntimeException exception) {
+          this.inFlight.remove(fingerprint, future);
+          future.completeExceptionally(exception);
+        }
+      });
+    } catch (final RuntimeException rejectedException) {
+      this.inFlight.remove(fingerprint, future);
+      future.completeExceptionally(rejectedException);
+    }
+
+    return future.thenApply(this::checkReplayAsync);
+  }
+
+  /**
+   * Verify and parse a batch of single-sign-on attempts, e.g. for an audit.
+   * The attempts are split across the threads of the common fork-join pool;
+   * a failing attempt does not stop the others.
+   *
+   * @param raws the raw JWT strings
+   * @return the outcome of each attempt, in the iteration order of the given collection
+   */
+  public List<SSOResult> verifyAll(final Collection<String> raws) {
+    return this.verifyAll(raws, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Verify and parse a batch of single-sign-on attempts, e.g. for an audit.
+   * The attempts are split across the threads of the given fork-join pool;
+   * a failing attempt does not stop the others.
+   *
+   * @param raws the raw JWT strings
+   * @param pool the pool to run the verifications in
+   * @return the outcome of each attempt, in the iteration order of the given collection
+   */
+  public List<SSOResult> verifyAll(final Collection<String> raws, final ForkJoinPool pool) {
+
+    Objects.requireNonNull(pool);
+
+    final String[] tokens = raws.toArray(new String[0]);
+    for (final String token : tokens) {
+      Objects.requireNonNull(token);
+    }
+
+    final SSOResult[] results = new SSOResult[tokens.length];
+    pool.invoke(new BatchTask(tokens, results, 0, tokens.length));
+
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Verify a single-sign-on attempt whose lookup in the cache missed,
+   * looking it up once more without counting it, as a verification of the
+   * same token may have finished in the meantime.
+   *
+   * @param raw the raw JWT string
+   * @param fingerprint the fingerprint of the raw JWT
+   * @return the parsed data from the sign-on attempt
+   * @throws SSOException if the verification of the sign-on attempt fails
+   */
+  private SSOData resolve(final String raw, final TokenFingerprint fingerprint) throws SSOException {
+
+    final SSOData cached = this.cache != null ? this.cache.peek(fingerprint) : null;
+    if (cached != null) {
+      return cached;
+    }
+
+    return this.store(fingerprint, this.processAndRemember(raw, fingerprint));
+  }
+
+  /**
+   * Reject an attempt found in the rejection cache, if enabled.
+   *
+   * @param fingerprint the fingerprint of the raw JWT
+   * @throws SSOException if the attempt was rejected recently
+   */
+  private void checkRejectionCache(final TokenFingerprint fingerprint) throws SSOException {
+
+    if (this.rejectionCache == null) {
+      return;
+    }
+
+    final SSOException.Reason reason = this.rejectionCache.get(fingerprint);
+    if (reason == null) {
+      return;
+    }
+
+    // the first rejection was logged already
+    if (logger.isDebugEnabled()) {
+      logger.debug("Answered sso attempt from rejection cache. [token={}] [reason={}]", fingerprint, reason);
+    }
+    if (this.metrics != null) {
+      this.metrics.recordCachedRejection(reason);
+    }
+
+    throw this.fail(reason, reason.getDescription(), null);
+  }
+
+  /**
+   * Verify an attempt, remembering its rejection in the rejection cache if
+   * enabled.
+   *
+   * @param raw the raw JWT string
+   * @param fingerprint the fingerprint of the raw JWT
+   * @return the parsed data from the sign-on attempt
+   * @throws SSOException if the verification of the sign-on attempt fails
+   */
+  private SSOData processAndRemember(final String raw, final TokenFingerprint fingerprint) throws SSOException {
+
+    try {
+      return this.process(raw);
+    } catch (final SSOException ssoException) {
+      if (this.rejectionCache != null) {
+        this.rejectionCache.put(fingerprint, ssoException.getReason());
+      }
+      throw ssoException;
+    }
+  }
+
+  /**
+   * Look a single-sign-on attempt up in the cache.
+   *
+   * @param fingerprint the fingerprint of the raw JWT
+   * @return the cached data, <code>null</code> if not cached or caching is disabled
+   */
+  private SSOData lookup(final TokenFingerprint fingerprint) {
+
+    if (this.cache == null) {
+      return null;
+    }
+
+    final SSOData cached = this.cache.get(fingerprint);
+    if (cached != null && logger.isDebugEnabled()) {
+      logger.debug("Answered single-sign-on attempt from cache. [token={}]", fingerprint);
+    }
+
+    return cached;
+  }
+
+  /**
+   * Put verified data into the cache, if enabled.
+   *
+   * @param fingerprint the fingerprint of the raw JWT
+   * @param data the verified data
+   * @return the given data
+   */
+  private SSOData store(final TokenFingerprint fingerprint, final SSOData data) {
+
+    if (this.cache != null) {
+      this.cache.put(fingerprint, data, data.getExpirationTimeOrNull() * 1000);
+    }
+
+    return data;
+  }
+
+  /**
+   * Build the string of an attempt given as characters or as ASCII bytes.
+   */
+  private static String toString(final CharSequence chars, final ByteBuffer bytes) {
+
+    if (chars != null) {
+      return chars.toString();
+    }
+    if (bytes.hasArray()) {
+      return new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(),
+          StandardCharsets.US_ASCII);
+    }
+
+    final byte[] copy = new byte[bytes.remaining()];
+    bytes.get(copy);
+    return new String(copy, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Reject the attempt if its token was presented before, in case replay
+   * protection is enabled. This runs for every caller, including those
+   * answered from the cache.
+   *
+   * @param data the verified data
+   * @throws SSOException if the token was used already
+   */
+  private void checkReplay(final SSOData data) throws SSOException {
+
+    if (this.replayStore == null) {
+      return;
+    }
+
+    final String tokenId = data.getTokenIdOrNull();
+    if (tokenId == null || tokenId.isEmpty()) {
+      this.logRejection(SSOException.Reason.TOKEN_ID, null, data.getInstanceID(), null);
+
+      throw this.fail(SSOException.Reason.TOKEN_ID, "Missing or malformed jti.", null);
+    }
+
+    if (!this.replayStore.markUsed(tokenId, data.getExpirationTimeOrNull())) {
+      this.logRejection(SSOException.Reason.REPLAYED, null, data.getInstanceID(), null);
+
+      throw this.fail(SSOException.Reason.REPLAYED, "Token was used already.", null);
+    }
+  }
+
+  private SSOData checkReplayAsync(final SSOData data) {
+    try {
+      this.checkReplay(data);
+      return data;
+    } catch (final SSOException ssoException) {
+      throw new CompletionException(ssoException);
+    }
+  }
+
+  /**
+   * Run the full verification of a single-sign-on attempt.
+   *
+   * @param raw the raw JWT string
+   * @return the parsed data from the sign-on attempt
+   * @throws SSOException if the verification of the sign-on attempt fails
+   */
+  private SSOData process(final String raw) throws SSOException {
+
+    // Shed the attempt if too many verifications are running already, before
+    // any work is spent on it
+    if (this.admissionLimiter != null && !this.admissionLimiter.acquire()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Shed single-sign-on attempt, too many verifications in progress. [token={}]",
+            TokenFingerprint.of(raw));
+      }
+
+      throw this.fail(SSOException.Reason.OVERLOADED, SSOException.Reason.OVERLOADED.getDescription(), null);
+    }
+
+    // Reject stale and malformed attempts before paying for the signature
+    final SSOException.Reason rejection = this.preCheck.check(raw);
+    if (rejection != null) {
+      if (this.admissionLimiter != null) {
+        this.admissionLimiter.cancel();
+      }
+
+      throw this.fail(rejection, rejection.getDescription(), null);
+    }
+
+    final long start = this.admissionLimiter != null ? System.nanoTime() : 0L;
+    try {
+
+      // Process and verify the request on the basis of jwt verification
+      final JwtClaims jwtClaims = this.jwtProcessor
+          .process(raw)
+          .getJwtClaims();
+
+      // Add the instance id verification step
+      final String instanceId = jwtClaims.getClaimValue(EXPECTED_CLAIM_INSTANCE_ID, String.class);
+      if (instanceId == null || instanceId.isEmpty()) {
+        this.logRejection(SSOException.Reason.INSTANCE_ID, raw, instanceId, null);
+
+        throw this.fail(SSOException.Reason.INSTANCE_ID, "Missing or malformed instance_id.", null);
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Verification of single-sign-on JWT succeeded. [token={}] [instance_id={}]",
+            TokenFingerprint.of(raw), instanceId);
+      }
+
+      // Parse and return the container data.
+      return this.lazyData ? SSOData.createLazy(jwtClaims) : new SSOData(jwtClaims);
+    } catch (final MalformedClaimException malformationException) {
+      this.logRejection(SSOException.Reason.MALFORMED, raw, null, malformationException);
+
+      throw this.fail(SSOException.Reason.MALFORMED, malformationException.getMessage(), malformationException);
+    } catch (final InvalidJwtException invalidJwtException) {
+      final SSOException.Reason reason = reasonOf(invalidJwtException);
+      this.logRejection(reason, raw, null, invalidJwtException);
+
+      // the message of jose4j holds the claims or even the whole token
+      throw this.fail(reason, reason.getDescription(), invalidJwtException);
+    } finally {
+      if (this.admissionLimiter != null) {
+        this.admissionLimiter.release(System.nanoTime() - start);
+      }
+    }
+  }
+
+  /**
+   * Log a rejected attempt, writing at most a few lines per second. The token
+   * is logged by its fingerprint only, the cause only at debug level.
+   *
+   * @param reason the reason for the rejection
+   * @param raw the raw JWT string, <code>null</code> if not to be logged
+   * @param instanceId the instance id, if known
+   * @param cause the cause of the rejection, if any
+   */
+  private void logRejection(final SSOException.Reason reason, final String raw, final String instanceId,
+      final Throwable cause) {
+
+    if (!logger.isFatalEnabled()) {
+      return;
+    }
+
+    final long suppressed = this.rejectionLog.acquire();
+    if (suppressed == LogRateLimiter.SUPPRESS) {
+      return;
+    }
+
+    logger.fatal("Encountered illegal sso attempt. [reason={}] [token={}] [instance_id={}] [suppressed={}]",
+        reason, raw != null ? TokenFingerprint.of(raw) : null, instanceId, suppressed);
+
+    if (cause != null && logger.isDebugEnabled()) {
+      logger.debug("Cause of the rejected sso attempt. [reason={}]", reason, cause);
+    }
+  }
+
+  /**
+   * Create the exception for a rejected attempt, a lightweight one if
+   * configured so.
+   *
+   * @param reason the reason for the rejection
+   * @param message the message
+   * @param cause the cause, if any
+   * @return the exception
+   */
+  private SSOException fail(final SSOException.Reason reason, final String message, final Throwable cause) {
+
+    if (!this.stacklessFailures || reason == SSOException.Reason.OTHER) {
+      return new SSOException(reason, message, cause);
+    }
+
+    if (this.keepFailureCauses && cause != null) {
+      return SSOException.stackless(reason, message, cause);
+    }
+
+    return SSOException.preallocated(reason);
+  }
+
+  /**
+   * Tell why jose4j rejected an attempt.
+   */
+  static SSOException.Reason reasonOf(final InvalidJwtException invalidJwtException) {
+
+    if (invalidJwtException.hasExpired()) {
+      return SSOException.Reason.EXPIRED;
+    }
+    if (invalidJwtException.hasErrorCode(ErrorCodes.NOT_YET_VALID)) {
+      return SSOException.Reason.NOT_YET_VALID;
+    }
+    if (invalidJwtException.hasErrorCode(ErrorCodes.SIGNATURE_INVALID)
+        || invalidJwtException.hasErrorCode(ErrorCodes.SIGNATURE_MISSING)) {
+      return SSOException.Reason.SIGNATURE;
+    }
+    if (invalidJwtException.hasErrorCode(ErrorCodes.EXPIRATION_MISSING)
+        || invalidJwtException.hasErrorCode(ErrorCodes.NOT_BEFORE_MISSING)
+        || invalidJwtException.hasErrorCode(ErrorCodes.ISSUED_AT_MISSING)) {
+      return SSOException.Reason.MISSING_CLAIM;
+    }
+    if (invalidJwtException.hasErrorCode(ErrorCodes.MALFORMED_CLAIM)
+        || invalidJwtException.hasErrorCode(ErrorCodes.JSON_INVALID)) {
+      return SSOException.Reason.MALFORMED;
+    }
+
+    final Throwable cause = invalidJwtException.getCause();
+    if (cause instanceof InvalidAlgorithmException) {
+      return SSOException.Reason.ALGORITHM;
+    }
+    if (cause instanceof UnresolvableKeyException || cause instanceof IntegrityException) {
+      return SSOException.Reason.SIGNATURE;
+    }
+    if (cause instanceof JoseException) {
+      return SSOException.Reason.MALFORMED;
+    }
+
+    return SSOException.Reason.OTHER;
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * Verifies a range of a batch, splitting it in halves until it is small
+   * enough. Each worker runs its share sequentially, reusing its thread
+   * confined state.
+   */
+  private final class BatchTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] tokens;
+    private final SSOResult[] results;
+    private final int from;
+    private final int to;
+
+    private BatchTask(final String[] tokens, final SSOResult[] results, final int from, final int to) {
+      this.tokens = tokens;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+
+      if (this.to - this.from > BATCH_THRESHOLD) {
+        final int middle = (this.from + this.to) >>> 1;
+        invokeAll(new BatchTask(this.tokens, this.results, this.from, middle),
+            new BatchTask(this.tokens, this.results, middle, this.to));
+        return;
+      }
+
+      for (int i = this.from; i < this.to; i++) {
+        try {
+          this.results[i] = SSOResult.success(SSOFacade.this.verify(this.tokens[i]));
+        } catch (final SSOException ssoException) {
+          this.results[i] = SSOResult.failure(ssoException);
+        }
+      }
+    }
+  }
+
+  /**
+   * The pool running asynchronous verifications unless an executor is
+   * configured, created on first use. Verification is CPU bound, so it has
+   * one daemon thread per processor.
+   */
+  private static final class DefaultExecutor {
+
+    /**
+     * The maximum number of verifications waiting for a thread.
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static final Executor INSTANCE = create();
+
+    private static Executor create() {
+
+      final int threads = Runtime.getRuntime().availableProcessors();
+      final AtomicInteger counter = new AtomicInteger();
 
-      throw new SSOException(invalidJwtException.getMessage(), invalidJwtException);
+      return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+          runnable -> {
+            final Thread thread = new Thread(runnable, "sso-verify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
     }
   }
 }
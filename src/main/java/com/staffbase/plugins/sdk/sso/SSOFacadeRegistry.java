@@ -0,0 +1,505 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.security.Key;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwx.JsonWebStructure;
+import org.jose4j.keys.resolvers.VerificationKeyResolver;
+import org.jose4j.lang.JoseException;
+import org.jose4j.lang.UnresolvableKeyException;
+
+/**
+ * Verifies single-sign-on attempts of many tenants, each signing its tokens
+ * with its own RSA key.
+ *
+ * The tenant of an attempt is read from a claim of the token, by default
+ * {@value SSOData#KEY_INSTANCE_ID}, and its key is looked up in a concurrent
+ * map. All tenants share a single facade, so only the key itself is held per
+ * tenant. Keys are loaded lazily on first use, can be swapped at any time
+ * without blocking verification, and tenants idle for the longest time are
+ * dropped once the configured maximum is exceeded.
+ *
+ * As the tenant is read before the signature is verified, attackers choose
+ * it. Concurrent attempts of the same unknown tenant share a single call of
+ * the key loader, and tenants the loader does not know are remembered as
+ * unknown for a short time, so forged attempts retried in a loop do not
+ * call the loader each.
+ */
+public class SSOFacadeRegistry {
+
+  private static final Logger logger = LogManager.getLogger(SSOFacadeRegistry.class);
+
+  /**
+   * The default maximum number of tenants to hold keys for.
+   */
+  public static final int DEFAULT_MAXIMUM_TENANTS = 10_000;
+
+  /**
+   * Access times are only updated at this granularity, so tenants in use
+   * do not have their entry written on every verification.
+   */
+  private static final long ACCESS_GRANULARITY_MILLIS = 1000;
+
+  /**
+   * The share of tenants dropped at once when the maximum is exceeded, so
+   * eviction does not run on every load.
+   */
+  private static final int EVICTION_BATCH_DIVISOR = 10;
+
+  /**
+   * The default time tenants unknown to the key loader are remembered.
+   */
+  public static final Duration DEFAULT_UNKNOWN_TENANT_TIME_TO_LIVE = Duration.ofSeconds(10);
+
+  /**
+   * Create a registry loading the keys of tenants from the given function.
+   *
+   * @param keyLoader the function returning the RSA public key of a tenant,
+   *                  or <code>null</code> for unknown tenants.
+   * @return the registry.
+   */
+  public static SSOFacadeRegistry create(final Function<String, RSAPublicKey> keyLoader) {
+    return new SSOFacadeRegistry(keyLoader, System::currentTimeMillis);
+  }
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The known tenants by their id.
+   */
+  private final ConcurrentHashMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+
+  /**
+   * The tenants unknown to the key loader, by id, along with the time they
+   * are loaded again from.
+   */
+  private final ConcurrentHashMap<String, Long> unknownTenants = new ConcurrentHashMap<>();
+
+  /**
+   * The loads of keys running, by tenant id, shared by concurrent attempts.
+   */
+  private final ConcurrentHashMap<String, CompletableFuture<RSAPublicKey>> loading = new ConcurrentHashMap<>();
+
+  /**
+   * The function to load the key of a tenant not yet known.
+   */
+  private final Function<String, RSAPublicKey> keyLoader;
+
+  /**
+   * The facade shared by all tenants.
+   */
+  private final SSOFacade facade;
+
+  /**
+   * Guards eviction, so only one thread at a time scans the tenants.
+   */
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  private final LongSupplier clock;
+
+  /**
+   * The claim identifying the tenant of an attempt.
+   */
+  private String tenantClaim = SSOData.KEY_INSTANCE_ID;
+
+  /**
+   * The maximum number of tenants to hold keys for.
+   */
+  private int maximumTenants = DEFAULT_MAXIMUM_TENANTS;
+
+  /**
+   * The time tenants unknown to the key loader are remembered, in
+   * milliseconds.
+   */
+  private long unknownTenantTimeToLive = DEFAULT_UNKNOWN_TENANT_TIME_TO_LIVE.toMillis();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  SSOFacadeRegistry(final Function<String, RSAPublicKey> keyLoader, final LongSupplier clock) {
+
+    Objects.requireNonNull(keyLoader);
+
+    this.keyLoader = keyLoader;
+    this.clock = clock;
+    this.facade = new SSOFacade().initialize(new TenantKeyResolver());
+  }
+
+  /**********************************************
+   * Initialization
+   **********************************************/
+
+  /**
+   * Set the claim identifying the tenant of an attempt, e.g.
+   * {@value SSOData#KEY_ISSUER}.
+   *
+   * Must be called before the registry is shared between threads.
+   *
+   * @param claim the name of the claim
+   * @return Fluent interface.
+   */
+  public SSOFacadeRegistry withTenantClaim(final String claim) {
+
+    Objects.requireNonNull(claim);
+
+    this.tenantClaim = claim;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of tenants to hold keys for. Exceeding tenants are
+   * dropped, starting with the ones idle for the longest time, and loaded
+   * again on their next attempt.
+   *
+   * Must be called before the registry is shared between threads.
+   *
+   * @param maximumTenants the maximum number of tenants
+   * @return Fluent interface.
+   */
+  public SSOFacadeRegistry withMaximumTenants(final int maximumTenants) {
+
+    if (maximumTenants <= 0) {
+      throw new IllegalArgumentException("The maximum number of tenants must be positive. "
+          + "[maximumTenants=" + maximumTenants + "]");
+    }
+
+    this.maximumTenants = maximumTenants;
+    return this;
+  }
+
+  /**
+   * Set the time tenants unknown to the key loader are remembered, without
+   * calling the loader again. At most as many unknown tenants as the maximum
+   * number of tenants are remembered. Zero disables remembering them.
+   *
+   * Must be called before the registry is shared between threads.
+   *
+   * @param timeToLive the time to remember unknown tenants for
+   * @return Fluent interface.
+   */
+  public SSOFacadeRegistry withUnknownTenantTimeToLive(final Duration timeToLive) {
+
+    if (timeToLive.isNegative()) {
+      throw new IllegalArgumentException("The time to live must not be negative. "
+          + "[timeToLive=" + timeToLive + "]");
+    }
+
+    this.unknownTenantTimeToLive = timeToLive.toMillis();
+    return this;
+  }
+
+  /**
+   * Enable caching of verified single-sign-on attempts for all tenants.
+   *
+   * Must be called before the registry is shared between threads.
+   *
+   * @see SSOFacade#withCache(int)
+   * @param maximumSize the maximum number of cached attempts.
+   * @return Fluent interface.
+   */
+  public SSOFacadeRegistry withCache(final int maximumSize) {
+
+    this.facade.withCache(maximumSize);
+    return this;
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Verify and parse a single-sign-on attempt using the key of the tenant it
+   * belongs to.
+   *
+   * @param raw the raw JWT string
+   * @return the parsed data from the sign-on attempt
+   * @throws SSOException if the verification of the sign-on attempt fails
+   */
+  public SSOData verify(final String raw) throws SSOException {
+    return this.facade.verify(raw);
+  }
+
+  /**
+   * Set or replace the key of a tenant. Attempts being verified concurrently
+   * use either the old or the new key. As cached attempts may have been
+   * verified or rejected with the old key, both caches are cleared.
+   *
+   * @param tenantId the id of the tenant
+   * @param rsaPublicKey the new key
+   */
+  public void updateKey(final String tenantId, final RSAPublicKey rsaPublicKey) {
+
+    Objects.requireNonNull(tenantId);
+    Objects.requireNonNull(rsaPublicKey);
+
+    this.tenants.put(tenantId, new Tenant(rsaPublicKey, this.clock.getAsLong()));
+    this.unknownTenants.remove(tenantId);
+    this.facade.invalidateCaches();
+    this.evictIfNecessary();
+  }
+
+  /**
+   * Drop a tenant. Its key is loaded again on its next attempt.
+   *
+   * @param tenantId the id of the tenant
+   */
+  public void removeTenant(final String tenantId) {
+
+    if (this.tenants.remove(tenantId) != null) {
+      this.facade.invalidateCaches();
+    }
+  }
+
+  /**
+   * Get the number of tenants keys are currently held for.
+   *
+   * @return the number of tenants
+   */
+  public int size() {
+    return this.tenants.size();
+  }
+
+  /**
+   * Get the facade shared by all tenants, e.g. for reading its statistics.
+   *
+   * @return the facade
+   */
+  public SSOFacade getFacade() {
+    return this.facade;
+  }
+
+  /**
+   * Look up the key of a tenant, loading it if not yet known.
+   *
+   * @param tenantId the id of the tenant
+   * @return the key or <code>null</code> if the tenant is unknown
+   */
+  RSAPublicKey keyOf(final String tenantId) {
+
+    final long now = this.clock.getAsLong();
+
+    Tenant tenant = this.tenants.get(tenantId);
+    if (tenant == null) {
+      final Long unknownUntil = this.unknownTenants.get(tenantId);
+      if (unknownUntil != null) {
+        if (now < unknownUntil) {
+          return null;
+        }
+        this.unknownTenants.remove(tenantId, unknownUntil);
+      }
+
+      final RSAPublicKey key = this.load(tenantId, now);
+      if (key == null) {
+        return null;
+      }
+
+      // keep a key put concurrently, it may be newer than the loaded one
+      final Tenant loaded = new Tenant(key, now);
+      tenant = this.tenants.putIfAbsent(tenantId, loaded);
+      if (tenant == null) {
+        tenant = loaded;
+        this.evictIfNecessary();
+      }
+    }
+
+    if (now - tenant.lastAccess >= ACCESS_GRANULARITY_MILLIS) {
+      tenant.lastAccess = now;
+    }
+
+    return tenant.key;
+  }
+
+  /**
+   * Load the key of a tenant, sharing the call of the loader with concurrent
+   * attempts of the same tenant, and remember the tenant if it is unknown.
+   *
+   * @param tenantId the id of the tenant
+   * @param now the current time
+   * @return the key or <code>null</code> if the tenant is unknown
+   */
+  private RSAPublicKey load(final String tenantId, final long now) {
+
+    final CompletableFuture<RSAPublicKey> pending = new CompletableFuture<>();
+    final CompletableFuture<RSAPublicKey> running = this.loading.putIfAbsent(tenantId, pending);
+    if (running != null) {
+      try {
+        return running.join();
+      } catch (final CompletionException completionException) {
+        final Throwable cause = completionException.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw completionException;
+      }
+    }
+
+    try {
+      final RSAPublicKey key = this.keyLoader.apply(tenantId);
+      if (key == null) {
+        this.rememberUnknown(tenantId, now);
+      }
+
+      pending.complete(key);
+      return key;
+    } catch (final RuntimeException | Error loadingException) {
+      pending.completeExceptionally(loadingException);
+      throw loadingException;
+    } finally {
+      this.loading.remove(tenantId, pending);
+    }
+  }
+
+  /**
+   * Remember a tenant unknown to the key loader, dropping expired tenants,
+   * or else arbitrary ones, if too many are remembered.
+   */
+  private void rememberUnknown(final String tenantId, final long now) {
+
+    if (this.unknownTenantTimeToLive <= 0) {
+      return;
+    }
+
+    this.unknownTenants.put(tenantId, now + this.unknownTenantTimeToLive);
+    if (this.unknownTenants.size() <= this.maximumTenants || !this.evictionLock.tryLock()) {
+      return;
+    }
+
+    try {
+      this.unknownTenants.values().removeIf(until -> now >= until);
+
+      final int target = this.maximumTenants - this.maximumTenants / EVICTION_BATCH_DIVISOR;
+      final Iterator<String> iterator = this.unknownTenants.keySet().iterator();
+      while (this.unknownTenants.size() > target && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    } finally {
+      this.evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Get the number of tenants remembered as unknown to the key loader.
+   *
+   * @return the number of unknown tenants
+   */
+  int unknownSize() {
+    return this.unknownTenants.size();
+  }
+
+  /**
+   * Drop the tenants idle for the longest time if there are too many. Skipped
+   * if another thread is evicting already.
+   */
+  private void evictIfNecessary() {
+
+    if (this.tenants.size() <= this.maximumTenants || !this.evictionLock.tryLock()) {
+      return;
+    }
+
+    try {
+      final int target = this.maximumTenants - this.maximumTenants / EVICTION_BATCH_DIVISOR;
+
+      final List<Map.Entry<String, Tenant>> entries = new ArrayList<>(this.tenants.entrySet());
+      if (entries.size() <= target) {
+        return;
+      }
+      entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+
+      final int count = entries.size() - target;
+      for (int i = 0; i < count; i++) {
+        final Map.Entry<String, Tenant> entry = entries.get(i);
+        // only drop it if it was not replaced in the meantime
+        this.tenants.remove(entry.getKey(), entry.getValue());
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Evicted idle tenants. [count={}]", count);
+      }
+    } finally {
+      this.evictionLock.unlock();
+    }
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * The key of a tenant along with the time it was last used.
+   */
+  private static final class Tenant {
+
+    private final RSAPublicKey key;
+    private volatile long lastAccess;
+
+    private Tenant(final RSAPublicKey key, final long lastAccess) {
+      this.key = key;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+  /**
+   * Resolves the key of an attempt by the tenant claim of its unverified
+   * payload.
+   */
+  private final class TenantKeyResolver implements VerificationKeyResolver {
+
+    @Override
+    public Key resolveKey(final JsonWebSignature jws, final List<JsonWebStructure> nestingContext)
+        throws UnresolvableKeyException {
+
+      final Object tenantId;
+      try {
+        tenantId = JsonUtil.parseJson(jws.getUnverifiedPayload()).get(SSOFacadeRegistry.this.tenantClaim);
+      } catch (final JoseException joseException) {
+        throw new UnresolvableKeyException("Malformed payload.", joseException);
+      }
+
+      if (!(tenantId instanceof String) || ((String) tenantId).isEmpty()) {
+        throw new UnresolvableKeyException("Missing or malformed "
+            + SSOFacadeRegistry.this.tenantClaim + ".");
+      }
+
+      final RSAPublicKey key = SSOFacadeRegistry.this.keyOf((String) tenantId);
+      if (key == null) {
+        throw new UnresolvableKeyException("Unknown tenant. [tenant=" + tenantId + "]");
+      }
+
+      return key;
+    }
+  }
+}
@@ -0,0 +1,431 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.io.IOException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.Use;
+import org.jose4j.jwt.consumer.ErrorCodeValidator;
+import org.jose4j.jwt.consumer.ErrorCodes;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.JwtContext;
+import org.jose4j.lang.JoseException;
+
+/**
+ * A set of RSA public keys to verify single-sign-on attempts with, e.g. while
+ * a key is being rotated.
+ *
+ * An attempt naming its key by the <code>kid</code> header is verified with
+ * that key only. An attempt without a <code>kid</code> is verified with the key
+ * which succeeded last, falling back to the other keys only if the signature
+ * does not match.
+ *
+ * The keys are refreshed from their source in the background. Verification
+ * always uses the keys at hand and never waits for a refresh; if a refresh
+ * fails, the previous keys are kept.
+ */
+public class SSOKeySet implements AutoCloseable {
+
+  private static final Logger logger = LogManager.getLogger(SSOKeySet.class);
+
+  /**
+   * The default interval between two refreshes of the keys.
+   */
+  public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(15);
+
+  /**
+   * The minimum time between two refreshes triggered by an unknown key id, so
+   * made-up key ids do not flood the key source.
+   */
+  private static final long MINIMUM_TRIGGERED_REFRESH_GAP_MILLIS = 10_000;
+
+  /**
+   * The name of the header parameter holding the key id.
+   */
+  private static final String HEADER_KEY_ID = "kid";
+
+  /**
+   * Create a key set, loading the keys from the given source right away and
+   * refreshing them every {@link #DEFAULT_REFRESH_INTERVAL}.
+   *
+   * @param source the source of the keys
+   * @return the key set
+   * @throws IOException if the initial keys cannot be loaded
+   */
+  public static SSOKeySet create(final SSOKeySource source) throws IOException {
+    return create(source, DEFAULT_REFRESH_INTERVAL);
+  }
+
+  /**
+   * Create a key set, loading the keys from the given source right away and
+   * refreshing them in the given interval.
+   *
+   * @param source the source of the keys
+   * @param refreshInterval the interval between two refreshes
+   * @return the key set
+   * @throws IOException if the initial keys cannot be loaded
+   */
+  public static SSOKeySet create(final SSOKeySource source, final Duration refreshInterval) throws IOException {
+
+    Objects.requireNonNull(source);
+    Objects.requireNonNull(refreshInterval);
+
+    final SSOKeySet keySet = new SSOKeySet(source);
+    keySet.refresh();
+    keySet.scheduler.scheduleWithFixedDelay(keySet::refreshQuietly,
+        refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+    return keySet;
+  }
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final SSOKeySource source;
+
+  /**
+   * Runs the refreshes, on a single daemon thread.
+   */
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Whether a triggered refresh is pending.
+   */
+  private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+  /**
+   * Serializes refreshes, so the keys fetched last are the ones kept.
+   */
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  /**
+   * Called after a refresh changed the keys.
+   */
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * The keys currently in use.
+   */
+  private volatile Snapshot snapshot = new Snapshot(Collections.emptyList());
+
+  /**
+   * The key which verified the last attempt without a key id.
+   */
+  private volatile Entry lastSuccessful;
+
+  /**
+   * The time of the last refresh triggered by an unknown key id.
+   */
+  private volatile long lastTriggeredRefresh;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  SSOKeySet(final SSOKeySource source) {
+
+    this.source = source;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "sso-key-set-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Load the keys from the source and replace the current ones. Refreshes
+   * run one at a time: a refresh started while another one is running waits
+   * for it, so an older key set never replaces a newer one.
+   *
+   * @throws IOException if the keys cannot be loaded, the current ones are kept
+   */
+  public void refresh() throws IOException {
+
+    this.refreshLock.lock();
+    try {
+      this.refreshExclusively();
+    } finally {
+      this.refreshLock.unlock();
+    }
+  }
+
+  /**
+   * Load the keys from the source and replace the current ones. Must be
+   * called while holding the refresh lock.
+   */
+  private void refreshExclusively() throws IOException {
+
+    final List<JsonWebKey> jsonWebKeys;
+    try {
+      jsonWebKeys = new JsonWebKeySet(this.source.fetch()).getJsonWebKeys();
+    } catch (final JoseException joseException) {
+      throw new IOException("Malformed key set.", joseException);
+    }
+
+    final Snapshot current = this.snapshot;
+    final List<Entry> entries = new ArrayList<>();
+    boolean changed = false;
+    for (final JsonWebKey jsonWebKey : jsonWebKeys) {
+      if (!(jsonWebKey instanceof RsaJsonWebKey)
+          || (jsonWebKey.getUse() != null && !Use.SIGNATURE.equals(jsonWebKey.getUse()))) {
+        continue;
+      }
+
+      final String keyId = jsonWebKey.getKeyId();
+      final RSAPublicKey key = ((RsaJsonWebKey) jsonWebKey).getRsaPublicKey();
+
+      // keep unchanged keys, so the last successful one stays known
+      final Entry existing = current.find(keyId, key);
+      entries.add(existing != null ? existing : new Entry(keyId, key));
+      changed |= existing == null;
+    }
+
+    if (entries.isEmpty()) {
+      throw new IOException("The key set holds no RSA signing keys.");
+    }
+
+    this.snapshot = new Snapshot(entries);
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Refreshed single-sign-on key set. [keys={}]", entries.size());
+    }
+
+    if (changed || entries.size() != current.entries.size()) {
+      for (final Runnable listener : this.listeners) {
+        listener.run();
+      }
+    }
+  }
+
+  /**
+   * Register a listener called after a refresh added, replaced or removed
+   * keys, e.g. to drop results cached with the previous keys.
+   *
+   * @param listener the listener, called on the refreshing thread
+   */
+  void onChange(final Runnable listener) {
+    this.listeners.add(Objects.requireNonNull(listener));
+  }
+
+  /**
+   * Get the number of keys currently in use.
+   *
+   * @return the number of keys
+   */
+  public int size() {
+    return this.snapshot.entries.size();
+  }
+
+  /**
+   * Stop refreshing the keys.
+   */
+  @Override
+  public void close() {
+    this.scheduler.shutdownNow();
+  }
+
+  /**
+   * Verify and parse a raw JWT using the matching key.
+   *
+   * @param raw the raw JWT string
+   * @return the verified context
+   * @throws InvalidJwtException if no key verifies the attempt
+   */
+  JwtContext process(final String raw) throws InvalidJwtException {
+
+    final Snapshot snapshot = this.snapshot;
+    final String keyId = keyIdOf(raw);
+
+    if (keyId != null) {
+      final Entry entry = snapshot.byKeyId.get(keyId);
+      if (entry == null) {
+        this.triggerRefresh();
+        throw new InvalidJwtException("Unknown key id. [kid=" + keyId + "]",
+            Collections.singletonList(new ErrorCodeValidator.Error(ErrorCodes.SIGNATURE_INVALID, "Unknown key id.")),
+            null);
+      }
+
+      return entry.consumer.process(raw);
+    }
+
+    final Entry preferred = this.lastSuccessful;
+    InvalidJwtException failure = null;
+
+    if (preferred != null && snapshot.entries.contains(preferred)) {
+      try {
+        return preferred.consumer.process(raw);
+      } catch (final InvalidJwtException invalidJwtException) {
+        if (!invalidJwtException.hasErrorCode(ErrorCodes.SIGNATURE_INVALID)) {
+          throw invalidJwtException;
+        }
+        failure = invalidJwtException;
+      }
+    }
+
+    for (final Entry entry : snapshot.entries) {
+      if (entry == preferred) {
+        continue;
+      }
+
+      try {
+        final JwtContext context = entry.consumer.process(raw);
+        this.lastSuccessful = entry;
+        return context;
+      } catch (final InvalidJwtException invalidJwtException) {
+        // any other failure would occur with each key
+        if (!invalidJwtException.hasErrorCode(ErrorCodes.SIGNATURE_INVALID)) {
+          throw invalidJwtException;
+        }
+        if (failure == null) {
+          failure = invalidJwtException;
+        }
+      }
+    }
+
+    throw failure;
+  }
+
+  /**
+   * Schedule a refresh, unless one is pending or happened just now.
+   */
+  private void triggerRefresh() {
+
+    final long now = System.currentTimeMillis();
+    if (now - this.lastTriggeredRefresh < MINIMUM_TRIGGERED_REFRESH_GAP_MILLIS
+        || !this.refreshPending.compareAndSet(false, true)) {
+      return;
+    }
+
+    this.lastTriggeredRefresh = now;
+    try {
+      this.scheduler.execute(() -> {
+        try {
+          this.refreshQuietly();
+        } finally {
+          this.refreshPending.set(false);
+        }
+      });
+    } catch (final RuntimeException rejectedException) {
+      // closed already
+      this.refreshPending.set(false);
+    }
+  }
+
+  private void refreshQuietly() {
+    try {
+      this.refresh();
+    } catch (final IOException | RuntimeException refreshException) {
+      if (logger.isWarnEnabled()) {
+        logger.warn("Refreshing single-sign-on key set failed, keeping the current keys.", refreshException);
+      }
+    }
+  }
+
+  /**
+   * Read the key id from the header of a raw JWT.
+   *
+   * @param raw the raw JWT string
+   * @return the key id, <code>null</code> if absent or unreadable
+   */
+  private static String keyIdOf(final String raw) {
+
+    final int headerEnd = raw.indexOf('.');
+    if (headerEnd <= 0) {
+      return null;
+    }
+
+    try {
+      final Object keyId = JsonUtil.parseJson(Base64UrlDecoder.decodeToUtf8String(raw, 0, headerEnd))
+          .get(HEADER_KEY_ID);
+      return keyId instanceof String ? (String) keyId : null;
+    } catch (final JoseException | RuntimeException decodingException) {
+      // leave it to the verification to reject the token
+      return null;
+    }
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * A key along with the consumer verifying attempts using it.
+   */
+  private static final class Entry {
+
+    private final String keyId;
+    private final RSAPublicKey key;
+    private final JwtConsumer consumer;
+
+    private Entry(final String keyId, final RSAPublicKey key) {
+      this.keyId = keyId;
+      this.key = key;
+      this.consumer = SSOFacade.buildConsumer((jws, nestingContext) -> key);
+    }
+  }
+
+  /**
+   * An immutable state of the key set.
+   */
+  private static final class Snapshot {
+
+    private final List<Entry> entries;
+    private final Map<String, Entry> byKeyId;
+
+    private Snapshot(final List<Entry> entries) {
+
+      this.entries = Collections.unmodifiableList(entries);
+
+      final Map<String, Entry> byKeyId = new HashMap<>();
+      for (final Entry entry : entries) {
+        if (entry.keyId != null) {
+          byKeyId.put(entry.keyId, entry);
+        }
+      }
+      this.byKeyId = byKeyId;
+    }
+
+    private Entry find(final String keyId, final RSAPublicKey key) {
+      for (final Entry entry : this.entries) {
+        if (Objects.equals(entry.keyId, keyId) && entry.key.equals(key)) {
+          return entry;
+        }
+      }
+      return null;
+    }
+  }
+}
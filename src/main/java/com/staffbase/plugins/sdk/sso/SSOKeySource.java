@@ -0,0 +1,89 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The source of the keys of a {@link SSOKeySet}, providing them as a JSON Web
+ * Key Set document as described in RFC 7517.
+ */
+@FunctionalInterface
+public interface SSOKeySource {
+
+  /**
+   * The timeout for connecting to and reading from a remote key source.
+   */
+  int TIMEOUT_MILLIS = 5000;
+
+  /**
+   * Fetch the current keys.
+   *
+   * @return the JSON Web Key Set document
+   * @throws IOException if the keys cannot be fetched
+   */
+  String fetch() throws IOException;
+
+  /**
+   * Read the keys from a file.
+   *
+   * @param path the path of the JSON Web Key Set document
+   * @return the key source
+   */
+  static SSOKeySource fromFile(final Path path) {
+
+    Objects.requireNonNull(path);
+
+    return () -> new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Read the keys from a URL, e.g. a JWKS endpoint.
+   *
+   * @param url the location of the JSON Web Key Set document
+   * @return the key source
+   */
+  static SSOKeySource fromUrl(final URL url) {
+
+    Objects.requireNonNull(url);
+
+    return () -> {
+      final URLConnection connection = url.openConnection();
+      connection.setConnectTimeout(TIMEOUT_MILLIS);
+      connection.setReadTimeout(TIMEOUT_MILLIS);
+
+      if (connection instanceof HttpURLConnection) {
+        final int status = ((HttpURLConnection) connection).getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+          throw new IOException("Unexpected response fetching keys. [url=" + url + "] [status=" + status + "]");
+        }
+      }
+
+      try (InputStream in = connection.getInputStream()) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+      }
+    };
+  }
+}
@@ -0,0 +1,49 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+/**
+ * Receives the outcome and the duration of each verification of a
+ * {@link SSOFacade}, see {@link SSOFacade#withMetrics(SSOMetrics)}.
+ *
+ * {@link SSOStatistics} keeps them in memory and exposes them via JMX;
+ * other implementations may forward them to a metrics library.
+ *
+ * Implementations must be thread-safe and are called on every verification,
+ * so they should neither block nor allocate.
+ */
+public interface SSOMetrics {
+
+  /**
+   * Record a verified attempt.
+   *
+   * @param durationNanos the duration of the verification in nanoseconds
+   */
+  void recordVerified(long durationNanos);
+
+  /**
+   * Record a rejected attempt.
+   *
+   * @param reason the reason for the rejection
+   * @param durationNanos the duration of the verification in nanoseconds
+   */
+  void recordRejected(SSOException.Reason reason, long durationNanos);
+
+  /**
+   * Record a rejection answered from the rejection cache, which is recorded
+   * as rejected attempt as well. This tells how much work the cache spared,
+   * e.g. during a flood of forged tokens.
+   *
+   * @see SSOFacade#withRejectionCache(int, java.time.Duration)
+   * @param reason the reason for the rejection
+   */
+  default void recordCachedRejection(final SSOException.Reason reason) {
+  }
+}
@@ -0,0 +1,173 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.lang.JoseException;
+
+/**
+ * Cheap checks of a single-sign-on attempt which run before its signature is
+ * verified. Only the header and the payload of the token are decoded, so stale
+ * tokens, tokens using a wrong algorithm and tokens lacking the instance id are
+ * rejected without paying for the RSA verification.
+ *
+ * The check only rejects tokens the full verification would reject as well.
+ * Anything it cannot make sense of, e.g. a token not consisting of three parts,
+ * is left to the full verification.
+ */
+public class SSOPreCheck {
+
+  private static final Logger logger = LogManager.getLogger(SSOPreCheck.class);
+
+  /**
+   * The only accepted signature algorithm.
+   */
+  static final String EXPECTED_ALGORITHM = AlgorithmIdentifiers.RSA_USING_SHA256;
+
+  /**
+   * The name of the header parameter holding the signature algorithm.
+   */
+  private static final String HEADER_ALGORITHM = "alg";
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The number of rejections, indexed by {@link SSOException.Reason#ordinal()}.
+   */
+  private final LongAdder[] rejections = new LongAdder[SSOException.Reason.values().length];
+
+  /**
+   * The clock to check the time claims against, in milliseconds.
+   */
+  private final LongSupplier clock;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  SSOPreCheck() {
+    this(System::currentTimeMillis);
+  }
+
+  SSOPreCheck(final LongSupplier clock) {
+    this.clock = clock;
+    for (int i = 0; i < this.rejections.length; i++) {
+      this.rejections[i] = new LongAdder();
+    }
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Check a single-sign-on attempt without verifying its signature.
+   *
+   * @param raw the raw JWT string
+   * @return the reason the attempt would fail the full verification for,
+   *         <code>null</code> if it passes
+   */
+  SSOException.Reason check(final String raw) {
+
+    final int headerEnd = raw.indexOf('.');
+    final int payloadEnd = headerEnd < 0 ? -1 : raw.indexOf('.', headerEnd + 1);
+    if (payloadEnd < 0 || raw.indexOf('.', payloadEnd + 1) >= 0) {
+      // not a JWS, leave it to the full verification
+      return null;
+    }
+
+    final Map<String, Object> header;
+    final JwtClaims claims;
+    try {
+      header = JsonUtil.parseJson(Base64UrlDecoder.decodeToUtf8String(raw, 0, headerEnd));
+      claims = JwtClaims.parse(Base64UrlDecoder.decodeToUtf8String(raw, headerEnd + 1, payloadEnd));
+    } catch (final JoseException | InvalidJwtException | RuntimeException decodingException) {
+      return this.reject(SSOException.Reason.MALFORMED);
+    }
+
+    if (!EXPECTED_ALGORITHM.equals(header.get(HEADER_ALGORITHM))) {
+      return this.reject(SSOException.Reason.ALGORITHM);
+    }
+
+    try {
+      final NumericDate expirationTime = claims.getExpirationTime();
+      final NumericDate notBefore = claims.getNotBefore();
+      if (expirationTime == null || notBefore == null || claims.getIssuedAt() == null) {
+        return this.reject(SSOException.Reason.MISSING_CLAIM);
+      }
+
+      // same comparisons as the full verification, which allows no clock skew
+      final long now = this.clock.getAsLong() / 1000;
+      if (now >= expirationTime.getValue()) {
+        return this.reject(SSOException.Reason.EXPIRED);
+      }
+      if (now < notBefore.getValue()) {
+        return this.reject(SSOException.Reason.NOT_YET_VALID);
+      }
+
+      final String instanceId = claims.getClaimValue(SSOFacade.EXPECTED_CLAIM_INSTANCE_ID, String.class);
+      if (instanceId == null || instanceId.isEmpty()) {
+        return this.reject(SSOException.Reason.INSTANCE_ID);
+      }
+    } catch (final MalformedClaimException malformationException) {
+      return this.reject(SSOException.Reason.MALFORMED);
+    }
+
+    return null;
+  }
+
+  private SSOException.Reason reject(final SSOException.Reason reason) {
+
+    this.rejections[reason.ordinal()].increment();
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Rejected sso attempt before signature verification. [reason={}]", reason);
+    }
+
+    return reason;
+  }
+
+  /**
+   * Get the number of tokens rejected for the given reason.
+   *
+   * @param reason the reason
+   * @return the number of rejected tokens
+   */
+  public long getRejectionCount(final SSOException.Reason reason) {
+    return this.rejections[reason.ordinal()].sum();
+  }
+
+  /**
+   * Get the number of tokens rejected for any reason.
+   *
+   * @return the number of rejected tokens
+   */
+  public long getRejectionCount() {
+    long count = 0;
+    for (final LongAdder rejection : this.rejections) {
+      count += rejection.sum();
+    }
+    return count;
+  }
+}
@@ -0,0 +1,275 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A size-bounded cache of recently rejected single-sign-on attempts, keyed by
+ * the fingerprint of the raw token, so a forged or corrupted token retried in
+ * a loop is rejected without verifying it again.
+ *
+ * Only rejections which cannot turn into a success are kept: bad signatures,
+ * malformed tokens and unsupported algorithms. Entries live for a short time
+ * only. The cache is cleared whenever the keys change, i.e. a refresh of an
+ * {@link SSOKeySet} or a key updated in a {@link SSOFacadeRegistry}, so a
+ * token signed with a new key is verified right away. Like {@link SSOCache},
+ * the cache is split into segments guarded by their own lock; when a segment
+ * is full, its oldest entry is dropped.
+ *
+ * @see SSOFacade#withRejectionCache(int, Duration)
+ */
+public class SSORejectionCache {
+
+  /**
+   * The time rejections are kept for by default.
+   */
+  public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(10);
+
+  /**
+   * The longest time rejections can be kept for.
+   */
+  public static final Duration MAXIMUM_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+  /**
+   * The maximum number of segments the cache is split into.
+   */
+  private static final int MAX_SEGMENTS = 16;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final Segment[] segments;
+
+  /**
+   * The time rejections are kept for, in milliseconds.
+   */
+  private final long timeToLive;
+
+  /**
+   * The clock to check the expiration against, in milliseconds.
+   */
+  private final LongSupplier clock;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  SSORejectionCache(final int maximumSize, final Duration timeToLive) {
+    this(maximumSize, timeToLive, System::currentTimeMillis);
+  }
+
+  SSORejectionCache(final int maximumSize, final Duration timeToLive, final LongSupplier clock) {
+
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("The maximum size must be positive. [maximumSize=" + maximumSize + "]");
+    }
+    if (timeToLive.isNegative() || timeToLive.isZero() || timeToLive.compareTo(MAXIMUM_TIME_TO_LIVE) > 0) {
+      throw new IllegalArgumentException("The time to live must be positive and at most "
+          + MAXIMUM_TIME_TO_LIVE + ". [timeToLive=" + timeToLive + "]");
+    }
+
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maximumSize) {
+      segmentCount *= 2;
+    }
+
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      final int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+      this.segments[i] = new Segment(capacity);
+    }
+    this.timeToLive = timeToLive.toMillis();
+    this.clock = clock;
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Check whether a rejection is kept by this cache.
+   *
+   * @param reason the reason for the rejection
+   * @return <code>true</code> if presenting the token again is rejected for
+   *         the same reason regardless of the time or the keys
+   */
+  static boolean isCacheable(final SSOException.Reason reason) {
+    return reason == SSOException.Reason.SIGNATURE
+        || reason == SSOException.Reason.MALFORMED
+        || reason == SSOException.Reason.ALGORITHM;
+  }
+
+  /**
+   * Look up a rejected attempt.
+   *
+   * @param fingerprint the fingerprint of the raw token
+   * @return the reason the attempt was rejected for, <code>null</code> if
+   *         absent or expired
+   */
+  SSOException.Reason get(final TokenFingerprint fingerprint) {
+
+    final Segment segment = this.segmentFor(fingerprint);
+    final long now = this.clock.getAsLong();
+
+    final Entry entry;
+    segment.lock.lock();
+    try {
+      entry = segment.get(fingerprint);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.expiresAt <= now) {
+        segment.remove(fingerprint);
+        return null;
+      }
+    } finally {
+      segment.lock.unlock();
+    }
+
+    this.hits.increment();
+    return entry.reason;
+  }
+
+  /**
+   * Store a rejected attempt for the time to live, if its reason is
+   * cacheable.
+   *
+   * @param fingerprint the fingerprint of the raw token
+   * @param reason the reason for the rejection
+   */
+  void put(final TokenFingerprint fingerprint, final SSOException.Reason reason) {
+
+    if (!isCacheable(reason)) {
+      return;
+    }
+
+    final Entry entry = new Entry(reason, this.clock.getAsLong() + this.timeToLive);
+    final Segment segment = this.segmentFor(fingerprint);
+    segment.lock.lock();
+    try {
+      segment.put(fingerprint, entry);
+    } finally {
+      segment.lock.unlock();
+    }
+  }
+
+  /**
+   * Remove all entries from the cache, e.g. after adding a key.
+   */
+  public void invalidateAll() {
+    for (final Segment segment : this.segments) {
+      segment.lock.lock();
+      try {
+        segment.clear();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Get the number of entries currently held, including expired ones which
+   * have not been looked up since.
+   *
+   * @return the number of entries
+   */
+  public long size() {
+    long size = 0;
+    for (final Segment segment : this.segments) {
+      segment.lock.lock();
+      try {
+        size += segment.size();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Get the number of attempts rejected from the cache, each one sparing a
+   * full verification.
+   *
+   * @return the number of hits
+   */
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Get the number of entries dropped to keep the cache within its size bound.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictionCount() {
+    return this.evictions.sum();
+  }
+
+  private Segment segmentFor(final TokenFingerprint fingerprint) {
+    return this.segments[fingerprint.hashCode() & (this.segments.length - 1)];
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * A cached rejection.
+   */
+  private static final class Entry {
+
+    private final SSOException.Reason reason;
+    private final long expiresAt;
+
+    private Entry(final SSOException.Reason reason, final long expiresAt) {
+      this.reason = reason;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /**
+   * A part of the cache in insertion order, so the oldest entry, which
+   * expires first, is dropped when full. Must only be accessed while holding
+   * its lock, like the segments of {@link SSOCache}.
+   */
+  private final class Segment extends LinkedHashMap<TokenFingerprint, Entry> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int capacity;
+
+    private Segment(final int capacity) {
+      super(16, 0.75f, false);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<TokenFingerprint, SSORejectionCache.Entry> eldest) {
+      if (this.size() <= this.capacity) {
+        return false;
+      }
+
+      SSORejectionCache.this.evictions.increment();
+      return true;
+    }
+  }
+}
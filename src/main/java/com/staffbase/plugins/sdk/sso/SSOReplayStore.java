@@ -0,0 +1,37 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+/**
+ * The store of token ids which were used already, backing the replay
+ * protection of {@link SSOFacade#withReplayStore(SSOReplayStore)}.
+ *
+ * For plugins running on several nodes, implement this on top of a store
+ * shared between them, e.g. using an atomic set-if-absent with expiry. For a
+ * single node, use the {@link InMemoryReplayStore}.
+ *
+ * Implementations must be thread-safe and are called on every verification,
+ * so they should not block for long.
+ */
+@FunctionalInterface
+public interface SSOReplayStore {
+
+  /**
+   * Record a token id as used until its token expires, unless it was
+   * recorded already.
+   *
+   * @param tokenId the id (jti) of the token
+   * @param expirationTime the expiration time of the token in seconds since the epoch
+   * @return <code>true</code> if the id was recorded now, <code>false</code>
+   *         if it was recorded already or cannot be recorded, in which case the
+   *         attempt is rejected
+   */
+  boolean markUsed(String tokenId, long expirationTime);
+}
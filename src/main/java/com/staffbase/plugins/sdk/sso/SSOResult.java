@@ -0,0 +1,104 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The outcome of verifying a single-sign-on attempt as part of a batch: either
+ * the parsed data or the exception the verification failed with.
+ *
+ * @see SSOFacade#verifyAll(java.util.Collection)
+ */
+public final class SSOResult {
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The parsed data, <code>null</code> if the verification failed.
+   */
+  private final SSOData data;
+
+  /**
+   * The failure, <code>null</code> if the verification succeeded.
+   */
+  private final SSOException failure;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private SSOResult(final SSOData data, final SSOException failure) {
+    this.data = data;
+    this.failure = failure;
+  }
+
+  static SSOResult success(final SSOData data) {
+    return new SSOResult(Objects.requireNonNull(data), null);
+  }
+
+  static SSOResult failure(final SSOException failure) {
+    return new SSOResult(null, Objects.requireNonNull(failure));
+  }
+
+  /**********************************************
+   * Getters
+   **********************************************/
+
+  /**
+   * Check whether the verification succeeded.
+   *
+   * @return <code>true</code> if the attempt was verified
+   */
+  public boolean isSuccess() {
+    return this.data != null;
+  }
+
+  /**
+   * Get the parsed data of a verified attempt.
+   *
+   * @return the parsed data, empty if the verification failed
+   */
+  public Optional<SSOData> getData() {
+    return Optional.ofNullable(this.data);
+  }
+
+  /**
+   * Get the exception the verification failed with.
+   *
+   * @return the failure, empty if the verification succeeded
+   */
+  public Optional<SSOException> getFailure() {
+    return Optional.ofNullable(this.failure);
+  }
+
+  /**
+   * Get the parsed data of a verified attempt, or throw the failure.
+   *
+   * @return the parsed data
+   * @throws SSOException if the verification failed
+   */
+  public SSOData getOrThrow() throws SSOException {
+    if (this.failure != null) {
+      throw this.failure;
+    }
+    return this.data;
+  }
+
+  @Override
+  public String toString() {
+    return this.isSuccess()
+        ? "SSOResult [ data=" + this.data + " ]"
+        : "SSOResult [ failure=" + this.failure.getMessage() + " ]";
+  }
+}
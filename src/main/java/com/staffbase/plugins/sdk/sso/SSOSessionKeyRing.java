@@ -0,0 +1,279 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.security.GeneralSecurityException;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The secret keys to sign and verify session tokens with, see
+ * {@link SSOSessions}.
+ *
+ * New tokens are signed with the current key. Tokens signed with an earlier
+ * key stay valid until that key is retired, so a key can be rotated without
+ * ending the sessions in flight: rotate to the new key on all nodes, and
+ * retire the old one once the tokens signed with it expired.
+ */
+public class SSOSessionKeyRing {
+
+  /**
+   * The minimum length of a secret in bytes.
+   */
+  public static final int MINIMUM_SECRET_LENGTH = 32;
+
+  /**
+   * The largest key id, ids are written as a single byte.
+   */
+  public static final int MAXIMUM_KEY_ID = 255;
+
+  /**
+   * The MAC algorithm.
+   */
+  static final String ALGORITHM = "HmacSHA256";
+
+  /**
+   * The length of a MAC before truncation.
+   */
+  static final int MAC_LENGTH = 32;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The keys currently in use.
+   */
+  private volatile Snapshot snapshot;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private SSOSessionKeyRing(final Key current) {
+
+    final Key[] keys = new Key[MAXIMUM_KEY_ID + 1];
+    keys[current.id] = current;
+    this.snapshot = new Snapshot(keys, current);
+  }
+
+  /**
+   * Create a key ring with a single key.
+   *
+   * @param keyId the id of the key, between 0 and {@link #MAXIMUM_KEY_ID}
+   * @param secret the secret, at least {@link #MINIMUM_SECRET_LENGTH} bytes
+   * @return the key ring
+   */
+  public static SSOSessionKeyRing create(final int keyId, final byte[] secret) {
+    return new SSOSessionKeyRing(new Key(keyId, secret));
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Add a key and sign new tokens with it. Tokens signed with the other keys
+   * stay valid.
+   *
+   * @param keyId the id of the key, not used by another key
+   * @param secret the secret, at least {@link #MINIMUM_SECRET_LENGTH} bytes
+   * @return Fluent interface.
+   */
+  public synchronized SSOSessionKeyRing rotate(final int keyId, final byte[] secret) {
+
+    final Key key = new Key(keyId, secret);
+    final Snapshot current = this.snapshot;
+    if (current.keys[keyId] != null) {
+      throw new IllegalArgumentException("The key id is used already. [keyId=" + keyId + "]");
+    }
+
+    final Key[] keys = current.keys.clone();
+    keys[keyId] = key;
+    this.snapshot = new Snapshot(keys, key);
+    return this;
+  }
+
+  /**
+   * Remove a key, tokens signed with it become invalid.
+   *
+   * @param keyId the id of the key, not the current one
+   * @return Fluent interface.
+   */
+  public synchronized SSOSessionKeyRing retire(final int keyId) {
+
+    final Snapshot current = this.snapshot;
+    if (keyId < 0 || keyId > MAXIMUM_KEY_ID || current.keys[keyId] == null) {
+      throw new IllegalArgumentException("Unknown key id. [keyId=" + keyId + "]");
+    }
+    if (current.current.id == keyId) {
+      throw new IllegalArgumentException("The current key cannot be retired. [keyId=" + keyId + "]");
+    }
+
+    final Key[] keys = current.keys.clone();
+    keys[keyId] = null;
+    this.snapshot = new Snapshot(keys, current.current);
+    return this;
+  }
+
+  /**
+   * Get the id of the key new tokens are signed with.
+   *
+   * @return the key id
+   */
+  public int getCurrentKeyId() {
+    return this.snapshot.current.id;
+  }
+
+  Key current() {
+    return this.snapshot.current;
+  }
+
+  /**
+   * Find a key.
+   *
+   * @param keyId the key id as read from a token
+   * @return the key, <code>null</code> if unknown or retired
+   */
+  Key find(final int keyId) {
+    return this.snapshot.keys[keyId];
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * A secret key, along with reused MAC engines, since initializing one
+   * costs about as much as using it.
+   */
+  static final class Key {
+
+    private final int id;
+    private final ScratchPool<Engine> engines;
+
+    private Key(final int id, final byte[] secret) {
+
+      if (id < 0 || id > MAXIMUM_KEY_ID) {
+        throw new IllegalArgumentException("The key id must be between 0 and " + MAXIMUM_KEY_ID + ". [keyId=" + id + "]");
+      }
+      Objects.requireNonNull(secret);
+      if (secret.length < MINIMUM_SECRET_LENGTH) {
+        throw new IllegalArgumentException("The secret must be at least " + MINIMUM_SECRET_LENGTH + " bytes long.");
+      }
+
+      final SecretKeySpec spec = new SecretKeySpec(secret.clone(), ALGORITHM);
+      this.id = id;
+      this.engines = new ScratchPool<>(() -> new Engine(spec));
+    }
+
+    int getId() {
+      return this.id;
+    }
+
+    /**
+     * Compute the MAC of a context and a message, and write it truncated
+     * behind the message.
+     *
+     * @param token the message, followed by room for the MAC
+     * @param length the length of the message
+     * @param macLength the length of the truncated MAC
+     */
+    void sign(final byte[] context, final byte[] token, final int length, final int macLength) {
+
+      final Engine engine = this.engines.acquire();
+      try {
+        System.arraycopy(engine.compute(context, token, length), 0, token, length, macLength);
+      } finally {
+        this.engines.release(engine);
+      }
+    }
+
+    /**
+     * Check the truncated MAC behind a message, in constant time.
+     *
+     * @param token the message, followed by its MAC
+     * @param length the length of the message
+     * @param macLength the length of the truncated MAC
+     * @return <code>true</code> if the MAC matches
+     */
+    boolean verify(final byte[] context, final byte[] token, final int length, final int macLength) {
+
+      final Engine engine = this.engines.acquire();
+      try {
+        final byte[] mac = engine.compute(context, token, length);
+        int difference = 0;
+        for (int i = 0; i < macLength; i++) {
+          difference |= mac[i] ^ token[length + i];
+        }
+        return difference == 0;
+      } finally {
+        this.engines.release(engine);
+      }
+    }
+  }
+
+  /**
+   * A MAC engine and its output buffer, used by one thread at a time.
+   */
+  private static final class Engine {
+
+    private final Mac mac;
+    private final byte[] output = new byte[MAC_LENGTH];
+
+    private Engine(final SecretKeySpec spec) {
+      try {
+        this.mac = Mac.getInstance(ALGORITHM);
+        this.mac.init(spec);
+      } catch (final GeneralSecurityException securityException) {
+        // every Java platform supports HmacSHA256
+        throw new IllegalStateException(securityException);
+      }
+    }
+
+    /**
+     * Compute the MAC of a context and a message.
+     *
+     * @return the MAC, valid until the next call
+     */
+    private byte[] compute(final byte[] context, final byte[] message, final int length) {
+
+      this.mac.update(context);
+      this.mac.update(message, 0, length);
+      try {
+        this.mac.doFinal(this.output, 0);
+      } catch (final ShortBufferException shortBufferException) {
+        throw new IllegalStateException(shortBufferException);
+      }
+
+      return this.output;
+    }
+  }
+
+  /**
+   * An immutable state of the key ring.
+   */
+  private static final class Snapshot {
+
+    /**
+     * The keys, indexed by their id.
+     */
+    private final Key[] keys;
+    private final Key current;
+
+    private Snapshot(final Key[] keys, final Key current) {
+      this.keys = keys;
+      this.current = current;
+    }
+  }
+}
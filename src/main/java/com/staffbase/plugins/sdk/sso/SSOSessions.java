@@ -0,0 +1,366 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.ReservedClaimNames;
+
+/**
+ * Local session tokens, to carry the identity of a verified single-sign-on
+ * attempt across the following requests without verifying the RSA signature
+ * of the attempt again.
+ *
+ * A session token is minted from a verified {@link SSOData} and holds the
+ * instance id and the claims named when creating the sessions, signed with
+ * HMAC-SHA256 using the current key of a {@link SSOSessionKeyRing}. It is not
+ * encrypted: do not carry claims the client must not read. It expires after
+ * the configured lifetime, but never later than the attempt it was minted
+ * from.
+ *
+ * Tokens minted by one instance verify with any instance using the same keys
+ * and claim names, e.g. on other nodes of the plugin.
+ */
+public class SSOSessions {
+
+  private static final Logger logger = LogManager.getLogger(SSOSessions.class);
+
+  /**
+   * The default lifetime of a session token.
+   */
+  public static final Duration DEFAULT_LIFETIME = Duration.ofMinutes(15);
+
+  /**
+   * The version of the token format.
+   */
+  private static final byte VERSION = 1;
+
+  /**
+   * The length of the version, key id and expiration time.
+   */
+  private static final int HEADER_LENGTH = 10;
+
+  /**
+   * The length of the truncated MAC, 128 bits.
+   */
+  private static final int MAC_LENGTH = 16;
+
+  /**
+   * The largest length of a string value in bytes.
+   */
+  private static final int MAXIMUM_STRING_LENGTH = 0xFFFF;
+
+  private static final byte ABSENT = 0;
+  private static final byte STRING = 1;
+  private static final byte STRING_LIST = 2;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final SSOSessionKeyRing keyRing;
+
+  /**
+   * The names of the carried claims, the instance id first.
+   */
+  private final String[] claims;
+
+  /**
+   * Bound into every MAC, so tokens of sessions carrying other claims do
+   * not verify.
+   */
+  private final byte[] context;
+
+  /**
+   * The clock to check the expiration time against, in milliseconds.
+   */
+  private final LongSupplier clock;
+
+  private long lifetimeSeconds = DEFAULT_LIFETIME.getSeconds();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  SSOSessions(final SSOSessionKeyRing keyRing, final String[] claims, final LongSupplier clock) {
+
+    final Set<String> known = new HashSet<>(Arrays.asList(SSODataCodec.KEYS));
+    final Set<String> carried = new LinkedHashSet<>();
+    carried.add(SSOData.KEY_INSTANCE_ID);
+    for (final String claim : claims) {
+      if (ReservedClaimNames.EXPIRATION_TIME.equals(claim)) {
+        throw new IllegalArgumentException("The expiration time is always carried.");
+      }
+      if (!known.contains(Objects.requireNonNull(claim))) {
+        throw new IllegalArgumentException("Unknown claim. [claim=" + claim + "]");
+      }
+      carried.add(claim);
+    }
+
+    this.keyRing = Objects.requireNonNull(keyRing);
+    this.claims = carried.toArray(new String[0]);
+    this.context = ("staffbase-sso-session." + VERSION + String.join(",", this.claims) + ".")
+        .getBytes(StandardCharsets.UTF_8);
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  /**
+   * Create sessions carrying the instance id and the given claims.
+   *
+   * @param keyRing the keys to sign and verify tokens with
+   * @param claims the names of the carried claims besides the instance id,
+   *               string or string list claims, e.g. {@link SSOData#KEY_USER_ID}
+   * @return the sessions
+   * @throws IllegalArgumentException if a claim is not one of the
+   *                                  <code>SSOData.KEY_*</code> constants
+   */
+  public static SSOSessions create(final SSOSessionKeyRing keyRing, final String... claims) {
+    return new SSOSessions(keyRing, claims, System::currentTimeMillis);
+  }
+
+  /**
+   * Set the lifetime of the minted tokens, capped by the expiration time of
+   * the attempt they are minted from.
+   *
+   * Must be called before the sessions are shared between threads.
+   *
+   * @param lifetime the lifetime, at least a second
+   * @return Fluent interface.
+   */
+  public SSOSessions withLifetime(final Duration lifetime) {
+
+    if (lifetime.getSeconds() <= 0) {
+      throw new IllegalArgumentException("The lifetime must be at least a second. [lifetime=" + lifetime + "]");
+    }
+
+    this.lifetimeSeconds = lifetime.getSeconds();
+    return this;
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Mint a session token.
+   *
+   * @param data the data of a verified single-sign-on attempt
+   * @return the token, URL safe
+   * @throws IllegalArgumentException if the data lacks the instance id, has
+   *                                  expired, or holds a claim which cannot be
+   *                                  carried
+   */
+  public String mint(final SSOData data) {
+
+    Objects.requireNonNull(data);
+
+    final long now = this.clock.getAsLong() / 1000;
+    final Long attemptExpiration = data.getExpirationTimeOrNull();
+    final long expirationTime = attemptExpiration == null
+        ? now + this.lifetimeSeconds
+        : Math.min(now + this.lifetimeSeconds, attemptExpiration);
+    if (expirationTime <= now) {
+      throw new IllegalArgumentException("The attempt has expired already.");
+    }
+
+    final Object[] values = new Object[this.claims.length];
+    final byte[][] encoded = new byte[this.claims.length][];
+    int length = HEADER_LENGTH;
+    for (int i = 0; i < this.claims.length; i++) {
+      values[i] = data.getValueOrNull(this.claims[i]);
+      length += 1;
+      if (values[i] instanceof String) {
+        encoded[i] = encode((String) values[i]);
+        length += 2 + encoded[i].length;
+      } else if (values[i] instanceof List) {
+        final List<?> list = (List<?>) values[i];
+        length += 2;
+        for (final Object element : list) {
+          if (!(element instanceof String)) {
+            throw new IllegalArgumentException("Only lists of strings can be carried. [claim=" + this.claims[i] + "]");
+          }
+          length += 2 + encode((String) element).length;
+        }
+      }
+    }
+    if (values[0] == null || ((String) values[0]).isEmpty()) {
+      throw new IllegalArgumentException("The data lacks the instance id.");
+    }
+
+    final SSOSessionKeyRing.Key key = this.keyRing.current();
+    final byte[] token = new byte[length + MAC_LENGTH];
+    token[0] = VERSION;
+    token[1] = (byte) key.getId();
+    writeLong(token, 2, expirationTime);
+
+    int position = HEADER_LENGTH;
+    for (int i = 0; i < this.claims.length; i++) {
+      if (values[i] instanceof String) {
+        token[position++] = STRING;
+        position = writeString(token, position, encoded[i]);
+      } else if (values[i] instanceof List) {
+        final List<?> list = (List<?>) values[i];
+        if (list.size() > MAXIMUM_STRING_LENGTH) {
+          throw new IllegalArgumentException("The list is too long to be carried. [claim=" + this.claims[i] + "]");
+        }
+        token[position++] = STRING_LIST;
+        position = writeShort(token, position, list.size());
+        for (final Object element : list) {
+          position = writeString(token, position, encode((String) element));
+        }
+      } else {
+        token[position++] = ABSENT;
+      }
+    }
+
+    key.sign(this.context, token, length, MAC_LENGTH);
+
+    return ENCODER.encodeToString(token);
+  }
+
+  /**
+   * Verify a session token.
+   *
+   * @param raw the token, as minted by {@link #mint(SSOData)}
+   * @return the carried data, claims not carried are absent
+   * @throws SSOException if the token is malformed, its key is unknown or
+   *                      retired, its MAC does not match or it has expired
+   */
+  public SSOData verify(final String raw) throws SSOException {
+
+    Objects.requireNonNull(raw);
+
+    final byte[] token;
+    try {
+      token = DECODER.decode(raw);
+    } catch (final IllegalArgumentException decodingException) {
+      throw this.reject(SSOException.Reason.MALFORMED);
+    }
+    if (token.length < HEADER_LENGTH + MAC_LENGTH || token[0] != VERSION) {
+      throw this.reject(SSOException.Reason.MALFORMED);
+    }
+
+    final SSOSessionKeyRing.Key key = this.keyRing.find(token[1] & 0xFF);
+    if (key == null) {
+      throw this.reject(SSOException.Reason.SIGNATURE);
+    }
+
+    final int length = token.length - MAC_LENGTH;
+    if (!key.verify(this.context, token, length, MAC_LENGTH)) {
+      throw this.reject(SSOException.Reason.SIGNATURE);
+    }
+
+    final long expirationTime = readLong(token, 2);
+    if (this.clock.getAsLong() / 1000 >= expirationTime) {
+      throw this.reject(SSOException.Reason.EXPIRED);
+    }
+
+    final JwtClaims claims = new JwtClaims();
+    claims.setClaim(ReservedClaimNames.EXPIRATION_TIME, expirationTime);
+    try {
+      int position = HEADER_LENGTH;
+      for (final String claim : this.claims) {
+        final byte type = token[position++];
+        if (type == STRING) {
+          final int stringLength = readShort(token, position);
+          claims.setClaim(claim, new String(token, position + 2, stringLength, StandardCharsets.UTF_8));
+          position += 2 + stringLength;
+        } else if (type == STRING_LIST) {
+          final String[] list = new String[readShort(token, position)];
+          position += 2;
+          for (int i = 0; i < list.length; i++) {
+            final int stringLength = readShort(token, position);
+            list[i] = new String(token, position + 2, stringLength, StandardCharsets.UTF_8);
+            position += 2 + stringLength;
+          }
+          claims.setClaim(claim, Arrays.asList(list));
+        } else if (type != ABSENT) {
+          throw this.reject(SSOException.Reason.MALFORMED);
+        }
+      }
+      if (position != length) {
+        throw this.reject(SSOException.Reason.MALFORMED);
+      }
+
+      return SSOData.createLazy(claims);
+    } catch (final IndexOutOfBoundsException | MalformedClaimException malformationException) {
+      // only tokens minted with a matching key get here, so this is a bug
+      throw this.reject(SSOException.Reason.MALFORMED);
+    }
+  }
+
+  private SSOException reject(final SSOException.Reason reason) {
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Rejected session token. [reason={}]", reason);
+    }
+
+    return new SSOException(reason, reason.getDescription());
+  }
+
+  private static byte[] encode(final String value) {
+
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > MAXIMUM_STRING_LENGTH) {
+      throw new IllegalArgumentException("The value is too long to be carried.");
+    }
+    return bytes;
+  }
+
+  private static int writeString(final byte[] token, final int position, final byte[] value) {
+
+    final int next = writeShort(token, position, value.length);
+    System.arraycopy(value, 0, token, next, value.length);
+    return next + value.length;
+  }
+
+  private static int writeShort(final byte[] token, final int position, final int value) {
+
+    token[position] = (byte) (value >>> 8);
+    token[position + 1] = (byte) value;
+    return position + 2;
+  }
+
+  private static int readShort(final byte[] token, final int position) {
+    return (token[position] & 0xFF) << 8 | token[position + 1] & 0xFF;
+  }
+
+  private static void writeLong(final byte[] token, final int position, final long value) {
+    for (int i = 0; i < 8; i++) {
+      token[position + i] = (byte) (value >>> (56 - 8 * i));
+    }
+  }
+
+  private static long readLong(final byte[] token, final int position) {
+
+    long value = 0;
+    for (int i = 0; i < 8; i++) {
+      value = value << 8 | token[position + i] & 0xFF;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,225 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * {@link SSOMetrics} kept in memory: the number of verified attempts, the
+ * number of rejected attempts by reason, and histograms of the durations of
+ * both.
+ *
+ * Recording takes a few atomic increments and does not allocate. Register the
+ * statistics as an MBean to read them via JMX.
+ */
+public class SSOStatistics implements SSOMetrics, SSOStatisticsMXBean {
+
+  /**
+   * The domain of the registered MBeans.
+   */
+  public static final String JMX_DOMAIN = "com.staffbase.plugins.sdk";
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final LongAdder verified = new LongAdder();
+
+  /**
+   * The number of rejections, indexed by {@link SSOException.Reason#ordinal()}.
+   */
+  private final LongAdder[] rejected = new LongAdder[SSOException.Reason.values().length];
+
+  /**
+   * The number of rejections answered from the rejection cache.
+   */
+  private final LongAdder cachedRejections = new LongAdder();
+
+  private final LatencyHistogram verifiedLatency = new LatencyHistogram();
+  private final LatencyHistogram rejectedLatency = new LatencyHistogram();
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  public SSOStatistics() {
+    for (int i = 0; i < this.rejected.length; i++) {
+      this.rejected[i] = new LongAdder();
+    }
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  @Override
+  public void recordVerified(final long durationNanos) {
+    this.verified.increment();
+    this.verifiedLatency.record(durationNanos);
+  }
+
+  @Override
+  public void recordRejected(final SSOException.Reason reason, final long durationNanos) {
+    this.rejected[reason.ordinal()].increment();
+    this.rejectedLatency.record(durationNanos);
+  }
+
+  @Override
+  public void recordCachedRejection(final SSOException.Reason reason) {
+    this.cachedRejections.increment();
+  }
+
+  /**
+   * Register the statistics with the platform MBean server.
+   *
+   * @param name the name telling apart several facades, e.g. the plugin id
+   * @return the name of the MBean
+   * @throws JMException if the MBean cannot be registered, e.g. because the
+   *                     name is taken
+   */
+  public ObjectName registerMBean(final String name) throws JMException {
+
+    Objects.requireNonNull(name);
+
+    final ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=SSOStatistics,name=" + ObjectName.quote(name));
+    ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+    return objectName;
+  }
+
+  /**
+   * Unregister the statistics from the platform MBean server.
+   *
+   * @param objectName the name returned by {@link #registerMBean(String)}
+   * @throws JMException if the MBean cannot be unregistered
+   */
+  public static void unregisterMBean(final ObjectName objectName) throws JMException {
+
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    if (server.isRegistered(objectName)) {
+      server.unregisterMBean(objectName);
+    }
+  }
+
+  @Override
+  public void reset() {
+
+    this.verified.reset();
+    for (final LongAdder rejected : this.rejected) {
+      rejected.reset();
+    }
+    this.cachedRejections.reset();
+    this.verifiedLatency.reset();
+    this.rejectedLatency.reset();
+  }
+
+  /**********************************************
+   * Getters
+   **********************************************/
+
+  @Override
+  public long getVerifiedCount() {
+    return this.verified.sum();
+  }
+
+  /**
+   * Get the number of attempts rejected for the given reason.
+   *
+   * @param reason the reason
+   * @return the number of rejected attempts
+   */
+  public long getRejectedCount(final SSOException.Reason reason) {
+    return this.rejected[reason.ordinal()].sum();
+  }
+
+  @Override
+  public long getRejectedCount() {
+    long count = 0;
+    for (final LongAdder rejected : this.rejected) {
+      count += rejected.sum();
+    }
+    return count;
+  }
+
+  @Override
+  public Map<String, Long> getRejectedCountByReason() {
+    final Map<String, Long> counts = new LinkedHashMap<>();
+    for (final SSOException.Reason reason : SSOException.Reason.values()) {
+      counts.put(reason.name(), this.getRejectedCount(reason));
+    }
+    return counts;
+  }
+
+  @Override
+  public long getCachedRejectionCount() {
+    return this.cachedRejections.sum();
+  }
+
+  /**
+   * Get the durations of verified attempts.
+   *
+   * @return the histogram of durations in nanoseconds
+   */
+  public LatencyHistogram getVerifiedLatency() {
+    return this.verifiedLatency;
+  }
+
+  /**
+   * Get the durations of rejected attempts.
+   *
+   * @return the histogram of durations in nanoseconds
+   */
+  public LatencyHistogram getRejectedLatency() {
+    return this.rejectedLatency;
+  }
+
+  @Override
+  public double getVerifyLatencyMeanMicros() {
+    return this.verifiedLatency.getMean() / 1000;
+  }
+
+  @Override
+  public long getVerifyLatencyP50Micros() {
+    return toMicros(this.verifiedLatency.getValueAtPercentile(50));
+  }
+
+  @Override
+  public long getVerifyLatencyP90Micros() {
+    return toMicros(this.verifiedLatency.getValueAtPercentile(90));
+  }
+
+  @Override
+  public long getVerifyLatencyP99Micros() {
+    return toMicros(this.verifiedLatency.getValueAtPercentile(99));
+  }
+
+  @Override
+  public long getVerifyLatencyP999Micros() {
+    return toMicros(this.verifiedLatency.getValueAtPercentile(99.9));
+  }
+
+  @Override
+  public long getVerifyLatencyMaxMicros() {
+    return toMicros(this.verifiedLatency.getMax());
+  }
+
+  private static long toMicros(final long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
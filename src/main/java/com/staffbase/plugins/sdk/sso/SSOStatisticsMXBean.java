@@ -0,0 +1,76 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link SSOStatistics}. The latencies are those
+ * of verified attempts, given in microseconds.
+ */
+public interface SSOStatisticsMXBean {
+
+  /**
+   * @return the number of verified attempts, including those answered from
+   *         the cache
+   */
+  long getVerifiedCount();
+
+  /**
+   * @return the number of rejected attempts for any reason
+   */
+  long getRejectedCount();
+
+  /**
+   * @return the number of rejected attempts by {@link SSOException.Reason}
+   */
+  Map<String, Long> getRejectedCountByReason();
+
+  /**
+   * @return the number of rejected attempts answered from the rejection
+   *         cache, included in {@link #getRejectedCount()}
+   */
+  long getCachedRejectionCount();
+
+  /**
+   * @return the mean duration of verified attempts, 0 if none was recorded
+   */
+  double getVerifyLatencyMeanMicros();
+
+  /**
+   * @return the duration half of the verified attempts do not exceed
+   */
+  long getVerifyLatencyP50Micros();
+
+  /**
+   * @return the duration 90% of the verified attempts do not exceed
+   */
+  long getVerifyLatencyP90Micros();
+
+  /**
+   * @return the duration 99% of the verified attempts do not exceed
+   */
+  long getVerifyLatencyP99Micros();
+
+  /**
+   * @return the duration 99.9% of the verified attempts do not exceed
+   */
+  long getVerifyLatencyP999Micros();
+
+  /**
+   * @return the longest duration of a verified attempt, 0 if none was recorded
+   */
+  long getVerifyLatencyMaxMicros();
+
+  /**
+   * Forget all counts and durations.
+   */
+  void reset();
+}
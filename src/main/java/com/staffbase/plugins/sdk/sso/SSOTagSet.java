@@ -0,0 +1,388 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An immutable set of user tags, answering membership in constant time.
+ *
+ * Tags get an index in a dictionary shared by the tag sets built at the same
+ * time when they are first seen, and a set is a bitset over these indexes, so
+ * checking a tag is a map lookup and a bit test, and checking a whole
+ * {@link SSOTagSet} built up front, e.g. the tags an endpoint requires, takes
+ * a few word operations.
+ *
+ * The dictionary holds at most {@link #DICTIONARY_CAPACITY} tags. Once full,
+ * a new one is started and the tags in use get their indexes again, so
+ * neither the dictionary nor the bitsets grow with all tags ever seen. Sets
+ * keep the dictionary they were built with; checks between sets of different
+ * dictionaries compare tag by tag.
+ *
+ * @see SSOData#getTagSet()
+ */
+public final class SSOTagSet {
+
+  /**
+   * The maximum number of tags with an index.
+   */
+  public static final int DICTIONARY_CAPACITY = 4096;
+
+  /**
+   * The dictionary new tag sets are built with.
+   */
+  private static final AtomicReference<Dictionary> DICTIONARY = new AtomicReference<>(new Dictionary());
+
+  private static final long[] NO_BITS = new long[0];
+
+  /**
+   * The set without tags.
+   */
+  public static final SSOTagSet EMPTY = new SSOTagSet(new Dictionary(), NO_BITS, Collections.emptySet(), Collections.emptyList());
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The dictionary giving the indexes of the bits.
+   */
+  private final Dictionary dictionary;
+
+  /**
+   * The indexed tags.
+   */
+  private final long[] bits;
+
+  /**
+   * The tags without index, usually none. An indexed tag may be found here
+   * as well, if it got its index after the set was built.
+   */
+  private final Set<String> others;
+
+  /**
+   * The distinct tags, in their original order.
+   */
+  private final List<String> tags;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private SSOTagSet(final Dictionary dictionary, final long[] bits, final Set<String> others, final List<String> tags) {
+    this.dictionary = dictionary;
+    this.bits = bits;
+    this.others = others;
+    this.tags = tags;
+  }
+
+  /**
+   * Create a tag set.
+   *
+   * @param tags the tags, <code>null</code> elements are ignored
+   * @return the tag set
+   */
+  public static SSOTagSet of(final Collection<String> tags) {
+
+    if (tags == null || tags.isEmpty()) {
+      return EMPTY;
+    }
+
+    final Dictionary dictionary = DICTIONARY.get();
+    final SSOTagSet tagSet = of(tags, dictionary, false);
+    if (tagSet != null) {
+      return tagSet;
+    }
+
+    // the dictionary is full, start a new one unless another thread just did
+    DICTIONARY.compareAndSet(dictionary, new Dictionary());
+    return of(tags, DICTIONARY.get(), true);
+  }
+
+  /**
+   * Create a tag set with a dictionary.
+   *
+   * @param tags the tags, <code>null</code> elements are ignored
+   * @param dictionary the dictionary
+   * @param overflow whether tags beyond the capacity of the dictionary are
+   *        kept in a hash set
+   * @return the tag set, <code>null</code> if the dictionary is full and the
+   *         tags may not overflow
+   */
+  private static SSOTagSet of(final Collection<String> tags, final Dictionary dictionary, final boolean overflow) {
+
+    long[] bits = NO_BITS;
+    Set<String> others = Collections.emptySet();
+    final List<String> distinct = new ArrayList<>(tags.size());
+    for (final String tag : tags) {
+      if (tag == null) {
+        continue;
+      }
+
+      final int index = dictionary.register(tag);
+      if (index < 0) {
+        if (!overflow) {
+          return null;
+        }
+        if (others.isEmpty()) {
+          others = new HashSet<>();
+        }
+        if (others.add(tag)) {
+          distinct.add(tag);
+        }
+        continue;
+      }
+
+      final int word = index >>> 6;
+      if (word >= bits.length) {
+        bits = Arrays.copyOf(bits, word + 1);
+      }
+      if ((bits[word] & 1L << index) == 0) {
+        bits[word] |= 1L << index;
+        distinct.add(tag);
+      }
+    }
+
+    return distinct.isEmpty() ? EMPTY : new SSOTagSet(dictionary, bits, others, Collections.unmodifiableList(distinct));
+  }
+
+  /**
+   * Create a tag set.
+   *
+   * @param tags the tags
+   * @return the tag set
+   */
+  public static SSOTagSet of(final String... tags) {
+    return of(Arrays.asList(tags));
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Check for a tag.
+   *
+   * @param tag the tag
+   * @return <code>true</code> if the set holds the tag
+   */
+  public boolean hasTag(final String tag) {
+
+    final Integer index = this.dictionary.indexes.get(tag);
+    if (index != null) {
+      final int word = index >>> 6;
+      if (word < this.bits.length && (this.bits[word] & 1L << index) != 0) {
+        return true;
+      }
+    }
+
+    return !this.others.isEmpty() && this.others.contains(tag);
+  }
+
+  /**
+   * Check for any of the given tags.
+   *
+   * @param tags the tags
+   * @return <code>true</code> if the set holds at least one of the tags
+   */
+  public boolean hasAnyTag(final String... tags) {
+
+    for (final String tag : tags) {
+      if (this.hasTag(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Check for all of the given tags.
+   *
+   * @param tags the tags
+   * @return <code>true</code> if the set holds each of the tags
+   */
+  public boolean hasAllTags(final String... tags) {
+
+    for (final String tag : tags) {
+      if (!this.hasTag(tag)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check for any of the tags of a set, comparing whole words of the bitsets
+   * if possible.
+   *
+   * @param tags the tags
+   * @return <code>true</code> if this set holds at least one of the tags
+   */
+  public boolean hasAnyTag(final SSOTagSet tags) {
+
+    if (this.dictionary != tags.dictionary) {
+      return this.hasAnyTag(tags.tags);
+    }
+
+    final int words = Math.min(this.bits.length, tags.bits.length);
+    for (int i = 0; i < words; i++) {
+      if ((this.bits[i] & tags.bits[i]) != 0) {
+        return true;
+      }
+    }
+
+    if (this.others.isEmpty() && tags.others.isEmpty()) {
+      return false;
+    }
+    return this.hasAnyTag(tags.tags);
+  }
+
+  /**
+   * Check for all tags of a set, comparing whole words of the bitsets if
+   * possible.
+   *
+   * @param tags the tags
+   * @return <code>true</code> if this set holds each of the tags
+   */
+  public boolean hasAllTags(final SSOTagSet tags) {
+
+    if (this.dictionary == tags.dictionary && this.others.isEmpty() && tags.others.isEmpty()) {
+      for (int i = 0; i < tags.bits.length; i++) {
+        final long own = i < this.bits.length ? this.bits[i] : 0;
+        if ((tags.bits[i] & ~own) != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    for (final String tag : tags.tags) {
+      if (!this.hasTag(tag)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean hasAnyTag(final List<String> tags) {
+
+    for (final String tag : tags) {
+      if (this.hasTag(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Get the number of distinct tags.
+   *
+   * @return the number of tags
+   */
+  public int size() {
+    return this.tags.size();
+  }
+
+  /**
+   * Check whether the set holds no tags.
+   *
+   * @return <code>true</code> if there are no tags
+   */
+  public boolean isEmpty() {
+    return this.tags.isEmpty();
+  }
+
+  /**
+   * Get the tags.
+   *
+   * @return the distinct tags in their original order, unmodifiable
+   */
+  public List<String> asList() {
+    return this.tags;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof SSOTagSet)) {
+      return false;
+    }
+
+    final SSOTagSet tagSet = (SSOTagSet) other;
+    return this.size() == tagSet.size() && this.hasAllTags(tagSet);
+  }
+
+  @Override
+  public int hashCode() {
+    return new HashSet<>(this.tags).hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return this.tags.toString();
+  }
+
+  /**
+   * Check whether all tags have an index in the dictionary of the set.
+   *
+   * @return <code>true</code> if no tag is kept in the hash set
+   */
+  boolean isIndexed() {
+    return this.others.isEmpty();
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * The indexes of the tags seen since the dictionary was started, never
+   * removed.
+   */
+  private static final class Dictionary {
+
+    private final ConcurrentHashMap<String, Integer> indexes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    /**
+     * Get the index of a tag, registering it if new.
+     *
+     * @return the index, -1 if the dictionary is full
+     */
+    private int register(final String tag) {
+
+      final Integer index = this.indexes.get(tag);
+      if (index != null) {
+        return index;
+      }
+      if (this.nextIndex.get() >= DICTIONARY_CAPACITY) {
+        return -1;
+      }
+
+      final Integer registered = this.indexes.computeIfAbsent(tag, key -> {
+        final int next = this.nextIndex.getAndIncrement();
+        return next < DICTIONARY_CAPACITY ? next : null;
+      });
+      return registered == null ? -1 : registered;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.ReservedClaimNames;
+
+/**
+ * Decodes single-sign-on tokens whose signature was verified upstream, e.g.
+ * by a gateway which passes the token on to the plugin.
+ *
+ * <b>The signature is not verified.</b> Only use this where no request can
+ * reach the plugin without passing the upstream verification; anywhere else,
+ * use {@link SSOFacade}, which cannot be switched to this mode.
+ *
+ * The time claims and the instance id are still checked the way
+ * {@link SSOFacade#verify(String)} checks them. Only the claims named when
+ * creating the decoder are decoded; the others are skipped without building a
+ * map of all claims, and read as absent from the returned {@link SSOData}.
+ */
+public class SSOTrustedDecoder {
+
+  private static final Logger logger = LogManager.getLogger(SSOTrustedDecoder.class);
+
+  /**
+   * The claims which are always decoded, since they are checked.
+   */
+  private static final String[] CHECKED_CLAIMS = {
+      ReservedClaimNames.EXPIRATION_TIME,
+      ReservedClaimNames.NOT_BEFORE,
+      ReservedClaimNames.ISSUED_AT,
+      SSOData.KEY_INSTANCE_ID,
+  };
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The names of the decoded claims.
+   */
+  private final String[] projection;
+
+  /**
+   * The clock to check the time claims against, in milliseconds.
+   */
+  private final LongSupplier clock;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  SSOTrustedDecoder(final String[] claims, final LongSupplier clock) {
+
+    final Set<String> projection = new LinkedHashSet<>(Arrays.asList(CHECKED_CLAIMS));
+    for (final String claim : claims) {
+      projection.add(Objects.requireNonNull(claim));
+    }
+
+    this.projection = projection.toArray(new String[0]);
+    this.clock = Objects.requireNonNull(clock);
+
+    if (logger.isInfoEnabled()) {
+      logger.info("Decoding sso attempts without verifying their signature. [claims={}]",
+          Arrays.toString(this.projection));
+    }
+  }
+
+  /**
+   * Create a decoder for tokens verified upstream.
+   *
+   * @param claims the names of the claims to decode besides the checked ones,
+   *               e.g. {@link SSOData#KEY_USER_ID}
+   * @return a decoder which does not verify signatures
+   */
+  public static SSOTrustedDecoder create(final String... claims) {
+    return new SSOTrustedDecoder(claims, System::currentTimeMillis);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Decode a token whose signature was verified upstream.
+   *
+   * @param raw the raw JWT string
+   * @return the decoded claims, those not named when creating the decoder
+   *         are absent
+   * @throws SSOException if the token is malformed, its time claims are not
+   *                      met or it lacks the instance id
+   */
+  public SSOData decodeTrusted(final String raw) throws SSOException {
+
+    Objects.requireNonNull(raw);
+
+    final int headerEnd = raw.indexOf('.');
+    final int payloadEnd = headerEnd < 0 ? -1 : raw.indexOf('.', headerEnd + 1);
+    if (payloadEnd < 0 || raw.indexOf('.', payloadEnd + 1) >= 0) {
+      throw this.reject(SSOException.Reason.MALFORMED);
+    }
+
+    final JwtClaims claims;
+    try {
+      claims = ClaimScanner.scan(Base64UrlDecoder.decodeToUtf8String(raw, headerEnd + 1, payloadEnd), this.projection);
+    } catch (final RuntimeException decodingException) {
+      throw this.reject(SSOException.Reason.MALFORMED);
+    }
+
+    final Object expirationTime = claims.getClaimValue(ReservedClaimNames.EXPIRATION_TIME);
+    final Object notBefore = claims.getClaimValue(ReservedClaimNames.NOT_BEFORE);
+    final Object issuedAt = claims.getClaimValue(ReservedClaimNames.ISSUED_AT);
+    if (expirationTime == null || notBefore == null || issuedAt == null) {
+      throw this.reject(SSOException.Reason.MISSING_CLAIM);
+    }
+    if (!(expirationTime instanceof Number) || !(notBefore instanceof Number) || !(issuedAt instanceof Number)) {
+      throw this.reject(SSOException.Reason.MALFORMED);
+    }
+
+    // same comparisons as the full verification, which allows no clock skew
+    final long now = this.clock.getAsLong() / 1000;
+    if (now >= ((Number) expirationTime).longValue()) {
+      throw this.reject(SSOException.Reason.EXPIRED);
+    }
+    if (now < ((Number) notBefore).longValue()) {
+      throw this.reject(SSOException.Reason.NOT_YET_VALID);
+    }
+
+    final Object instanceId = claims.getClaimValue(SSOData.KEY_INSTANCE_ID);
+    if (!(instanceId instanceof String) || ((String) instanceId).isEmpty()) {
+      throw this.reject(SSOException.Reason.INSTANCE_ID);
+    }
+
+    try {
+      return SSOData.createLazy(claims);
+    } catch (final MalformedClaimException malformationException) {
+      throw this.reject(SSOException.Reason.MALFORMED);
+    }
+  }
+
+  private SSOException reject(final SSOException.Reason reason) {
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Rejected trusted sso attempt. [reason={}]", reason);
+    }
+
+    return new SSOException(reason, reason.getDescription());
+  }
+}
@@ -0,0 +1,170 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.lang.JoseException;
+
+/**
+ * Tokens for warming up the verification path, signed with a throwaway key
+ * of the size staffbase uses. They carry every claim the app may send, so
+ * parsing them touches the same code as parsing real attempts.
+ *
+ * @see SSOFacade#warmUp()
+ */
+final class SSOWarmUp {
+
+  /**
+   * The size of the throwaway key in bits.
+   */
+  private static final int KEY_SIZE = 2048;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final KeyPair keyPair;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private SSOWarmUp(final KeyPair keyPair) {
+    this.keyPair = keyPair;
+  }
+
+  /**
+   * Generate a throwaway key.
+   *
+   * @return the warm-up
+   */
+  static SSOWarmUp create() {
+
+    try {
+      final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(KEY_SIZE);
+
+      return new SSOWarmUp(generator.generateKeyPair());
+    } catch (final NoSuchAlgorithmException noSuchAlgorithmException) {
+      throw new IllegalStateException("RSA is not available.", noSuchAlgorithmException);
+    }
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Sign distinct tokens, valid for a few minutes.
+   *
+   * @param count the number of tokens
+   * @return the compact serializations
+   */
+  String[] sign(final int count) {
+
+    final String[] tokens = new String[count];
+    for (int i = 0; i < count; i++) {
+      tokens[i] = this.sign(claims(10));
+    }
+
+    return tokens;
+  }
+
+  /**
+   * Sign a token which expired a minute ago, so it is rejected by the
+   * pre-check without logging a rejection.
+   *
+   * @return the compact serialization
+   */
+  String signExpired() {
+    return this.sign(claims(-1));
+  }
+
+  /**
+   * Sign a token and damage its signature, so it is rejected by the
+   * signature check.
+   *
+   * @return the compact serialization
+   */
+  String signTampered() {
+
+    final char[] token = this.sign(claims(10)).toCharArray();
+
+    // a character in the middle of the signature, whose bits all count
+    final int index = token.length - 10;
+    token[index] = token[index] == 'A' ? 'B' : 'A';
+
+    return new String(token);
+  }
+
+  /**
+   * Get the public key of the throwaway key.
+   *
+   * @return the public key
+   */
+  RSAPublicKey getPublicKey() {
+    return (RSAPublicKey) this.keyPair.getPublic();
+  }
+
+  private String sign(final JwtClaims claims) {
+
+    final JsonWebSignature jws = new JsonWebSignature();
+
+    jws.setPayload(claims.toJson());
+    jws.setKey(this.keyPair.getPrivate());
+    jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.RSA_USING_SHA256);
+
+    try {
+      return jws.getCompactSerialization();
+    } catch (final JoseException joseException) {
+      throw new IllegalStateException("Could not sign a warm-up token.", joseException);
+    }
+  }
+
+  private static JwtClaims claims(final float expiresInMinutes) {
+
+    final JwtClaims claims = new JwtClaims();
+
+    claims.setExpirationTimeMinutesInTheFuture(expiresInMinutes);
+    claims.setIssuedAtToNow();
+    claims.setNotBeforeMinutesInThePast(2);
+    claims.setGeneratedJwtId();
+    claims.setIssuer("api.staffbase.com");
+    claims.setAudience("warm-up");
+    claims.setSubject("000000000000000000000000");
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, "000000000000000000000000");
+    claims.setClaim(SSOData.KEY_SESSION_ID, "warm-up");
+    claims.setClaim(SSOData.KEY_BRANCH_ID, "000000000000000000000000");
+    claims.setClaim(SSOData.KEY_BRANCH_SLUG, "warm-up");
+    claims.setClaim(SSOData.KEY_USER_EXTERNAL_ID, "warm-up");
+    claims.setClaim(SSOData.KEY_USER_USERNAME, "warm-up");
+    claims.setClaim(SSOData.KEY_USER_PRIMARY_EMAIL_ADDRESS, "warm-up@example.com");
+    claims.setClaim(SSOData.KEY_USER_FIRST_NAME, "Warm");
+    claims.setClaim(SSOData.KEY_USER_LAST_NAME, "Up");
+    claims.setClaim(SSOData.KEY_USER_FULL_NAME, "Warm Up");
+    claims.setClaim(SSOData.KEY_USER_ROLE, "user");
+    claims.setClaim(SSOData.KEY_USER_LOCALE, "en_US");
+    claims.setClaim(SSOData.KEY_INSTANCE_NAME, "Warm-up");
+    claims.setClaim(SSOData.KEY_ENTITY_TYPE, "user");
+    claims.setClaim(SSOData.KEY_THEME_TEXT_COLOR, "#000000");
+    claims.setClaim(SSOData.KEY_THEME_BACKGROUND_COLOR, "#FFFFFF");
+    claims.setStringListClaim(SSOData.KEY_TAGS, Arrays.asList("warm-up:1", "warm-up:2"));
+
+    return claims;
+  }
+}
@@ -0,0 +1,63 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.function.Supplier;
+
+/**
+ * Scratch state of the verification path, e.g. digests and buffers, reused
+ * across calls instead of being allocated for every token.
+ *
+ * This variant keeps one instance per thread. On Java 21, the multi-release
+ * jar holds a variant keeping the instances of virtual threads in a bounded
+ * pool instead, as they are too many and too short-lived to hold their own.
+ *
+ * Callers {@link #acquire()} an instance, use it on the calling thread only
+ * and {@link #release(Object)} it afterwards, without acquiring another one
+ * in between.
+ */
+final class ScratchPool<T> {
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final ThreadLocal<T> local;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  ScratchPool(final Supplier<T> factory) {
+    this.local = ThreadLocal.withInitial(factory);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Take an instance for use on the calling thread.
+   *
+   * @return the instance
+   */
+  T acquire() {
+    return this.local.get();
+  }
+
+  /**
+   * Hand back an instance once done.
+   *
+   * @param scratch the instance acquired, or one replacing it, e.g. a grown buffer
+   */
+  void release(final T scratch) {
+    this.local.set(scratch);
+  }
+}
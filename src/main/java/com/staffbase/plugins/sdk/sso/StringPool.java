@@ -0,0 +1,89 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of strings, so values repeated across many {@link SSOData}
+ * instances, like instance ids or locales, are kept once.
+ *
+ * The pool is direct-mapped: each string has a single slot, chosen by its
+ * hash. A string taking a slot evicts the previous one, so the pool never
+ * grows, frequent values win their slot back right away, and neither lookups
+ * nor evictions take a lock. An evicted string stays alive as long as it is
+ * referenced, it just is not shared any more.
+ */
+final class StringPool {
+
+  /**
+   * The number of slots of the shared pool.
+   */
+  static final int DEFAULT_SIZE = 4096;
+
+  /**
+   * The pool shared by all {@link SSOData} instances.
+   */
+  static final StringPool SHARED = new StringPool(DEFAULT_SIZE);
+
+  /**
+   * Longer strings are unlikely to repeat, and costly to compare.
+   */
+  private static final int MAXIMUM_LENGTH = 128;
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final AtomicReferenceArray<String> slots;
+  private final int mask;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  StringPool(final int size) {
+
+    if (size <= 0 || Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("The size must be a power of two. [size=" + size + "]");
+    }
+
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Get the pooled instance of a string.
+   *
+   * @param value the string, may be <code>null</code>
+   * @return an equal string from the pool, or the given string, which is
+   *         pooled from now on
+   */
+  String intern(final String value) {
+
+    if (value == null || value.length() > MAXIMUM_LENGTH) {
+      return value;
+    }
+
+    final int hash = value.hashCode();
+    final int index = (hash ^ (hash >>> 16)) & this.mask;
+    final String pooled = this.slots.get(index);
+    if (value.equals(pooled)) {
+      return pooled;
+    }
+
+    this.slots.lazySet(index, value);
+    return value;
+  }
+}
@@ -0,0 +1,234 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel with a resolution of one second, reporting
+ * elements once their deadline has passed.
+ *
+ * Elements due within the next 64 seconds sit in the slot of their second;
+ * later ones sit in coarser wheels of 64 slots each and are moved to the finer
+ * ones as time proceeds. Scheduling is constant time, and advancing by a second
+ * only touches the slots due in that second, never all elements.
+ *
+ * Not thread-safe.
+ */
+final class TimingWheel<E> {
+
+  private static final int BITS = 6;
+  private static final int SLOTS = 1 << BITS;
+  private static final int MASK = SLOTS - 1;
+  private static final int LEVELS = 3;
+
+  /**
+   * The number of seconds covered by all levels. Elements due later are kept
+   * in an overflow list.
+   */
+  private static final long SPAN = 1L << (BITS * LEVELS);
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  /**
+   * The slots by level. A slot is <code>null</code> while empty.
+   */
+  private final List<Node<E>>[][] slots;
+
+  /**
+   * The elements due beyond the span of the wheel.
+   */
+  private List<Node<E>> overflow = new ArrayList<>();
+
+  /**
+   * The second the wheel has advanced to.
+   */
+  private long currentTime;
+
+  private int size;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  /**
+   * Create a wheel.
+   *
+   * @param now the current time in seconds since the epoch
+   */
+  @SuppressWarnings("unchecked")
+  TimingWheel(final long now) {
+    this.slots = new List[LEVELS][SLOTS];
+    this.currentTime = now;
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Schedule an element.
+   *
+   * @param element the element
+   * @param deadline the second, since the epoch, from which on the element is expired
+   * @return <code>false</code> if the deadline has passed already and the element was not scheduled
+   */
+  boolean schedule(final E element, final long deadline) {
+
+    if (deadline <= this.currentTime) {
+      return false;
+    }
+
+    this.place(new Node<>(element, deadline));
+    this.size++;
+    return true;
+  }
+
+  /**
+   * Advance the wheel to the given time, reporting all elements whose
+   * deadline has passed.
+   *
+   * @param now the current time in seconds since the epoch
+   * @param onExpiry receives the expired elements
+   */
+  void advance(final long now, final Consumer<E> onExpiry) {
+
+    if (now - this.currentTime >= SPAN) {
+      // idle for longer than the wheel spans, re-sort everything at once
+      final List<Node<E>> nodes = this.drain();
+      this.currentTime = now;
+      for (final Node<E> node : nodes) {
+        if (node.deadline <= now) {
+          this.size--;
+          onExpiry.accept(node.element);
+        } else {
+          this.place(node);
+        }
+      }
+      return;
+    }
+
+    while (this.currentTime < now) {
+      this.currentTime++;
+      this.cascade(1);
+
+      final int slot = (int) (this.currentTime & MASK);
+      final List<Node<E>> due = this.slots[0][slot];
+      if (due != null) {
+        this.slots[0][slot] = null;
+        this.size -= due.size();
+        for (final Node<E> node : due) {
+          onExpiry.accept(node.element);
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the number of scheduled elements.
+   *
+   * @return the number of elements
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Move the elements of the coarser level whose slot starts now into the
+   * finer levels, whenever the finer level wrapped around.
+   */
+  private void cascade(final int level) {
+
+    if (level > LEVELS) {
+      return;
+    }
+
+    final long unit = 1L << (BITS * level);
+    if ((this.currentTime & (unit - 1)) != 0) {
+      return;
+    }
+
+    this.cascade(level + 1);
+
+    final List<Node<E>> nodes;
+    if (level == LEVELS) {
+      nodes = this.overflow;
+      this.overflow = new ArrayList<>();
+    } else {
+      final int slot = (int) ((this.currentTime >>> (BITS * level)) & MASK);
+      nodes = this.slots[level][slot];
+      this.slots[level][slot] = null;
+    }
+
+    if (nodes != null) {
+      for (final Node<E> node : nodes) {
+        this.place(node);
+      }
+    }
+  }
+
+  /**
+   * Put a node into the finest level covering its deadline.
+   */
+  private void place(final Node<E> node) {
+
+    final long delay = node.deadline - this.currentTime;
+    for (int level = 0; level < LEVELS; level++) {
+      if (delay < (1L << (BITS * (level + 1)))) {
+        final int slot = (int) ((node.deadline >>> (BITS * level)) & MASK);
+        List<Node<E>> nodes = this.slots[level][slot];
+        if (nodes == null) {
+          nodes = new ArrayList<>(4);
+          this.slots[level][slot] = nodes;
+        }
+        nodes.add(node);
+        return;
+      }
+    }
+
+    this.overflow.add(node);
+  }
+
+  private List<Node<E>> drain() {
+
+    final List<Node<E>> nodes = new ArrayList<>(this.size);
+    for (final List<Node<E>>[] level : this.slots) {
+      for (int slot = 0; slot < SLOTS; slot++) {
+        if (level[slot] != null) {
+          nodes.addAll(level[slot]);
+          level[slot] = null;
+        }
+      }
+    }
+    nodes.addAll(this.overflow);
+    this.overflow = new ArrayList<>();
+
+    return nodes;
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  private static final class Node<E> {
+
+    private final E element;
+    private final long deadline;
+
+    private Node(final E element, final long deadline) {
+      this.element = element;
+      this.deadline = deadline;
+    }
+  }
+}
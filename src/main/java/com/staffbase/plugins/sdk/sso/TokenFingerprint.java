@@ -0,0 +1,237 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * A SHA-256 digest of a raw single-sign-on token. It identifies a token without
+ * holding on to the token itself, so it can be used as a cache key.
+ */
+public final class TokenFingerprint {
+
+  /**
+   * The digest algorithm used for fingerprinting.
+   */
+  private static final String ALGORITHM = "SHA-256";
+
+  /**
+   * The length of the digest in bytes.
+   */
+  private static final int DIGEST_LENGTH = 32;
+
+  /**
+   * Reused digest instances and buffers, saving the provider lookup and the
+   * copies of the token on every call.
+   */
+  private static final ScratchPool<Scratch> SCRATCH = new ScratchPool<>(Scratch::new);
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final long h0;
+  private final long h1;
+  private final long h2;
+  private final long h3;
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  private TokenFingerprint(final byte[] digest) {
+    this.h0 = toLong(digest, 0);
+    this.h1 = toLong(digest, 8);
+    this.h2 = toLong(digest, 16);
+    this.h3 = toLong(digest, 24);
+  }
+
+  /**
+   * Compute the fingerprint of a raw token.
+   *
+   * @param raw the raw JWT string
+   * @return the fingerprint
+   */
+  public static TokenFingerprint of(final String raw) {
+    return of((CharSequence) raw);
+  }
+
+  /**
+   * Compute the fingerprint of a raw token given as characters, without
+   * copying them. Characters outside of ASCII count as <code>'?'</code>, like
+   * when encoding the token as ASCII bytes.
+   *
+   * @param raw the raw JWT characters
+   * @return the fingerprint, the same as for the token given as string or as
+   *         ASCII bytes
+   */
+  public static TokenFingerprint of(final CharSequence raw) {
+
+    Objects.requireNonNull(raw);
+
+    final Scratch scratch = SCRATCH.acquire();
+    try {
+      final MessageDigest digest = scratch.start();
+      final byte[] chunk = scratch.chunk;
+      final int length = raw.length();
+      for (int start = 0; start < length; start += chunk.length) {
+        final int end = Math.min(start + chunk.length, length);
+        for (int i = start; i < end; i++) {
+          final char c = raw.charAt(i);
+          chunk[i - start] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        digest.update(chunk, 0, end - start);
+      }
+
+      return scratch.finish();
+    } finally {
+      SCRATCH.release(scratch);
+    }
+  }
+
+  /**
+   * Compute the fingerprint of a raw token given as bytes.
+   *
+   * @param raw the raw JWT bytes
+   * @return the fingerprint
+   */
+  public static TokenFingerprint of(final byte[] raw) {
+    return of(raw, 0, raw.length);
+  }
+
+  /**
+   * Compute the fingerprint of a raw token given as part of a byte array.
+   *
+   * @param raw the array holding the raw JWT bytes
+   * @param offset the index of the first byte of the token
+   * @param length the number of bytes of the token
+   * @return the fingerprint
+   */
+  public static TokenFingerprint of(final byte[] raw, final int offset, final int length) {
+
+    Objects.requireNonNull(raw);
+
+    final Scratch scratch = SCRATCH.acquire();
+    try {
+      scratch.start().update(raw, offset, length);
+      return scratch.finish();
+    } finally {
+      SCRATCH.release(scratch);
+    }
+  }
+
+  /**
+   * Compute the fingerprint of a raw token given as the remaining bytes of a
+   * buffer. The position of the buffer is left untouched.
+   *
+   * @param raw the buffer holding the raw JWT bytes
+   * @return the fingerprint
+   */
+  public static TokenFingerprint of(final ByteBuffer raw) {
+
+    Objects.requireNonNull(raw);
+
+    final Scratch scratch = SCRATCH.acquire();
+    try {
+      scratch.start().update(raw.duplicate());
+      return scratch.finish();
+    } finally {
+      SCRATCH.release(scratch);
+    }
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  private static long toLong(final byte[] bytes, final int offset) {
+    long value = 0;
+    for (int i = offset; i < offset + 8; i++) {
+      value = (value << 8) | (bytes[i] & 0xFF);
+    }
+    return value;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof TokenFingerprint)) {
+      return false;
+    }
+
+    final TokenFingerprint that = (TokenFingerprint) other;
+    return this.h0 == that.h0 && this.h1 == that.h1
+        && this.h2 == that.h2 && this.h3 == that.h3;
+  }
+
+  @Override
+  public int hashCode() {
+    // The digest is uniformly distributed already, any part of it will do.
+    return (int) (this.h0 ^ (this.h0 >>> 32));
+  }
+
+  /**
+   * The first 64 bits of the digest in hex. Enough to tell tokens apart in
+   * logs without revealing them.
+   */
+  @Override
+  public String toString() {
+    final String hex = Long.toHexString(this.h0);
+    return hex.length() == 16 ? hex : "0000000000000000".substring(hex.length()) + hex;
+  }
+
+  /**********************************************
+   * Inner classes
+   **********************************************/
+
+  /**
+   * A digest and its buffers, confined to a thread.
+   */
+  private static final class Scratch {
+
+    private final MessageDigest digest;
+    private final byte[] chunk = new byte[256];
+    private final byte[] output = new byte[DIGEST_LENGTH];
+
+    private Scratch() {
+      try {
+        this.digest = MessageDigest.getInstance(ALGORITHM);
+      } catch (final NoSuchAlgorithmException noSuchAlgorithmException) {
+        throw new IllegalStateException(ALGORITHM + " is not available.", noSuchAlgorithmException);
+      }
+    }
+
+    /**
+     * Get the digest, reset in case the previous token failed to be read.
+     */
+    private MessageDigest start() {
+      this.digest.reset();
+      return this.digest;
+    }
+
+    /**
+     * Complete the digest, which resets it for the next token.
+     */
+    private TokenFingerprint finish() {
+      try {
+        this.digest.digest(this.output, 0, DIGEST_LENGTH);
+      } catch (final DigestException digestException) {
+        throw new IllegalStateException(digestException);
+      }
+      return new TokenFingerprint(this.output);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Access to virtual threads, which this variant lacks. On Java 21, the
+ * multi-release jar holds a variant providing them.
+ */
+final class VirtualThreads {
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * Check whether virtual threads are available.
+   *
+   * @return <code>true</code> if running on Java 21 or later
+   */
+  static boolean isAvailable() {
+    return false;
+  }
+
+  /**
+   * Get an executor starting a virtual thread for each task.
+   *
+   * @return the executor
+   * @throws UnsupportedOperationException if virtual threads are not available
+   */
+  static Executor executor() {
+    throw new UnsupportedOperationException("Virtual threads require Java 21. [java.version="
+        + System.getProperty("java.version") + "]");
+  }
+}
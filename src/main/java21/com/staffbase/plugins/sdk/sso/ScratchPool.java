@@ -0,0 +1,108 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Scratch state of the verification path, e.g. digests and buffers, reused
+ * across calls instead of being allocated for every token.
+ *
+ * The Java 21 variant: platform threads keep one instance each, while the
+ * instances of virtual threads go to a pool bounded by the number of
+ * processors, like the verifiers of {@link RsaVerificationEngine}. So a
+ * million virtual threads share a few instances rather than allocating one
+ * each, and no thread ever waits for an instance: if none is idle, a new one
+ * is created and dropped again when the pool is full.
+ *
+ * Callers {@link #acquire()} an instance, use it on the calling thread only
+ * and {@link #release(Object)} it afterwards, without acquiring another one
+ * in between.
+ */
+final class ScratchPool<T> {
+
+  static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+  /**********************************************
+   * Members
+   **********************************************/
+
+  private final Supplier<T> factory;
+
+  private final ThreadLocal<T> local;
+
+  private final AtomicReferenceArray<T> idle = new AtomicReferenceArray<>(POOL_SIZE);
+
+  /**********************************************
+   * Constructors
+   **********************************************/
+
+  ScratchPool(final Supplier<T> factory) {
+    this.factory = factory;
+    this.local = ThreadLocal.withInitial(factory);
+  }
+
+  /**********************************************
+   * Methods
+   **********************************************/
+
+  /**
+   * Take an instance for use on the calling thread.
+   *
+   * @return the instance
+   */
+  T acquire() {
+
+    final Thread thread = Thread.currentThread();
+    if (!thread.isVirtual()) {
+      return this.local.get();
+    }
+
+    final int start = startSlot(thread);
+    for (int i = 0; i < POOL_SIZE; i++) {
+      final int slot = (start + i) % POOL_SIZE;
+      if (this.idle.get(slot) != null) {
+        final T scratch = this.idle.getAndSet(slot, null);
+        if (scratch != null) {
+          return scratch;
+        }
+      }
+    }
+
+    return this.factory.get();
+  }
+
+  /**
+   * Hand back an instance once done.
+   *
+   * @param scratch the instance acquired, or one replacing it, e.g. a grown buffer
+   */
+  void release(final T scratch) {
+
+    final Thread thread = Thread.currentThread();
+    if (!thread.isVirtual()) {
+      this.local.set(scratch);
+      return;
+    }
+
+    final int start = startSlot(thread);
+    for (int i = 0; i < POOL_SIZE; i++) {
+      final int slot = (start + i) % POOL_SIZE;
+      if (this.idle.get(slot) == null && this.idle.compareAndSet(slot, null, scratch)) {
+        return;
+      }
+    }
+  }
+
+  private static int startSlot(final Thread thread) {
+    return (int) ((thread.threadId() & Integer.MAX_VALUE) % POOL_SIZE);
+  }
+}
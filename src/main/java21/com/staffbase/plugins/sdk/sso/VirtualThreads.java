@@ -0,0 +1,44 @@
+/**
+ * SSO implementation, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads, the Java 21 variant.
+ */
+final class VirtualThreads {
+
+  private static final ThreadFactory FACTORY = Thread.ofVirtual().name("sso-verify-virtual-", 1).factory();
+
+  private static final Executor EXECUTOR = task -> FACTORY.newThread(task).start();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * Check whether virtual threads are available.
+   *
+   * @return <code>true</code> if running on Java 21 or later
+   */
+  static boolean isAvailable() {
+    return true;
+  }
+
+  /**
+   * Get an executor starting a virtual thread for each task.
+   *
+   * @return the executor
+   */
+  static Executor executor() {
+    return EXECUTOR;
+  }
+}
@@ -0,0 +1,46 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.junit.Test;
+
+
+public class Base64UrlDecoderTest {
+
+  private static String encode(String value) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String repeat(char c, int count) {
+    char[] chars = new char[count];
+    Arrays.fill(chars, c);
+    return new String(chars);
+  }
+
+  /**
+   * Test parts of any size decode, also beyond the size of the reused buffer.
+   */
+  @Test
+  public void testSizes() {
+
+    for (int length : new int[] {0, 1, 1000, RsaVerificationEngine.MAXIMUM_SCRATCH_LENGTH, 4 * RsaVerificationEngine.MAXIMUM_SCRATCH_LENGTH, 10}) {
+      String value = "{\"a\":\"" + repeat('ë', length) + "\"}";
+      String raw = "x." + encode(value) + ".y";
+
+      assertEquals(value, Base64UrlDecoder.decodeToUtf8String(raw, 2, raw.length() - 2));
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+
+public class InMemoryReplayStoreTest {
+
+  private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+  private long seconds() {
+    return this.now.get() / 1000;
+  }
+
+  /**
+   * Test a token id is accepted only once.
+   */
+  @Test
+  public void testReplay() {
+
+    final InMemoryReplayStore store = new InMemoryReplayStore(100, this.now::get);
+
+    assertTrue(store.markUsed("a", this.seconds() + 600));
+    assertTrue(store.markUsed("b", this.seconds() + 600));
+    assertFalse(store.markUsed("a", this.seconds() + 600));
+    assertEquals(1, store.getReplayCount());
+    assertEquals(2, store.size());
+  }
+
+  /**
+   * Test token ids are forgotten once their token expired.
+   */
+  @Test
+  public void testExpiry() {
+
+    final InMemoryReplayStore store = new InMemoryReplayStore(100, this.now::get);
+
+    assertTrue(store.markUsed("a", this.seconds() + 10));
+    assertTrue(store.markUsed("b", this.seconds() + 5000));
+
+    this.now.addAndGet(9_000);
+    assertFalse(store.markUsed("a", this.seconds() + 1));
+
+    this.now.addAndGet(1_000);
+    assertTrue(store.markUsed("a", this.seconds() + 10));
+    assertFalse(store.markUsed("b", this.seconds() + 10));
+
+    this.now.addAndGet(5_000_000);
+    assertTrue(store.markUsed("b", this.seconds() + 10));
+  }
+
+  /**
+   * Test already expired tokens are not recorded.
+   */
+  @Test
+  public void testExpiredToken() {
+
+    final InMemoryReplayStore store = new InMemoryReplayStore(100, this.now::get);
+
+    assertTrue(store.markUsed("a", this.seconds()));
+    assertEquals(0, store.size());
+  }
+
+  /**
+   * Test attempts are rejected while the store is full.
+   */
+  @Test
+  public void testFull() {
+
+    final InMemoryReplayStore store = new InMemoryReplayStore(1, this.now::get);
+
+    assertTrue(store.markUsed("a", this.seconds() + 60));
+    assertFalse(store.markUsed("b", this.seconds() + 60));
+    assertEquals(1, store.getOverflowCount());
+
+    this.now.addAndGet(60_000);
+    assertTrue(store.markUsed("b", this.seconds() + 60));
+  }
+
+  /**
+   * Test the wheel reports elements exactly when due, across all levels.
+   */
+  @Test
+  public void testTimingWheel() {
+
+    final long start = 1_700_000_000L;
+    final TimingWheel<Long> wheel = new TimingWheel<>(start);
+    final long[] delays = { 1, 2, 63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 300_000 };
+
+    for (final long delay : delays) {
+      assertTrue(wheel.schedule(delay, start + delay));
+    }
+    assertFalse(wheel.schedule(0L, start));
+
+    final List<Long> expired = new ArrayList<>();
+    for (long time = start; time <= start + 300_000; time++) {
+      final long current = time;
+      wheel.advance(time, delay -> {
+        assertEquals(current, start + delay);
+        expired.add(delay);
+      });
+    }
+
+    assertEquals(delays.length, expired.size());
+    assertEquals(0, wheel.size());
+  }
+}
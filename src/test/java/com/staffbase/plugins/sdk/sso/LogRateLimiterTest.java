@@ -0,0 +1,40 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+
+public class LogRateLimiterTest {
+
+  /**
+   * Test lines over the limit are suppressed and reported with the next line.
+   */
+  @Test
+  public void testLimit() {
+
+    final AtomicLong now = new AtomicLong(1_000_000L);
+    final LogRateLimiter limiter = new LogRateLimiter(2, 1000, now::get);
+
+    assertEquals(0, limiter.acquire());
+    assertEquals(0, limiter.acquire());
+    assertEquals(LogRateLimiter.SUPPRESS, limiter.acquire());
+    assertEquals(LogRateLimiter.SUPPRESS, limiter.acquire());
+
+    now.addAndGet(1000);
+    assertEquals(2, limiter.acquire());
+    assertEquals(0, limiter.acquire());
+    assertEquals(LogRateLimiter.SUPPRESS, limiter.acquire());
+  }
+}
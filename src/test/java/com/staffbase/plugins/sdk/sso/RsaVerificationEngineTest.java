@@ -0,0 +1,217 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.jwt.consumer.ErrorCodes;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.lang.JoseException;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class RsaVerificationEngineTest {
+
+  private RsaJsonWebKey jwk;
+  private JwtConsumer consumer;
+  private final AtomicInteger fallbacks = new AtomicInteger();
+  private JwtProcessor engine;
+
+  @Before
+  public void setUp() throws JoseException {
+
+    this.jwk = TestTokens.generateRsaJwk();
+    this.consumer = SSOFacade.buildConsumer((jws, nestingContext) -> this.jwk.getRsaPublicKey());
+    this.engine = RsaVerificationEngine.create(this.jwk.getRsaPublicKey(), raw -> {
+      this.fallbacks.incrementAndGet();
+      return this.consumer.process(raw);
+    });
+  }
+
+  /**
+   * Assert the engine rejects a token with the given error code, like jose4j.
+   */
+  private void assertRejected(String raw, int errorCode) {
+
+    try {
+      this.consumer.process(raw);
+      fail("Expected jose4j to reject the token.");
+    } catch (final InvalidJwtException invalidJwtException) {
+      assertTrue(invalidJwtException.hasErrorCode(errorCode));
+    }
+
+    try {
+      this.engine.process(raw);
+      fail("Expected the engine to reject the token.");
+    } catch (final InvalidJwtException invalidJwtException) {
+      assertTrue(invalidJwtException.hasErrorCode(errorCode));
+      assertEquals(SSOFacade.reasonOf(invalidJwtException),
+          SSOFacade.reasonOf(this.catchInvalidJwt(raw)));
+    }
+  }
+
+  private InvalidJwtException catchInvalidJwt(String raw) {
+    try {
+      this.consumer.process(raw);
+    } catch (final InvalidJwtException invalidJwtException) {
+      return invalidJwtException;
+    }
+    throw new AssertionError("Expected jose4j to reject the token.");
+  }
+
+  /**
+   * Test plain tokens are verified without jose4j, with the same claims.
+   * @throws Exception
+   */
+  @Test
+  public void testPlainToken() throws Exception {
+
+    String raw = TestTokens.sign(TestTokens.createDefaultClaims(), this.jwk);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(this.consumer.process(raw).getJwtClaims().getClaimsMap(),
+          this.engine.process(raw).getJwtClaims().getClaimsMap());
+    }
+    assertEquals(0, this.fallbacks.get());
+  }
+
+  /**
+   * Test invalid signatures are rejected, and do not break later verifications.
+   * @throws Exception
+   */
+  @Test
+  public void testInvalidSignature() throws Exception {
+
+    String valid = TestTokens.sign(TestTokens.createDefaultClaims(), this.jwk);
+    String foreign = TestTokens.sign(TestTokens.createDefaultClaims(), TestTokens.generateRsaJwk());
+    String tampered = valid.substring(0, valid.indexOf('.') + 1)
+        + TestTokens.sign(TestTokens.createDefaultClaims(), this.jwk).split("\\.")[1]
+        + valid.substring(valid.lastIndexOf('.'));
+    String truncated = valid.substring(0, valid.length() - 10);
+
+    this.assertRejected(foreign, ErrorCodes.SIGNATURE_INVALID);
+    this.assertRejected(tampered, ErrorCodes.SIGNATURE_INVALID);
+    this.assertRejected(truncated, ErrorCodes.SIGNATURE_INVALID);
+
+    this.engine.process(valid);
+    assertEquals(0, this.fallbacks.get());
+  }
+
+  /**
+   * Test the claims are validated like by jose4j.
+   * @throws Exception
+   */
+  @Test
+  public void testClaims() throws Exception {
+
+    JwtClaims expired = TestTokens.createDefaultClaims();
+    expired.setExpirationTime(NumericDate.fromSeconds(NumericDate.now().getValue() - 60));
+    this.assertRejected(TestTokens.sign(expired, this.jwk), ErrorCodes.EXPIRED);
+
+    JwtClaims noIssuedAt = TestTokens.createDefaultClaims();
+    noIssuedAt.unsetClaim("iat");
+    this.assertRejected(TestTokens.sign(noIssuedAt, this.jwk), ErrorCodes.ISSUED_AT_MISSING);
+
+    JwtClaims numericSubject = TestTokens.createDefaultClaims();
+    numericSubject.setClaim("sub", 42);
+    this.assertRejected(TestTokens.sign(numericSubject, this.jwk), ErrorCodes.MALFORMED_CLAIM);
+
+    assertEquals(0, this.fallbacks.get());
+  }
+
+  /**
+   * Test tokens which are not plain are left to jose4j.
+   * @throws Exception
+   */
+  @Test
+  public void testFallback() throws Exception {
+
+    JsonWebSignature jws = new JsonWebSignature();
+    jws.setPayload(TestTokens.createDefaultClaims().toJson());
+    jws.setKey(this.jwk.getPrivateKey());
+    jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.RSA_USING_SHA256);
+    jws.setHeader("x5t", "thumbprint");
+    this.engine.process(jws.getCompactSerialization());
+    assertEquals(1, this.fallbacks.get());
+
+    jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.RSA_USING_SHA384);
+    this.assertRejected(jws.getCompactSerialization(), ErrorCodes.MISCELLANEOUS);
+
+    String valid = TestTokens.sign(TestTokens.createDefaultClaims(), this.jwk);
+    // jose4j skips characters outside of the alphabet when decoding
+    this.engine.process(valid + "\u00e4");
+    this.assertRejected(valid.substring(0, valid.lastIndexOf('.')), ErrorCodes.MISCELLANEOUS);
+
+    assertEquals(4, this.fallbacks.get());
+  }
+
+  /**
+   * Test keys jose4j rejects are left to jose4j.
+   * @throws Exception
+   */
+  @Test
+  public void testShortKey() throws Exception {
+
+    JwtProcessor fallback = this.consumer::process;
+    assertSame(fallback, RsaVerificationEngine.create(RsaJwkGenerator.generateJwk(1024).getRsaPublicKey(), fallback));
+  }
+
+  /**
+   * Test concurrent verifications, more than the pool holds.
+   * @throws Exception
+   */
+  @Test
+  public void testConcurrentVerifications() throws Exception {
+
+    String valid = TestTokens.sign(TestTokens.createDefaultClaims(), this.jwk);
+    String foreign = TestTokens.sign(TestTokens.createDefaultClaims(), TestTokens.generateRsaJwk());
+
+    ExecutorService executor = Executors.newFixedThreadPool(RsaVerificationEngine.POOL_SIZE + 2);
+    try {
+      List<Future<Boolean>> outcomes = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        String raw = i % 3 == 0 ? foreign : valid;
+        outcomes.add(executor.submit(() -> {
+          try {
+            this.engine.process(raw);
+            return true;
+          } catch (final InvalidJwtException invalidJwtException) {
+            return false;
+          }
+        }));
+      }
+
+      for (int i = 0; i < outcomes.size(); i++) {
+        assertEquals(i % 3 != 0, outcomes.get(i).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(0, this.fallbacks.get());
+  }
+}
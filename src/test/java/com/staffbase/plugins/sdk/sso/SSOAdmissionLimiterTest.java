@@ -0,0 +1,155 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+
+public class SSOAdmissionLimiterTest {
+
+  /**
+   * Test attempts over the limit are shed right away by default.
+   */
+  @Test
+  public void testFastRejection() {
+
+    final SSOAdmissionLimiter limiter = SSOAdmissionLimiter.create(1);
+
+    assertTrue(limiter.acquire());
+    assertFalse(limiter.acquire());
+    assertEquals(1, limiter.getShedCount());
+
+    limiter.release(1000);
+    assertTrue(limiter.acquire());
+    assertEquals(1, limiter.getInFlight());
+
+    limiter.cancel();
+    assertEquals(0, limiter.getInFlight());
+    assertEquals(1, limiter.getLimit());
+  }
+
+  /**
+   * Test attempts over the limit wait in the queue, and are shed if it is
+   * full or the wait times out.
+   */
+  @Test
+  public void testQueue() throws Exception {
+
+    final SSOAdmissionLimiter limiter = SSOAdmissionLimiter.create(1).withQueue(1, Duration.ofSeconds(10));
+    assertTrue(limiter.acquire());
+
+    final CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(limiter::acquire);
+    while (limiter.getWaiting() == 0) {
+      Thread.sleep(1);
+    }
+    assertFalse(limiter.acquire());
+
+    limiter.release(1000);
+    assertTrue(waiting.get());
+    assertEquals(0, limiter.getWaiting());
+    assertEquals(1, limiter.getShedCount());
+
+    final SSOAdmissionLimiter timingOut = SSOAdmissionLimiter.create(1).withQueue(1, Duration.ofMillis(10));
+    assertTrue(timingOut.acquire());
+    assertFalse(timingOut.acquire());
+    assertEquals(0, timingOut.getWaiting());
+  }
+
+  /**
+   * Test the limit grows while verifications are as fast as the baseline and
+   * shrinks on slow ones, within its bounds.
+   */
+  @Test
+  public void testAdaptation() {
+
+    final SSOAdmissionLimiter limiter = SSOAdmissionLimiter.create(4);
+
+    while (limiter.getLimit() < 4) {
+      final int limit = limiter.getLimit();
+      for (int i = 0; i < limit; i++) {
+        assertTrue(limiter.acquire());
+      }
+      for (int i = 0; i < limit; i++) {
+        limiter.release(1000);
+      }
+    }
+    assertEquals(4, limiter.getLimit());
+
+    assertTrue(limiter.acquire());
+    limiter.release(1000);
+    assertEquals(4, limiter.getLimit());
+
+    assertTrue(limiter.acquire());
+    limiter.release(10_000);
+    assertEquals(3, limiter.getLimit());
+
+    for (int i = 0; i < 100; i++) {
+      assertTrue(limiter.acquire());
+      limiter.release(10_000);
+    }
+    assertEquals(1, limiter.getLimit());
+  }
+
+  /**
+   * Test a burst of slow verifications running together, e.g. during a
+   * garbage collection pause, shrinks the limit only once.
+   */
+  @Test
+  public void testSlowBurst() {
+
+    final SSOAdmissionLimiter limiter = SSOAdmissionLimiter.create(10);
+
+    while (limiter.getLimit() < 10) {
+      final int limit = limiter.getLimit();
+      for (int i = 0; i < limit; i++) {
+        assertTrue(limiter.acquire());
+      }
+      for (int i = 0; i < limit; i++) {
+        limiter.release(1000);
+      }
+    }
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(limiter.acquire());
+    }
+    for (int i = 0; i < 10; i++) {
+      limiter.release(10_000);
+    }
+    assertEquals(9, limiter.getLimit());
+
+    // a slow verification after the burst shrinks the limit again
+    assertTrue(limiter.acquire());
+    limiter.release(10_000);
+    assertEquals(8, limiter.getLimit());
+  }
+
+  /**
+   * Test the maximum limit must be positive.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidLimit() {
+    SSOAdmissionLimiter.create(0);
+  }
+
+  /**
+   * Test the latency tolerance must exceed one.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidTolerance() {
+    SSOAdmissionLimiter.create(1).withLatencyTolerance(1.0);
+  }
+}
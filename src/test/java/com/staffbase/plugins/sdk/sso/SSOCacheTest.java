@@ -0,0 +1,102 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+
+public class SSOCacheTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000L);
+
+  /**
+   * Test fingerprints of equal and different tokens.
+   */
+  @Test
+  public void testFingerprint() {
+
+    assertEquals(TokenFingerprint.of("a.b.c"), TokenFingerprint.of("a.b.c"));
+    assertEquals(TokenFingerprint.of("a.b.c").hashCode(), TokenFingerprint.of("a.b.c").hashCode());
+    assertNotEquals(TokenFingerprint.of("a.b.c"), TokenFingerprint.of("a.b.d"));
+    assertEquals(16, TokenFingerprint.of("a.b.c").toString().length());
+  }
+
+  /**
+   * Test hits and misses.
+   */
+  @Test
+  public void testHitAndMiss() {
+
+    final SSOCache cache = new SSOCache(10, this.now::get);
+    final SSOData data = mock(SSOData.class);
+
+    assertNull(cache.get(TokenFingerprint.of("token")));
+
+    cache.put(TokenFingerprint.of("token"), data, this.now.get() + 1000);
+
+    assertSame(data, cache.get(TokenFingerprint.of("token")));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  /**
+   * Test entries are dropped once the token expired.
+   */
+  @Test
+  public void testExpiry() {
+
+    final SSOCache cache = new SSOCache(10, this.now::get);
+
+    cache.put(TokenFingerprint.of("token"), mock(SSOData.class), this.now.get() + 1000);
+    this.now.addAndGet(1000);
+
+    assertNull(cache.get(TokenFingerprint.of("token")));
+    assertEquals(0, cache.size());
+
+    // already expired tokens are not cached at all
+    cache.put(TokenFingerprint.of("token"), mock(SSOData.class), this.now.get());
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Test the size bound is kept.
+   */
+  @Test
+  public void testEviction() {
+
+    final SSOCache cache = new SSOCache(32, this.now::get);
+
+    for (int i = 0; i < 100; i++) {
+      cache.put(TokenFingerprint.of("token" + i), mock(SSOData.class), this.now.get() + 1000);
+    }
+
+    assertEquals(32, cache.size());
+    assertEquals(68, cache.getEvictionCount());
+
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Test illegal sizes.
+   */
+  @Test(expected=IllegalArgumentException.class)
+  public void testIllegalSize() {
+    new SSOCache(0);
+  }
+}
@@ -0,0 +1,208 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
+import org.junit.Test;
+
+
+public class SSODataCodecTest {
+
+  private final SSODataCodec codec = SSODataCodec.create(SSODataTest.DATA_INSTANCE_ID, SSODataTest.DATA_USER_LOCALE);
+
+  /**
+   * Create claims holding every value.
+   * @return JwtClaims
+   */
+  static JwtClaims createFullClaims() {
+
+    JwtClaims claims = new JwtClaims();
+
+    claims.setExpirationTime(NumericDate.fromSeconds(SSODataTest.DATA_EXPIRATION_TIME));
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, SSODataTest.DATA_INSTANCE_ID);
+    claims.setClaim(SSOData.KEY_BRANCH_ID, SSODataTest.DATA_BRANCH_ID);
+    claims.setClaim(SSOData.KEY_BRANCH_SLUG, SSODataTest.DATA_BRANCH_SLUG);
+    claims.setClaim(SSOData.KEY_SESSION_ID, SSODataTest.DATA_SESSION_ID);
+    claims.setClaim(SSOData.KEY_TOKEN_ID, SSODataTest.DATA_TOKEN_ID);
+    claims.setClaim(SSOData.KEY_USER_ID, SSODataTest.DATA_USER_ID);
+    claims.setClaim(SSOData.KEY_USER_EXTERNAL_ID, SSODataTest.DATA_USER_EXTERNAL_ID);
+    claims.setClaim(SSOData.KEY_USER_USERNAME, SSODataTest.DATA_USER_USERNAME);
+    claims.setClaim(SSOData.KEY_USER_PRIMARY_EMAIL_ADDRESS, SSODataTest.DATA_USER_PRIMARY_EMAIL_ADDRESS);
+    claims.setClaim(SSOData.KEY_USER_FIRST_NAME, "Zoë");
+    claims.setClaim(SSOData.KEY_USER_LAST_NAME, SSODataTest.DATA_USER_LAST_NAME);
+    claims.setClaim(SSOData.KEY_USER_FULL_NAME, SSODataTest.DATA_USER_FULL_NAME);
+    claims.setClaim(SSOData.KEY_USER_ROLE, SSODataTest.DATA_USER_ROLE);
+    claims.setClaim(SSOData.KEY_USER_LOCALE, SSODataTest.DATA_USER_LOCALE);
+    claims.setClaim(SSOData.KEY_ISSUER, SSODataTest.DATA_ISSUER);
+    claims.setClaim(SSOData.KEY_AUDIENCE, SSODataTest.DATA_AUDIENCE);
+    claims.setClaim(SSOData.KEY_INSTANCE_NAME, SSODataTest.DATA_INSTANCE_NAME);
+    claims.setClaim(SSOData.KEY_ENTITY_TYPE, SSODataTest.DATA_ENTITY_TYPE);
+    claims.setClaim(SSOData.KEY_THEME_TEXT_COLOR, SSODataTest.DATA_THEME_TEXT_COLOR);
+    claims.setClaim(SSOData.KEY_THEME_BACKGROUND_COLOR, SSODataTest.DATA_THEME_BACKGROUND_COLOR);
+    claims.setClaim(SSOData.KEY_TAGS, SSODataTest.DATA_TAGS);
+
+    return claims;
+  }
+
+  /**
+   * Test every value survives the round trip, and the encoding is smaller than JSON.
+   */
+  @Test
+  public void testRoundTrip() throws MalformedClaimException {
+
+    JwtClaims claims = createFullClaims();
+    SSOData data = new SSOData(claims);
+
+    byte[] encoded = this.codec.encode(data);
+    SSOData decoded = this.codec.decode(encoded);
+
+    assertEquals(data, decoded);
+    assertEquals(data.hashCode(), decoded.hashCode());
+    assertEquals(data.toString(), decoded.toString());
+    assertEquals("Zoë", decoded.getUserFirstNameOrNull());
+    assertEquals(SSODataTest.DATA_TAGS, decoded.getTagsOrNull());
+    assertTrue(decoded.isEditor());
+    assertTrue(encoded.length < claims.toJson().getBytes(StandardCharsets.UTF_8).length / 2);
+  }
+
+  /**
+   * Test absent values stay absent.
+   */
+  @Test
+  public void testAbsentValues() throws MalformedClaimException {
+
+    JwtClaims claims = new JwtClaims();
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, "other");
+    SSOData data = new SSOData(claims);
+
+    SSOData decoded = this.codec.decode(this.codec.encode(data));
+
+    assertEquals(data, decoded);
+    assertEquals("other", decoded.getInstanceID());
+    assertNull(decoded.getUserIDOrNull());
+    assertNull(decoded.getTagsOrNull());
+    assertNull(decoded.getExpirationTimeOrNull());
+  }
+
+  /**
+   * Test several values decode from one buffer, also a direct one.
+   */
+  @Test
+  public void testBuffer() throws MalformedClaimException {
+
+    SSOData first = new SSOData(createFullClaims());
+    JwtClaims claims = createFullClaims();
+    claims.setClaim(SSOData.KEY_USER_ID, "second");
+    SSOData second = SSOData.createLazy(claims);
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+    this.codec.encode(first, buffer);
+    this.codec.encode(second, buffer);
+    buffer.flip();
+
+    assertEquals(first, this.codec.decode(buffer));
+    assertEquals(second, this.codec.decode(buffer));
+    assertEquals(0, buffer.remaining());
+  }
+
+  /**
+   * Test values encoded with another dictionary, or damaged, are rejected.
+   */
+  @Test
+  public void testRejected() throws MalformedClaimException {
+
+    byte[] encoded = this.codec.encode(new SSOData(createFullClaims()));
+
+    for (byte[] bad : Arrays.asList(
+        SSODataCodec.create("other").encode(new SSOData(createFullClaims())),
+        Arrays.copyOf(encoded, encoded.length - 3),
+        new byte[] {2, 0, 0, 0},
+        new byte[] {1, 0, 0, 0},
+        new byte[0])) {
+      try {
+        this.codec.decode(bad);
+        fail("Expected Exception not thrown.");
+      } catch (IllegalArgumentException e) {}
+    }
+  }
+
+  /**
+   * Test values encoded before strings were appended to the dictionary are
+   * still read, but not the other way round.
+   */
+  @Test
+  public void testAppendedDictionary() throws MalformedClaimException {
+
+    SSODataCodec appended = SSODataCodec.create(SSODataTest.DATA_INSTANCE_ID, SSODataTest.DATA_USER_LOCALE, "appended");
+    SSOData data = new SSOData(createFullClaims());
+
+    assertEquals(data, appended.decode(this.codec.encode(data)));
+
+    for (SSODataCodec other : Arrays.asList(appended, SSODataCodec.create(SSODataTest.DATA_USER_LOCALE))) {
+      try {
+        this.codec.decode(other.encode(data));
+        fail("Expected Exception not thrown.");
+      } catch (IllegalArgumentException e) {}
+    }
+  }
+
+  /**
+   * Test a negative tag count is rejected as malformed.
+   */
+  @Test
+  public void testNegativeLength() throws MalformedClaimException {
+
+    JwtClaims claims = new JwtClaims();
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, "other");
+    claims.setClaim(SSOData.KEY_TAGS, Arrays.asList());
+    byte[] encoded = this.codec.encode(SSOData.createLazy(claims));
+
+    // replace the tag count of 0 by -1
+    byte[] bad = Arrays.copyOf(encoded, encoded.length + 9);
+    Arrays.fill(bad, encoded.length - 1, bad.length - 1, (byte) 0xFF);
+    bad[bad.length - 1] = 1;
+
+    try {
+      this.codec.decode(bad);
+      fail("Expected Exception not thrown.");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Malformed length.", e.getMessage());
+    }
+  }
+
+  /**
+   * Test tags which are not strings are rejected when encoding.
+   */
+  @Test
+  public void testNonStringTags() throws MalformedClaimException {
+
+    JwtClaims claims = new JwtClaims();
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, "other");
+    claims.setClaim(SSOData.KEY_TAGS, Arrays.asList("tag", 42));
+
+    try {
+      this.codec.encode(SSOData.createLazy(claims));
+      fail("Expected Exception not thrown.");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Only string tags can be encoded. [tag=42]", e.getMessage());
+    }
+  }
+}
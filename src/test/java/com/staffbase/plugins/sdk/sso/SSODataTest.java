@@ -11,18 +11,21 @@
 
 package com.staffbase.plugins.sdk.sso;
 
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Arrays;
 
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
 import org.junit.Test;
 
 
@@ -33,6 +36,8 @@ public class SSODataTest {
 
   public static final String DATA_INSTANCE_ID = "55c79b6ee4b06c6fb19bd1e2";
   public static final String DATA_SESSION_ID = "vQt7mw67qgJZHddZ5FuUY/YPo";
+  public static final String DATA_TOKEN_ID = "Bxh0oc0HwDW8bbWOtYHuUA";
+  public static final long DATA_EXPIRATION_TIME = 1700000600L;
   public static final String DATA_BRANCH_ID = "56a6306f0cf23b042e0ae307";
   public static final String DATA_BRANCH_SLUG = "staffbasetest";
   public static final String DATA_USER_ID = "541954c3e4b08bbdce1a340a";
@@ -74,6 +79,8 @@ public class SSODataTest {
 
     when(claims.getClaimValue(SSOData.KEY_INSTANCE_ID, String.class)).thenReturn(DATA_INSTANCE_ID);
     when(claims.getClaimValue(SSOData.KEY_SESSION_ID, String.class)).thenReturn(DATA_SESSION_ID);
+    when(claims.getClaimValue(SSOData.KEY_TOKEN_ID, String.class)).thenReturn(DATA_TOKEN_ID);
+    when(claims.getExpirationTime()).thenReturn(NumericDate.fromSeconds(DATA_EXPIRATION_TIME));
     when(claims.getClaimValue(SSOData.KEY_USER_ID, String.class)).thenReturn(DATA_USER_ID);
     when(claims.getClaimValue(SSOData.KEY_USER_EXTERNAL_ID, String.class)).thenReturn(DATA_USER_EXTERNAL_ID);
     when(claims.getClaimValue(SSOData.KEY_USER_USERNAME, String.class)).thenReturn(DATA_USER_USERNAME);
@@ -97,6 +104,8 @@ public class SSODataTest {
 
     assertEquals(DATA_INSTANCE_ID, ssoData.getInstanceID());
     assertEquals(DATA_SESSION_ID, ssoData.getSessionId().get());
+    assertEquals(DATA_TOKEN_ID, ssoData.getTokenId().get());
+    assertEquals(DATA_EXPIRATION_TIME, (long) ssoData.getExpirationTime().get());
     assertEquals(DATA_USER_ID, ssoData.getUserID().get());
     assertEquals(DATA_USER_EXTERNAL_ID, ssoData.getUserExternalID().get());
     assertEquals(DATA_USER_USERNAME, ssoData.getUserUsername().get());
@@ -137,4 +146,67 @@ public class SSODataTest {
     final SSOData ssoData = new SSOData(claims);
     assertTrue(ssoData.isDeleteInstanceCall());
   }
+
+  /**
+   * Test lazily read data matches the eagerly read data.
+   * @throws MalformedClaimException
+   */
+  @Test
+  public void testLazyData() throws MalformedClaimException {
+
+    final JwtClaims claims = new JwtClaims();
+
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, DATA_INSTANCE_ID);
+    claims.setClaim(SSOData.KEY_SESSION_ID, DATA_SESSION_ID);
+    claims.setClaim(SSOData.KEY_TOKEN_ID, DATA_TOKEN_ID);
+    claims.setExpirationTime(NumericDate.fromSeconds(DATA_EXPIRATION_TIME));
+    claims.setClaim(SSOData.KEY_USER_ID, DATA_USER_ID);
+    claims.setClaim(SSOData.KEY_USER_EXTERNAL_ID, DATA_USER_EXTERNAL_ID);
+    claims.setClaim(SSOData.KEY_USER_FIRST_NAME, DATA_USER_FIRST_NAME);
+    claims.setClaim(SSOData.KEY_USER_ROLE, DATA_USER_ROLE);
+    claims.setClaim(SSOData.KEY_USER_LOCALE, DATA_USER_LOCALE);
+    claims.setClaim(SSOData.KEY_ISSUER, DATA_ISSUER);
+    claims.setClaim(SSOData.KEY_THEME_TEXT_COLOR, DATA_THEME_TEXT_COLOR);
+    claims.setClaim(SSOData.KEY_TAGS, DATA_TAGS);
+    claims.setClaim(SSOData.KEY_BRANCH_ID, DATA_BRANCH_ID);
+
+    final SSOData eager = new SSOData(claims);
+    final SSOData lazy = SSOData.createLazy(claims);
+
+    assertEquals(eager.toString(), lazy.toString());
+    assertEquals(DATA_INSTANCE_ID, lazy.getInstanceID());
+    assertEquals(DATA_USER_ID, lazy.getUserIDOrNull());
+    assertEquals(DATA_USER_ID, lazy.getUserID().get());
+    assertEquals(DATA_EXPIRATION_TIME, (long) lazy.getExpirationTimeOrNull());
+    assertEquals(DATA_TAGS, lazy.getTagsOrNull());
+    assertEquals(Locale.US, lazy.getUserLocale().get());
+    assertTrue(lazy.isEditor());
+    assertNull(lazy.getUserLastNameOrNull());
+    assertNull(eager.getUserLastNameOrNull());
+
+    // claims of an unexpected type read as absent
+    claims.setClaim(SSOData.KEY_USER_LAST_NAME, 42);
+    assertNull(SSOData.createLazy(claims).getUserLastNameOrNull());
+  }
+
+  /**
+   * Test the tags cannot be modified by callers sharing cached data.
+   * @throws MalformedClaimException
+   */
+  @Test
+  public void testTagsUnmodifiable() throws MalformedClaimException {
+
+    final JwtClaims claims = new JwtClaims();
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, DATA_INSTANCE_ID);
+    claims.setClaim(SSOData.KEY_TAGS, new ArrayList<>(DATA_TAGS));
+
+    for (final SSOData data : Arrays.asList(new SSOData(claims), SSOData.createLazy(claims))) {
+      try {
+        data.getTagsOrNull().add("injected");
+        fail("Expected Exception not thrown.");
+      } catch (final UnsupportedOperationException unsupportedException) {
+        assertEquals(DATA_TAGS, data.getTagsOrNull());
+      }
+    }
+  }
 }
@@ -0,0 +1,253 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.lang.JoseException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+
+public class SSOFacadeRegistryTest {
+
+  private static final String TENANT_A = "tenant-a";
+  private static final String TENANT_B = "tenant-b";
+
+  private static RsaJsonWebKey keyA;
+  private static RsaJsonWebKey keyB;
+
+  private final Map<String, RSAPublicKey> keys = new HashMap<>();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final AtomicLong now = new AtomicLong();
+
+  @BeforeClass
+  public static void generateKeys() throws JoseException {
+    keyA = TestTokens.generateRsaJwk();
+    keyB = TestTokens.generateRsaJwk();
+  }
+
+  private SSOFacadeRegistry createRegistry() {
+
+    this.keys.put(TENANT_A, keyA.getRsaPublicKey());
+    this.keys.put(TENANT_B, keyB.getRsaPublicKey());
+
+    return new SSOFacadeRegistry(tenant -> {
+      this.loads.incrementAndGet();
+      return this.keys.get(tenant);
+    }, this.now::get);
+  }
+
+  private String createToken(String tenant, RsaJsonWebKey key) throws JoseException {
+
+    JwtClaims claims = TestTokens.createDefaultClaims();
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, tenant);
+
+    return TestTokens.sign(claims, key);
+  }
+
+  /**
+   * Test attempts are verified with the key of their tenant, loaded once.
+   */
+  @Test
+  public void testRouting() throws JoseException, SSOException {
+
+    final SSOFacadeRegistry registry = this.createRegistry();
+
+    assertEquals(TENANT_A, registry.verify(this.createToken(TENANT_A, keyA)).getInstanceID());
+    assertEquals(TENANT_B, registry.verify(this.createToken(TENANT_B, keyB)).getInstanceID());
+    assertEquals(TENANT_A, registry.verify(this.createToken(TENANT_A, keyA)).getInstanceID());
+
+    assertEquals(2, this.loads.get());
+    assertEquals(2, registry.size());
+  }
+
+  /**
+   * Test routing by issuer.
+   */
+  @Test
+  public void testIssuerRouting() throws JoseException, SSOException {
+
+    final SSOFacadeRegistry registry = this.createRegistry()
+        .withTenantClaim(SSOData.KEY_ISSUER);
+
+    JwtClaims claims = TestTokens.createDefaultClaims();
+    claims.setIssuer(TENANT_B);
+
+    assertEquals(TENANT_B, registry.verify(TestTokens.sign(claims, keyB)).getIssuer().get());
+  }
+
+  /**
+   * Test attempts signed with the key of another tenant.
+   */
+  @Test(expected=SSOException.class)
+  public void testForeignKey() throws JoseException, SSOException {
+    this.createRegistry().verify(this.createToken(TENANT_A, keyB));
+  }
+
+  /**
+   * Test attempts of unknown tenants.
+   */
+  @Test(expected=SSOException.class)
+  public void testUnknownTenant() throws JoseException, SSOException {
+    this.createRegistry().verify(this.createToken("unknown", keyA));
+  }
+
+  /**
+   * Test unknown tenants are remembered for a short time, without calling
+   * the loader again.
+   */
+  @Test
+  public void testUnknownTenantRemembered() {
+
+    final SSOFacadeRegistry registry = this.createRegistry()
+        .withUnknownTenantTimeToLive(Duration.ofSeconds(10));
+
+    assertNull(registry.keyOf("unknown"));
+    this.now.addAndGet(9_999);
+    assertNull(registry.keyOf("unknown"));
+    assertEquals(1, this.loads.get());
+    assertEquals(1, registry.unknownSize());
+
+    this.now.addAndGet(1);
+    assertNull(registry.keyOf("unknown"));
+    assertEquals(2, this.loads.get());
+
+    // a key put explicitly is used right away
+    registry.updateKey("unknown", keyA.getRsaPublicKey());
+    assertSame(keyA.getRsaPublicKey(), registry.keyOf("unknown"));
+    assertEquals(0, registry.unknownSize());
+  }
+
+  /**
+   * Test the number of remembered unknown tenants is bounded.
+   */
+  @Test
+  public void testUnknownTenantsBounded() {
+
+    final SSOFacadeRegistry registry = this.createRegistry()
+        .withMaximumTenants(10);
+
+    for (int i = 0; i < 100; i++) {
+      assertNull(registry.keyOf("unknown" + i));
+    }
+
+    assertTrue(registry.unknownSize() <= 10);
+  }
+
+  /**
+   * Test concurrent attempts of the same tenant share a single load.
+   */
+  @Test
+  public void testConcurrentLoadShared() throws Exception {
+
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final SSOFacadeRegistry registry = new SSOFacadeRegistry(tenant -> {
+      this.loads.incrementAndGet();
+      loading.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException interruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      return keyA.getRsaPublicKey();
+    }, this.now::get);
+
+    final CompletableFuture<RSAPublicKey> first = CompletableFuture.supplyAsync(() -> registry.keyOf(TENANT_A));
+    assertTrue(loading.await(10, TimeUnit.SECONDS));
+    final CompletableFuture<RSAPublicKey> second = CompletableFuture.supplyAsync(() -> registry.keyOf(TENANT_A));
+
+    // let the second attempt reach the running load
+    Thread.sleep(50);
+    release.countDown();
+
+    assertSame(keyA.getRsaPublicKey(), first.get(10, TimeUnit.SECONDS));
+    assertSame(keyA.getRsaPublicKey(), second.get(10, TimeUnit.SECONDS));
+    assertEquals(1, this.loads.get());
+  }
+
+  /**
+   * Test replacing the key of a tenant.
+   */
+  @Test
+  public void testUpdateKey() throws JoseException, SSOException {
+
+    final SSOFacadeRegistry registry = this.createRegistry();
+    registry.verify(this.createToken(TENANT_A, keyA));
+
+    registry.updateKey(TENANT_A, keyB.getRsaPublicKey());
+    registry.verify(this.createToken(TENANT_A, keyB));
+
+    try {
+      registry.verify(this.createToken(TENANT_A, keyA));
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {}
+  }
+
+  /**
+   * Test replacing the key of a tenant drops the cached rejections.
+   */
+  @Test
+  public void testUpdateKeyClearsRejections() throws JoseException, SSOException {
+
+    final SSOFacadeRegistry registry = this.createRegistry();
+    registry.getFacade().withRejectionCache(16);
+    final String token = this.createToken(TENANT_A, keyB);
+
+    try {
+      registry.verify(token);
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {}
+    assertEquals(1, registry.getFacade().getRejectionCache().get().size());
+
+    registry.updateKey(TENANT_A, keyB.getRsaPublicKey());
+    assertEquals(TENANT_A, registry.verify(token).getInstanceID());
+  }
+
+  /**
+   * Test the tenants idle for the longest time are dropped.
+   */
+  @Test
+  public void testEviction() throws JoseException, SSOException {
+
+    final SSOFacadeRegistry registry = this.createRegistry()
+        .withMaximumTenants(10);
+
+    for (int i = 0; i < 10; i++) {
+      this.now.addAndGet(1000);
+      registry.updateKey("tenant" + i, keyB.getRsaPublicKey());
+    }
+
+    this.now.addAndGet(1000);
+    registry.verify(this.createToken(TENANT_A, keyA));
+    assertEquals(9, registry.size());
+
+    // the recently used tenant was kept
+    registry.verify(this.createToken(TENANT_A, keyA));
+    assertEquals(1, this.loads.get());
+  }
+}
@@ -14,6 +14,19 @@ import org.junit.Test;
 
 import static org.junit.Assert.fail;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.NumericDate;
@@ -158,6 +171,516 @@ public class SSOFacadeTest {
     ssoFac.verify(jwt);
   }
 
+  /**
+   * Test repeated verification is answered from the cache.
+   * @throws JoseException
+   */
+  @Test
+  public void testCachedToken() throws JoseException, SSOException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    JwtClaims claims = this.createDefaultClaims();
+    String jwt = this.createSignedTokenFromClaims(claims, jwk);
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withCache(16);
+
+    final SSOData ssoData = ssoFac.verify(jwt);
+    assertSame(ssoData, ssoFac.verify(jwt));
+    assertEquals(1, ssoFac.getCache().get().getHitCount());
+    assertEquals(1, ssoFac.getCache().get().getMissCount());
+  }
+
+  /**
+   * Test tokens given as characters or bytes verify like strings.
+   * @throws JoseException
+   */
+  @Test
+  public void testVerifyInputs() throws JoseException, SSOException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+    byte[] bytes = ("x" + jwt + "y").getBytes(StandardCharsets.US_ASCII);
+    ByteBuffer direct = ByteBuffer.allocateDirect(jwt.length());
+    direct.put(jwt.getBytes(StandardCharsets.US_ASCII));
+    direct.flip();
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey());
+    final SSOData expected = ssoFac.verify(jwt);
+
+    assertEquals(expected, ssoFac.verify(new StringBuilder(jwt)));
+    assertEquals(expected, ssoFac.verify(bytes, 1, jwt.length()));
+    assertEquals(expected, ssoFac.verify(direct));
+    assertEquals(0, direct.position());
+
+    try {
+      ssoFac.verify(bytes, 0, bytes.length);
+      fail("Expected the surrounding bytes to break the signature.");
+    } catch (final SSOException ssoException) {
+      // expected
+    }
+  }
+
+  /**
+   * Test tokens given as characters or bytes share cache entries with strings.
+   * @throws JoseException
+   */
+  @Test
+  public void testCachedVerifyInputs() throws JoseException, SSOException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withCache(16);
+
+    final SSOData ssoData = ssoFac.verify(ByteBuffer.wrap(jwt.getBytes(StandardCharsets.US_ASCII)));
+    assertSame(ssoData, ssoFac.verify(jwt));
+    assertSame(ssoData, ssoFac.verify(new StringBuilder(jwt)));
+    assertSame(ssoData, ssoFac.verify(jwt.getBytes(StandardCharsets.US_ASCII), 0, jwt.length()));
+    assertEquals(3, ssoFac.getCache().get().getHitCount());
+    assertEquals(1, ssoFac.getCache().get().getMissCount());
+  }
+
+  /**
+   * Test concurrent asynchronous verifications of the same token are coalesced.
+   * @throws JoseException
+   */
+  @Test
+  public void testVerifyAsync() throws JoseException, InterruptedException, ExecutionException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+
+    final List<Runnable> tasks = new ArrayList<>();
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withExecutor(tasks::add);
+
+    final CompletableFuture<SSOData> first = ssoFac.verifyAsync(jwt).toCompletableFuture();
+    final CompletableFuture<SSOData> second = ssoFac.verifyAsync(jwt).toCompletableFuture();
+    assertEquals(1, tasks.size());
+
+    tasks.get(0).run();
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, first.get().getInstanceID());
+    assertSame(first.get(), second.get());
+
+    // the next call verifies again
+    ssoFac.verifyAsync(jwt);
+    assertEquals(2, tasks.size());
+  }
+
+  /**
+   * Test asynchronous verifications count each lookup in the cache once.
+   * @throws JoseException
+   */
+  @Test
+  public void testVerifyAsyncCacheCounts() throws JoseException, InterruptedException, ExecutionException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withExecutor(Runnable::run)
+        .withCache(16);
+
+    final SSOData ssoData = ssoFac.verifyAsync(jwt).toCompletableFuture().get();
+    assertEquals(0, ssoFac.getCache().get().getHitCount());
+    assertEquals(1, ssoFac.getCache().get().getMissCount());
+
+    assertSame(ssoData, ssoFac.verifyAsync(jwt).toCompletableFuture().get());
+    assertEquals(1, ssoFac.getCache().get().getHitCount());
+    assertEquals(1, ssoFac.getCache().get().getMissCount());
+  }
+
+  /**
+   * Test asynchronous verification reads buffers before returning.
+   * @throws JoseException
+   */
+  @Test
+  public void testVerifyAsyncBuffer() throws JoseException, InterruptedException, ExecutionException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+    ByteBuffer buffer = ByteBuffer.wrap(jwt.getBytes(StandardCharsets.US_ASCII));
+
+    final List<Runnable> tasks = new ArrayList<>();
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withExecutor(tasks::add);
+
+    final CompletableFuture<SSOData> future = ssoFac.verifyAsync(buffer).toCompletableFuture();
+    assertEquals(0, buffer.position());
+
+    // overwrite the buffer before the verification runs
+    Arrays.fill(buffer.array(), (byte) 'x');
+    tasks.get(0).run();
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, future.get().getInstanceID());
+
+    final CompletableFuture<SSOData> chars = ssoFac.verifyAsync(new StringBuilder(jwt)).toCompletableFuture();
+    tasks.get(1).run();
+    assertEquals(future.get(), chars.get());
+  }
+
+  /**
+   * Test asynchronous verification on virtual threads, where available.
+   * @throws JoseException
+   */
+  @Test
+  public void testVirtualThreads() throws JoseException, InterruptedException, ExecutionException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey());
+    try {
+      ssoFac.withVirtualThreads();
+    } catch (final UnsupportedOperationException unsupportedException) {
+      assertFalse(VirtualThreads.isAvailable());
+      return;
+    }
+
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, ssoFac.verifyAsync(jwt).toCompletableFuture().get().getInstanceID());
+  }
+
+  /**
+   * Test warming up leaves the caches, replay store, metrics and limiter of
+   * the facade untouched.
+   * @throws JoseException
+   */
+  @Test
+  public void testWarmUp() throws JoseException, SSOException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+
+    final SSOStatistics statistics = new SSOStatistics();
+    final SSOAdmissionLimiter limiter = SSOAdmissionLimiter.create(4);
+    final InMemoryReplayStore replayStore = new InMemoryReplayStore(10);
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withCache(10)
+        .withRejectionCache(10)
+        .withReplayStore(replayStore)
+        .withMetrics(statistics)
+        .withAdmissionLimiter(limiter)
+        .withStacklessFailures(false);
+
+    assertSame(ssoFac, ssoFac.warmUp(20));
+
+    assertEquals(0, ssoFac.getCache().get().size());
+    assertEquals(0, ssoFac.getRejectionCache().get().size());
+    assertEquals(0, statistics.getVerifiedCount());
+    assertEquals(0, statistics.getRejectedCount());
+    assertEquals(0, replayStore.size());
+    assertEquals(0, limiter.getInFlight());
+    assertEquals(0, ssoFac.getPreCheck().getRejectionCount());
+
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, ssoFac.verify(jwt).getInstanceID());
+    assertEquals(1, statistics.getVerifiedCount());
+  }
+
+  /**
+   * Test warming up a facade verifying with the consumer of jose4j, and that
+   * the damaged warm-up token fails the signature check.
+   * @throws JoseException
+   */
+  @Test
+  public void testWarmUpConsumer() throws JoseException, SSOException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+
+    final SSOFacade ssoFac = new SSOFacade().initialize((jws, nestingContext) -> jwk.getRsaPublicKey())
+        .withCache(10)
+        .withRejectionCache(10);
+
+    assertSame(ssoFac, ssoFac.warmUp(20));
+    assertEquals(0, ssoFac.getRejectionCache().get().size());
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, ssoFac.verify(jwt).getInstanceID());
+
+    final SSOWarmUp warmUp = SSOWarmUp.create();
+    try {
+      SSOFacade.create(warmUp.getPublicKey()).verify(warmUp.signTampered());
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(SSOException.Reason.SIGNATURE, e.getReason());
+    }
+  }
+
+  /**
+   * Test attempts over the limit of the admission limiter are shed, while
+   * cached attempts bypass it.
+   * @throws JoseException
+   */
+  @Test
+  public void testAdmissionLimiter() throws JoseException, SSOException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+
+    final SSOAdmissionLimiter limiter = SSOAdmissionLimiter.create(1);
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withCache(10)
+        .withRejectionCache(10)
+        .withAdmissionLimiter(limiter);
+    assertSame(limiter, ssoFac.getAdmissionLimiter().get());
+
+    // a verification holding the only permit
+    assertTrue(limiter.acquire());
+    try {
+      ssoFac.verify(jwt);
+      fail("Expected Exception not thrown.");
+    } catch (final SSOException ssoException) {
+      assertEquals(SSOException.Reason.OVERLOADED, ssoException.getReason());
+    }
+    assertEquals(1, limiter.getShedCount());
+    assertEquals(0, ssoFac.getRejectionCache().get().size());
+    limiter.release(1000);
+
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, ssoFac.verify(jwt).getInstanceID());
+    assertEquals(0, limiter.getInFlight());
+
+    assertTrue(limiter.acquire());
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, ssoFac.verify(jwt).getInstanceID());
+    assertEquals(1, limiter.getShedCount());
+    limiter.release(1000);
+
+    // attempts rejected by the pre-check return their permit
+    final JwtClaims expired = this.createDefaultClaims();
+    expired.setExpirationTimeMinutesInTheFuture(-1);
+    try {
+      ssoFac.verify(this.createSignedTokenFromClaims(expired, jwk));
+      fail("Expected Exception not thrown.");
+    } catch (final SSOException ssoException) {
+      assertEquals(SSOException.Reason.EXPIRED, ssoException.getReason());
+    }
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  /**
+   * Test failing asynchronous verification.
+   * @throws JoseException
+   */
+  @Test
+  public void testVerifyAsyncFailure() throws JoseException, InterruptedException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), this.generateRsaJwk());
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey());
+
+    try {
+      ssoFac.verifyAsync(jwt).toCompletableFuture().get();
+      fail("Expected Exception not thrown.");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof SSOException);
+    }
+  }
+
+  /**
+   * Test batch verification keeps the order and does not stop at failures.
+   * @throws JoseException
+   */
+  @Test
+  public void testVerifyAll() throws JoseException, SSOException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String valid = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+    String foreign = this.createSignedTokenFromClaims(this.createDefaultClaims(), this.generateRsaJwk());
+
+    final List<String> tokens = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      tokens.add(i % 3 == 0 ? foreign : valid);
+    }
+
+    final List<SSOResult> results = SSOFacade.create(jwk.getRsaPublicKey()).verifyAll(tokens);
+
+    assertEquals(tokens.size(), results.size());
+    for (int i = 0; i < tokens.size(); i++) {
+      if (i % 3 == 0) {
+        assertFalse(results.get(i).isSuccess());
+        assertTrue(results.get(i).getFailure().isPresent());
+      } else {
+        assertEquals(SSODataTest.DATA_INSTANCE_ID, results.get(i).getOrThrow().getInstanceID());
+      }
+    }
+  }
+
+  /**
+   * Test the token does not end up in the exception message.
+   */
+  @Test
+  public void testMessageWithoutToken() throws JoseException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), this.generateRsaJwk());
+
+    try {
+      SSOFacade.create(jwk.getRsaPublicKey()).verify(jwt);
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(SSOException.Reason.SIGNATURE, e.getReason());
+      assertFalse(e.getMessage().contains(SSODataTest.DATA_INSTANCE_ID));
+      assertFalse(e.getMessage().contains(jwt.substring(jwt.lastIndexOf('.') + 1)));
+    }
+  }
+
+  /**
+   * Test outcomes are recorded by reason.
+   */
+  @Test
+  public void testMetrics() throws JoseException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    JwtClaims noInstance = this.createDefaultClaims();
+    noInstance.unsetClaim(SSOData.KEY_INSTANCE_ID);
+    JwtClaims expired = this.createDefaultClaims();
+    expired.setExpirationTimeMinutesInTheFuture(-1);
+
+    final SSOStatistics statistics = new SSOStatistics();
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withMetrics(statistics);
+
+    final String[] tokens = {
+        this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk),
+        this.createSignedTokenFromClaims(this.createDefaultClaims(), this.generateRsaJwk()),
+        this.createSignedTokenFromClaims(noInstance, jwk),
+        this.createSignedTokenFromClaims(expired, jwk),
+        this.createUnsupportedSignedTokenFromClaims(this.createDefaultClaims(), jwk),
+        "no.jwt",
+    };
+    final SSOException.Reason[] reasons = {
+        null,
+        SSOException.Reason.SIGNATURE,
+        SSOException.Reason.INSTANCE_ID,
+        SSOException.Reason.EXPIRED,
+        SSOException.Reason.ALGORITHM,
+        SSOException.Reason.MALFORMED,
+    };
+
+    for (int i = 0; i < tokens.length; i++) {
+      try {
+        ssoFac.verify(tokens[i]);
+        assertEquals(null, reasons[i]);
+      } catch (SSOException e) {
+        assertEquals(reasons[i], e.getReason());
+      }
+    }
+
+    assertEquals(1, statistics.getVerifiedCount());
+    assertEquals(5, statistics.getRejectedCount());
+    assertEquals(1, statistics.getRejectedCount(SSOException.Reason.SIGNATURE));
+    assertEquals(1, statistics.getVerifiedLatency().getCount());
+  }
+
+  /**
+   * Test stackless failures keep the reason, and the cause only if asked to.
+   */
+  @Test
+  public void testStacklessFailures() throws JoseException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String badSignature = this.createSignedTokenFromClaims(this.createDefaultClaims(), this.generateRsaJwk());
+    JwtClaims expired = this.createDefaultClaims();
+    expired.setExpirationTimeMinutesInTheFuture(-1);
+    String expiredJwt = this.createSignedTokenFromClaims(expired, jwk);
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withStacklessFailures(false);
+    try {
+      ssoFac.verify(badSignature);
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(SSOException.Reason.SIGNATURE, e.getReason());
+      assertEquals(SSOException.Reason.SIGNATURE.getDescription(), e.getMessage());
+      assertEquals(0, e.getStackTrace().length);
+      assertNull(e.getCause());
+    }
+    try {
+      ssoFac.verify(expiredJwt);
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(SSOException.Reason.EXPIRED, e.getReason());
+      assertEquals(0, e.getStackTrace().length);
+    }
+
+    final SSOFacade withCauses = SSOFacade.create(jwk.getRsaPublicKey())
+        .withStacklessFailures(true);
+    try {
+      withCauses.verify(badSignature);
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(SSOException.Reason.SIGNATURE, e.getReason());
+      assertEquals(0, e.getStackTrace().length);
+      assertNotNull(e.getCause());
+    }
+  }
+
+  /**
+   * Test retried bad tokens are rejected from the rejection cache.
+   * @throws JoseException
+   */
+  @Test
+  public void testRejectionCache() throws JoseException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String badSignature = this.createSignedTokenFromClaims(this.createDefaultClaims(), this.generateRsaJwk());
+    JwtClaims expired = this.createDefaultClaims();
+    expired.setExpirationTimeMinutesInTheFuture(-1);
+    String expiredJwt = this.createSignedTokenFromClaims(expired, jwk);
+
+    final SSOStatistics statistics = new SSOStatistics();
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withRejectionCache(16)
+        .withMetrics(statistics);
+
+    for (int i = 0; i < 3; i++) {
+      try {
+        ssoFac.verify(badSignature);
+        fail("Expected Exception not thrown.");
+      } catch (SSOException e) {
+        assertEquals(SSOException.Reason.SIGNATURE, e.getReason());
+      }
+      try {
+        ssoFac.verify(expiredJwt);
+        fail("Expected Exception not thrown.");
+      } catch (SSOException e) {
+        assertEquals(SSOException.Reason.EXPIRED, e.getReason());
+      }
+    }
+
+    assertEquals(2, ssoFac.getRejectionCache().get().getHitCount());
+    assertEquals(1, ssoFac.getRejectionCache().get().size());
+    assertEquals(2, statistics.getCachedRejectionCount());
+    assertEquals(3, statistics.getRejectedCount(SSOException.Reason.SIGNATURE));
+  }
+
+  /**
+   * Test replayed tokens are rejected, also when served from the cache.
+   */
+  @Test
+  public void testReplayedToken() throws JoseException, SSOException {
+
+    RsaJsonWebKey jwk = this.generateRsaJwk();
+    String jwt = this.createSignedTokenFromClaims(this.createDefaultClaims(), jwk);
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey())
+        .withCache(16)
+        .withReplayStore(new InMemoryReplayStore(16));
+
+    ssoFac.verify(jwt);
+    try {
+      ssoFac.verify(jwt);
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {}
+
+    // tokens without id cannot be protected
+    JwtClaims claims = this.createDefaultClaims();
+    claims.unsetClaim("jti");
+    try {
+      ssoFac.verify(this.createSignedTokenFromClaims(claims, jwk));
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {}
+  }
+
   /**
    * Test proper signed token.
    * @throws JoseException
@@ -321,7 +844,7 @@ public class SSOFacadeTest {
 
     final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey());
 
-      ssoFac.verify(null);
+      ssoFac.verify((String) null);
   }
 
   /**
@@ -0,0 +1,279 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.lang.JoseException;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+
+public class SSOKeySetTest {
+
+  private static RsaJsonWebKey keyA;
+  private static RsaJsonWebKey keyB;
+
+  private HttpServer server;
+
+  @BeforeClass
+  public static void generateKeys() throws JoseException {
+    keyA = TestTokens.generateRsaJwk();
+    keyA.setKeyId("a");
+    keyB = TestTokens.generateRsaJwk();
+    keyB.setKeyId("b");
+  }
+
+  @After
+  public void stopServer() {
+    if (this.server != null) {
+      this.server.stop(0);
+    }
+  }
+
+  private static String toJwks(RsaJsonWebKey... keys) {
+    return new JsonWebKeySet(keys).toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+  }
+
+  /**
+   * Start a local stand-in for a JWKS endpoint serving the given document.
+   * @return the URL of the key set
+   */
+  private URL serve(AtomicReference<String> jwks) throws IOException {
+
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.createContext("/jwks", exchange -> {
+      final byte[] body = jwks.get().getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    this.server.start();
+
+    return new URL("http://127.0.0.1:" + this.server.getAddress().getPort() + "/jwks");
+  }
+
+  /**
+   * Create a token, optionally without key id.
+   */
+  private String createToken(RsaJsonWebKey key, boolean withKeyId) throws JoseException {
+
+    final String keyId = key.getKeyId();
+    if (!withKeyId) {
+      key.setKeyId(null);
+    }
+    try {
+      return TestTokens.sign(TestTokens.createDefaultClaims(), key);
+    } finally {
+      key.setKeyId(keyId);
+    }
+  }
+
+  /**
+   * Test attempts are verified by the key named by their key id.
+   */
+  @Test
+  public void testKeyId() throws IOException, JoseException, SSOException {
+
+    try (SSOKeySet keySet = SSOKeySet.create(SSOKeySource.fromUrl(this.serve(new AtomicReference<>(toJwks(keyA, keyB)))))) {
+      final SSOFacade ssoFac = SSOFacade.createWithKeySet(keySet);
+
+      assertEquals(2, keySet.size());
+      ssoFac.verify(this.createToken(keyA, true));
+      ssoFac.verify(this.createToken(keyB, true));
+    }
+  }
+
+  /**
+   * Test attempts without key id are verified by any of the keys.
+   */
+  @Test
+  public void testWithoutKeyId() throws IOException, JoseException, SSOException {
+
+    try (SSOKeySet keySet = SSOKeySet.create(SSOKeySource.fromUrl(this.serve(new AtomicReference<>(toJwks(keyA, keyB)))))) {
+      final SSOFacade ssoFac = SSOFacade.createWithKeySet(keySet);
+
+      ssoFac.verify(this.createToken(keyB, false));
+      ssoFac.verify(this.createToken(keyA, false));
+      ssoFac.verify(this.createToken(keyA, false));
+    }
+  }
+
+  /**
+   * Test attempts signed by a key outside the set.
+   */
+  @Test(expected=SSOException.class)
+  public void testForeignKey() throws IOException, JoseException, SSOException {
+
+    try (SSOKeySet keySet = SSOKeySet.create(SSOKeySource.fromUrl(this.serve(new AtomicReference<>(toJwks(keyA)))))) {
+      SSOFacade.createWithKeySet(keySet).verify(this.createToken(keyB, false));
+    }
+  }
+
+  /**
+   * Test an unknown key id fails right away and triggers a refresh.
+   */
+  @Test
+  public void testUnknownKeyIdTriggersRefresh() throws Exception {
+
+    final AtomicReference<String> jwks = new AtomicReference<>(toJwks(keyA));
+
+    try (SSOKeySet keySet = SSOKeySet.create(SSOKeySource.fromUrl(this.serve(jwks)))) {
+      final SSOFacade ssoFac = SSOFacade.createWithKeySet(keySet);
+      final String token = this.createToken(keyB, true);
+
+      jwks.set(toJwks(keyA, keyB));
+      try {
+        ssoFac.verify(token);
+        fail("Expected Exception not thrown.");
+      } catch (SSOException e) {}
+
+      final long deadline = System.currentTimeMillis() + 5000;
+      while (keySet.size() < 2 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+
+      ssoFac.verify(token);
+    }
+  }
+
+  /**
+   * Test the keys are refreshed in the background.
+   */
+  @Test
+  public void testScheduledRefresh() throws Exception {
+
+    final AtomicReference<String> jwks = new AtomicReference<>(toJwks(keyA));
+
+    try (SSOKeySet keySet = SSOKeySet.create(SSOKeySource.fromUrl(this.serve(jwks)), Duration.ofMillis(20))) {
+      jwks.set(toJwks(keyA, keyB));
+
+      final long deadline = System.currentTimeMillis() + 5000;
+      while (keySet.size() < 2 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+
+      assertEquals(2, keySet.size());
+    }
+  }
+
+  /**
+   * Test a failing refresh keeps the current keys.
+   */
+  @Test
+  public void testFailingRefresh() throws IOException, JoseException, SSOException {
+
+    final Path file = Files.createTempFile("jwks", ".json");
+    Files.write(file, toJwks(keyA).getBytes(StandardCharsets.UTF_8));
+
+    try (SSOKeySet keySet = SSOKeySet.create(SSOKeySource.fromFile(file))) {
+      Files.write(file, "{}".getBytes(StandardCharsets.UTF_8));
+      try {
+        keySet.refresh();
+        fail("Expected Exception not thrown.");
+      } catch (IOException e) {}
+
+      assertEquals(1, keySet.size());
+      SSOFacade.createWithKeySet(keySet).verify(this.createToken(keyA, true));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Test refreshes run one at a time.
+   */
+  @Test
+  public void testSerializedRefresh() throws Exception {
+
+    final String jwks = toJwks(keyA);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maximum = new AtomicInteger();
+
+    try (SSOKeySet keySet = SSOKeySet.create(() -> {
+      maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(20);
+      } catch (final InterruptedException interruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      running.decrementAndGet();
+      return jwks;
+    })) {
+      final List<CompletableFuture<Void>> refreshes = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        refreshes.add(CompletableFuture.runAsync(() -> {
+          try {
+            keySet.refresh();
+          } catch (final IOException ioException) {
+            throw new UncheckedIOException(ioException);
+          }
+        }));
+      }
+      for (final CompletableFuture<Void> refresh : refreshes) {
+        refresh.get(10, TimeUnit.SECONDS);
+      }
+
+      assertEquals(1, maximum.get());
+    }
+  }
+
+  /**
+   * Test a refresh bringing a new key drops the cached rejections.
+   */
+  @Test
+  public void testRefreshClearsRejections() throws IOException, JoseException, SSOException {
+
+    final AtomicReference<String> jwks = new AtomicReference<>(toJwks(keyA));
+    try (SSOKeySet keySet = SSOKeySet.create(SSOKeySource.fromUrl(this.serve(jwks)))) {
+      final SSOFacade ssoFac = SSOFacade.createWithKeySet(keySet).withRejectionCache(16);
+      final String token = this.createToken(keyB, true);
+
+      try {
+        ssoFac.verify(token);
+        fail("Expected Exception not thrown.");
+      } catch (SSOException e) {}
+      assertEquals(1, ssoFac.getRejectionCache().get().size());
+
+      // unchanged keys keep the rejections
+      keySet.refresh();
+      assertEquals(1, ssoFac.getRejectionCache().get().size());
+
+      jwks.set(toJwks(keyA, keyB));
+      keySet.refresh();
+      assertEquals(0, ssoFac.getRejectionCache().get().size());
+      ssoFac.verify(token);
+    }
+  }
+}
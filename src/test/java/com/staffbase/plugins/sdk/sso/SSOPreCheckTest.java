@@ -0,0 +1,177 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.jose4j.base64url.Base64Url;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.lang.JoseException;
+import org.junit.Test;
+
+import com.staffbase.plugins.sdk.sso.SSOException.Reason;
+
+
+public class SSOPreCheckTest {
+
+  private static final long NOW = 1_700_000_000L;
+
+  private final SSOPreCheck preCheck = new SSOPreCheck(() -> NOW * 1000);
+
+  /**
+   * Create claims which pass the pre-check.
+   * @return JwtClaims
+   */
+  private JwtClaims createDefaultClaims() {
+
+    JwtClaims claims = new JwtClaims();
+
+    claims.setExpirationTime(NumericDate.fromSeconds(NOW + 600));
+    claims.setIssuedAt(NumericDate.fromSeconds(NOW));
+    claims.setNotBefore(NumericDate.fromSeconds(NOW - 120));
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, SSODataTest.DATA_INSTANCE_ID);
+
+    return claims;
+  }
+
+  /**
+   * Create an unsigned token, the pre-check does not look at the signature.
+   * @return String
+   */
+  private String createToken(String algorithm, JwtClaims claims) {
+    return Base64Url.encodeUtf8ByteRepresentation("{\"alg\":\"" + algorithm + "\"}")
+        + "." + Base64Url.encodeUtf8ByteRepresentation(claims.toJson())
+        + ".c2lnbmF0dXJl";
+  }
+
+  private void assertRejected(Reason reason, String raw) {
+    assertEquals(reason, this.preCheck.check(raw));
+    assertEquals(1, this.preCheck.getRejectionCount(reason));
+    assertEquals(1, this.preCheck.getRejectionCount());
+  }
+
+  /**
+   * Test valid tokens pass.
+   */
+  @Test
+  public void testValidToken() {
+
+    assertNull(this.preCheck.check(this.createToken(AlgorithmIdentifiers.RSA_USING_SHA256, this.createDefaultClaims())));
+    assertEquals(0, this.preCheck.getRejectionCount());
+  }
+
+  /**
+   * Test anything not looking like a JWS is left to the full verification.
+   */
+  @Test
+  public void testNoJws() {
+
+    assertNull(this.preCheck.check(""));
+    assertNull(this.preCheck.check("a.b"));
+    assertNull(this.preCheck.check("a.b.c.d.e"));
+    assertEquals(0, this.preCheck.getRejectionCount());
+  }
+
+  /**
+   * Test undecodable payload.
+   */
+  @Test
+  public void testMalformed() {
+    this.assertRejected(Reason.MALFORMED, "eyJhbGciOiJSUzI1NiJ9.bm8ganNvbg.c2lnbmF0dXJl");
+  }
+
+  /**
+   * Test unsupported signing algorithm.
+   */
+  @Test
+  public void testAlgorithm() {
+    this.assertRejected(Reason.ALGORITHM,
+        this.createToken(AlgorithmIdentifiers.RSA_USING_SHA384, this.createDefaultClaims()));
+  }
+
+  /**
+   * Test missing iat claim.
+   */
+  @Test
+  public void testMissingTimeClaim() {
+
+    JwtClaims claims = this.createDefaultClaims();
+    claims.unsetClaim("iat");
+
+    this.assertRejected(Reason.MISSING_CLAIM,
+        this.createToken(AlgorithmIdentifiers.RSA_USING_SHA256, claims));
+  }
+
+  /**
+   * Test token expiring right now.
+   */
+  @Test
+  public void testExpired() {
+
+    JwtClaims claims = this.createDefaultClaims();
+    claims.setExpirationTime(NumericDate.fromSeconds(NOW));
+
+    this.assertRejected(Reason.EXPIRED,
+        this.createToken(AlgorithmIdentifiers.RSA_USING_SHA256, claims));
+  }
+
+  /**
+   * Test token becoming valid in a second.
+   */
+  @Test
+  public void testNotYetValid() {
+
+    JwtClaims claims = this.createDefaultClaims();
+    claims.setNotBefore(NumericDate.fromSeconds(NOW + 1));
+
+    this.assertRejected(Reason.NOT_YET_VALID,
+        this.createToken(AlgorithmIdentifiers.RSA_USING_SHA256, claims));
+  }
+
+  /**
+   * Test empty instance id.
+   */
+  @Test
+  public void testInstanceId() {
+
+    JwtClaims claims = this.createDefaultClaims();
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, "");
+
+    this.assertRejected(Reason.INSTANCE_ID,
+        this.createToken(AlgorithmIdentifiers.RSA_USING_SHA256, claims));
+  }
+
+  /**
+   * Test the facade rejects an expired token in its pre-check.
+   */
+  @Test
+  public void testFacade() throws JoseException {
+
+    RsaJsonWebKey jwk = TestTokens.generateRsaJwk();
+    JwtClaims claims = TestTokens.createDefaultClaims();
+    claims.setExpirationTimeMinutesInTheFuture(-60);
+
+    final SSOFacade ssoFac = SSOFacade.create(jwk.getRsaPublicKey());
+    try {
+      ssoFac.verify(TestTokens.sign(claims, jwk));
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(Reason.EXPIRED, e.getReason());
+    }
+
+    assertEquals(1, ssoFac.getPreCheck().getRejectionCount(Reason.EXPIRED));
+    assertEquals(1, ssoFac.getPreCheck().getRejectionCount());
+  }
+}
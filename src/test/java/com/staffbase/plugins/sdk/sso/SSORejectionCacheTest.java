@@ -0,0 +1,86 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+
+public class SSORejectionCacheTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000L);
+
+  /**
+   * Test rejections are kept for the time to live.
+   */
+  @Test
+  public void testTimeToLive() {
+
+    final SSORejectionCache cache = new SSORejectionCache(10, Duration.ofSeconds(5), this.now::get);
+
+    assertNull(cache.get(TokenFingerprint.of("token")));
+
+    cache.put(TokenFingerprint.of("token"), SSOException.Reason.SIGNATURE);
+    assertEquals(SSOException.Reason.SIGNATURE, cache.get(TokenFingerprint.of("token")));
+
+    this.now.addAndGet(5000);
+    assertNull(cache.get(TokenFingerprint.of("token")));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(0, cache.size());
+  }
+
+  /**
+   * Test only rejections which cannot turn into a success are kept.
+   */
+  @Test
+  public void testCacheableReasons() {
+
+    final SSORejectionCache cache = new SSORejectionCache(10, Duration.ofSeconds(5), this.now::get);
+
+    cache.put(TokenFingerprint.of("expired"), SSOException.Reason.EXPIRED);
+    cache.put(TokenFingerprint.of("replayed"), SSOException.Reason.REPLAYED);
+    cache.put(TokenFingerprint.of("malformed"), SSOException.Reason.MALFORMED);
+
+    assertNull(cache.get(TokenFingerprint.of("expired")));
+    assertNull(cache.get(TokenFingerprint.of("replayed")));
+    assertEquals(SSOException.Reason.MALFORMED, cache.get(TokenFingerprint.of("malformed")));
+  }
+
+  /**
+   * Test the size stays within the bound, dropping the oldest entries.
+   */
+  @Test
+  public void testSizeBound() {
+
+    final SSORejectionCache cache = new SSORejectionCache(64, Duration.ofSeconds(5), this.now::get);
+
+    for (int i = 0; i < 1000; i++) {
+      cache.put(TokenFingerprint.of("token" + i), SSOException.Reason.SIGNATURE);
+    }
+
+    assertTrue(cache.size() <= 64);
+    assertEquals(1000 - cache.size(), cache.getEvictionCount());
+    assertEquals(SSOException.Reason.SIGNATURE, cache.get(TokenFingerprint.of("token999")));
+  }
+
+  /**
+   * Test the time to live is bounded.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testLongTimeToLive() {
+    new SSORejectionCache(10, Duration.ofHours(1));
+  }
+}
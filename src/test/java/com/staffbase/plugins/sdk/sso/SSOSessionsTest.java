@@ -0,0 +1,183 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
+import org.junit.Test;
+
+import com.staffbase.plugins.sdk.sso.SSOException.Reason;
+
+
+public class SSOSessionsTest {
+
+  private static final long NOW = 1_700_000_000L;
+
+  private final AtomicLong clock = new AtomicLong(NOW * 1000);
+  private final SSOSessionKeyRing keyRing = SSOSessionKeyRing.create(1, secret(1));
+  private final SSOSessions sessions = new SSOSessions(this.keyRing,
+      new String[] {SSOData.KEY_USER_ID, SSOData.KEY_USER_FIRST_NAME, SSOData.KEY_TAGS}, this.clock::get);
+
+  private static byte[] secret(int seed) {
+    byte[] secret = new byte[SSOSessionKeyRing.MINIMUM_SECRET_LENGTH];
+    Arrays.fill(secret, (byte) seed);
+    return secret;
+  }
+
+  private SSOData createData(long expirationTime) throws MalformedClaimException {
+
+    JwtClaims claims = new JwtClaims();
+    claims.setExpirationTime(NumericDate.fromSeconds(expirationTime));
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, SSODataTest.DATA_INSTANCE_ID);
+    claims.setSubject(SSODataTest.DATA_USER_ID);
+    claims.setClaim(SSOData.KEY_USER_FIRST_NAME, "Zoë");
+    claims.setStringListClaim(SSOData.KEY_TAGS, "a", "b");
+    claims.setIssuer(SSODataTest.DATA_ISSUER);
+
+    return new SSOData(claims);
+  }
+
+  private void assertRejected(Reason reason, String raw) {
+    try {
+      this.sessions.verify(raw);
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(reason, e.getReason());
+    }
+  }
+
+  /**
+   * Test the carried claims survive the round trip.
+   */
+  @Test
+  public void testRoundTrip() throws SSOException, MalformedClaimException {
+
+    SSOData data = this.sessions.verify(this.sessions.mint(this.createData(NOW + 600)));
+
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, data.getInstanceID());
+    assertEquals(SSODataTest.DATA_USER_ID, data.getUserIDOrNull());
+    assertEquals("Zoë", data.getUserFirstNameOrNull());
+    assertEquals(Arrays.asList("a", "b"), data.getTagsOrNull());
+    // not carried
+    assertNull(data.getIssuerOrNull());
+  }
+
+  /**
+   * Test the lifetime is capped by the expiration time of the attempt.
+   */
+  @Test
+  public void testLifetime() throws SSOException, MalformedClaimException {
+
+    this.sessions.withLifetime(Duration.ofMinutes(5));
+    assertEquals(Long.valueOf(NOW + 300),
+        this.sessions.verify(this.sessions.mint(this.createData(NOW + 600))).getExpirationTimeOrNull());
+
+    String token = this.sessions.mint(this.createData(NOW + 60));
+    assertEquals(Long.valueOf(NOW + 60), this.sessions.verify(token).getExpirationTimeOrNull());
+
+    this.clock.set((NOW + 60) * 1000);
+    this.assertRejected(Reason.EXPIRED, token);
+  }
+
+  /**
+   * Test tampered tokens are rejected.
+   */
+  @Test
+  public void testTampered() throws MalformedClaimException {
+
+    byte[] token = Base64.getUrlDecoder().decode(this.sessions.mint(this.createData(NOW + 600)));
+    token[12] ^= 1;
+
+    this.assertRejected(Reason.SIGNATURE, Base64.getUrlEncoder().withoutPadding().encodeToString(token));
+    this.assertRejected(Reason.MALFORMED, "AAAA");
+    this.assertRejected(Reason.MALFORMED, "not base64!");
+
+    // sessions carrying other claims do not accept the token
+    SSOSessions other = new SSOSessions(this.keyRing, new String[] {SSOData.KEY_USER_ID}, this.clock::get);
+    try {
+      other.verify(this.sessions.mint(this.createData(NOW + 600)));
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(Reason.SIGNATURE, e.getReason());
+    }
+  }
+
+  /**
+   * Test tokens stay valid across a rotation until their key is retired.
+   */
+  @Test
+  public void testRotation() throws SSOException, MalformedClaimException {
+
+    String before = this.sessions.mint(this.createData(NOW + 600));
+
+    this.keyRing.rotate(2, secret(2));
+    assertEquals(2, this.keyRing.getCurrentKeyId());
+    String after = this.sessions.mint(this.createData(NOW + 600));
+
+    this.sessions.verify(before);
+    this.sessions.verify(after);
+
+    this.keyRing.retire(1);
+    this.assertRejected(Reason.SIGNATURE, before);
+    this.sessions.verify(after);
+  }
+
+  /**
+   * Test the key ring rejects bad keys.
+   */
+  @Test
+  public void testKeyRing() {
+
+    try {
+      SSOSessionKeyRing.create(1, new byte[16]);
+      fail("Expected Exception not thrown.");
+    } catch (IllegalArgumentException e) {}
+    try {
+      SSOSessionKeyRing.create(256, secret(1));
+      fail("Expected Exception not thrown.");
+    } catch (IllegalArgumentException e) {}
+    try {
+      this.keyRing.rotate(1, secret(2));
+      fail("Expected Exception not thrown.");
+    } catch (IllegalArgumentException e) {}
+    try {
+      this.keyRing.retire(1);
+      fail("Expected Exception not thrown.");
+    } catch (IllegalArgumentException e) {}
+  }
+
+  /**
+   * Test unknown claims are rejected when creating the sessions.
+   */
+  @Test
+  public void testUnknownClaim() {
+
+    try {
+      SSOSessions.create(this.keyRing, SSOData.KEY_USER_ID, "user_id");
+      fail("Expected Exception not thrown.");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Unknown claim. [claim=user_id]", e.getMessage());
+    }
+    try {
+      SSOSessions.create(this.keyRing, "exp");
+      fail("Expected Exception not thrown.");
+    } catch (IllegalArgumentException e) {}
+  }
+}
@@ -0,0 +1,95 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+
+public class SSOStatisticsTest {
+
+  /**
+   * Test each value falls into a bucket whose bounds hold it, within the
+   * promised precision.
+   */
+  @Test
+  public void testBuckets() {
+
+    int previous = -1;
+    for (long value = 0; value < 1_000_000; value += 1 + value / 100) {
+      final int index = LatencyHistogram.indexOf(value);
+      final long highest = LatencyHistogram.highestValueOf(index);
+
+      assertTrue(index >= previous);
+      assertTrue(highest >= value);
+      assertTrue(highest - value <= value / 32);
+      previous = index;
+    }
+
+    assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+  }
+
+  /**
+   * Test percentiles of recorded durations.
+   */
+  @Test
+  public void testPercentiles() {
+
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getValueAtPercentile(99));
+
+    for (long value = 1; value <= 1000; value++) {
+      histogram.record(value * 1000);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1_000_000, histogram.getMax());
+    assertEquals(500_500, histogram.getMean(), 0.001);
+    assertEquals(500_000, histogram.getValueAtPercentile(50), 500_000 / 32);
+    assertEquals(990_000, histogram.getValueAtPercentile(99), 990_000 / 32);
+    assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+  }
+
+  /**
+   * Test the counts by reason and their exposure via JMX.
+   */
+  @Test
+  public void testCountsViaJmx() throws JMException {
+
+    final SSOStatistics statistics = new SSOStatistics();
+    statistics.recordVerified(2000);
+    statistics.recordRejected(SSOException.Reason.EXPIRED, 100);
+    statistics.recordRejected(SSOException.Reason.EXPIRED, 100);
+    statistics.recordRejected(SSOException.Reason.SIGNATURE, 2000);
+
+    final ObjectName name = statistics.registerMBean("test");
+    try {
+      assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "VerifiedCount"));
+      assertEquals(3L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "RejectedCount"));
+      assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "VerifyLatencyP50Micros"));
+    } finally {
+      SSOStatistics.unregisterMBean(name);
+    }
+
+    assertEquals(2, statistics.getRejectedCount(SSOException.Reason.EXPIRED));
+    assertEquals(2L, (long) statistics.getRejectedCountByReason().get("EXPIRED"));
+    assertEquals(3, statistics.getRejectedLatency().getCount());
+  }
+}
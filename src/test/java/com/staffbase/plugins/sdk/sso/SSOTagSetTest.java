@@ -0,0 +1,129 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.junit.Test;
+
+
+public class SSOTagSetTest {
+
+  /**
+   * Test membership checks.
+   */
+  @Test
+  public void testMembership() {
+
+    SSOTagSet tags = SSOTagSet.of("profile:tag1", "profile:tag2", "profile:tag1");
+
+    assertEquals(2, tags.size());
+    assertEquals(Arrays.asList("profile:tag1", "profile:tag2"), tags.asList());
+    assertTrue(tags.hasTag("profile:tag1"));
+    assertFalse(tags.hasTag("profile:tag3"));
+    assertTrue(tags.hasAnyTag("profile:tag3", "profile:tag2"));
+    assertFalse(tags.hasAnyTag("profile:tag3", "profile:tag4"));
+    assertTrue(tags.hasAllTags("profile:tag2", "profile:tag1"));
+    assertFalse(tags.hasAllTags("profile:tag2", "profile:tag3"));
+  }
+
+  /**
+   * Test checks against prebuilt sets.
+   */
+  @Test
+  public void testSetChecks() {
+
+    SSOTagSet tags = SSOTagSet.of("a", "b", "c");
+
+    assertTrue(tags.hasAnyTag(SSOTagSet.of("x", "c")));
+    assertFalse(tags.hasAnyTag(SSOTagSet.of("x", "y")));
+    assertTrue(tags.hasAllTags(SSOTagSet.of("c", "a")));
+    assertFalse(tags.hasAllTags(SSOTagSet.of("c", "x")));
+    assertTrue(tags.hasAllTags(SSOTagSet.EMPTY));
+    assertFalse(SSOTagSet.EMPTY.hasAnyTag(tags));
+    assertEquals(SSOTagSet.of("c", "b", "a"), tags);
+    assertEquals(SSOTagSet.of("c", "b", "a").hashCode(), tags.hashCode());
+  }
+
+  /**
+   * Test tags keep getting indexes once the dictionary is full, and sets built
+   * before still compare with the ones built after.
+   */
+  @Test
+  public void testDictionaryCapacity() {
+
+    SSOTagSet admins = SSOTagSet.of("group:admins", "group:it");
+
+    for (int i = 0; i < 2 * SSOTagSet.DICTIONARY_CAPACITY; i++) {
+      SSOTagSet tags = SSOTagSet.of("tenant" + i + ":tag", "group:admins");
+      assertTrue(tags.isIndexed());
+      assertTrue(tags.hasAnyTag(admins));
+      assertFalse(tags.hasAllTags(admins));
+    }
+
+    SSOTagSet tags = SSOTagSet.of("group:it", "group:admins");
+    assertTrue(tags.isIndexed());
+    assertTrue(tags.hasAllTags(admins));
+    assertTrue(admins.hasAllTags(tags));
+    assertEquals(admins, tags);
+    assertFalse(SSOTagSet.of("group:other").hasAnyTag(admins));
+  }
+
+  /**
+   * Test a set with more tags than the dictionary holds.
+   */
+  @Test
+  public void testOverflow() {
+
+    String[] many = new String[SSOTagSet.DICTIONARY_CAPACITY + 1];
+    for (int i = 0; i < many.length; i++) {
+      many[i] = "many:" + i;
+    }
+
+    SSOTagSet tags = SSOTagSet.of(many);
+
+    assertFalse(tags.isIndexed());
+    assertEquals(many.length, tags.size());
+    assertTrue(tags.hasTag("many:0"));
+    assertTrue(tags.hasTag("many:" + SSOTagSet.DICTIONARY_CAPACITY));
+    assertTrue(tags.hasAllTags(SSOTagSet.of("many:1", "many:" + SSOTagSet.DICTIONARY_CAPACITY)));
+    assertTrue(SSOTagSet.of("group:admins").isIndexed());
+  }
+
+  /**
+   * Test the data builds its tag set once, and maps roles.
+   */
+  @Test
+  public void testSSOData() throws MalformedClaimException {
+
+    JwtClaims claims = new JwtClaims();
+    claims.setStringListClaim(SSOData.KEY_TAGS, SSODataTest.DATA_TAGS);
+    claims.setClaim(SSOData.KEY_USER_ROLE, SSOData.ROLE_EDITOR);
+    SSOData data = new SSOData(claims);
+
+    assertSame(data.getTagSet(), data.getTagSet());
+    assertTrue(data.getTagSet().hasTag(SSODataTest.DATA_TAGS.get(0)));
+    assertEquals(SSOData.Role.EDITOR, data.getRole());
+    assertTrue(data.isEditor());
+
+    SSOData empty = new SSOData(new JwtClaims());
+    assertSame(SSOTagSet.EMPTY, empty.getTagSet());
+    assertEquals(SSOData.Role.UNKNOWN, empty.getRole());
+    assertEquals(SSOData.Role.USER, SSOData.Role.of("user"));
+    assertEquals(SSOData.Role.UNKNOWN, SSOData.Role.of("admin"));
+  }
+}
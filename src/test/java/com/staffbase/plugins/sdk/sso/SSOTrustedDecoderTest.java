@@ -0,0 +1,203 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.jose4j.base64url.Base64Url;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.lang.JoseException;
+import org.junit.Test;
+
+import com.staffbase.plugins.sdk.sso.SSOException.Reason;
+
+
+public class SSOTrustedDecoderTest {
+
+  private static final long NOW = 1_700_000_000L;
+
+  private final SSOTrustedDecoder decoder = new SSOTrustedDecoder(
+      new String[] {SSOData.KEY_USER_ID, SSOData.KEY_USER_FIRST_NAME, SSOData.KEY_TAGS}, () -> NOW * 1000);
+
+  /**
+   * Create claims which pass the checks.
+   * @return JwtClaims
+   */
+  private JwtClaims createDefaultClaims() {
+
+    JwtClaims claims = new JwtClaims();
+
+    claims.setExpirationTime(NumericDate.fromSeconds(NOW + 600));
+    claims.setIssuedAt(NumericDate.fromSeconds(NOW));
+    claims.setNotBefore(NumericDate.fromSeconds(NOW - 120));
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, SSODataTest.DATA_INSTANCE_ID);
+    claims.setSubject(SSODataTest.DATA_USER_ID);
+    claims.setIssuer(SSODataTest.DATA_ISSUER);
+
+    return claims;
+  }
+
+  /**
+   * Create an unsigned token, the decoder does not look at the signature.
+   * @return String
+   */
+  private String createToken(String payload) {
+    return Base64Url.encodeUtf8ByteRepresentation("{\"alg\":\"RS256\"}")
+        + "." + Base64Url.encodeUtf8ByteRepresentation(payload)
+        + ".c2lnbmF0dXJl";
+  }
+
+  private void assertRejected(Reason reason, String raw) {
+    try {
+      this.decoder.decodeTrusted(raw);
+      fail("Expected Exception not thrown.");
+    } catch (SSOException e) {
+      assertEquals(reason, e.getReason());
+    }
+  }
+
+  /**
+   * Test only the projected claims are decoded.
+   */
+  @Test
+  public void testProjection() throws SSOException {
+
+    JwtClaims claims = this.createDefaultClaims();
+    claims.setClaim(SSOData.KEY_USER_FIRST_NAME, "Joé \"J\" \\ Doe");
+    claims.setStringListClaim(SSOData.KEY_TAGS, "a", "b");
+    claims.setClaim("nested", new JwtClaims().getClaimsMap());
+
+    SSOData data = this.decoder.decodeTrusted(this.createToken(claims.toJson()));
+
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, data.getInstanceID());
+    assertEquals(SSODataTest.DATA_USER_ID, data.getUserIDOrNull());
+    assertEquals("Joé \"J\" \\ Doe", data.getUserFirstNameOrNull());
+    assertEquals(Arrays.asList("a", "b"), data.getTagsOrNull());
+    assertEquals(Long.valueOf(NOW + 600), data.getExpirationTimeOrNull());
+    // not projected
+    assertNull(data.getIssuerOrNull());
+  }
+
+  /**
+   * Test skipped members may hold anything.
+   */
+  @Test
+  public void testSkippedMembers() throws SSOException {
+
+    String payload = "{ \"skip\" : {\"a\":[1,\"]}\\\"\",{}]}, \"n\":-1.5e3, \"t\":true,\"x\":null,"
+        + "\"s\\u0075b\":\"" + SSODataTest.DATA_USER_ID + "\","
+        + "\"exp\":" + (NOW + 600) + ",\"nbf\":" + NOW + ",\"iat\":" + NOW + ","
+        + "\"instance_id\":\"" + SSODataTest.DATA_INSTANCE_ID + "\"}";
+
+    SSOData data = this.decoder.decodeTrusted(this.createToken(payload));
+
+    assertEquals(SSODataTest.DATA_INSTANCE_ID, data.getInstanceID());
+    assertEquals(SSODataTest.DATA_USER_ID, data.getUserIDOrNull());
+  }
+
+  /**
+   * Test the time claims and the instance id are still checked.
+   */
+  @Test
+  public void testChecks() {
+
+    JwtClaims expired = this.createDefaultClaims();
+    expired.setExpirationTime(NumericDate.fromSeconds(NOW));
+    this.assertRejected(Reason.EXPIRED, this.createToken(expired.toJson()));
+
+    JwtClaims future = this.createDefaultClaims();
+    future.setNotBefore(NumericDate.fromSeconds(NOW + 1));
+    this.assertRejected(Reason.NOT_YET_VALID, this.createToken(future.toJson()));
+
+    JwtClaims noIssuedAt = this.createDefaultClaims();
+    noIssuedAt.unsetClaim("iat");
+    this.assertRejected(Reason.MISSING_CLAIM, this.createToken(noIssuedAt.toJson()));
+
+    JwtClaims noInstance = this.createDefaultClaims();
+    noInstance.unsetClaim(SSOData.KEY_INSTANCE_ID);
+    this.assertRejected(Reason.INSTANCE_ID, this.createToken(noInstance.toJson()));
+
+    JwtClaims textExpiration = this.createDefaultClaims();
+    textExpiration.setClaim("exp", "soon");
+    this.assertRejected(Reason.MALFORMED, this.createToken(textExpiration.toJson()));
+  }
+
+  /**
+   * Test malformed tokens are rejected.
+   */
+  @Test
+  public void testMalformed() {
+
+    this.assertRejected(Reason.MALFORMED, "");
+    this.assertRejected(Reason.MALFORMED, "a.b");
+    this.assertRejected(Reason.MALFORMED, "a.b.c.d");
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"exp\":1"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":[1,2}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"sub\":\"a\"} trailing"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("[]"));
+  }
+
+  /**
+   * Test a selected member appearing twice is rejected, a later value must not
+   * override the one jose4j would reject.
+   */
+  @Test
+  public void testDuplicateMembers() {
+
+    String claims = "\"nbf\":" + NOW + ",\"iat\":" + NOW + ","
+        + "\"instance_id\":\"" + SSODataTest.DATA_INSTANCE_ID + "\"";
+
+    this.assertRejected(Reason.MALFORMED,
+        this.createToken("{\"exp\":" + (NOW - 600) + "," + claims + ",\"exp\":" + (NOW + 600) + "}"));
+    this.assertRejected(Reason.MALFORMED,
+        this.createToken("{\"exp\":" + (NOW + 600) + "," + claims + ",\"instance\u005fid\":\"other\"}"));
+  }
+
+  /**
+   * Test skipped members are checked for balanced brackets and valid literals.
+   */
+  @Test
+  public void testMalformedSkippedMembers() throws SSOException {
+
+    String claims = "\"exp\":" + (NOW + 600) + ",\"nbf\":" + NOW + ",\"iat\":" + NOW + ","
+        + "\"instance_id\":\"" + SSODataTest.DATA_INSTANCE_ID + "\"";
+
+    this.decoder.decodeTrusted(this.createToken("{\"skip\":[{\"a\":[]},0,-0.5E+2,{}]," + claims + "}"));
+
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":[1,2}," + claims + "}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":{\"a\":1]," + claims + "}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":[1 2]," + claims + "}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":{\"a\" 1}," + claims + "}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":tru," + claims + "}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":nope," + claims + "}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":01," + claims + "}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":1.," + claims + "}"));
+    this.assertRejected(Reason.MALFORMED, this.createToken("{\"skip\":1e," + claims + "}"));
+  }
+
+  /**
+   * Test tokens signed with any key are accepted, the signature was checked upstream.
+   */
+  @Test
+  public void testSignatureIgnored() throws JoseException, SSOException {
+
+    JwtClaims claims = TestTokens.createDefaultClaims();
+    String jwt = TestTokens.sign(claims, TestTokens.generateRsaJwk());
+
+    SSOData data = SSOTrustedDecoder.create(SSOData.KEY_USER_ID).decodeTrusted(jwt);
+
+    assertEquals(SSODataTest.DATA_USER_ID, data.getUserIDOrNull());
+  }
+}
@@ -0,0 +1,137 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+
+public class ScratchPoolTest {
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final ScratchPool<AtomicBoolean> pool = new ScratchPool<>(() -> {
+    this.created.incrementAndGet();
+    return new AtomicBoolean();
+  });
+
+  /**
+   * Use an instance of the pool, failing if another thread uses it as well.
+   * @return whether the instance was used exclusively
+   */
+  private boolean use() {
+
+    final AtomicBoolean scratch = this.pool.acquire();
+    try {
+      if (!scratch.compareAndSet(false, true)) {
+        return false;
+      }
+      Thread.yield();
+      scratch.set(false);
+      return true;
+    } finally {
+      this.pool.release(scratch);
+    }
+  }
+
+  /**
+   * Test a thread gets back the instance it released, including replacements.
+   */
+  @Test
+  public void testReuse() {
+
+    final ScratchPool<byte[]> pool = new ScratchPool<>(() -> new byte[4]);
+
+    final byte[] first = pool.acquire();
+    pool.release(first);
+    assertSame(first, pool.acquire());
+
+    final byte[] grown = new byte[8];
+    pool.release(grown);
+    assertSame(grown, pool.acquire());
+    pool.release(grown);
+  }
+
+  /**
+   * Test threads do not share an instance they hold.
+   */
+  @Test
+  public void testThreads() throws InterruptedException {
+
+    final ScratchPool<byte[]> pool = new ScratchPool<>(() -> new byte[4]);
+    final byte[] held = pool.acquire();
+
+    final AtomicReference<byte[]> other = new AtomicReference<>();
+    final Thread thread = new Thread(() -> {
+      other.set(pool.acquire());
+      pool.release(other.get());
+    });
+    thread.start();
+    thread.join();
+
+    assertNotSame(held, other.get());
+    pool.release(held);
+  }
+
+  /**
+   * Test virtual threads share a few instances, each used by one thread at
+   * a time. Runs on Java 21 against the multi-release jar only, see the
+   * java21 profile.
+   */
+  @Test
+  public void testVirtualThreads() throws Exception {
+
+    assumeTrue(VirtualThreads.isAvailable());
+
+    // one after another, the instance is handed on
+    for (int i = 0; i < 100; i++) {
+      final CompletableFuture<Boolean> used = new CompletableFuture<>();
+      VirtualThreads.executor().execute(() -> used.complete(this.use()));
+      assertTrue(used.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(1, this.created.get());
+
+    // at once, never shared, and bounded once idle again
+    final int threads = 10_000;
+    final CountDownLatch done = new CountDownLatch(threads);
+    final AtomicBoolean shared = new AtomicBoolean();
+    for (int i = 0; i < threads; i++) {
+      VirtualThreads.executor().execute(() -> {
+        if (!this.use()) {
+          shared.set(true);
+        }
+        done.countDown();
+      });
+    }
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    assertFalse(shared.get());
+    assertTrue(this.created.get() < threads);
+
+    final int createdBefore = this.created.get();
+    for (int i = 0; i < 100; i++) {
+      final CompletableFuture<Boolean> used = new CompletableFuture<>();
+      VirtualThreads.executor().execute(() -> used.complete(this.use()));
+      assertTrue(used.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(createdBefore, this.created.get());
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.junit.Test;
+
+
+public class StringPoolTest {
+
+  /**
+   * Test equal strings share an instance.
+   */
+  @Test
+  public void testIntern() {
+
+    StringPool pool = new StringPool(16);
+    String first = new String("editor");
+    String second = new String("editor");
+
+    assertSame(first, pool.intern(first));
+    assertSame(first, pool.intern(second));
+    assertNull(pool.intern(null));
+  }
+
+  /**
+   * Test the pool stays bounded, colliding strings evict each other.
+   */
+  @Test
+  public void testEviction() {
+
+    StringPool pool = new StringPool(1);
+    String first = new String("de_DE");
+    String other = "en_US";
+    String second = new String("de_DE");
+
+    pool.intern(first);
+    pool.intern(other);
+
+    assertNotSame(first, pool.intern(second));
+    assertSame(second, pool.intern(new String("de_DE")));
+  }
+
+  /**
+   * Test the data of separately parsed tokens shares repeated values.
+   */
+  @Test
+  public void testSharedBySSOData() throws InvalidJwtException, MalformedClaimException {
+
+    String json = SSODataCodecTest.createFullClaims().toJson();
+
+    SSOData first = new SSOData(JwtClaims.parse(json));
+    SSOData second = new SSOData(JwtClaims.parse(json));
+
+    assertSame(first.getInstanceID(), second.getInstanceID());
+    assertSame(first.getUserLocaleAsStringOrNull(), second.getUserLocaleAsStringOrNull());
+    assertSame(first.getTagsOrNull().get(0), second.getTagsOrNull().get(0));
+    assertEquals(first.getTagsOrNull(), second.getTagsOrNull());
+    // unique per user, not pooled
+    assertNotSame(first.getUserIDOrNull(), second.getUserIDOrNull());
+  }
+}
@@ -0,0 +1,72 @@
+/**
+ * SSO implementation test, based on this doc:
+ * https://developers.staffbase.com/api/plugin-sso/
+ *
+ * @copyright 2026 Staffbase SE.
+ * @license   http://www.apache.org/licenses/LICENSE-2.0
+ * @link      https://github.com/staffbase/plugins-sdk-java
+ */
+
+package com.staffbase.plugins.sdk.sso;
+
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.lang.JoseException;
+
+/**
+ * Helpers for minting tokens in tests.
+ */
+final class TestTokens {
+
+  private TestTokens() {
+  }
+
+  /**
+   * Generate a 2048 bits JSON web key.
+   * @return JSON web key
+   * @throws JoseException
+   */
+  static RsaJsonWebKey generateRsaJwk() throws JoseException {
+    return RsaJwkGenerator.generateJwk(2048);
+  }
+
+  /**
+   * Create a JwtClaims object with prefilled sane defaults.
+   * @return JwtClaims
+   */
+  static JwtClaims createDefaultClaims() {
+
+    JwtClaims claims = new JwtClaims();
+
+    claims.setIssuer(SSODataTest.DATA_ISSUER);
+    claims.setAudience(SSODataTest.DATA_AUDIENCE);
+    claims.setExpirationTimeMinutesInTheFuture(10);
+    claims.setGeneratedJwtId();
+    claims.setIssuedAtToNow();
+    claims.setNotBeforeMinutesInThePast(2);
+    claims.setSubject(SSODataTest.DATA_USER_ID);
+    claims.setClaim(SSOData.KEY_INSTANCE_ID, SSODataTest.DATA_INSTANCE_ID);
+
+    return claims;
+  }
+
+  /**
+   * Create a RSA256 signed token from given claims and RSA jwk.
+   * @return String
+   * @throws JoseException
+   */
+  static String sign(JwtClaims claims, RsaJsonWebKey rsaJsonWebKey) throws JoseException {
+
+    JsonWebSignature jws = new JsonWebSignature();
+
+    jws.setPayload(claims.toJson());
+    jws.setKey(rsaJsonWebKey.getPrivateKey());
+    jws.setKeyIdHeaderValue(rsaJsonWebKey.getKeyId());
+    jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.RSA_USING_SHA256);
+
+    return jws.getCompactSerialization();
+  }
+}